@@ -1,26 +1,30 @@
 package com.mapbox.services.android.navigation.v5.internal.navigation
 
 import android.location.Location
-import com.google.gson.Gson
-import com.google.gson.annotations.SerializedName
 
 internal object ElectronicHorizonRequestBuilder {
-    private val gson = Gson()
+    // the request only holds numbers and constants, it is written directly into a reused buffer
+    private val request = StringBuilder()
 
+    @Synchronized
     fun build(
         expansion: Expansion,
         locations: List<Location>
     ): String {
-        val positions = locations.map {
-            Position(
-                it.latitude,
-                it.longitude
-            )
+        request.setLength(0)
+        request.append("{\"shape\":[")
+        locations.forEachIndexed { index, location ->
+            if (index > 0) {
+                request.append(',')
+            }
+            request.append("{\"lat\":").append(location.latitude)
+                .append(",\"lon\":").append(location.longitude)
+                .append('}')
         }
-        val options = mapOf("expansion" to expansion.value)
-        val request = ElectronicHorizonRequest(positions, options)
-
-        return gson.toJson(request)
+        request.append("],\"eh_options\":{\"expansion\":\"")
+            .append(expansion.value)
+            .append("\"}}")
+        return request.toString()
     }
 
     internal enum class Expansion(val value: String) {
@@ -28,15 +32,4 @@ internal object ElectronicHorizonRequestBuilder {
         _1_5D("1.5D"),
         _2D("2D")
     }
-
-    private data class Position(
-        val lat: Double,
-        val lon: Double
-    )
-
-    private data class ElectronicHorizonRequest(
-        val shape: List<Position>,
-        @SerializedName("eh_options")
-        val options: Map<String, Any>
-    )
 }
@@ -0,0 +1,214 @@
+package com.mapbox.services.android.navigation.v5.internal.navigation
+
+import com.google.gson.JsonParseException
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.mapbox.services.android.navigation.v5.navigation.ElectronicHorizonEdge
+import java.io.IOException
+import java.io.StringReader
+import timber.log.Timber
+
+/**
+ * Keeps the edges of the current electronic horizon and turns every new horizon response into
+ * the edges that were added and removed since the previous one.
+ *
+ * The response is read with a streaming parser, no tree is built for it. Edges which stay in the
+ * horizon unchanged keep their instance, only edges entering it or changing are allocated.
+ * The delivered edges and lists aren't modified afterwards, so they can be passed to another
+ * thread. Updates and [clear] may be called from different threads.
+ */
+internal class ElectronicHorizonTracker {
+
+    private val edges = HashMap<Long, TrackedEdge>()
+    private var generation = 0
+    private var lastResponse: String? = null
+
+    /**
+     * @return the difference to the previous horizon or null if nothing changed or the response
+     * couldn't be read, a response without an edges list is logged as an error and doesn't change
+     * the horizon
+     */
+    @Synchronized
+    fun update(response: String): ElectronicHorizonUpdate? {
+        if (response == lastResponse) {
+            return null
+        }
+        val readEdges = ArrayList<ElectronicHorizonEdge>()
+        val hasEdges = try {
+            JsonReader(StringReader(response)).use { reader ->
+                readObject(reader, readEdges)
+            }
+        } catch (exception: IOException) {
+            Timber.e(exception, "Unable to read the electronic horizon")
+            return null
+        } catch (exception: IllegalStateException) {
+            Timber.e(exception, "Unable to read the electronic horizon")
+            return null
+        } catch (exception: JsonParseException) {
+            Timber.e(exception, "Unable to read the electronic horizon")
+            return null
+        }
+        if (!hasEdges) {
+            Timber.e("No edges found in the electronic horizon: %s", response.take(MAX_LOGGED_RESPONSE_LENGTH))
+            return null
+        }
+        lastResponse = response
+        generation++
+
+        val addedEdges = ArrayList<ElectronicHorizonEdge>()
+        val removedEdges = ArrayList<ElectronicHorizonEdge>()
+        for (edge in readEdges) {
+            val trackedEdge = edges[edge.id]
+            when {
+                trackedEdge == null -> {
+                    edges[edge.id] = TrackedEdge(edge, generation)
+                    addedEdges.add(edge)
+                }
+                // the first occurrence of an edge in the response is kept
+                trackedEdge.generation == generation -> Unit
+                trackedEdge.edge !== edge -> {
+                    removedEdges.add(trackedEdge.edge)
+                    addedEdges.add(edge)
+                    trackedEdge.edge = edge
+                    trackedEdge.generation = generation
+                }
+                else -> trackedEdge.generation = generation
+            }
+        }
+        val iterator = edges.values.iterator()
+        while (iterator.hasNext()) {
+            val trackedEdge = iterator.next()
+            if (trackedEdge.generation != generation) {
+                removedEdges.add(trackedEdge.edge)
+                iterator.remove()
+            }
+        }
+        if (addedEdges.isEmpty() && removedEdges.isEmpty()) {
+            return null
+        }
+        return ElectronicHorizonUpdate(addedEdges, removedEdges)
+    }
+
+    @Synchronized
+    fun clear() {
+        edges.clear()
+        lastResponse = null
+    }
+
+    // the edges list may be nested in a wrapping object, everything else is skipped,
+    // returns whether an edges list was found
+    private fun readObject(reader: JsonReader, horizonEdges: MutableList<ElectronicHorizonEdge>): Boolean {
+        var hasEdges = false
+        reader.beginObject()
+        while (reader.hasNext()) {
+            val name = reader.nextName()
+            when {
+                name == EDGES && reader.peek() == JsonToken.BEGIN_ARRAY -> {
+                    readEdges(reader, horizonEdges)
+                    hasEdges = true
+                }
+                reader.peek() == JsonToken.BEGIN_OBJECT -> if (readObject(reader, horizonEdges)) {
+                    hasEdges = true
+                }
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+        return hasEdges
+    }
+
+    private fun readEdges(reader: JsonReader, horizonEdges: MutableList<ElectronicHorizonEdge>) {
+        reader.beginArray()
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readEdge(reader, horizonEdges)
+            } else {
+                reader.skipValue()
+            }
+        }
+        reader.endArray()
+    }
+
+    private fun readEdge(reader: JsonReader, horizonEdges: MutableList<ElectronicHorizonEdge>) {
+        var id: Long? = null
+        var wayId = 0L
+        var length = 0.0
+        var speed = 0.0
+        var roadClass: String? = null
+        var roadName: String? = null
+        reader.beginObject()
+        while (reader.hasNext()) {
+            val name = reader.nextName()
+            if (reader.peek() == JsonToken.NULL) {
+                reader.skipValue()
+                continue
+            }
+            when (name) {
+                ID -> id = reader.nextLong()
+                WAY_ID -> wayId = reader.nextLong()
+                LENGTH -> length = reader.nextDouble()
+                SPEED -> speed = reader.nextDouble()
+                ROAD_CLASS -> roadClass = reader.nextString()
+                NAMES -> roadName = readFirstName(reader)
+                else -> reader.skipValue()
+            }
+        }
+        reader.endObject()
+
+        if (id == null) {
+            return
+        }
+        val trackedEdge = edges[id]?.edge
+        if (trackedEdge != null && trackedEdge.hasAttributes(wayId, length, speed, roadClass, roadName)) {
+            horizonEdges.add(trackedEdge)
+        } else {
+            horizonEdges.add(ElectronicHorizonEdge(id, wayId, length, speed, roadClass, roadName))
+        }
+    }
+
+    private fun ElectronicHorizonEdge.hasAttributes(
+        wayId: Long,
+        length: Double,
+        speed: Double,
+        roadClass: String?,
+        name: String?
+    ): Boolean = this.wayId == wayId && this.length == length && this.speed == speed &&
+        this.roadClass == roadClass && this.name == name
+
+    private fun readFirstName(reader: JsonReader): String? {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue()
+            return null
+        }
+        var firstName: String? = null
+        reader.beginArray()
+        while (reader.hasNext()) {
+            if (firstName == null && reader.peek() == JsonToken.STRING) {
+                firstName = reader.nextString()
+            } else {
+                reader.skipValue()
+            }
+        }
+        reader.endArray()
+        return firstName
+    }
+
+    // generation is the last horizon update the edge was part of
+    private class TrackedEdge(var edge: ElectronicHorizonEdge, var generation: Int)
+
+    internal class ElectronicHorizonUpdate(
+        val addedEdges: List<ElectronicHorizonEdge>,
+        val removedEdges: List<ElectronicHorizonEdge>
+    )
+
+    private companion object {
+        private const val EDGES = "edges"
+        private const val ID = "id"
+        private const val WAY_ID = "way_id"
+        private const val LENGTH = "length"
+        private const val SPEED = "speed"
+        private const val ROAD_CLASS = "road_class"
+        private const val NAMES = "names"
+        private const val MAX_LOGGED_RESPONSE_LENGTH = 200
+    }
+}
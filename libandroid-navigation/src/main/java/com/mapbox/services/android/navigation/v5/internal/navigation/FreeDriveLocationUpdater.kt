@@ -7,12 +7,15 @@ import com.mapbox.android.core.location.LocationEngine
 import com.mapbox.android.core.location.LocationEngineCallback
 import com.mapbox.android.core.location.LocationEngineRequest
 import com.mapbox.android.core.location.LocationEngineResult
+import com.mapbox.geojson.Point
 import com.mapbox.navigator.NavigationStatus
 import com.mapbox.services.android.navigation.v5.navigation.OfflineNavigator
 import com.mapbox.services.android.navigation.v5.navigation.OnOfflineTilesConfiguredCallback
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfMeasurement
 import java.lang.ref.WeakReference
+import java.util.ArrayDeque
 import java.util.Date
-import java.util.LinkedList
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.ScheduledFuture
 import java.util.concurrent.TimeUnit
@@ -26,14 +29,17 @@ internal class FreeDriveLocationUpdater(
     private val offlineNavigator: OfflineNavigator,
     private val executorService: ScheduledExecutorService,
     private val electronicHorizonRequestBuilder: ElectronicHorizonRequestBuilder,
-    private val electronicHorizonParams: ElectronicHorizonParams
+    private val electronicHorizonParams: ElectronicHorizonParams,
+    private val electronicHorizonTracker: ElectronicHorizonTracker
 ) {
     private val callback = CurrentLocationEngineCallback(this)
     private var future: ScheduledFuture<*>? = null
     private var electronicHorizonFuture: ScheduledFuture<*>? = null
     private var rawLocation: Location? = null
     private val handler = Handler(Looper.getMainLooper())
-    private val cachedLocations = LinkedList<Location>()
+    // written on the main thread and read by the electronic horizon task
+    private val cachedLocations = ArrayDeque<Location>()
+    private var lastElectronicHorizonLocation: Location? = null
 
     fun configure(
         tilePath: String,
@@ -60,8 +66,7 @@ internal class FreeDriveLocationUpdater(
 
         if (electronicHorizonFuture == null) {
             electronicHorizonFuture = executorService.scheduleAtFixedRate({
-                val request = electronicHorizonRequestBuilder.build(ElectronicHorizonRequestBuilder.Expansion._1D, cachedLocations)
-                mapboxNavigator.retrieveElectronicHorizon(request)
+                retrieveElectronicHorizon()
             }, electronicHorizonParams.delay, electronicHorizonParams.interval, TimeUnit.MILLISECONDS)
         }
     }
@@ -130,10 +135,48 @@ internal class FreeDriveLocationUpdater(
         future = null
     }
 
+    private fun retrieveElectronicHorizon() {
+        val locations = synchronized(cachedLocations) {
+            ArrayList(cachedLocations)
+        }
+        val currentLocation = locations.lastOrNull() ?: return
+        if (isStationary(currentLocation)) {
+            return
+        }
+        lastElectronicHorizonLocation = currentLocation
+
+        val request = electronicHorizonRequestBuilder.build(ElectronicHorizonRequestBuilder.Expansion._1D, locations)
+        val result = mapboxNavigator.retrieveElectronicHorizon(request)
+        if (!result.success) {
+            return
+        }
+        electronicHorizonTracker.update(result.json)?.let { update ->
+            handler.post {
+                navigationEventDispatcher.onElectronicHorizonUpdate(update.addedEdges, update.removedEdges)
+            }
+        }
+    }
+
+    // the horizon ahead doesn't change while the vehicle doesn't move
+    private fun isStationary(currentLocation: Location): Boolean {
+        val lastLocation = lastElectronicHorizonLocation ?: return false
+        val distance = TurfMeasurement.distance(
+            Point.fromLngLat(lastLocation.longitude, lastLocation.latitude),
+            Point.fromLngLat(currentLocation.longitude, currentLocation.latitude),
+            TurfConstants.UNIT_METERS
+        )
+        return distance < STATIONARY_DISTANCE_METERS
+    }
+
     private fun stopRetrieveElectronicHorizon() {
         electronicHorizonFuture?.cancel(false)
         electronicHorizonFuture = null
-        cachedLocations.clear()
+        synchronized(cachedLocations) {
+            cachedLocations.clear()
+        }
+        lastElectronicHorizonLocation = null
+        // the next start delivers the whole horizon again
+        electronicHorizonTracker.clear()
     }
 
     private fun onLocationChanged(location: Location?) {
@@ -147,12 +190,14 @@ internal class FreeDriveLocationUpdater(
     }
 
     private fun cacheLocation(location: Location) {
-        // remove the oldest location to fit the max cache size
-        if (cachedLocations.size == electronicHorizonParams.locationsCacheSize) {
-            cachedLocations.removeFirst()
-        }
+        synchronized(cachedLocations) {
+            // remove the oldest location to fit the max cache size
+            if (cachedLocations.size == electronicHorizonParams.locationsCacheSize) {
+                cachedLocations.removeFirst()
+            }
 
-        cachedLocations.add(location)
+            cachedLocations.add(location)
+        }
     }
 
     private class CurrentLocationEngineCallback(locationUpdater: FreeDriveLocationUpdater) :
@@ -170,4 +215,8 @@ internal class FreeDriveLocationUpdater(
             Timber.e(exception)
         }
     }
+
+    private companion object {
+        private const val STATIONARY_DISTANCE_METERS = 5.0
+    }
 }
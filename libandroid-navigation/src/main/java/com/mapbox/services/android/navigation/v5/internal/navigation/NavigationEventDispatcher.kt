@@ -6,6 +6,8 @@ import com.mapbox.services.android.navigation.v5.internal.navigation.metrics.Nav
 import com.mapbox.services.android.navigation.v5.location.RawLocationListener
 import com.mapbox.services.android.navigation.v5.milestone.Milestone
 import com.mapbox.services.android.navigation.v5.milestone.MilestoneEventListener
+import com.mapbox.services.android.navigation.v5.navigation.ElectronicHorizonEdge
+import com.mapbox.services.android.navigation.v5.navigation.ElectronicHorizonListener
 import com.mapbox.services.android.navigation.v5.navigation.EnhancedLocationListener
 import com.mapbox.services.android.navigation.v5.navigation.NavigationEventListener
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteListener
@@ -25,6 +27,7 @@ internal class NavigationEventDispatcher {
     private val fasterRouteListeners: CopyOnWriteArrayList<FasterRouteListener>
     private val rawLocationListeners: CopyOnWriteArrayList<RawLocationListener>
     private val enhancedLocationListeners: CopyOnWriteArrayList<EnhancedLocationListener>
+    private val electronicHorizonListeners: CopyOnWriteArrayList<ElectronicHorizonListener>
     private val routeUtils: RouteUtils
     private var metricEventListener: NavigationMetricListener? = null
 
@@ -39,6 +42,7 @@ internal class NavigationEventDispatcher {
         fasterRouteListeners = CopyOnWriteArrayList()
         rawLocationListeners = CopyOnWriteArrayList()
         enhancedLocationListeners = CopyOnWriteArrayList()
+        electronicHorizonListeners = CopyOnWriteArrayList()
     }
 
     fun addMilestoneEventListener(milestoneEventListener: MilestoneEventListener) {
@@ -167,6 +171,24 @@ internal class NavigationEventDispatcher {
         }
     }
 
+    fun addElectronicHorizonListener(electronicHorizonListener: ElectronicHorizonListener) {
+        if (electronicHorizonListeners.contains(electronicHorizonListener)) {
+            Timber.w("The specified ElectronicHorizonListener has already been added to the stack.")
+            return
+        }
+        electronicHorizonListeners.add(electronicHorizonListener)
+    }
+
+    fun removeElectronicHorizonListener(electronicHorizonListener: ElectronicHorizonListener?) {
+        if (electronicHorizonListener == null) {
+            electronicHorizonListeners.clear()
+        } else if (!electronicHorizonListeners.contains(electronicHorizonListener)) {
+            Timber.w("The specified ElectronicHorizonListener isn't found in stack, therefore, cannot be removed.")
+        } else {
+            electronicHorizonListeners.remove(electronicHorizonListener)
+        }
+    }
+
     fun onMilestoneEvent(routeProgress: RouteProgress, instruction: String, milestone: Milestone) {
         checkForArrivalEvent(routeProgress)
         for (milestoneEventListener in milestoneEventListeners) {
@@ -212,6 +234,15 @@ internal class NavigationEventDispatcher {
         }
     }
 
+    fun onElectronicHorizonUpdate(
+        addedEdges: List<ElectronicHorizonEdge>,
+        removedEdges: List<ElectronicHorizonEdge>
+    ) {
+        for (listener in electronicHorizonListeners) {
+            listener.onElectronicHorizonUpdate(addedEdges, removedEdges)
+        }
+    }
+
     fun addMetricEventListeners(eventListeners: NavigationMetricListener) {
         if (metricEventListener == null) {
             metricEventListener = eventListeners
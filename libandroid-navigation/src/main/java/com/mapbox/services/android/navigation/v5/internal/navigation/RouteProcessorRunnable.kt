@@ -6,6 +6,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.navigator.NavigationStatus
 import com.mapbox.navigator.RouteState
 import com.mapbox.services.android.navigation.v5.milestone.Milestone
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigation
 import com.mapbox.services.android.navigation.v5.navigation.MapboxNavigationOptions
 import com.mapbox.services.android.navigation.v5.offroute.OffRouteDetector
@@ -22,6 +23,7 @@ internal class RouteProcessorRunnable(
     private val listener: RouteProcessorBackgroundThread.Listener
 ) : Runnable {
     private lateinit var rawLocation: Location
+    private val triggerSnapshot = TriggerSnapshot()
 
     companion object {
         private const val ONE_SECOND_IN_MILLISECONDS = 1000
@@ -161,9 +163,10 @@ internal class RouteProcessorRunnable(
         if (previousRouteProgress == null) {
             previousRouteProgress = routeProgress
         }
+        triggerSnapshot.update(previousRouteProgress, routeProgress)
         val milestones = ArrayList<Milestone>()
         for (milestone in mapboxNavigation.milestones) {
-            if (milestone.isOccurring(previousRouteProgress, routeProgress)) {
+            if (milestone.isOccurring(triggerSnapshot)) {
                 milestones.add(milestone)
             }
         }
@@ -0,0 +1,185 @@
+package com.mapbox.services.android.navigation.v5.milestone
+
+/**
+ * A [Trigger.Statement] tree flattened into a postfix program evaluated on a [TriggerSnapshot].
+ *
+ * Comparisons push their result on a boolean stack, compound statements pop the results of
+ * their children and push the combined one. Comparisons behave like [Operation] does on the
+ * values of [TriggerProperty.getSparseArray], a missing property doesn't match.
+ *
+ * The result is kept and returned again while none of the properties the program reads changed.
+ */
+internal class CompiledTrigger private constructor(
+    private val opcodes: IntArray,
+    private val arguments: IntArray,
+    private val operands: DoubleArray,
+    private val operandTypes: IntArray,
+    private val expectsTrue: BooleanArray,
+    private val properties: Long
+) {
+
+    companion object {
+        private const val OP_ALL = 0
+        private const val OP_ANY = 1
+        private const val OP_NONE = 2
+        internal const val OP_EQUAL = 3
+        internal const val OP_NOT_EQUAL = 4
+        internal const val OP_GREATER_THAN = 5
+        internal const val OP_GREATER_THAN_EQUAL = 6
+        internal const val OP_LESS_THAN = 7
+        internal const val OP_LESS_THAN_EQUAL = 8
+
+        private const val TYPE_INT = 0
+        private const val TYPE_DOUBLE = 1
+        private const val TYPE_OTHER = 2
+        private const val NOT_EVALUATED = Long.MIN_VALUE
+
+        /**
+         * @return the compiled statement, or null if it contains statements that can only be
+         * evaluated on the sparse array, like custom [Trigger.Statement] implementations
+         */
+        fun compile(statement: Trigger.Statement): CompiledTrigger? {
+            val builder = Builder()
+            return if (statement.compile(builder)) builder.build() else null
+        }
+    }
+
+    private val stack = BooleanArray(opcodes.size)
+    private var evaluatedVersion = NOT_EVALUATED
+    private var lastResult = false
+
+    fun isOccurring(snapshot: TriggerSnapshot): Boolean {
+        val isUnchanged = snapshot.version == evaluatedVersion ||
+            (snapshot.version == evaluatedVersion + 1 && snapshot.changedProperties and properties == 0L)
+        if (!isUnchanged) {
+            lastResult = evaluate(snapshot)
+        }
+        evaluatedVersion = snapshot.version
+        return lastResult
+    }
+
+    private fun evaluate(snapshot: TriggerSnapshot): Boolean {
+        var top = 0
+        for (i in opcodes.indices) {
+            when (val opcode = opcodes[i]) {
+                OP_ALL, OP_ANY, OP_NONE -> {
+                    val first = top - arguments[i]
+                    var anyTrue = false
+                    var allTrue = true
+                    for (j in first until top) {
+                        anyTrue = anyTrue || stack[j]
+                        allTrue = allTrue && stack[j]
+                    }
+                    top = first
+                    stack[top++] = when (opcode) {
+                        OP_ALL -> allTrue
+                        OP_ANY -> anyTrue
+                        else -> !anyTrue
+                    }
+                }
+                else -> stack[top++] = compare(opcode, i, snapshot)
+            }
+        }
+        return stack[0]
+    }
+
+    private fun compare(opcode: Int, index: Int, snapshot: TriggerSnapshot): Boolean {
+        val key = arguments[index]
+        if (!snapshot.isPresent(key)) {
+            return false
+        }
+        val first = snapshot.firstValue(key)
+        return if (snapshot.isPair(key)) {
+            // pair properties compare their own two values, the operand selects the outcome
+            val second = snapshot.secondValue(key)
+            val result = when (opcode) {
+                OP_EQUAL -> first == second
+                OP_NOT_EQUAL -> first != second
+                OP_GREATER_THAN -> first > second
+                OP_GREATER_THAN_EQUAL -> first >= second
+                OP_LESS_THAN -> first < second
+                else -> first <= second
+            }
+            result == expectsTrue[index]
+        } else {
+            val operand = operands[index]
+            when (opcode) {
+                OP_EQUAL -> isEqual(index, key, first, snapshot)
+                OP_NOT_EQUAL -> !isEqual(index, key, first, snapshot)
+                OP_GREATER_THAN -> first > operand
+                OP_GREATER_THAN_EQUAL -> first >= operand
+                OP_LESS_THAN -> first < operand
+                else -> first <= operand
+            }
+        }
+    }
+
+    // Number#equals, boxed values of different types are never equal
+    private fun isEqual(index: Int, key: Int, value: Double, snapshot: TriggerSnapshot): Boolean {
+        val propertyType = if (snapshot.isInt(key)) TYPE_INT else TYPE_DOUBLE
+        return operandTypes[index] == propertyType && value.toBits() == operands[index].toBits()
+    }
+
+    /**
+     * Collects the instructions of a statement tree in postfix order.
+     */
+    internal class Builder {
+
+        private val opcodes = ArrayList<Int>()
+        private val arguments = ArrayList<Int>()
+        private val operands = ArrayList<Double>()
+        private val operandTypes = ArrayList<Int>()
+        private val expectsTrue = ArrayList<Boolean>()
+        private var properties = 0L
+
+        fun all(statements: Array<out Trigger.Statement>): Boolean =
+            compound(OP_ALL, statements)
+
+        fun any(statements: Array<out Trigger.Statement>): Boolean =
+            compound(OP_ANY, statements)
+
+        fun none(statements: Array<out Trigger.Statement>): Boolean =
+            compound(OP_NONE, statements)
+
+        fun comparison(opcode: Int, key: Int, value: Any): Boolean {
+            if (!TriggerSnapshot.isSupported(key) || value !is Number) {
+                return false
+            }
+            val operandType = when (value) {
+                is Int -> TYPE_INT
+                is Double -> TYPE_DOUBLE
+                else -> TYPE_OTHER
+            }
+            add(opcode, key, value.toDouble(), operandType, value == TriggerProperty.TRUE)
+            properties = properties or TriggerSnapshot.propertyBit(key)
+            return true
+        }
+
+        fun build(): CompiledTrigger = CompiledTrigger(
+            opcodes.toIntArray(),
+            arguments.toIntArray(),
+            operands.toDoubleArray(),
+            operandTypes.toIntArray(),
+            expectsTrue.toBooleanArray(),
+            properties
+        )
+
+        private fun compound(opcode: Int, statements: Array<out Trigger.Statement>): Boolean {
+            for (statement in statements) {
+                if (!statement.compile(this)) {
+                    return false
+                }
+            }
+            add(opcode, statements.size, 0.0, TYPE_OTHER, false)
+            return true
+        }
+
+        private fun add(opcode: Int, argument: Int, operand: Double, operandType: Int, isTrue: Boolean) {
+            opcodes.add(opcode)
+            arguments.add(argument)
+            operands.add(operand)
+            operandTypes.add(operandType)
+            expectsTrue.add(isTrue)
+        }
+    }
+}
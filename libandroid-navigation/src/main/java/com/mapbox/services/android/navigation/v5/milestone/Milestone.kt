@@ -48,6 +48,13 @@ abstract class Milestone(private val builder: Builder) {
         routeProgress: RouteProgress
     ): Boolean
 
+    /**
+     * Same as [isOccurring] with the progress of the [TriggerSnapshot], milestones with a
+     * [Trigger.Statement] evaluate it on the snapshot instead of building the sparse array.
+     */
+    internal open fun isOccurring(snapshot: TriggerSnapshot): Boolean =
+        isOccurring(snapshot.previousRouteProgress, snapshot.routeProgress)
+
     /**
      * Build a new [Milestone]
      *
@@ -16,6 +16,7 @@ private constructor(
 ) : Milestone(builder) {
 
     private var called: Boolean = false
+    private val triggerEvaluator = TriggerEvaluator()
 
     override fun isOccurring(
         previousRouteProgress: RouteProgress,
@@ -27,6 +28,12 @@ private constructor(
             called
         } ?: false
 
+    override fun isOccurring(snapshot: TriggerSnapshot): Boolean =
+        ifNonNull(builder.getTrigger()) { trigger ->
+            called = triggerEvaluator.isOccurring(trigger, snapshot) && !called
+            called
+        } ?: false
+
     /**
      * Build a new [RouteMilestone]
      *
@@ -16,10 +16,26 @@ private constructor(
 ) : Milestone(builder) {
 
     private var called: Boolean = false
+    private val triggerEvaluator = TriggerEvaluator()
 
     override fun isOccurring(
         previousRouteProgress: RouteProgress,
         routeProgress: RouteProgress
+    ): Boolean =
+        isOccurring(previousRouteProgress, routeProgress) { trigger ->
+            val statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress)
+            trigger.isOccurring(statementObjects)
+        }
+
+    override fun isOccurring(snapshot: TriggerSnapshot): Boolean =
+        isOccurring(snapshot.previousRouteProgress, snapshot.routeProgress) { trigger ->
+            triggerEvaluator.isOccurring(trigger, snapshot)
+        }
+
+    private inline fun isOccurring(
+        previousRouteProgress: RouteProgress,
+        routeProgress: RouteProgress,
+        isTriggered: (Trigger.Statement) -> Boolean
     ): Boolean {
         // Determine if the step index has changed and set called accordingly. This prevents multiple calls to
         // onMilestoneEvent per Step.
@@ -31,8 +47,7 @@ private constructor(
             return false
         }
         return ifNonNull(builder.getTrigger()) { trigger ->
-            val statementObjects = TriggerProperty.getSparseArray(previousRouteProgress, routeProgress)
-            called = trigger.isOccurring(statementObjects)
+            called = isTriggered(trigger)
             called
         } ?: false
     }
@@ -24,6 +24,14 @@ object Trigger {
          * @since 0.4.0
          */
         abstract fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean
+
+        /**
+         * Adds the statement to a flat program evaluated without the sparse array.
+         *
+         * @return false if the statement can't be compiled, custom statements are evaluated
+         * with [isOccurring]
+         */
+        internal open fun compile(builder: CompiledTrigger.Builder): Boolean = false
     }
 
     /*
@@ -39,6 +47,9 @@ object Trigger {
         private vararg val statements: Statement
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.all(statements)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean {
             for (statement in statements) {
                 if (!statement.isOccurring(statementObjects)) {
@@ -58,6 +69,9 @@ object Trigger {
         private vararg val statements: Statement
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.none(statements)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean {
             for (statement in statements) {
                 if (statement.isOccurring(statementObjects)) {
@@ -77,6 +91,9 @@ object Trigger {
         private vararg val statements: Statement
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.any(statements)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean {
             for (statement in statements) {
                 if (statement.isOccurring(statementObjects)) {
@@ -102,6 +119,9 @@ object Trigger {
         private val value: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_GREATER_THAN, key, value)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.greaterThan(statementObjects.get(key), value as Number)
     }
@@ -117,6 +137,9 @@ object Trigger {
         private val value: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_GREATER_THAN_EQUAL, key, value)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.greaterThanEqual(statementObjects.get(key), value as Number)
     }
@@ -131,6 +154,9 @@ object Trigger {
         private val value: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_LESS_THAN, key, value)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.lessThan(statementObjects.get(key), value as Number)
     }
@@ -146,6 +172,9 @@ object Trigger {
         private val value: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_LESS_THAN_EQUAL, key, value)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.lessThanEqual(statementObjects.get(key), value as Number)
     }
@@ -160,6 +189,9 @@ object Trigger {
         private vararg val values: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_NOT_EQUAL, key, values[0])
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.notEqual(statementObjects.get(key), values[0] as Number)
     }
@@ -174,6 +206,9 @@ object Trigger {
         private val value: Any
     ) : Statement() {
 
+        override fun compile(builder: CompiledTrigger.Builder): Boolean =
+            builder.comparison(CompiledTrigger.OP_EQUAL, key, value)
+
         override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean =
             Operation.equal(statementObjects.get(key), value as Number)
     }
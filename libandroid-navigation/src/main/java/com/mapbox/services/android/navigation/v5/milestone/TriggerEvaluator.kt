@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.milestone
+
+/**
+ * Evaluates the trigger of a milestone on a [TriggerSnapshot].
+ *
+ * The trigger is compiled the first time it's evaluated and again only if the milestone
+ * builder is given another one. Triggers which can't be compiled fall back to the sparse array.
+ */
+internal class TriggerEvaluator {
+
+    private var statement: Trigger.Statement? = null
+    private var compiledTrigger: CompiledTrigger? = null
+
+    fun isOccurring(statement: Trigger.Statement, snapshot: TriggerSnapshot): Boolean {
+        if (statement !== this.statement) {
+            this.statement = statement
+            compiledTrigger = CompiledTrigger.compile(statement)
+        }
+        return compiledTrigger?.isOccurring(snapshot)
+            ?: statement.isOccurring(
+                TriggerProperty.getSparseArray(snapshot.previousRouteProgress, snapshot.routeProgress)
+            )
+    }
+}
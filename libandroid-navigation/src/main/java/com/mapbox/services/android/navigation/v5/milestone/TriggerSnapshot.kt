@@ -0,0 +1,141 @@
+package com.mapbox.services.android.navigation.v5.milestone
+
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress
+
+/**
+ * Primitive copy of the [TriggerProperty] values of a [RouteProgress], reused across updates.
+ *
+ * Holds the same values as [TriggerProperty.getSparseArray] without boxing them, and keeps
+ * track of the properties that changed since the previous update so unchanged triggers
+ * don't need to be evaluated again.
+ *
+ * Not thread safe, meant to be updated and read from the route processing thread.
+ */
+internal class TriggerSnapshot {
+
+    companion object {
+        private const val PROPERTY_SLOTS = TriggerProperty.NEXT_STEP_DURATION_SECONDS + 1
+        private const val ALL_PROPERTIES = -1L
+
+        fun propertyBit(key: Int): Long = 1L shl key
+
+        fun isSupported(key: Int): Boolean = key in 0 until PROPERTY_SLOTS
+    }
+
+    lateinit var previousRouteProgress: RouteProgress
+        private set
+    lateinit var routeProgress: RouteProgress
+        private set
+
+    /**
+     * Incremented on every [update].
+     */
+    var version: Long = 0
+        private set
+
+    /**
+     * Bit mask, built with [propertyBit], of the properties that changed with the last [update].
+     */
+    var changedProperties: Long = ALL_PROPERTIES
+        private set
+
+    private val firstValues = DoubleArray(PROPERTY_SLOTS)
+    private val secondValues = DoubleArray(PROPERTY_SLOTS)
+    private val isPairValue = BooleanArray(PROPERTY_SLOTS)
+    private val isIntValue = BooleanArray(PROPERTY_SLOTS)
+    private var presentProperties = 0L
+    private var writtenProperties = 0L
+
+    fun update(previousRouteProgress: RouteProgress, routeProgress: RouteProgress) {
+        this.previousRouteProgress = previousRouteProgress
+        this.routeProgress = routeProgress
+        changedProperties = if (version == 0L) ALL_PROPERTIES else 0L
+        writtenProperties = 0L
+        version++
+
+        val legProgress = routeProgress.currentLegProgress()
+        val legIndex = routeProgress.legIndex()
+        legProgress?.currentStep()?.let { currentStep ->
+            putDouble(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, currentStep.distance())
+            putDouble(TriggerProperty.STEP_DURATION_TOTAL_SECONDS, currentStep.duration())
+        }
+        legProgress?.currentStepProgress()?.let { stepProgress ->
+            putDouble(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, stepProgress.distanceRemaining())
+            putDouble(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, stepProgress.durationRemaining())
+            // shares its key with FIRST_LEG, which replaces it in the sparse array
+            if (legIndex == null) {
+                putDouble(TriggerProperty.STEP_DISTANCE_TRAVELED_METERS, stepProgress.distanceTraveled())
+            }
+        }
+        legProgress?.let {
+            val stepIndex = it.stepIndex()
+            putInt(TriggerProperty.STEP_INDEX, stepIndex)
+            putIntPair(TriggerProperty.NEW_STEP, stepIndex, stepIndex)
+            putIntPair(
+                TriggerProperty.LAST_STEP,
+                stepIndex,
+                routeProgress.currentLeg()?.steps()?.let { steps -> steps.size - 2 } ?: 0
+            )
+            putIntPair(TriggerProperty.FIRST_STEP, stepIndex, 0)
+            putDouble(TriggerProperty.NEXT_STEP_DURATION_SECONDS, it.upComingStep()?.duration() ?: 0.0)
+            putDouble(TriggerProperty.NEXT_STEP_DISTANCE_METERS, it.upComingStep()?.distance() ?: 0.0)
+        }
+        putIntPair(TriggerProperty.FIRST_LEG, legIndex, 0)
+        routeProgress.directionsRoute()?.let { directionsRoute ->
+            putIntPair(
+                TriggerProperty.LAST_LEG,
+                legIndex,
+                directionsRoute.legs()?.let { legs -> legs.size - 1 } ?: 0
+            )
+        }
+
+        val removedProperties = presentProperties and writtenProperties.inv()
+        changedProperties = changedProperties or removedProperties
+        presentProperties = writtenProperties
+    }
+
+    fun isPresent(key: Int): Boolean = presentProperties and propertyBit(key) != 0L
+
+    fun isPair(key: Int): Boolean = isPairValue[key]
+
+    fun isInt(key: Int): Boolean = isIntValue[key]
+
+    fun firstValue(key: Int): Double = firstValues[key]
+
+    fun secondValue(key: Int): Double = secondValues[key]
+
+    private fun putDouble(key: Int, value: Double?) {
+        if (value != null) {
+            put(key, value, 0.0, isPair = false, isInt = false)
+        }
+    }
+
+    private fun putInt(key: Int, value: Int?) {
+        if (value != null) {
+            put(key, value.toDouble(), 0.0, isPair = false, isInt = true)
+        }
+    }
+
+    private fun putIntPair(key: Int, first: Int?, second: Int) {
+        if (first != null) {
+            put(key, first.toDouble(), second.toDouble(), isPair = true, isInt = true)
+        }
+    }
+
+    private fun put(key: Int, first: Double, second: Double, isPair: Boolean, isInt: Boolean) {
+        val bit = propertyBit(key)
+        val isChanged = presentProperties and bit == 0L ||
+            firstValues[key].toBits() != first.toBits() ||
+            secondValues[key].toBits() != second.toBits() ||
+            isPairValue[key] != isPair ||
+            isIntValue[key] != isInt
+        if (isChanged) {
+            changedProperties = changedProperties or bit
+        }
+        firstValues[key] = first
+        secondValues[key] = second
+        isPairValue[key] = isPair
+        isIntValue[key] = isInt
+        writtenProperties = writtenProperties or bit
+    }
+}
@@ -0,0 +1,24 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+/**
+ * A road edge of the electronic horizon ahead of the vehicle in free drive.
+ * <p>
+ * Edges are immutable. An edge keeps its instance for as long as it stays in the horizon
+ * unchanged, so it can be used as a key between [ElectronicHorizonListener] updates. If the
+ * attributes of an edge change, the previous instance is removed and a new one is added.
+ *
+ * @param id of the edge in the road graph
+ * @param wayId id of the OpenStreetMap way the edge belongs to
+ * @param length of the edge in meters
+ * @param speed along the edge in kilometers per hour
+ * @param roadClass of the edge, for example motorway or residential
+ * @param name first name of the road the edge belongs to, if any
+ */
+class ElectronicHorizonEdge internal constructor(
+    val id: Long,
+    val wayId: Long,
+    val length: Double,
+    val speed: Double,
+    val roadClass: String?,
+    val name: String?
+)
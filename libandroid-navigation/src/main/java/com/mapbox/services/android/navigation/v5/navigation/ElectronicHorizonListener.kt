@@ -0,0 +1,25 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+/**
+ * A listener for changes of the electronic horizon, the roads ahead of the vehicle, while in
+ * free drive.
+ * <p>
+ * Only the difference to the previous update is delivered. The horizon isn't refreshed while the
+ * vehicle is stationary and no update is delivered if it didn't change.
+ * The first update after free drive is restarted contains the whole horizon again.
+ *
+ * @see [MapboxNavigation.enableFreeDrive]
+ */
+interface ElectronicHorizonListener {
+
+    /**
+     * Invoked when edges entered or left the electronic horizon.
+     *
+     * @param addedEdges edges which weren't part of the previous horizon
+     * @param removedEdges edges of the previous horizon which aren't part of it anymore
+     */
+    fun onElectronicHorizonUpdate(
+        addedEdges: List<ElectronicHorizonEdge>,
+        removedEdges: List<ElectronicHorizonEdge>
+    )
+}
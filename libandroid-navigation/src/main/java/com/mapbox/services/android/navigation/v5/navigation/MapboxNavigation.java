@@ -20,6 +20,7 @@ import com.mapbox.navigator.NavigatorConfig;
 import com.mapbox.services.android.navigation.BuildConfig;
 import com.mapbox.services.android.navigation.v5.internal.navigation.ElectronicHorizonParams;
 import com.mapbox.services.android.navigation.v5.internal.navigation.ElectronicHorizonRequestBuilder;
+import com.mapbox.services.android.navigation.v5.internal.navigation.ElectronicHorizonTracker;
 import com.mapbox.services.android.navigation.v5.internal.navigation.FreeDriveLocationUpdater;
 import com.mapbox.services.android.navigation.v5.internal.navigation.MapboxNavigator;
 import com.mapbox.services.android.navigation.v5.internal.navigation.NavigationEngineFactory;
@@ -209,6 +210,7 @@ public class MapboxNavigation implements ServiceConnection {
     removeFasterRouteListener(null);
     removeRawLocationListener(null);
     removeEnhancedLocationListener(null);
+    removeElectronicHorizonListener(null);
   }
 
   // Public APIs
@@ -683,6 +685,37 @@ public class MapboxNavigation implements ServiceConnection {
     navigationEventDispatcher.removeEnhancedLocationListener(enhancedLocationListener);
   }
 
+  /**
+   * This adds a new electronic horizon listener which is invoked when roads ahead of the vehicle
+   * entered or left the electronic horizon while in free drive, see {@link #enableFreeDrive()}.
+   * <p>
+   * Only the edges which changed since the previous update are passed. The horizon isn't refreshed
+   * while the vehicle is stationary.
+   * </p><p>
+   * It is not possible to add the same listener implementation more then once and a warning will be
+   * printed in the log if attempted.
+   * </p>
+   *
+   * @param electronicHorizonListener an implementation of {@code ElectronicHorizonListener}
+   */
+  public void addElectronicHorizonListener(@NonNull ElectronicHorizonListener electronicHorizonListener) {
+    navigationEventDispatcher.addElectronicHorizonListener(electronicHorizonListener);
+  }
+
+  /**
+   * This removes a specific electronic horizon listener by passing in the instance of it or you can
+   * pass in null to remove all the listeners. When {@link #onDestroy()} is called, all listeners
+   * get removed automatically, removing the requirement for developers to manually handle this.
+   * <p>
+   * If the listener you are trying to remove does not exist in the list, a warning will be printed
+   * in the log.
+   *
+   * @param electronicHorizonListener an implementation of {@code ElectronicHorizonListener}
+   */
+  public void removeElectronicHorizonListener(@Nullable ElectronicHorizonListener electronicHorizonListener) {
+    navigationEventDispatcher.removeElectronicHorizonListener(electronicHorizonListener);
+  }
+
   /**
    * Calling this method enables free drive mode.
    * <p>
@@ -1013,7 +1046,8 @@ public class MapboxNavigation implements ServiceConnection {
         offlineNavigator,
         Executors.newScheduledThreadPool(2),
         ElectronicHorizonRequestBuilder.INSTANCE,
-        new ElectronicHorizonParams.Builder().build());
+        new ElectronicHorizonParams.Builder().build(),
+        new ElectronicHorizonTracker());
 
     initializeTelemetry(context);
 
@@ -1055,7 +1089,8 @@ public class MapboxNavigation implements ServiceConnection {
         offlineNavigator,
         Executors.newScheduledThreadPool(2),
         ElectronicHorizonRequestBuilder.INSTANCE,
-        new ElectronicHorizonParams.Builder().build());
+        new ElectronicHorizonParams.Builder().build(),
+        new ElectronicHorizonTracker());
     initializeTelemetry(applicationContext);
 
     // Create and add default milestones if enabled.
@@ -12,6 +12,7 @@ class MapboxOfflineRouter {
     private val tilePath: String
     private val offlineNavigator: OfflineNavigator
     private val offlineTileVersions: OfflineTileVersions
+    private var tileDownloader: RouteTileDownloader? = null
 
     /**
      * Creates an offline router which uses the specified offline path for storing and retrieving
@@ -76,9 +77,27 @@ class MapboxOfflineRouter {
      *
      * @param offlineTiles object specifying parameters for the tile request
      * @param listener which is updated on error, on progress update and on completion
+     * @param unpackWhileDownloading unpack the tiles while the archive is being downloaded
+     * instead of storing the whole archive first. Interrupted downloads are resumed from the last
+     * unpacked tile.
      */
-    fun downloadTiles(offlineTiles: OfflineTiles, listener: RouteTileDownloadListener) {
-        RouteTileDownloader(offlineNavigator, tilePath, listener).startDownload(offlineTiles)
+    @JvmOverloads
+    fun downloadTiles(
+        offlineTiles: OfflineTiles,
+        listener: RouteTileDownloadListener,
+        unpackWhileDownloading: Boolean = false
+    ) {
+        tileDownloader = RouteTileDownloader(offlineNavigator, tilePath, listener, unpackWhileDownloading)
+            .apply { startDownload(offlineTiles) }
+    }
+
+    /**
+     * Cancels the tiles download most recently started with [MapboxOfflineRouter.downloadTiles].
+     * The listener of the download isn't notified anymore.
+     */
+    fun cancelDownload() {
+        tileDownloader?.cancel()
+        tileDownloader = null
     }
 
     /**
@@ -4,6 +4,7 @@ import android.content.Context
 import com.mapbox.api.routetiles.v1.MapboxRouteTiles
 import com.mapbox.core.exceptions.ServicesException
 import com.mapbox.geojson.BoundingBox
+import okhttp3.HttpUrl
 import okhttp3.ResponseBody
 import retrofit2.Callback
 
@@ -28,6 +29,13 @@ class OfflineTiles private constructor(
         mapboxRouteTiles.enqueueCall(callback)
     }
 
+    /**
+     * Url of the TAR archive with the requested tiles, used to stream the archive directly.
+     *
+     * @return the tiles request url
+     */
+    internal fun tilesUrl(): HttpUrl = mapboxRouteTiles.cloneCall().request().url()
+
     /**
      * Returns the version of the current builder.
      *
@@ -1,28 +1,50 @@
 package com.mapbox.services.android.navigation.v5.navigation
 
 import com.mapbox.services.android.navigation.v5.utils.DownloadTask
+import java.io.File
+import java.util.concurrent.Future
 
 /**
  * This class serves to contain the complicated chain of events that must happen to download
  * offline routing tiles. It creates and maintains a directory structure with the root in the
  * Offline directory, or wherever someone specifies.
+ *
+ * If [unpackWhileDownloading] is set, the TAR archive is unpacked with a [StreamingTileDownloader]
+ * while it's being downloaded instead of being stored to a file and unpacked afterwards.
  */
 internal class RouteTileDownloader(
     private val offlineNavigator: OfflineNavigator,
     private val tilePath: String,
-    private val listener: RouteTileDownloadListener
+    private val listener: RouteTileDownloadListener,
+    private val unpackWhileDownloading: Boolean = false
 ) {
 
     companion object {
         private const val FILE_EXTENSION_TAR = "tar"
     }
 
+    private var tileUnpacker: TileUnpacker? = null
+    private var streamingDownload: Future<*>? = null
+
     fun startDownload(offlineTiles: OfflineTiles) {
         val version = offlineTiles.version()
+        if (unpackWhileDownloading) {
+            streamingDownload = StreamingTileDownloader()
+                .download(offlineTiles.tilesUrl(), File(tilePath, version), listener)
+            return
+        }
         val tarFetchedCallback = buildTarFetchedCallback(version)
         offlineTiles.fetchRouteTiles(tarFetchedCallback)
     }
 
+    /**
+     * Stops the download and the unpacking of the archive, as well as their progress updates.
+     */
+    fun cancel() {
+        streamingDownload?.cancel(true)
+        tileUnpacker?.cancel()
+    }
+
     fun onError(error: OfflineError) = listener.onError(error)
 
     private fun buildTarFetchedCallback(version: String): TarFetchedCallback {
@@ -31,10 +53,11 @@ internal class RouteTileDownloader(
     }
 
     private fun buildDownloadTask(tilePath: String, tileVersion: String): DownloadTask {
-        val tileUnpacker = TileUnpacker(offlineNavigator)
+        val unpacker = TileUnpacker(offlineNavigator)
+        tileUnpacker = unpacker
         val downloadListener = DownloadUpdateListener(
             this,
-            tileUnpacker,
+            unpacker,
             tilePath,
             tileVersion,
             listener
@@ -0,0 +1,235 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import android.os.Handler
+import android.os.Looper
+import java.io.File
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.InterruptedIOException
+import java.net.HttpURLConnection
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import okhttp3.HttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+
+/**
+ * Downloads a TAR archive of routing tiles and unpacks it with [TarStreamUnpacker] while the
+ * response body is still streaming, so the archive is never stored on disk and unpacking
+ * doesn't wait for the download to finish.
+ *
+ * The tiles are unpacked by [TarStreamUnpacker] instead of the native unpackTiles call, which can
+ * only read a complete archive from disk.
+ *
+ * If the connection drops or the server responds with a server error, the download is retried
+ * with an exponential backoff and resumed with a range request starting at the last fully unpacked
+ * entry. The range request is conditional on the ETag or Last-Modified validator of the first
+ * response, if the archive changed in the meantime the download starts over from the first byte.
+ * Servers that ignore the range header are handled by skipping the already unpacked part
+ * of the archive. Client errors aren't retried.
+ *
+ * @param okHttpClient client used to download the archive
+ * @param executor executor the download and unpacking run on
+ * @param handler handler of the thread the listener is notified on
+ * @param initialBackoffMillis delay before the first retry, doubled for each following one
+ */
+internal class StreamingTileDownloader(
+    private val okHttpClient: OkHttpClient = defaultClient,
+    private val executor: ExecutorService = downloadExecutor,
+    private val handler: Handler = Handler(Looper.getMainLooper()),
+    private val initialBackoffMillis: Long = INITIAL_BACKOFF_MILLIS
+) {
+
+    companion object {
+        private const val MAX_ATTEMPTS = 3
+        private const val INITIAL_BACKOFF_MILLIS = 1000L
+        private const val HEADER_RANGE = "Range"
+        private const val HEADER_IF_RANGE = "If-Range"
+        private const val HEADER_ETAG = "ETag"
+        private const val HEADER_LAST_MODIFIED = "Last-Modified"
+        private const val WEAK_ETAG_PREFIX = "W/"
+        private const val FULL_PERCENTAGE = 100
+        private const val DOWNLOAD_ERROR_MESSAGE = "Error occurred downloading tiles: "
+
+        private val defaultClient: OkHttpClient by lazy { OkHttpClient() }
+        private val downloadExecutor: ExecutorService by lazy { Executors.newSingleThreadExecutor() }
+    }
+
+    /**
+     * Starts downloading and unpacking the archive.
+     *
+     * @param url archive url
+     * @param destination directory the tiles are unpacked to
+     * @param listener listener notified about progress, completion and errors
+     * @return [Future] that can be used to cancel the download, the listener isn't notified
+     * about the result of a cancelled download
+     */
+    fun download(url: HttpUrl, destination: File, listener: RouteTileDownloadListener): Future<*> =
+        executor.submit {
+            if (!destination.exists()) {
+                destination.mkdirs()
+            }
+            val state = DownloadState(destination)
+            val progress = ProgressPublisher(listener)
+            var attempt = 0
+            while (true) {
+                try {
+                    downloadRemaining(url, state, progress)
+                    progress.publish(FULL_PERCENTAGE)
+                    handler.post { listener.onCompletion() }
+                    return@submit
+                } catch (e: IOException) {
+                    if (Thread.currentThread().isInterrupted) {
+                        return@submit
+                    }
+                    if (!e.isRetryable() || ++attempt >= MAX_ATTEMPTS) {
+                        handler.post {
+                            listener.onError(OfflineError(DOWNLOAD_ERROR_MESSAGE + e.message))
+                        }
+                        return@submit
+                    }
+                }
+                try {
+                    Thread.sleep(initialBackoffMillis shl (attempt - 1))
+                } catch (e: InterruptedException) {
+                    return@submit
+                }
+            }
+        }
+
+    private fun IOException.isRetryable() =
+        this !is HttpStatusException || code >= HttpURLConnection.HTTP_INTERNAL_ERROR
+
+    private fun downloadRemaining(
+        url: HttpUrl,
+        state: DownloadState,
+        progress: ProgressPublisher
+    ) {
+        val validator = state.validator
+        if (validator == null) {
+            // without a validator a resumed download could mix two versions of the archive
+            state.restart()
+        }
+        var offset = state.unpacker.completedBytes
+        val request = Request.Builder()
+            .url(url)
+            .apply {
+                if (offset > 0 && validator != null) {
+                    header(HEADER_RANGE, "bytes=$offset-")
+                    header(HEADER_IF_RANGE, validator)
+                }
+            }
+            .build()
+
+        okHttpClient.newCall(request).execute().use { response ->
+            if (!response.isSuccessful) {
+                throw HttpStatusException(response.code())
+            }
+            val body = response.body() ?: throw IOException("Empty response body")
+            val isPartial = response.code() == HttpURLConnection.HTTP_PARTIAL
+            val responseValidator = response.validator()
+            if (!isPartial && offset > 0 && responseValidator != validator) {
+                // the archive changed since the first response, the unpacked entries are stale
+                state.restart()
+                offset = 0
+            }
+            state.validator = responseValidator
+            val contentLength = body.contentLength()
+            if (contentLength > 0) {
+                progress.totalBytes = if (isPartial) offset + contentLength else contentLength
+            }
+
+            val input = ProgressInputStream(body.byteStream(), offset, progress)
+            if (!isPartial) {
+                input.skipFully(offset)
+            }
+            state.unpacker.unpack(input)
+        }
+    }
+
+    private fun Response.validator(): String? =
+        header(HEADER_ETAG)?.takeUnless { it.startsWith(WEAK_ETAG_PREFIX) } ?: header(HEADER_LAST_MODIFIED)
+
+    private class DownloadState(private val destination: File) {
+        var unpacker = TarStreamUnpacker(destination)
+            private set
+
+        /**
+         * ETag or Last-Modified value of the last response, weak ETags can't be used with If-Range.
+         */
+        var validator: String? = null
+
+        fun restart() {
+            if (unpacker.completedBytes > 0) {
+                unpacker = TarStreamUnpacker(destination)
+            }
+        }
+    }
+
+    private inner class ProgressPublisher(private val listener: RouteTileDownloadListener) {
+        var totalBytes = 0L
+        private var lastPercent = -1
+
+        fun onBytesRead(readBytes: Long) {
+            if (totalBytes > 0) {
+                publish((FULL_PERCENTAGE * readBytes / totalBytes).toInt().coerceAtMost(FULL_PERCENTAGE - 1))
+            }
+        }
+
+        fun publish(percent: Int) {
+            if (percent != lastPercent) {
+                lastPercent = percent
+                handler.post { listener.onProgressUpdate(percent) }
+            }
+        }
+    }
+
+    private class ProgressInputStream(
+        input: InputStream,
+        private var position: Long,
+        private val progress: ProgressPublisher
+    ) : FilterInputStream(input) {
+
+        private val skipBuffer = ByteArray(8192)
+
+        override fun read(): Int =
+            super.read().also {
+                if (it >= 0) {
+                    onRead(1)
+                }
+            }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int =
+            super.read(b, off, len).also {
+                if (it > 0) {
+                    onRead(it)
+                }
+            }
+
+        fun skipFully(bytes: Long) {
+            // the skipped part is already unpacked, don't count it twice
+            position -= bytes
+            var remaining = bytes
+            while (remaining > 0) {
+                val read = read(skipBuffer, 0, minOf(remaining, skipBuffer.size.toLong()).toInt())
+                if (read < 0) {
+                    throw IOException("Unexpected end of the archive")
+                }
+                remaining -= read
+            }
+        }
+
+        private fun onRead(count: Int) {
+            if (Thread.currentThread().isInterrupted) {
+                throw InterruptedIOException("Download cancelled")
+            }
+            position += count
+            progress.onBytesRead(position)
+        }
+    }
+
+    private class HttpStatusException(val code: Int) : IOException("HTTP $code")
+}
@@ -0,0 +1,219 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import java.io.EOFException
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Unpacks a TAR archive of routing tiles entry by entry while it's being read from a stream,
+ * so the archive itself never has to be stored on disk.
+ *
+ * The checksum of every entry header is verified. Each tile is written to a temporary file and
+ * renamed once complete, so an interrupted stream never leaves partially written tiles behind.
+ * [completedBytes] points to the first byte after the last fully unpacked entry and can be used
+ * to resume the archive with a range request.
+ *
+ * @param destination directory the tiles are unpacked to
+ */
+internal class TarStreamUnpacker(private val destination: File) {
+
+    companion object {
+        private const val BLOCK_SIZE = 512
+        private const val NAME_OFFSET = 0
+        private const val NAME_LENGTH = 100
+        private const val SIZE_OFFSET = 124
+        private const val SIZE_LENGTH = 12
+        private const val CHECKSUM_OFFSET = 148
+        private const val CHECKSUM_LENGTH = 8
+        private const val TYPE_OFFSET = 156
+        private const val PREFIX_OFFSET = 345
+        private const val PREFIX_LENGTH = 155
+        private const val SPACE = 32
+
+        // '0', '\0', '5' and 'L' type flags
+        private const val TYPE_REGULAR: Byte = 48
+        private const val TYPE_REGULAR_LEGACY: Byte = 0
+        private const val TYPE_DIRECTORY: Byte = 53
+        private const val TYPE_GNU_LONG_NAME: Byte = 76
+
+        private const val PARTIAL_FILE_SUFFIX = ".part"
+        private const val BUFFER_SIZE = 8192
+    }
+
+    private val header = ByteArray(BLOCK_SIZE)
+    private val buffer = ByteArray(BUFFER_SIZE)
+    private val canonicalDestination = destination.canonicalPath + File.separator
+
+    /**
+     * Offset in the archive right after the last fully unpacked entry.
+     */
+    var completedBytes: Long = 0
+        private set
+
+    /**
+     * Number of unpacked tiles.
+     */
+    var unpackedTiles: Int = 0
+        private set
+
+    /**
+     * Unpacks entries from the [input] until the end of the archive.
+     * The stream has to start at [completedBytes] of the archive.
+     *
+     * @param input archive stream
+     * @throws IOException if the stream ends prematurely, a header is corrupted or a tile can't be written
+     */
+    @Throws(IOException::class)
+    fun unpack(input: InputStream) {
+        var longName: String? = null
+        var entryBytes = 0L
+        while (true) {
+            readFully(input, header, BLOCK_SIZE)
+            if (header.all { it.toInt() == 0 }) {
+                return
+            }
+            verifyChecksum()
+
+            val size = parseOctal(SIZE_OFFSET, SIZE_LENGTH)
+            val paddedSize = (size + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE
+            val name = longName ?: entryName()
+            longName = null
+            entryBytes += BLOCK_SIZE + paddedSize
+
+            when (header[TYPE_OFFSET]) {
+                TYPE_REGULAR, TYPE_REGULAR_LEGACY -> {
+                    writeTile(input, resolve(name), size)
+                    skipFully(input, paddedSize - size)
+                    unpackedTiles++
+                }
+                TYPE_DIRECTORY -> {
+                    resolve(name).mkdirs()
+                    skipFully(input, paddedSize)
+                }
+                TYPE_GNU_LONG_NAME -> {
+                    longName = readLongName(input, size)
+                    skipFully(input, paddedSize - size)
+                }
+                else -> skipFully(input, paddedSize)
+            }
+
+            // A long name header belongs to the entry that follows it,
+            // the resume point can't be placed in between
+            if (longName == null) {
+                completedBytes += entryBytes
+                entryBytes = 0
+            }
+        }
+    }
+
+    private fun writeTile(input: InputStream, tile: File, size: Long) {
+        tile.parentFile?.mkdirs()
+        val partial = File(tile.path + PARTIAL_FILE_SUFFIX)
+        try {
+            FileOutputStream(partial).use { output ->
+                var remaining = size
+                while (remaining > 0) {
+                    val read = input.read(buffer, 0, minOf(remaining, BUFFER_SIZE.toLong()).toInt())
+                    if (read < 0) {
+                        throw EOFException("Tile ${tile.name} is truncated")
+                    }
+                    output.write(buffer, 0, read)
+                    remaining -= read
+                }
+            }
+        } catch (e: IOException) {
+            partial.delete()
+            throw e
+        }
+        if (!partial.renameTo(tile)) {
+            partial.delete()
+            throw IOException("Unable to write tile ${tile.path}")
+        }
+    }
+
+    private fun readLongName(input: InputStream, size: Long): String {
+        val bytes = ByteArray(size.toInt())
+        readFully(input, bytes, bytes.size)
+        return String(bytes, Charsets.UTF_8).trimEnd('\u0000')
+    }
+
+    private fun entryName(): String {
+        val name = parseString(NAME_OFFSET, NAME_LENGTH)
+        val prefix = parseString(PREFIX_OFFSET, PREFIX_LENGTH)
+        return if (prefix.isEmpty()) name else "$prefix/$name"
+    }
+
+    private fun resolve(name: String): File {
+        val file = File(destination, name)
+        if (!file.canonicalPath.startsWith(canonicalDestination)) {
+            throw IOException("Entry $name is outside of the destination directory")
+        }
+        return file
+    }
+
+    private fun verifyChecksum() {
+        val expected = parseOctal(CHECKSUM_OFFSET, CHECKSUM_LENGTH)
+        var actual = 0L
+        for (i in header.indices) {
+            actual += if (i in CHECKSUM_OFFSET until CHECKSUM_OFFSET + CHECKSUM_LENGTH) {
+                SPACE
+            } else {
+                header[i].toInt() and 0xFF
+            }
+        }
+        if (actual != expected) {
+            throw TarChecksumException(expected, actual)
+        }
+    }
+
+    private fun parseOctal(offset: Int, length: Int): Long {
+        var result = 0L
+        for (i in offset until offset + length) {
+            val char = header[i].toChar()
+            if (char in '0'..'7') {
+                result = result * 8 + (char - '0')
+            } else if (result > 0 || (char != ' ' && char != '\u0000')) {
+                break
+            }
+        }
+        return result
+    }
+
+    private fun parseString(offset: Int, length: Int): String {
+        var end = offset
+        while (end < offset + length && header[end].toInt() != 0) {
+            end++
+        }
+        return String(header, offset, end - offset, Charsets.UTF_8)
+    }
+
+    private fun readFully(input: InputStream, target: ByteArray, length: Int) {
+        var read = 0
+        while (read < length) {
+            val count = input.read(target, read, length - read)
+            if (count < 0) {
+                throw EOFException("Unexpected end of the archive")
+            }
+            read += count
+        }
+    }
+
+    private fun skipFully(input: InputStream, bytes: Long) {
+        var remaining = bytes
+        while (remaining > 0) {
+            val read = input.read(buffer, 0, minOf(remaining, BUFFER_SIZE.toLong()).toInt())
+            if (read < 0) {
+                throw EOFException("Unexpected end of the archive")
+            }
+            remaining -= read
+        }
+    }
+
+    /**
+     * Thrown when a header checksum doesn't match its content.
+     */
+    class TarChecksumException(expected: Long, actual: Long) :
+        IOException("Tar header checksum mismatch: expected $expected, actual $actual")
+}
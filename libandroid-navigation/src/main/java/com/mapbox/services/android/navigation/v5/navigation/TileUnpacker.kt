@@ -1,12 +1,38 @@
 package com.mapbox.services.android.navigation.v5.navigation
 
-import android.os.AsyncTask
+import android.os.Handler
+import android.os.Looper
 import java.io.File
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
 
-internal class TileUnpacker(private val offlineNavigator: OfflineNavigator) {
+internal class TileUnpacker(
+    private val offlineNavigator: OfflineNavigator,
+    private val executor: ScheduledExecutorService = unpackExecutor,
+    private val handler: Handler = Handler(Looper.getMainLooper())
+) {
+
+    companion object {
+        private const val PROGRESS_INTERVAL_MILLIS = 250L
+        private const val UNPACK_THREADS_COUNT = 2
+
+        // One thread unpacks, the other one samples the progress
+        private val unpackExecutor: ScheduledExecutorService by lazy {
+            Executors.newScheduledThreadPool(UNPACK_THREADS_COUNT)
+        }
+    }
+
+    private var unpackFuture: Future<*>? = null
+    private var progressFuture: Future<*>? = null
+    private var updateTask: UnpackUpdateTask? = null
 
     /**
      * Unpacks a TAR file at the srcPath into the destination directory.
+     * Progress is sampled every [PROGRESS_INTERVAL_MILLIS] and published on the main thread
+     * only when it changes. If the native unpacking fails, the listener is notified with an error
+     * instead of the completion.
      *
      * @param src where TAR file is located
      * @param destPath to the destination directory
@@ -17,9 +43,39 @@ internal class TileUnpacker(private val offlineNavigator: OfflineNavigator) {
         destPath: String,
         updateListener: UnpackUpdateTask.ProgressUpdateListener
     ) {
-        UnpackerTask(offlineNavigator).executeOnExecutor(
-            AsyncTask.THREAD_POOL_EXECUTOR, src.absolutePath, destPath + File.separator
+        cancel()
+        val task = UnpackUpdateTask(src, updateListener, handler)
+        val progress = executor.scheduleAtFixedRate(
+            task,
+            0,
+            PROGRESS_INTERVAL_MILLIS,
+            TimeUnit.MILLISECONDS
+        )
+        updateTask = task
+        progressFuture = progress
+        unpackFuture = executor.submit(
+            UnpackerTask(offlineNavigator, src.absolutePath, destPath + File.separator) { error ->
+                progress.cancel(false)
+                if (error == null) {
+                    task.complete()
+                } else {
+                    task.fail(error)
+                }
+            }
         )
-        UnpackUpdateTask(updateListener).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, src)
+    }
+
+    /**
+     * Stops progress updates and cancels the unpacking if it hasn't started yet.
+     * Unpacking that is already running natively can't be interrupted, but the listener
+     * isn't notified about its result anymore.
+     */
+    fun cancel() {
+        updateTask?.cancel()
+        unpackFuture?.cancel(false)
+        progressFuture?.cancel(false)
+        updateTask = null
+        unpackFuture = null
+        progressFuture = null
     }
 }
@@ -13,4 +13,8 @@ internal class UnpackProgressUpdateListener(private val listener: RouteTileDownl
     override fun onCompletion() {
         listener.onCompletion()
     }
+
+    override fun onError(error: OfflineError) {
+        listener.onError(error)
+    }
 }
@@ -1,48 +1,101 @@
 package com.mapbox.services.android.navigation.v5.navigation
 
-import android.os.AsyncTask
+import android.os.Handler
 import java.io.File
 
 /**
- * This class is an [AsyncTask] which monitors the unpacking of a TAR file and updates a
- * listener so that the view can show the unpacking progress. It monitors the unpacking by
- * periodically checking the file size, because as it's unpacked, the file size will decrease.
+ * Samples the unpacking progress of a TAR file and updates a listener so that the view can show it.
+ * As the data is unpacked from the file, the file is truncated, so the progress is derived from
+ * the remaining file size.
  *
- * Creates a new UnpackUpdateTask to update the view via a passed [ProgressUpdateListener].
+ * The task is meant to be scheduled at a fixed rate while [UnpackerTask] is running,
+ * the listener is notified on the [handler] thread only when the progress changes.
+ * [complete] or [fail] has to be called once the unpacking is finished. Sampling and finishing
+ * are serialized, so no progress is published after the completion or the failure.
  *
+ * @param tilePack TAR file being unpacked
  * @param progressUpdateListener listener to update
+ * @param handler handler of the thread the listener is notified on
  */
-internal class UnpackUpdateTask(private val progressUpdateListener: ProgressUpdateListener?) :
-    AsyncTask<File, Long, File>() {
+internal class UnpackUpdateTask(
+    private val tilePack: File,
+    private val progressUpdateListener: ProgressUpdateListener?,
+    private val handler: Handler
+) : Runnable {
 
     companion object {
-        private const val FIRST_POSITION: Int = 0
         private const val ONE_HUNDRED: Double = 100.0
         private const val BY_ONE_INCREMENT: Double = 1.0
         private const val FULL_PERCENTAGE: Long = 100L
+        private const val NO_PROGRESS: Long = -1L
+        private const val UNPACK_ERROR_MESSAGE = "Error occurred unpacking tiles: "
     }
 
-    override fun doInBackground(vararg files: File): File {
-        // As the data is unpacked from the file, the file is truncated
-        // We are finished unpacking the data when the file is fully 0 bytes
-        val tilePack = files[FIRST_POSITION]
-        val size = tilePack.length().toDouble()
-        var progress: Long
-        do {
-            progress = (ONE_HUNDRED * (BY_ONE_INCREMENT - tilePack.length() / size)).toLong()
-            publishProgress(progress)
-        } while (progress < FULL_PERCENTAGE)
+    private val size = tilePack.length().toDouble()
+    private var lastProgress = NO_PROGRESS
+    private var isFinished = false
 
-        return tilePack
+    @Synchronized
+    override fun run() {
+        if (isFinished || size <= 0) {
+            return
+        }
+        val progress = (ONE_HUNDRED * (BY_ONE_INCREMENT - tilePack.length() / size)).toLong()
+            .coerceIn(0, FULL_PERCENTAGE - 1)
+        publishProgress(progress)
     }
 
-    override fun onProgressUpdate(vararg values: Long?) {
-        progressUpdateListener?.onProgressUpdate(values.getOrNull(0) ?: 0)
+    /**
+     * Publishes the full progress and notifies the listener about the completion.
+     */
+    @Synchronized
+    fun complete() {
+        if (finish()) {
+            publishProgress(FULL_PERCENTAGE)
+            handler.post {
+                progressUpdateListener?.onCompletion()
+            }
+        }
     }
 
-    override fun onPostExecute(file: File) {
-        super.onPostExecute(file)
-        progressUpdateListener?.onCompletion()
+    /**
+     * Notifies the listener that the unpacking failed.
+     *
+     * @param error cause of the failure
+     */
+    @Synchronized
+    fun fail(error: Throwable) {
+        if (finish()) {
+            handler.post {
+                progressUpdateListener?.onError(OfflineError(UNPACK_ERROR_MESSAGE + error.message))
+            }
+        }
+    }
+
+    /**
+     * Stops publishing any further updates.
+     */
+    @Synchronized
+    fun cancel() {
+        finish()
+    }
+
+    private fun finish(): Boolean {
+        if (isFinished) {
+            return false
+        }
+        isFinished = true
+        return true
+    }
+
+    private fun publishProgress(progress: Long) {
+        if (progress == lastProgress) {
+            return
+        }
+        lastProgress = progress
+        handler.post {
+            progressUpdateListener?.onProgressUpdate(progress)
+        }
     }
 
     /**
@@ -52,5 +105,7 @@ internal class UnpackUpdateTask(private val progressUpdateListener: ProgressUpda
         fun onProgressUpdate(progress: Long)
 
         fun onCompletion()
+
+        fun onError(error: OfflineError)
     }
 }
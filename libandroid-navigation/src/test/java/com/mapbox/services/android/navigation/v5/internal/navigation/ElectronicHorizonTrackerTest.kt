@@ -0,0 +1,146 @@
+package com.mapbox.services.android.navigation.v5.internal.navigation
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ElectronicHorizonTrackerTest {
+
+    private val tracker = ElectronicHorizonTracker()
+
+    @Test
+    fun `all edges are added on first update`() {
+        val update = tracker.update(horizon(edge(1), edge(2)))
+
+        assertEquals(listOf(1L, 2L), update!!.addedEdges.map { it.id })
+        assertTrue(update.removedEdges.isEmpty())
+    }
+
+    @Test
+    fun `edge attributes are read`() {
+        val update = tracker.update(
+            "{\"edges\":[{\"id\":7,\"way_id\":42,\"length\":120.5,\"speed\":50,\"road_class\":\"primary\"," +
+                "\"names\":[\"Main Street\",\"B1\"],\"unknown\":{\"a\":[1,2]}}]}"
+        )
+
+        val edge = update!!.addedEdges.single()
+        assertEquals(42L, edge.wayId)
+        assertEquals(120.5, edge.length, 0.0)
+        assertEquals(50.0, edge.speed, 0.0)
+        assertEquals("primary", edge.roadClass)
+        assertEquals("Main Street", edge.name)
+    }
+
+    @Test
+    fun `only changed edges are passed`() {
+        tracker.update(horizon(edge(1), edge(2)))
+
+        val update = tracker.update(horizon(edge(2), edge(3)))
+
+        assertEquals(listOf(3L), update!!.addedEdges.map { it.id })
+        assertEquals(listOf(1L), update.removedEdges.map { it.id })
+    }
+
+    @Test
+    fun `unchanged edges staying in the horizon are reused`() {
+        val edge = tracker.update(horizon(edge(1), edge(2)))!!.addedEdges[0]
+
+        tracker.update(horizon(edge(1), edge(3)))
+        val update = tracker.update(horizon(edge(3)))
+
+        assertSame(edge, update!!.removedEdges.single())
+    }
+
+    @Test
+    fun `changed edges are replaced`() {
+        val edge = tracker.update(horizon(edge(1, speed = 30), edge(2)))!!.addedEdges[0]
+
+        val update = tracker.update(horizon(edge(1, speed = 50), edge(2)))
+
+        assertSame(edge, update!!.removedEdges.single())
+        assertEquals(30.0, edge.speed, 0.0)
+        assertEquals(1L, update.addedEdges.single().id)
+        assertEquals(50.0, update.addedEdges.single().speed, 0.0)
+    }
+
+    @Test
+    fun `no update for an unchanged horizon`() {
+        tracker.update(horizon(edge(1), edge(2)))
+
+        assertNull(tracker.update(horizon(edge(1), edge(2))))
+        assertNull(tracker.update(horizon(edge(2), edge(1))))
+    }
+
+    @Test
+    fun `edges nested in the response are found`() {
+        val update = tracker.update("{\"status\":\"ok\",\"horizon\":{\"edges\":[{\"id\":5}]}}")
+
+        assertEquals(listOf(5L), update!!.addedEdges.map { it.id })
+    }
+
+    @Test
+    fun `navigator response is read`() {
+        val update = tracker.update(loadFixture("electronic_horizon.json"))
+
+        val edges = update!!.addedEdges
+        assertEquals(listOf(1047311289L, 1047311290L, 2291005423L), edges.map { it.id })
+        assertEquals(27004532L, edges[1].wayId)
+        assertEquals(112.3, edges[1].length, 0.0)
+        assertEquals(40.0, edges[1].speed, 0.0)
+        assertEquals("secondary", edges[1].roadClass)
+        assertEquals("Market Street", edges[1].name)
+        assertNull(edges[2].name)
+    }
+
+    @Test
+    fun `horizon is delivered again after clear`() {
+        tracker.update(horizon(edge(1), edge(2)))
+
+        tracker.clear()
+        val update = tracker.update(horizon(edge(1), edge(2)))
+
+        assertEquals(listOf(1L, 2L), update!!.addedEdges.map { it.id })
+        assertTrue(update.removedEdges.isEmpty())
+    }
+
+    @Test
+    fun `malformed response keeps the current horizon`() {
+        tracker.update(horizon(edge(1)))
+
+        assertNull(tracker.update("{\"edges\":[{\"id\":2},"))
+        val update = tracker.update(horizon(edge(2)))
+
+        assertEquals(listOf(2L), update!!.addedEdges.map { it.id })
+        assertEquals(listOf(1L), update.removedEdges.map { it.id })
+    }
+
+    @Test
+    fun `response without edges keeps the current horizon`() {
+        tracker.update(horizon(edge(1)))
+
+        assertNull(tracker.update("{\"paths\":[{\"id\":2}]}"))
+        val update = tracker.update(horizon(edge(2)))
+
+        assertEquals(listOf(2L), update!!.addedEdges.map { it.id })
+        assertEquals(listOf(1L), update.removedEdges.map { it.id })
+    }
+
+    @Test
+    fun `empty edges list clears the horizon`() {
+        tracker.update(horizon(edge(1)))
+
+        val update = tracker.update(horizon())
+
+        assertEquals(listOf(1L), update!!.removedEdges.map { it.id })
+    }
+
+    private fun loadFixture(name: String): String =
+        javaClass.classLoader!!.getResourceAsStream(name)!!.bufferedReader().use { it.readText() }
+
+    private fun horizon(vararg edges: String) = edges.joinToString(",", "{\"edges\":[", "]}")
+
+    private fun edge(id: Long, speed: Int = 30) =
+        "{\"id\":$id,\"way_id\":${id * 10},\"length\":100.0,\"speed\":$speed,\"road_class\":\"street\",\"names\":[]}"
+}
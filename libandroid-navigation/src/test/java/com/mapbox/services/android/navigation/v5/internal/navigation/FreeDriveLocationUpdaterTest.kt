@@ -1,12 +1,16 @@
 package com.mapbox.services.android.navigation.v5.internal.navigation
 
+import android.location.Location
 import com.mapbox.android.core.location.LocationEngine
 import com.mapbox.android.core.location.LocationEngineCallback
 import com.mapbox.android.core.location.LocationEngineRequest
 import com.mapbox.android.core.location.LocationEngineResult
 import com.mapbox.services.android.navigation.v5.navigation.OfflineNavigator
 import com.mapbox.services.android.navigation.v5.navigation.OnOfflineTilesConfiguredCallback
+import io.mockk.CapturingSlot
+import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.verify
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
@@ -364,6 +368,101 @@ class FreeDriveLocationUpdaterTest {
         }
     }
 
+    @Test
+    fun `checks retrieveElectronicHorizon is not called while stationary`() {
+        val mockedMapboxNavigator = mockk<MapboxNavigator>(relaxed = true)
+        val locationCallback = slot<LocationEngineCallback<LocationEngineResult>>()
+        val electronicHorizonTask = slot<Runnable>()
+        startWithElectronicHorizon(mockedMapboxNavigator, locationCallback, electronicHorizonTask)
+
+        locationCallback.captured.onSuccess(locationResult(37.7749, -122.4194))
+        electronicHorizonTask.captured.run()
+        locationCallback.captured.onSuccess(locationResult(37.77491, -122.4194))
+        electronicHorizonTask.captured.run()
+
+        verify(exactly = 1) { mockedMapboxNavigator.retrieveElectronicHorizon(any()) }
+    }
+
+    @Test
+    fun `checks retrieveElectronicHorizon is called again after moving`() {
+        val mockedMapboxNavigator = mockk<MapboxNavigator>(relaxed = true)
+        val locationCallback = slot<LocationEngineCallback<LocationEngineResult>>()
+        val electronicHorizonTask = slot<Runnable>()
+        startWithElectronicHorizon(mockedMapboxNavigator, locationCallback, electronicHorizonTask)
+
+        locationCallback.captured.onSuccess(locationResult(37.7749, -122.4194))
+        electronicHorizonTask.captured.run()
+        locationCallback.captured.onSuccess(locationResult(37.7759, -122.4194))
+        electronicHorizonTask.captured.run()
+
+        verify(exactly = 2) { mockedMapboxNavigator.retrieveElectronicHorizon(any()) }
+    }
+
+    @Test
+    fun `checks retrieveElectronicHorizon is not called without locations`() {
+        val mockedMapboxNavigator = mockk<MapboxNavigator>(relaxed = true)
+        val locationCallback = slot<LocationEngineCallback<LocationEngineResult>>()
+        val electronicHorizonTask = slot<Runnable>()
+        startWithElectronicHorizon(mockedMapboxNavigator, locationCallback, electronicHorizonTask)
+
+        electronicHorizonTask.captured.run()
+
+        verify(exactly = 0) { mockedMapboxNavigator.retrieveElectronicHorizon(any()) }
+    }
+
+    @Test
+    fun `checks electronic horizon is cleared when stop`() {
+        val mockedElectronicHorizonTracker = mockk<ElectronicHorizonTracker>(relaxed = true)
+        val theFreeDriveLocationUpdater =
+            buildFreeDriveLocationUpdater(
+                electronicHorizonTracker = mockedElectronicHorizonTracker
+            )
+
+        theFreeDriveLocationUpdater.start()
+        theFreeDriveLocationUpdater.stop()
+
+        verify { mockedElectronicHorizonTracker.clear() }
+    }
+
+    private fun startWithElectronicHorizon(
+        mapboxNavigator: MapboxNavigator,
+        locationCallback: CapturingSlot<LocationEngineCallback<LocationEngineResult>>,
+        electronicHorizonTask: CapturingSlot<Runnable>
+    ) {
+        val mockedLocationEngine = mockk<LocationEngine>(relaxed = true)
+        val mockedScheduledExecutorService = mockk<ScheduledExecutorService>(relaxed = true)
+        every {
+            mockedLocationEngine.requestLocationUpdates(any(), capture(locationCallback), null)
+        } returns Unit
+        every {
+            mockedScheduledExecutorService.scheduleAtFixedRate(
+                capture(electronicHorizonTask),
+                eq(20_000),
+                eq(20_000),
+                eq(TimeUnit.MILLISECONDS)
+            )
+        } returns mockk(relaxed = true)
+        every { mapboxNavigator.retrieveElectronicHorizon(any()) } returns mockk {
+            every { success } returns false
+        }
+        buildFreeDriveLocationUpdater(
+            locationEngine = mockedLocationEngine,
+            mapboxNavigator = mapboxNavigator,
+            executorService = mockedScheduledExecutorService,
+            electronicHorizonParams = ElectronicHorizonParams.Builder().build()
+        ).start()
+    }
+
+    private fun locationResult(latitudeDegrees: Double, longitudeDegrees: Double): LocationEngineResult {
+        val location = mockk<Location> {
+            every { latitude } returns latitudeDegrees
+            every { longitude } returns longitudeDegrees
+        }
+        return mockk {
+            every { lastLocation } returns location
+        }
+    }
+
     private fun buildFreeDriveLocationUpdater(
         locationEngine: LocationEngine = mockk<LocationEngine>(relaxed = true),
         locationEngineRequest: LocationEngineRequest = mockk<LocationEngineRequest>(relaxed = true),
@@ -374,7 +473,8 @@ class FreeDriveLocationUpdaterTest {
         offlineNavigator: OfflineNavigator = mockk<OfflineNavigator>(relaxed = true),
         executorService: ScheduledExecutorService = mockk<ScheduledExecutorService>(relaxed = true),
         electronicHorizonRequestBuilder: ElectronicHorizonRequestBuilder = mockk(relaxed = true),
-        electronicHorizonParams: ElectronicHorizonParams = mockk(relaxed = true)
+        electronicHorizonParams: ElectronicHorizonParams = mockk(relaxed = true),
+        electronicHorizonTracker: ElectronicHorizonTracker = mockk(relaxed = true)
     ): FreeDriveLocationUpdater {
         return FreeDriveLocationUpdater(
             locationEngine,
@@ -384,7 +484,8 @@ class FreeDriveLocationUpdaterTest {
             offlineNavigator,
             executorService,
             electronicHorizonRequestBuilder,
-            electronicHorizonParams
+            electronicHorizonParams,
+            electronicHorizonTracker
         )
     }
 }
@@ -0,0 +1,139 @@
+package com.mapbox.services.android.navigation.v5.milestone
+
+import android.util.SparseArray
+import com.mapbox.services.android.navigation.v5.BaseTest
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class CompiledTriggerTest : BaseTest() {
+
+    companion object {
+        private const val ROUTE_FIXTURE = "directions_v5_precision_6.json"
+    }
+
+    @Test
+    fun isOccurring_matchesStatementTree() {
+        val routeProgress = buildTriggerRouteProgress(stepIndex = 1)
+        val snapshot = TriggerSnapshot().apply { update(routeProgress, routeProgress) }
+        val statementObjects = TriggerProperty.getSparseArray(routeProgress, routeProgress)
+        val statements = listOf(
+            Trigger.all(),
+            Trigger.any(),
+            Trigger.none(),
+            Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100.0),
+            Trigger.lt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100.0),
+            Trigger.gte(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, 0),
+            Trigger.lte(TriggerProperty.NEXT_STEP_DISTANCE_METERS, 50),
+            Trigger.eq(TriggerProperty.STEP_INDEX, 1),
+            Trigger.eq(TriggerProperty.STEP_INDEX, 1.0),
+            Trigger.neq(TriggerProperty.STEP_INDEX, 2),
+            Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE),
+            Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.FALSE),
+            Trigger.eq(TriggerProperty.FIRST_STEP, TriggerProperty.TRUE),
+            Trigger.eq(TriggerProperty.LAST_STEP, TriggerProperty.TRUE),
+            Trigger.gt(TriggerProperty.LAST_LEG, TriggerProperty.FALSE),
+            Trigger.eq(TriggerProperty.FIRST_LEG, TriggerProperty.TRUE),
+            Trigger.all(
+                Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100.0),
+                Trigger.any(
+                    Trigger.eq(TriggerProperty.STEP_INDEX, 0),
+                    Trigger.none(Trigger.lt(TriggerProperty.STEP_DURATION_TOTAL_SECONDS, 10.0))
+                )
+            )
+        )
+
+        for (statement in statements) {
+            val compiledTrigger = CompiledTrigger.compile(statement)
+
+            assertNotNull(compiledTrigger)
+            assertEquals(statement.isOccurring(statementObjects), compiledTrigger!!.isOccurring(snapshot))
+        }
+    }
+
+    @Test
+    fun compile_customStatementIsNotCompiled() {
+        val customStatement = object : Trigger.Statement() {
+            override fun isOccurring(statementObjects: SparseArray<Array<Number>>): Boolean = true
+        }
+
+        assertNull(CompiledTrigger.compile(Trigger.all(customStatement)))
+    }
+
+    @Test
+    fun update_sameProgressChangesNoProperties() {
+        val routeProgress = buildTriggerRouteProgress(stepIndex = 1)
+        val snapshot = TriggerSnapshot()
+        snapshot.update(routeProgress, routeProgress)
+
+        snapshot.update(routeProgress, routeProgress)
+
+        assertEquals(0L, snapshot.changedProperties)
+    }
+
+    @Test
+    fun update_newStepChangesStepProperties() {
+        val snapshot = TriggerSnapshot()
+        val firstStep = buildTriggerRouteProgress(stepIndex = 0)
+        val secondStep = buildTriggerRouteProgress(stepIndex = 1)
+        snapshot.update(firstStep, firstStep)
+
+        snapshot.update(firstStep, secondStep)
+
+        val stepIndexBit = TriggerSnapshot.propertyBit(TriggerProperty.STEP_INDEX)
+        assertEquals(stepIndexBit, snapshot.changedProperties and stepIndexBit)
+    }
+
+    @Test
+    fun isOccurring_reevaluatedOnceReadPropertyChanges() {
+        val compiledTrigger = CompiledTrigger.compile(Trigger.eq(TriggerProperty.STEP_INDEX, 1))!!
+        val snapshot = TriggerSnapshot()
+        val firstStep = buildTriggerRouteProgress(stepIndex = 0)
+        val secondStep = buildTriggerRouteProgress(stepIndex = 1)
+        snapshot.update(firstStep, firstStep)
+        compiledTrigger.isOccurring(snapshot)
+        snapshot.update(firstStep, firstStep)
+        compiledTrigger.isOccurring(snapshot)
+
+        snapshot.update(firstStep, secondStep)
+
+        assertTrue(compiledTrigger.isOccurring(snapshot))
+    }
+
+    @Test
+    fun stepMilestone_snapshotAndProgressEvaluationAgree() {
+        val routeProgress = buildTriggerRouteProgress(stepIndex = 1)
+        val trigger = Trigger.all(
+            Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 100.0),
+            Trigger.eq(TriggerProperty.STEP_INDEX, 1)
+        )
+        val progressMilestone = StepMilestone.Builder().setTrigger(trigger).build()
+        val snapshotMilestone = StepMilestone.Builder().setTrigger(trigger).build()
+        val snapshot = TriggerSnapshot()
+
+        for (i in 0 until 3) {
+            snapshot.update(routeProgress, routeProgress)
+
+            assertEquals(
+                progressMilestone.isOccurring(routeProgress, routeProgress),
+                snapshotMilestone.isOccurring(snapshot)
+            )
+        }
+    }
+
+    private fun buildTriggerRouteProgress(stepIndex: Int): RouteProgress {
+        val route = buildTestDirectionsRoute(ROUTE_FIXTURE)
+        val stepDistanceRemaining = route.legs()!![0].steps()!![stepIndex].distance()
+        val legDistanceRemaining = route.legs()!![0].distance()!!
+        val routeDistance = route.distance()!!
+        return buildTestRouteProgress(
+            route, stepDistanceRemaining, legDistanceRemaining, routeDistance, stepIndex, 0
+        )
+    }
+}
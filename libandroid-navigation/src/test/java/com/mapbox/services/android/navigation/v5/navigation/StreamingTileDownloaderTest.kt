@@ -0,0 +1,183 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import android.os.Handler
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okhttp3.mockwebserver.SocketPolicy
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class StreamingTileDownloaderTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val mockServer = MockWebServer()
+    private val executor: ExecutorService = Executors.newSingleThreadExecutor()
+    private val handler: Handler = mockk {
+        every { post(any()) } answers {
+            firstArg<Runnable>().run()
+            true
+        }
+    }
+    private val listener: RouteTileDownloadListener = mockk(relaxUnitFun = true)
+    private val downloader = StreamingTileDownloader(OkHttpClient(), executor, handler, 1)
+    private lateinit var destination: File
+
+    @Before
+    fun setUp() {
+        mockServer.start()
+        destination = temporaryFolder.newFolder()
+    }
+
+    @After
+    fun cleanUp() {
+        executor.shutdownNow()
+        mockServer.shutdown()
+    }
+
+    @Test
+    fun tilesUnpackedWhileDownloading() {
+        mockServer.enqueue(MockResponse().setBody(Buffer().write(tar("0/1/2.gph" to ByteArray(700)))))
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        verify { listener.onCompletion() }
+        assertEquals(700L, File(destination, "0/1/2.gph").length())
+    }
+
+    @Test
+    fun serverErrorIsRetried() {
+        mockServer.enqueue(MockResponse().setResponseCode(503))
+        mockServer.enqueue(MockResponse().setBody(Buffer().write(tar("0/1/2.gph" to ByteArray(10)))))
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        assertEquals(2, mockServer.requestCount)
+        verify { listener.onCompletion() }
+        verify(exactly = 0) { listener.onError(any()) }
+    }
+
+    @Test
+    fun clientErrorIsNotRetried() {
+        mockServer.enqueue(MockResponse().setResponseCode(404))
+        mockServer.enqueue(MockResponse().setBody(Buffer().write(tar("0/1/2.gph" to ByteArray(10)))))
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        assertEquals(1, mockServer.requestCount)
+        verify { listener.onError(any()) }
+        verify(exactly = 0) { listener.onCompletion() }
+    }
+
+    @Test
+    fun errorReportedOnceAttemptsAreExhausted() {
+        repeat(3) { mockServer.enqueue(MockResponse().setResponseCode(500)) }
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        assertEquals(3, mockServer.requestCount)
+        verify(exactly = 1) { listener.onError(any()) }
+    }
+
+    @Test
+    fun cancelledDownloadIsNotReported() {
+        mockServer.enqueue(
+            MockResponse()
+                .setBody(Buffer().write(tar("0/1/2.gph" to ByteArray(4096))))
+                .throttleBody(512, 100, TimeUnit.MILLISECONDS)
+        )
+
+        val download = downloader.download(mockServer.url("/tiles.tar"), destination, listener)
+        mockServer.takeRequest()
+        download.cancel(true)
+        executor.shutdown()
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS))
+        verify(exactly = 0) { listener.onCompletion() }
+        verify(exactly = 0) { listener.onError(any()) }
+        assertFalse(File(destination, "0/1/2.gph").exists())
+    }
+
+    @Test
+    fun resumedDownloadIsConditionalOnTheFirstValidator() {
+        val archive = tar("0/1/2.gph" to ByteArray(1024), "0/1/3.gph" to ByteArray(8192))
+        mockServer.enqueue(
+            MockResponse()
+                .setHeader("ETag", "\"a\"")
+                .setBody(Buffer().write(archive))
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY)
+        )
+        mockServer.enqueue(MockResponse().setHeader("ETag", "\"a\"").setBody(Buffer().write(archive)))
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        mockServer.takeRequest()
+        val resumed = mockServer.takeRequest()
+        assertEquals("bytes=1536-", resumed.getHeader("Range"))
+        assertEquals("\"a\"", resumed.getHeader("If-Range"))
+        verify { listener.onCompletion() }
+        assertEquals(8192L, File(destination, "0/1/3.gph").length())
+    }
+
+    @Test
+    fun changedArchiveIsDownloadedFromTheStart() {
+        mockServer.enqueue(
+            MockResponse()
+                .setHeader("ETag", "\"a\"")
+                .setBody(Buffer().write(tar("0/1/2.gph" to ByteArray(1024), "0/1/3.gph" to ByteArray(8192))))
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY)
+        )
+        mockServer.enqueue(
+            MockResponse()
+                .setHeader("ETag", "\"b\"")
+                .setBody(Buffer().write(tar("0/1/4.gph" to ByteArray(100))))
+        )
+
+        downloader.download(mockServer.url("/tiles.tar"), destination, listener).get(5, TimeUnit.SECONDS)
+
+        assertEquals(2, mockServer.requestCount)
+        verify { listener.onCompletion() }
+        verify(exactly = 0) { listener.onError(any()) }
+        assertEquals(100L, File(destination, "0/1/4.gph").length())
+    }
+
+    private fun tar(vararg entries: Pair<String, ByteArray>): ByteArray {
+        val output = ByteArrayOutputStream()
+        entries.forEach { (name, content) ->
+            output.write(header(name, content.size))
+            output.write(content)
+            output.write(ByteArray((512 - content.size % 512) % 512))
+        }
+        output.write(ByteArray(1024))
+        return output.toByteArray()
+    }
+
+    private fun header(name: String, size: Int): ByteArray {
+        val header = ByteArray(512)
+        name.toByteArray().copyInto(header, 0)
+        "%011o".format(size).toByteArray().copyInto(header, 124)
+        header[156] = '0'.toByte()
+        "        ".toByteArray().copyInto(header, 148)
+        val checksum = header.sumBy { it.toInt() and 0xFF }
+        "%06o".format(checksum).toByteArray().copyInto(header, 148)
+        header[154] = 0
+        return header
+    }
+}
@@ -0,0 +1,122 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.EOFException
+import java.io.File
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class TarStreamUnpackerTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun unpacksAllTiles() {
+        val destination = temporaryFolder.newFolder()
+        val archive = tar(
+            "0/1/2.gph" to ByteArray(700) { 1 },
+            "0/1/3.gph" to ByteArray(10) { 2 }
+        )
+        val unpacker = TarStreamUnpacker(destination)
+
+        unpacker.unpack(ByteArrayInputStream(archive))
+
+        assertEquals(2, unpacker.unpackedTiles)
+        assertEquals(700L, File(destination, "0/1/2.gph").length())
+        assertEquals(10L, File(destination, "0/1/3.gph").length())
+    }
+
+    @Test
+    fun completedBytesPointsAfterLastCompleteEntry() {
+        val destination = temporaryFolder.newFolder()
+        val archive = tar(
+            "0/1/2.gph" to ByteArray(700) { 1 },
+            "0/1/3.gph" to ByteArray(10) { 2 }
+        )
+        val unpacker = TarStreamUnpacker(destination)
+
+        try {
+            unpacker.unpack(ByteArrayInputStream(archive.copyOf(2048)))
+        } catch (e: EOFException) {
+            // expected, the second tile is truncated
+        }
+
+        assertEquals(1536L, unpacker.completedBytes)
+        assertTrue(File(destination, "0/1/2.gph").exists())
+        assertFalse(File(destination, "0/1/3.gph").exists())
+        assertFalse(File(destination, "0/1/3.gph.part").exists())
+    }
+
+    @Test
+    fun resumesFromCompletedBytes() {
+        val destination = temporaryFolder.newFolder()
+        val archive = tar(
+            "0/1/2.gph" to ByteArray(700) { 1 },
+            "0/1/3.gph" to ByteArray(10) { 2 }
+        )
+        val unpacker = TarStreamUnpacker(destination)
+        try {
+            unpacker.unpack(ByteArrayInputStream(archive.copyOf(2048)))
+        } catch (e: EOFException) {
+            // expected, the second tile is truncated
+        }
+
+        val offset = unpacker.completedBytes.toInt()
+        unpacker.unpack(ByteArrayInputStream(archive, offset, archive.size - offset))
+
+        assertEquals(2, unpacker.unpackedTiles)
+        assertEquals(10L, File(destination, "0/1/3.gph").length())
+    }
+
+    @Test(expected = TarStreamUnpacker.TarChecksumException::class)
+    fun corruptedHeaderIsRejected() {
+        val archive = tar("0/1/2.gph" to ByteArray(10))
+        archive[0] = 'x'.toByte()
+
+        TarStreamUnpacker(temporaryFolder.newFolder()).unpack(ByteArrayInputStream(archive))
+    }
+
+    @Test(expected = java.io.IOException::class)
+    fun entryOutsideOfDestinationIsRejected() {
+        val archive = tar("../escaped.gph" to ByteArray(10))
+
+        TarStreamUnpacker(temporaryFolder.newFolder()).unpack(ByteArrayInputStream(archive))
+    }
+
+    @Test(expected = java.io.IOException::class)
+    fun entryInSiblingOfDestinationIsRejected() {
+        val destination = temporaryFolder.newFolder("tiles")
+        val archive = tar("../tiles-evil/escaped.gph" to ByteArray(10))
+
+        TarStreamUnpacker(destination).unpack(ByteArrayInputStream(archive))
+    }
+
+    private fun tar(vararg entries: Pair<String, ByteArray>): ByteArray {
+        val output = ByteArrayOutputStream()
+        entries.forEach { (name, content) ->
+            output.write(header(name, content.size))
+            output.write(content)
+            output.write(ByteArray((512 - content.size % 512) % 512))
+        }
+        output.write(ByteArray(1024))
+        return output.toByteArray()
+    }
+
+    private fun header(name: String, size: Int): ByteArray {
+        val header = ByteArray(512)
+        name.toByteArray().copyInto(header, 0)
+        "%011o".format(size).toByteArray().copyInto(header, 124)
+        header[156] = '0'.toByte()
+        "        ".toByteArray().copyInto(header, 148)
+        val checksum = header.sumBy { it.toInt() and 0xFF }
+        "%06o".format(checksum).toByteArray().copyInto(header, 148)
+        header[154] = 0
+        return header
+    }
+}
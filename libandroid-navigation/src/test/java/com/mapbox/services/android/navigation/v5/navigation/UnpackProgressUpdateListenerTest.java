@@ -27,4 +27,15 @@ public class UnpackProgressUpdateListenerTest {
 
     verify(listener).onCompletion();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void onError_downloadListenerIsTriggered() {
+    RouteTileDownloadListener listener = mock(RouteTileDownloadListener.class);
+    OfflineError error = new OfflineError("Error occurred unpacking tiles");
+    UnpackProgressUpdateListener progressUpdateListener = new UnpackProgressUpdateListener(listener);
+
+    progressUpdateListener.onError(error);
+
+    verify(listener).onError(error);
+  }
+}
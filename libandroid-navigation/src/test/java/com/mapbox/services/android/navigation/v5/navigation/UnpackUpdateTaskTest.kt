@@ -0,0 +1,102 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import android.os.Handler
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import java.io.File
+import org.junit.Test
+
+class UnpackUpdateTaskTest {
+
+    private val handler: Handler = mockk {
+        every { post(any()) } answers {
+            firstArg<Runnable>().run()
+            true
+        }
+    }
+    private val listener: UnpackUpdateTask.ProgressUpdateListener = mockk(relaxed = true)
+
+    @Test
+    fun progressPublishedFromRemainingFileSize() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        every { tilePack.length() } returns 50L
+        task.run()
+
+        verify { listener.onProgressUpdate(75L) }
+    }
+
+    @Test
+    fun unchangedProgressNotPublishedAgain() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        every { tilePack.length() } returns 100L
+        task.run()
+        task.run()
+
+        verify(exactly = 1) { listener.onProgressUpdate(50L) }
+    }
+
+    @Test
+    fun completionPublishesFullProgress() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        task.complete()
+        task.run()
+
+        verifyOrder {
+            listener.onProgressUpdate(100L)
+            listener.onCompletion()
+        }
+        verify(exactly = 1) { listener.onProgressUpdate(any()) }
+    }
+
+    @Test
+    fun failureNotifiesErrorWithoutCompletion() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        task.fail(IllegalStateException("corrupted"))
+        task.complete()
+
+        verify { listener.onError(any()) }
+        verify(exactly = 0) { listener.onCompletion() }
+    }
+
+    @Test
+    fun noProgressPublishedAfterCompletion() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        task.complete()
+        every { tilePack.length() } returns 100L
+        task.run()
+
+        verify(exactly = 0) { listener.onProgressUpdate(50L) }
+    }
+
+    @Test
+    fun nothingPublishedAfterCancel() {
+        val tilePack = mockk<File>()
+        every { tilePack.length() } returns 200L
+        val task = UnpackUpdateTask(tilePack, listener, handler)
+
+        task.cancel()
+        every { tilePack.length() } returns 100L
+        task.run()
+        task.complete()
+
+        verify(exactly = 0) { listener.onProgressUpdate(any()) }
+        verify(exactly = 0) { listener.onCompletion() }
+    }
+}
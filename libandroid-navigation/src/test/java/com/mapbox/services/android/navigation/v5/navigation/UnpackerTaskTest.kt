@@ -0,0 +1,43 @@
+package com.mapbox.services.android.navigation.v5.navigation
+
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class UnpackerTaskTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val offlineNavigator: OfflineNavigator = mockk(relaxUnitFun = true)
+
+    @Test
+    fun tarRemovedAndNoErrorReportedOnSuccess() {
+        val tar = temporaryFolder.newFile("tiles.tar")
+        var result: Throwable? = IllegalStateException()
+
+        UnpackerTask(offlineNavigator, tar.absolutePath, "dest/") { result = it }.run()
+
+        assertNull(result)
+        assertFalse(tar.exists())
+    }
+
+    @Test
+    fun errorReportedAndTarKeptWhenUnpackingFails() {
+        val tar = temporaryFolder.newFile("tiles.tar")
+        val error = IllegalStateException("corrupted")
+        every { offlineNavigator.unpackTiles(any(), any()) } throws error
+        var result: Throwable? = null
+
+        UnpackerTask(offlineNavigator, tar.absolutePath, "dest/") { result = it }.run()
+
+        assertSame(error, result)
+        assertTrue(tar.exists())
+    }
+}
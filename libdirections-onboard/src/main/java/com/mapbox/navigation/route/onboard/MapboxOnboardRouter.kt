@@ -1,25 +1,24 @@
 package com.mapbox.navigation.route.onboard
 
-import com.google.gson.Gson
 import com.mapbox.annotation.module.MapboxModule
 import com.mapbox.annotation.module.MapboxModuleType
-import com.mapbox.api.directions.v5.models.DirectionsResponse
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
 import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.navigation.base.metrics.MetricsReporter
 import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
 import com.mapbox.navigation.base.route.RouteRefreshCallback
 import com.mapbox.navigation.base.route.Router
 import com.mapbox.navigation.base.route.internal.RouteUrl
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.navigator.internal.toRouterParams
 import com.mapbox.navigation.route.onboard.model.OfflineRouteError
+import com.mapbox.navigation.route.onboard.model.OnboardRouteParsingEvent
+import com.mapbox.navigation.route.onboard.network.HttpClient
 import com.mapbox.navigation.utils.NavigationException
 import com.mapbox.navigation.utils.internal.ThreadController
-import com.mapbox.navigator.RouterParams
-import com.mapbox.navigator.TileEndpointConfiguration
-import java.io.File
 import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.launch
@@ -34,45 +33,30 @@ import kotlinx.coroutines.withContext
  * @param navigatorNative Native Navigator
  * @param config configuration for on-board router
  * @param logger interface for logging any events
+ * @param metricsReporter optional reporter of the route parsing metrics
  */
 @MapboxModule(MapboxModuleType.NavigationOnboardRouter)
-class MapboxOnboardRouter(
+class MapboxOnboardRouter @JvmOverloads constructor(
     private val navigatorNative: MapboxNativeNavigator,
     config: MapboxOnboardRouterConfig,
-    private val logger: Logger
+    private val logger: Logger,
+    private val metricsReporter: MetricsReporter? = null
 ) : Router {
 
     companion object {
         private const val TAG = "MapboxOnboardRouter"
-        private const val TILES_DIR_NAME = "tiles"
     }
 
     private val mainJobControl by lazy {
         ThreadController.getMainScopeAndRootJob()
     }
-    private val gson = Gson()
 
     init {
         if (config.tilePath.isNotEmpty()) {
-            val tileDir = File(config.tilePath, TILES_DIR_NAME)
-            if (!tileDir.exists()) {
-                tileDir.mkdirs()
-            }
-            val routerParams = RouterParams(
-                tileDir.absolutePath,
-                config.inMemoryTileCache,
-                config.mapMatchingSpatialCache,
-                config.threadsCount,
-                config.endpoint?.let {
-                    TileEndpointConfiguration(
-                        it.host,
-                        it.version,
-                        it.token,
-                        it.userAgent,
-                        ""
-                    )
-                })
-            navigatorNative.configureRouter(routerParams, null)
+            navigatorNative.configureRouter(
+                config.toRouterParams(),
+                HttpClient(logger = logger, metricsReporter = metricsReporter)
+            )
         }
     }
 
@@ -122,7 +106,8 @@ class MapboxOnboardRouter(
             )
         ).build()
 
-        retrieveRoute(offlineRouter.buildUrl(), callback)
+        val parser = OnboardRouteParser(routeOptions.annotationsList()?.toSet() ?: emptySet())
+        retrieveRoute(offlineRouter.buildUrl(), parser, callback)
     }
 
     /**
@@ -150,20 +135,15 @@ class MapboxOnboardRouter(
         // Does nothing
     }
 
-    private fun retrieveRoute(url: String, callback: Router.Callback) {
+    private fun retrieveRoute(url: String, parser: OnboardRouteParser, callback: Router.Callback) {
         mainJobControl.scope.launch {
             try {
                 val routerResult = getRoute(url)
-
-                val routes: List<DirectionsRoute> = try {
-                    parseDirectionsRoutes(routerResult.json)
-                } catch (e: RuntimeException) {
-                    emptyList()
-                }
+                val parseResult = parseDirectionsRoutes(routerResult.json, parser)
 
                 when {
-                    !routes.isNullOrEmpty() -> callback.onResponse(routes)
-                    else -> callback.onFailure(NavigationException(generateErrorMessage(routerResult.json)))
+                    parseResult.routes.isNotEmpty() -> callback.onResponse(parseResult.routes)
+                    else -> callback.onFailure(NavigationException(generateErrorMessage(parseResult.error)))
                 }
             } catch (e: CancellationException) {
                 callback.onCanceled()
@@ -175,14 +155,24 @@ class MapboxOnboardRouter(
         navigatorNative.getRoute(url)
     }
 
-    private suspend fun parseDirectionsRoutes(json: String): List<DirectionsRoute> =
+    private suspend fun parseDirectionsRoutes(
+        json: String,
+        parser: OnboardRouteParser
+    ): OnboardRouteParseResult =
         withContext(ThreadController.IODispatcher) {
-            DirectionsResponse.fromJson(json).routes()
+            parser.parse(json).also { result ->
+                metricsReporter?.addEvent(
+                    OnboardRouteParsingEvent(result.parseTimeMillis, json.length, result.routes.size)
+                )
+            }
         }
 
-    private fun generateErrorMessage(response: String): String {
-        val (_, _, error, errorCode) = gson.fromJson(response, OfflineRouteError::class.java)
-        val errorMessage = "Error occurred fetching offline route: $error - Code: $errorCode"
+    private fun generateErrorMessage(routeError: OfflineRouteError?): String {
+        val errorMessage = if (routeError != null) {
+            "Error occurred fetching offline route: ${routeError.error} - Code: ${routeError.errorCode}"
+        } else {
+            "Error occurred fetching offline route: unable to parse the router response"
+        }
         logger.e(Tag(TAG), Message(errorMessage))
         return errorMessage
     }
@@ -0,0 +1,183 @@
+package com.mapbox.navigation.route.onboard
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.JsonElement
+import com.google.gson.JsonObject
+import com.google.gson.JsonParseException
+import com.google.gson.TypeAdapter
+import com.google.gson.TypeAdapterFactory
+import com.google.gson.reflect.TypeToken
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+import com.mapbox.api.directions.v5.DirectionsAdapterFactory
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegAnnotation
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.PointAsCoordinatesTypeAdapter
+import com.mapbox.navigation.route.onboard.model.OfflineRouteError
+import java.io.IOException
+import java.io.StringReader
+
+/**
+ * Single pass parser of the on-board router response.
+ *
+ * Routes are read one by one straight from the [JsonReader], without building an intermediate
+ * [com.mapbox.api.directions.v5.models.DirectionsResponse] or a Json tree of the whole response.
+ * Error fields are picked up during the same pass, so a failed response doesn't need to be parsed again.
+ *
+ * @param requestedAnnotations names of the [LegAnnotation] properties that should be kept,
+ * all the other ones are skipped. If empty, leg annotations are not parsed at all.
+ */
+internal class OnboardRouteParser(
+    private val requestedAnnotations: Set<String>
+) {
+
+    companion object {
+        private const val ROUTES = "routes"
+        private const val STATUS = "status"
+        private const val STATUS_CODE = "status_code"
+        private const val ERROR = "error"
+        private const val ERROR_CODE = "error_code"
+    }
+
+    private val gson: Gson by lazy {
+        GsonBuilder()
+            .registerTypeAdapterFactory(DirectionsAdapterFactory.create())
+            .registerTypeAdapter(Point::class.java, PointAsCoordinatesTypeAdapter())
+            .registerTypeAdapterFactory(AnnotationFilterFactory(requestedAnnotations))
+            .create()
+    }
+
+    /**
+     * Parses the router response.
+     *
+     * @param json router response
+     * @return [OnboardRouteParseResult] with the parsed routes or the error returned by the router
+     */
+    fun parse(json: String): OnboardRouteParseResult {
+        val startNanos = System.nanoTime()
+        val routes = mutableListOf<DirectionsRoute>()
+        var status: String? = null
+        var statusCode = 0
+        var error: String? = null
+        var errorCode = 0
+
+        val parsed = try {
+            JsonReader(StringReader(json)).use { reader ->
+                val routeAdapter = gson.getAdapter(DirectionsRoute::class.java)
+                reader.beginObject()
+                while (reader.hasNext()) {
+                    when (reader.nextName()) {
+                        ROUTES -> {
+                            reader.beginArray()
+                            while (reader.hasNext()) {
+                                routeAdapter.read(reader)?.let { routes.add(it) }
+                            }
+                            reader.endArray()
+                        }
+                        STATUS -> status = reader.nextStringOrNull()
+                        STATUS_CODE -> statusCode = reader.nextIntOrZero()
+                        ERROR -> error = reader.nextStringOrNull()
+                        ERROR_CODE -> errorCode = reader.nextIntOrZero()
+                        else -> reader.skipValue()
+                    }
+                }
+                reader.endObject()
+            }
+            true
+        } catch (e: IOException) {
+            false
+        } catch (e: JsonParseException) {
+            false
+        } catch (e: IllegalStateException) {
+            false
+        } catch (e: NumberFormatException) {
+            false
+        }
+
+        val routeError = if (error != null || status != null) {
+            OfflineRouteError(status ?: "", statusCode, error ?: "", errorCode)
+        } else {
+            null
+        }
+
+        return OnboardRouteParseResult(
+            routes = if (parsed) routes else emptyList(),
+            error = routeError,
+            parseTimeMillis = (System.nanoTime() - startNanos) / 1_000_000
+        )
+    }
+
+    private fun JsonReader.nextStringOrNull(): String? =
+        if (peek() == JsonToken.NULL) {
+            nextNull()
+            null
+        } else {
+            nextString()
+        }
+
+    private fun JsonReader.nextIntOrZero(): Int =
+        if (peek() == JsonToken.NULL) {
+            nextNull()
+            0
+        } else {
+            nextInt()
+        }
+
+    /**
+     * Reads [LegAnnotation] property by property, skipping the ones that weren't requested
+     * instead of materializing their (potentially huge) arrays.
+     */
+    private class AnnotationFilterFactory(
+        private val requestedAnnotations: Set<String>
+    ) : TypeAdapterFactory {
+
+        override fun <T> create(gson: Gson, type: TypeToken<T>): TypeAdapter<T>? {
+            if (type.rawType != LegAnnotation::class.java) {
+                return null
+            }
+            val delegate = gson.getDelegateAdapter(this, type)
+            val elementAdapter = gson.getAdapter(JsonElement::class.java)
+
+            return object : TypeAdapter<T>() {
+                override fun write(out: JsonWriter, value: T) {
+                    delegate.write(out, value)
+                }
+
+                override fun read(reader: JsonReader): T? {
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT || requestedAnnotations.isEmpty()) {
+                        reader.skipValue()
+                        return null
+                    }
+                    val annotation = JsonObject()
+                    reader.beginObject()
+                    while (reader.hasNext()) {
+                        val name = reader.nextName()
+                        if (requestedAnnotations.contains(name)) {
+                            annotation.add(name, elementAdapter.read(reader))
+                        } else {
+                            reader.skipValue()
+                        }
+                    }
+                    reader.endObject()
+                    return delegate.fromJsonTree(annotation)
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Result of [OnboardRouteParser.parse]
+ *
+ * @param routes parsed routes, empty if the response couldn't be parsed or contains an error
+ * @param error error returned by the router, if any
+ * @param parseTimeMillis time spent on parsing the response
+ */
+internal data class OnboardRouteParseResult(
+    val routes: List<DirectionsRoute>,
+    val error: OfflineRouteError?,
+    val parseTimeMillis: Long
+)
@@ -0,0 +1,26 @@
+package com.mapbox.navigation.route.onboard.model
+
+import com.google.gson.Gson
+import com.mapbox.navigation.base.metrics.DirectionsMetrics
+import com.mapbox.navigation.base.metrics.MetricEvent
+
+/**
+ * Metric of a single request made by the on-board router HTTP client
+ *
+ * @param path requested path, without query parameters
+ * @param isSuccessful whether the request completed with a successful response
+ * @param bytesCount size of the received body
+ * @param durationMillis time from enqueueing the request until the body was read
+ */
+internal data class OnboardHttpRequestEvent(
+    val path: String,
+    val isSuccessful: Boolean,
+    val bytesCount: Int,
+    val durationMillis: Long
+) : MetricEvent {
+
+    override val metricName: String
+        get() = DirectionsMetrics.ONBOARD_HTTP_REQUEST
+
+    override fun toJson(gson: Gson): String = gson.toJson(this)
+}
@@ -0,0 +1,24 @@
+package com.mapbox.navigation.route.onboard.model
+
+import com.google.gson.Gson
+import com.mapbox.navigation.base.metrics.DirectionsMetrics
+import com.mapbox.navigation.base.metrics.MetricEvent
+
+/**
+ * Metric with the time spent on parsing the on-board router response
+ *
+ * @param parseTimeMillis parsing time
+ * @param responseLength length of the router response
+ * @param routesCount number of the parsed routes
+ */
+internal data class OnboardRouteParsingEvent(
+    val parseTimeMillis: Long,
+    val responseLength: Int,
+    val routesCount: Int
+) : MetricEvent {
+
+    override val metricName: String
+        get() = DirectionsMetrics.ONBOARD_ROUTE_PARSING
+
+    override fun toJson(gson: Gson): String = gson.toJson(this)
+}
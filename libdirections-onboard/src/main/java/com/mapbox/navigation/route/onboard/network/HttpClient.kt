@@ -2,27 +2,34 @@ package com.mapbox.navigation.route.onboard.network
 
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.base.common.logger.model.Message
+import com.mapbox.navigation.base.metrics.MetricsReporter
 import com.mapbox.navigation.route.onboard.BuildConfig
+import com.mapbox.navigation.route.onboard.model.OnboardHttpRequestEvent
 import com.mapbox.navigator.HttpCode
 import com.mapbox.navigator.HttpInterface
 import com.mapbox.navigator.HttpResponse
-import java.io.ByteArrayOutputStream
 import java.io.IOException
+import java.util.concurrent.TimeUnit
 import okhttp3.Call
 import okhttp3.Callback
+import okhttp3.ConnectionPool
+import okhttp3.Dispatcher
 import okhttp3.OkHttpClient
 import okhttp3.Request
 import okhttp3.Response
 import okhttp3.logging.HttpLoggingInterceptor
-import okio.buffer
-import okio.sink
 
-// Note, not using now, but need as a default client for NavNative. Could be pass to NN via configuration (* fun configureRouter() * )
+/**
+ * Platform HTTP client handed to the native router, used to fetch routing tiles.
+ *
+ * Compression is left to OkHttp: it requests gzip on its own and hands over the decompressed body,
+ * so the native side never receives gzipped bytes.
+ */
 internal class HttpClient(
     internal val userAgent: String = USER_AGENT,
-    private val acceptGzipEncoding: Boolean = false,
     private val logger: Logger? = null,
-    private val clientBuilder: OkHttpClient.Builder = OkHttpClient.Builder()
+    private val clientBuilder: OkHttpClient.Builder = sharedClient.newBuilder(),
+    private val metricsReporter: MetricsReporter? = null
 ) : HttpInterface() {
 
     companion object {
@@ -30,8 +37,32 @@ internal class HttpClient(
 
         private const val ERROR_EMPTY_USER_AGENT = "Empty UserAgent is not allowed"
         private const val HEADER_USER_AGENT = "User-Agent"
-        private const val HEADER_ENCODING = "Accept-Encoding"
-        private const val GZIP = "gzip"
+
+        // Routing tiles are fetched in bursts from a single host
+        private const val MAX_REQUESTS = 16
+        private const val MAX_REQUESTS_PER_HOST = 8
+        private const val MAX_IDLE_CONNECTIONS = 8
+        private const val KEEP_ALIVE_DURATION_MINUTES = 5L
+
+        /**
+         * Base client shared by all the [HttpClient] instances, so they reuse the same
+         * connection pool and dispatcher. HTTP/2 is negotiated by OkHttp when the server supports it.
+         */
+        private val sharedClient: OkHttpClient by lazy {
+            OkHttpClient.Builder()
+                .dispatcher(Dispatcher().apply {
+                    maxRequests = MAX_REQUESTS
+                    maxRequestsPerHost = MAX_REQUESTS_PER_HOST
+                })
+                .connectionPool(
+                    ConnectionPool(
+                        MAX_IDLE_CONNECTIONS,
+                        KEEP_ALIVE_DURATION_MINUTES,
+                        TimeUnit.MINUTES
+                    )
+                )
+                .build()
+        }
     }
 
     private val client: OkHttpClient by lazy {
@@ -55,7 +86,7 @@ internal class HttpClient(
     }
 
     override fun isGzipped(): Boolean {
-        return acceptGzipEncoding
+        return false
     }
 
     override fun get(url: String, nativeResponse: HttpResponse) {
@@ -68,30 +99,41 @@ internal class HttpClient(
             return
         }
 
-        if (acceptGzipEncoding) {
-            requestBuilder.addHeader(HEADER_ENCODING, GZIP)
-        }
-
+        val startNanos = System.nanoTime()
         client.newCall(requestBuilder.build()).enqueue(object : Callback {
             override fun onFailure(call: Call, e: IOException) {
+                reportRequest(call, HttpCode.FAILURE, 0, startNanos)
                 nativeResponse.run(ByteArray(0), HttpCode.FAILURE)
             }
 
             override fun onResponse(call: Call, response: Response) {
-                val outputStream = ByteArrayOutputStream()
-                val result = if (response.isSuccessful) HttpCode.SUCCESS else HttpCode.FAILURE
-
-                response.body()?.let { body ->
-                    val sink = outputStream.sink().buffer()
-                    sink.writeAll(body.source())
-                    sink.close()
+                var result = if (response.isSuccessful) HttpCode.SUCCESS else HttpCode.FAILURE
+
+                // read with ResponseBody.bytes(), without the additional copy through
+                // a ByteArrayOutputStream
+                val bytes = try {
+                    response.body()?.bytes() ?: ByteArray(0)
+                } catch (e: IOException) {
+                    result = HttpCode.FAILURE
+                    ByteArray(0)
+                } finally {
+                    response.close()
                 }
 
-                val bytes = outputStream.toByteArray()
-                outputStream.close()
-
+                reportRequest(call, result, bytes.size, startNanos)
                 nativeResponse.run(bytes, result)
             }
         })
     }
+
+    private fun reportRequest(call: Call, result: HttpCode, bytesCount: Int, startNanos: Long) {
+        metricsReporter?.addEvent(
+            OnboardHttpRequestEvent(
+                path = call.request().url().encodedPath(),
+                isSuccessful = result == HttpCode.SUCCESS,
+                bytesCount = bytesCount,
+                durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+            )
+        )
+    }
 }
@@ -10,6 +10,7 @@ import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
 import com.mapbox.navigation.base.route.Router
 import com.mapbox.navigation.base.route.internal.RouteUrl
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.route.onboard.network.HttpClient
 import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.utils.NavigationException
 import com.mapbox.navigation.utils.internal.ThreadController
@@ -84,6 +85,11 @@ class MapboxOnboardRouterTest {
         assertNotNull(onboardRouter)
     }
 
+    @Test
+    fun routerConfiguredWithPlatformHttpClient() {
+        verify { navigator.configureRouter(any(), ofType(HttpClient::class)) }
+    }
+
     @Test
     fun checkCallbackCalledOnFailure() = coroutineRule.runBlockingTest {
         val exceptionSlot = slot<NavigationException>()
@@ -0,0 +1,72 @@
+package com.mapbox.navigation.route.onboard
+
+import com.mapbox.api.directions.v5.DirectionsCriteria
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class OnboardRouteParserTest {
+
+    @Test
+    fun routesParsed() {
+        val result = OnboardRouteParser(emptySet()).parse(ROUTES_RESPONSE)
+
+        assertEquals(2, result.routes.size)
+        assertEquals(100.0, result.routes[0].distance(), DELTA)
+        assertEquals(200.0, result.routes[1].distance(), DELTA)
+        assertNull(result.error)
+    }
+
+    @Test
+    fun annotationsSkippedWhenNotRequested() {
+        val result = OnboardRouteParser(emptySet()).parse(ROUTES_RESPONSE)
+
+        assertNull(result.routes[0].legs()!![0].annotation())
+    }
+
+    @Test
+    fun onlyRequestedAnnotationsParsed() {
+        val result = OnboardRouteParser(setOf(DirectionsCriteria.ANNOTATION_CONGESTION))
+            .parse(ROUTES_RESPONSE)
+
+        val annotation = result.routes[0].legs()!![0].annotation()
+        assertNotNull(annotation)
+        assertEquals(listOf("low", "heavy"), annotation!!.congestion())
+        assertNull(annotation.distance())
+        assertNull(annotation.speed())
+    }
+
+    @Test
+    fun errorParsed() {
+        val result = OnboardRouteParser(emptySet()).parse(ERROR_RESPONSE)
+
+        assertTrue(result.routes.isEmpty())
+        assertEquals("Bad Request", result.error!!.status)
+        assertEquals(400, result.error!!.statusCode)
+        assertEquals("No suitable edges near location", result.error!!.error)
+        assertEquals(171, result.error!!.errorCode)
+    }
+
+    @Test
+    fun malformedResponseReturnsNoRoutes() {
+        val result = OnboardRouteParser(emptySet()).parse("{\"routes\": [")
+
+        assertTrue(result.routes.isEmpty())
+        assertNull(result.error)
+    }
+
+    companion object {
+        private const val DELTA = 0.000001
+
+        private const val ERROR_RESPONSE =
+            "{\"status\": \"Bad Request\", \"status_code\": 400, \"error\": \"No suitable edges near location\", \"error_code\": 171}"
+        private const val ROUTES_RESPONSE = "{\"routes\": [" +
+            "{\"distance\": 100.0, \"duration\": 10.0, \"geometry\": \"\", \"legs\": [" +
+            "{\"distance\": 100.0, \"duration\": 10.0, \"summary\": \"\", \"steps\": [], \"annotation\": " +
+            "{\"distance\": [50.0, 50.0], \"speed\": [5.0, 5.0], \"congestion\": [\"low\", \"heavy\"]}}]}," +
+            "{\"distance\": 200.0, \"duration\": 20.0, \"geometry\": \"\", \"legs\": []}" +
+            "], \"code\": \"Ok\", \"uuid\": \"uuid\"}"
+    }
+}
@@ -0,0 +1,144 @@
+package com.mapbox.navigation.route.onboard.network
+
+import com.mapbox.navigation.base.metrics.MetricEvent
+import com.mapbox.navigation.base.metrics.MetricsReporter
+import com.mapbox.navigation.route.onboard.model.OnboardHttpRequestEvent
+import com.mapbox.navigator.HttpCode
+import com.mapbox.navigator.HttpResponse
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPOutputStream
+import okhttp3.OkHttpClient
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import okio.Buffer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+
+class HttpClientTest {
+
+    companion object {
+        private const val USER_AGENT = "testAgent"
+        private const val SUCCESS_BODY = "Success test message"
+        private const val FAILURE_BODY = "Error test message"
+        private const val SUCCESS_CODE = 200
+        private const val FAILURE_CODE = 401
+        private const val TILE_PATH = "/tiles/1/2/3"
+    }
+
+    private val mockServer = MockWebServer()
+    private val httpResponseCallback: HttpResponse = mockk(relaxUnitFun = true)
+    private val metricsReporter: MetricsReporter = mockk(relaxUnitFun = true)
+    private val httpClient = HttpClient(
+        userAgent = USER_AGENT,
+        clientBuilder = OkHttpClient.Builder(),
+        metricsReporter = metricsReporter
+    )
+
+    @Before
+    fun setUp() {
+        mockServer.start()
+    }
+
+    @After
+    fun cleanUp() {
+        mockServer.shutdown()
+    }
+
+    @Test
+    fun `check success network response`() {
+        mockServer.enqueue(MockResponse().setResponseCode(SUCCESS_CODE).setBody(SUCCESS_BODY))
+
+        executeAndAwait()
+
+        verify { httpResponseCallback.run(SUCCESS_BODY.toByteArray(), HttpCode.SUCCESS) }
+    }
+
+    @Test
+    fun `check failure network response`() {
+        mockServer.enqueue(MockResponse().setResponseCode(FAILURE_CODE).setBody(FAILURE_BODY))
+
+        executeAndAwait()
+
+        verify { httpResponseCallback.run(FAILURE_BODY.toByteArray(), HttpCode.FAILURE) }
+    }
+
+    @Test
+    fun `check UserAgent header`() {
+        mockServer.enqueue(MockResponse())
+
+        executeAndAwait()
+
+        assertEquals(USER_AGENT, mockServer.takeRequest().getHeader("User-Agent"))
+    }
+
+    @Test
+    fun `gzipped body is decompressed before it reaches the native side`() {
+        mockServer.enqueue(
+            MockResponse()
+                .setResponseCode(SUCCESS_CODE)
+                .addHeader("Content-Encoding", "gzip")
+                .setBody(Buffer().write(gzip(SUCCESS_BODY)))
+        )
+
+        executeAndAwait()
+
+        assertEquals("gzip", mockServer.takeRequest().getHeader("Accept-Encoding"))
+        assertFalse(httpClient.isGzipped())
+        verify { httpResponseCallback.run(SUCCESS_BODY.toByteArray(), HttpCode.SUCCESS) }
+    }
+
+    @Test
+    fun `request is reported to the metrics reporter`() {
+        val event = slot<MetricEvent>()
+        mockServer.enqueue(MockResponse().setResponseCode(SUCCESS_CODE).setBody(SUCCESS_BODY))
+
+        executeAndAwait(TILE_PATH)
+
+        verify { metricsReporter.addEvent(capture(event)) }
+        val requestEvent = event.captured as OnboardHttpRequestEvent
+        assertEquals(TILE_PATH, requestEvent.path)
+        assertTrue(requestEvent.isSuccessful)
+        assertEquals(SUCCESS_BODY.length, requestEvent.bytesCount)
+    }
+
+    @Test
+    fun `failed request is reported to the metrics reporter`() {
+        val event = slot<MetricEvent>()
+        mockServer.enqueue(MockResponse().setResponseCode(FAILURE_CODE).setBody(FAILURE_BODY))
+
+        executeAndAwait()
+
+        verify { metricsReporter.addEvent(capture(event)) }
+        assertFalse((event.captured as OnboardHttpRequestEvent).isSuccessful)
+    }
+
+    private fun executeAndAwait(path: String = "/") {
+        val latch = CountDownLatch(1)
+        every { httpResponseCallback.run(any(), any()) } answers {
+            latch.countDown()
+        }
+
+        httpClient.get(mockServer.url(path).toString(), httpResponseCallback)
+
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            fail()
+        }
+    }
+
+    private fun gzip(body: String): ByteArray {
+        val output = ByteArrayOutputStream()
+        GZIPOutputStream(output).use { it.write(body.toByteArray()) }
+        return output.toByteArray()
+    }
+}
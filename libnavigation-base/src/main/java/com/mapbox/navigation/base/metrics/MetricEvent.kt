@@ -13,6 +13,8 @@ interface MetricEvent {
      */
     @StringDef(
         DirectionsMetrics.ROUTE_RETRIEVAL,
+        DirectionsMetrics.ONBOARD_ROUTE_PARSING,
+        DirectionsMetrics.ONBOARD_HTTP_REQUEST,
         NavigationMetrics.ARRIVE,
         NavigationMetrics.CANCEL_SESSION,
         NavigationMetrics.DEPART,
@@ -94,4 +96,14 @@ object DirectionsMetrics {
      * Directions Event "Route retrieval" name
      */
     const val ROUTE_RETRIEVAL = "route_retrieval_event"
+
+    /**
+     * Directions Event "On-board route parsing" name. Not sent to Telemetry, only propagated to [MetricsObserver].
+     */
+    const val ONBOARD_ROUTE_PARSING = "onboard_route_parsing_event"
+
+    /**
+     * Directions Event "On-board HTTP request" name. Not sent to Telemetry, only propagated to [MetricsObserver].
+     */
+    const val ONBOARD_HTTP_REQUEST = "onboard_http_request_event"
 }
@@ -27,6 +27,8 @@ const val DEFAULT_NAVIGATOR_PREDICTION_MILLIS = 1100L
  * @param onboardRouterConfig [MapboxOnboardRouterConfig] defines configuration for the default on-board router
  * @param isFromNavigationUi Boolean *true* if is called from UI, otherwise *false*
  * @param isDebugLoggingEnabled Boolean
+ * @param routeTilesPrefetchOptions [RouteTilesPrefetchOptions] defines prefetching of routing tiles along the active route,
+ * prefetching is disabled if null
  */
 data class NavigationOptions constructor(
     @TimeFormat.Type val timeFormatType: Int,
@@ -34,7 +36,8 @@ data class NavigationOptions constructor(
     val distanceFormatter: DistanceFormatter?,
     val onboardRouterConfig: MapboxOnboardRouterConfig?,
     val isFromNavigationUi: Boolean = false,
-    val isDebugLoggingEnabled: Boolean = false
+    val isDebugLoggingEnabled: Boolean = false,
+    val routeTilesPrefetchOptions: RouteTilesPrefetchOptions? = null
 ) {
 
     /**
@@ -46,6 +49,7 @@ data class NavigationOptions constructor(
         .distanceFormatter(distanceFormatter)
         .onboardRouterConfig(onboardRouterConfig)
         .isFromNavigationUi(isFromNavigationUi)
+        .routeTilesPrefetchOptions(routeTilesPrefetchOptions)
 
     /**
      * Build a new [NavigationOptions]
@@ -57,6 +61,7 @@ data class NavigationOptions constructor(
         private var onboardRouterConfig: MapboxOnboardRouterConfig? = null
         private var isFromNavigationUi: Boolean = false
         private var isDebugLoggingEnabled: Boolean = false
+        private var routeTilesPrefetchOptions: RouteTilesPrefetchOptions? = null
 
         /**
          * Defines time format for calculation remaining trip time
@@ -94,6 +99,12 @@ data class NavigationOptions constructor(
         fun isDebugLoggingEnabled(flag: Boolean) =
             apply { this.isDebugLoggingEnabled = flag }
 
+        /**
+         * Defines prefetching of routing tiles along the active route
+         */
+        fun routeTilesPrefetchOptions(routeTilesPrefetchOptions: RouteTilesPrefetchOptions?) =
+            apply { this.routeTilesPrefetchOptions = routeTilesPrefetchOptions }
+
         /**
          * Build a new instance of [NavigationOptions]
          * @return NavigationOptions
@@ -105,7 +116,8 @@ data class NavigationOptions constructor(
                 distanceFormatter = distanceFormatter,
                 onboardRouterConfig = onboardRouterConfig,
                 isFromNavigationUi = isFromNavigationUi,
-                isDebugLoggingEnabled = isDebugLoggingEnabled
+                isDebugLoggingEnabled = isDebugLoggingEnabled,
+                routeTilesPrefetchOptions = routeTilesPrefetchOptions
             )
         }
     }
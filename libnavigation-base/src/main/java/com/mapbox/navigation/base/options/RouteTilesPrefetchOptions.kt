@@ -0,0 +1,83 @@
+package com.mapbox.navigation.base.options
+
+/**
+ * Defines how routing tiles along the active route are prefetched for the on-board router
+ *
+ * @param lookAheadMeters distance ahead of the vehicle that should always be covered by downloaded tiles.
+ * Tiles are requested again each time the vehicle travels half of this distance.
+ * @param maxBytesPerHour Max amount of tile data that can be downloaded by the prefetcher during an hour.
+ * This is a soft limit: the size of a prefetch is only known once it completes, so the prefetch that
+ * crosses the limit still finishes and at most that one prefetch goes over it.
+ * @param maxDiskUsageBytes Max size of the tiles directory. Least recently updated tiles are removed
+ * when it's exceeded (optional, tiles are never removed if null)
+ */
+data class RouteTilesPrefetchOptions(
+    val lookAheadMeters: Double = DEFAULT_LOOK_AHEAD_METERS,
+    val maxBytesPerHour: Long = DEFAULT_MAX_BYTES_PER_HOUR,
+    val maxDiskUsageBytes: Long? = null
+) {
+
+    companion object {
+        /**
+         * Default distance ahead of the vehicle covered by prefetched tiles
+         */
+        const val DEFAULT_LOOK_AHEAD_METERS = 20_000.0
+
+        /**
+         * Default hourly download budget of the prefetcher
+         */
+        const val DEFAULT_MAX_BYTES_PER_HOUR = 50L * 1024 * 1024
+    }
+
+    init {
+        check(lookAheadMeters > 0) { "lookAheadMeters must be positive" }
+        check(maxBytesPerHour > 0) { "maxBytesPerHour must be positive" }
+    }
+
+    /**
+     * Get a builder to customize a subset of current options.
+     */
+    fun toBuilder() = Builder(
+        lookAheadMeters,
+        maxBytesPerHour,
+        maxDiskUsageBytes
+    )
+
+    /**
+     * Builder for [RouteTilesPrefetchOptions].
+     *
+     * @param lookAheadMeters distance ahead of the vehicle that should always be covered by downloaded tiles
+     * @param maxBytesPerHour Max amount of tile data that can be downloaded by the prefetcher during an hour
+     * @param maxDiskUsageBytes Max size of the tiles directory (optional)
+     */
+    data class Builder(
+        private var lookAheadMeters: Double = DEFAULT_LOOK_AHEAD_METERS,
+        private var maxBytesPerHour: Long = DEFAULT_MAX_BYTES_PER_HOUR,
+        private var maxDiskUsageBytes: Long? = null
+    ) {
+        /**
+         * Distance ahead of the vehicle that should always be covered by downloaded tiles
+         */
+        fun lookAheadMeters(lookAheadMeters: Double) =
+            apply { this.lookAheadMeters = lookAheadMeters }
+
+        /**
+         * Max amount of tile data that can be downloaded by the prefetcher during an hour (soft limit)
+         */
+        fun maxBytesPerHour(maxBytesPerHour: Long) =
+            apply { this.maxBytesPerHour = maxBytesPerHour }
+
+        /**
+         * Max size of the tiles directory
+         */
+        fun maxDiskUsageBytes(maxDiskUsageBytes: Long?) =
+            apply { this.maxDiskUsageBytes = maxDiskUsageBytes }
+
+        /**
+         * Build the [RouteTilesPrefetchOptions]
+         */
+        fun build() = RouteTilesPrefetchOptions(
+            lookAheadMeters, maxBytesPerHour, maxDiskUsageBytes
+        )
+    }
+}
@@ -0,0 +1,302 @@
+package com.mapbox.navigation.base.route.internal
+
+import com.mapbox.api.directions.v5.DirectionsCriteria
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.Point
+import java.lang.ref.WeakReference
+import java.util.ArrayDeque
+import kotlin.math.asin
+import kotlin.math.cos
+import kotlin.math.min
+import kotlin.math.sin
+import kotlin.math.sqrt
+
+/**
+ * Flat representation of the parts of a [DirectionsRoute] that are read over and over during a
+ * session: the decoded route and step geometries, the distance along the route of every
+ * coordinate, the congestion of every segment and the leg and step boundaries.
+ *
+ * Everything is kept in primitive arrays, the polylines are decoded once without creating a
+ * [Point] per coordinate. Use [of] to share the instance built for a route.
+ */
+class CompactRoute private constructor(
+    private val latitudes: DoubleArray,
+    private val longitudes: DoubleArray,
+    private val cumulativeDistances: DoubleArray,
+    private val congestions: ByteArray,
+    private val legSegmentOffsets: IntArray,
+    private val stepLatitudes: DoubleArray,
+    private val stepLongitudes: DoubleArray,
+    private val stepPointOffsets: IntArray,
+    private val legStepOffsets: IntArray,
+    private val legDistances: DoubleArray,
+    private val legDurations: DoubleArray
+) {
+
+    /**
+     * Number of coordinates of the route geometry.
+     */
+    val size: Int
+        get() = latitudes.size
+
+    val legCount: Int
+        get() = legDistances.size
+
+    /**
+     * Sum of the leg distances in meters.
+     */
+    val distance: Double = legDistances.sum()
+
+    fun latitude(index: Int): Double = latitudes[index]
+
+    fun longitude(index: Int): Double = longitudes[index]
+
+    /**
+     * @return distance in meters along the route geometry from its first coordinate
+     */
+    fun distanceAlong(index: Int): Double = cumulativeDistances[index]
+
+    /**
+     * @return the route geometry, allocated on every call
+     */
+    fun points(): List<Point> = toPoints(latitudes, longitudes, 0, latitudes.size)
+
+    fun legDistance(legIndex: Int): Double = legDistances[legIndex]
+
+    fun legDuration(legIndex: Int): Double = legDurations[legIndex]
+
+    /**
+     * @return distance in meters of the legs following [legIndex]
+     */
+    fun distanceAfterLeg(legIndex: Int): Double = sumAfter(legDistances, legIndex)
+
+    /**
+     * @return duration in seconds of the legs following [legIndex]
+     */
+    fun durationAfterLeg(legIndex: Int): Double = sumAfter(legDurations, legIndex)
+
+    fun stepCount(legIndex: Int): Int =
+        if (legIndex in 0 until legCount) {
+            legStepOffsets[legIndex + 1] - legStepOffsets[legIndex]
+        } else {
+            0
+        }
+
+    /**
+     * @return the step geometry, allocated on every call, or an empty list for an unknown step
+     */
+    fun stepPoints(legIndex: Int, stepIndex: Int): List<Point> {
+        if (stepIndex !in 0 until stepCount(legIndex)) {
+            return emptyList()
+        }
+        val step = legStepOffsets[legIndex] + stepIndex
+        val start = stepPointOffsets[step]
+        return toPoints(stepLatitudes, stepLongitudes, start, stepPointOffsets[step + 1] - start)
+    }
+
+    /**
+     * Number of segments with a congestion annotation in the leg, they follow the leg geometry.
+     */
+    fun segmentCount(legIndex: Int): Int =
+        if (legIndex in 0 until legCount) {
+            legSegmentOffsets[legIndex + 1] - legSegmentOffsets[legIndex]
+        } else {
+            0
+        }
+
+    /**
+     * @return one of the CONGESTION_ constants
+     */
+    fun congestion(legIndex: Int, segmentIndex: Int): Int =
+        congestions[legSegmentOffsets[legIndex] + segmentIndex].toInt()
+
+    companion object {
+        const val CONGESTION_UNKNOWN = 0
+        const val CONGESTION_LOW = 1
+        const val CONGESTION_MODERATE = 2
+        const val CONGESTION_HEAVY = 3
+        const val CONGESTION_SEVERE = 4
+
+        private const val CACHE_SIZE = 4
+        private const val PRECISION_5 = 5
+        private const val PRECISION_6 = 6
+        private const val EARTH_RADIUS_METERS = 6373000.0
+
+        // the primary route and its alternatives
+        private val cache = ArrayDeque<Pair<WeakReference<DirectionsRoute>, CompactRoute>>()
+
+        /**
+         * Returns the instance built for [route], building it if none of the recently used
+         * routes is the same instance.
+         */
+        @JvmStatic
+        fun of(route: DirectionsRoute): CompactRoute {
+            synchronized(cache) {
+                cache.firstOrNull { it.first.get() === route }?.let { return it.second }
+            }
+            val compactRoute = create(route)
+            synchronized(cache) {
+                cache.removeAll { it.first.get() == null }
+                if (cache.size == CACHE_SIZE) {
+                    cache.removeLast()
+                }
+                cache.addFirst(WeakReference(route) to compactRoute)
+            }
+            return compactRoute
+        }
+
+        /**
+         * Builds a new instance, see [of].
+         */
+        @JvmStatic
+        fun create(route: DirectionsRoute): CompactRoute {
+            val precision = when (route.routeOptions()?.geometries()) {
+                DirectionsCriteria.GEOMETRY_POLYLINE -> PRECISION_5
+                else -> PRECISION_6
+            }
+            val routeCoordinates = Coordinates()
+            route.geometry()?.let { routeCoordinates.decode(it, precision) }
+            val latitudes = routeCoordinates.latitudes()
+            val longitudes = routeCoordinates.longitudes()
+            val cumulativeDistances = DoubleArray(latitudes.size)
+            for (i in 1 until latitudes.size) {
+                cumulativeDistances[i] = cumulativeDistances[i - 1] +
+                    distance(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i])
+            }
+
+            val legs = route.legs() ?: emptyList()
+            val legDistances = DoubleArray(legs.size)
+            val legDurations = DoubleArray(legs.size)
+            val legSegmentOffsets = IntArray(legs.size + 1)
+            val legStepOffsets = IntArray(legs.size + 1)
+            legs.forEachIndexed { index, leg ->
+                legDistances[index] = leg.distance() ?: 0.0
+                legDurations[index] = leg.duration() ?: 0.0
+                legSegmentOffsets[index + 1] =
+                    legSegmentOffsets[index] + (leg.annotation()?.congestion()?.size ?: 0)
+                legStepOffsets[index + 1] = legStepOffsets[index] + (leg.steps()?.size ?: 0)
+            }
+
+            val congestions = ByteArray(legSegmentOffsets[legs.size])
+            val stepCoordinates = Coordinates()
+            val stepPointOffsets = IntArray(legStepOffsets[legs.size] + 1)
+            var step = 0
+            legs.forEachIndexed { index, leg ->
+                leg.annotation()?.congestion()?.forEachIndexed { segment, congestion ->
+                    congestions[legSegmentOffsets[index] + segment] = toCongestion(congestion)
+                }
+                leg.steps()?.forEach { legStep ->
+                    legStep.geometry()?.let { stepCoordinates.decode(it, precision) }
+                    stepPointOffsets[++step] = stepCoordinates.size
+                }
+            }
+
+            return CompactRoute(
+                latitudes,
+                longitudes,
+                cumulativeDistances,
+                congestions,
+                legSegmentOffsets,
+                stepCoordinates.latitudes(),
+                stepCoordinates.longitudes(),
+                stepPointOffsets,
+                legStepOffsets,
+                legDistances,
+                legDurations
+            )
+        }
+
+        private fun toCongestion(congestion: String?): Byte =
+            when (congestion) {
+                "low" -> CONGESTION_LOW
+                "moderate" -> CONGESTION_MODERATE
+                "heavy" -> CONGESTION_HEAVY
+                "severe" -> CONGESTION_SEVERE
+                else -> CONGESTION_UNKNOWN
+            }.toByte()
+
+        private fun sumAfter(values: DoubleArray, index: Int): Double {
+            var sum = 0.0
+            for (i in index + 1 until values.size) {
+                sum += values[i]
+            }
+            return sum
+        }
+
+        private fun toPoints(latitudes: DoubleArray, longitudes: DoubleArray, start: Int, count: Int): List<Point> {
+            val points = ArrayList<Point>(count)
+            for (i in start until start + count) {
+                points.add(Point.fromLngLat(longitudes[i], latitudes[i]))
+            }
+            return points
+        }
+
+        // haversine, same as TurfMeasurement.distance
+        private fun distance(latitude1: Double, longitude1: Double, latitude2: Double, longitude2: Double): Double {
+            val dLat = Math.toRadians(latitude2 - latitude1)
+            val dLon = Math.toRadians(longitude2 - longitude1)
+            val a = sin(dLat / 2) * sin(dLat / 2) +
+                sin(dLon / 2) * sin(dLon / 2) * cos(Math.toRadians(latitude1)) * cos(Math.toRadians(latitude2))
+            return 2 * asin(min(1.0, sqrt(a))) * EARTH_RADIUS_METERS
+        }
+    }
+
+    /**
+     * Growable coordinate arrays a polyline is decoded into, like PolylineUtils.decode does
+     * without the intermediate points.
+     */
+    private class Coordinates {
+        private var latitudes = DoubleArray(INITIAL_CAPACITY)
+        private var longitudes = DoubleArray(INITIAL_CAPACITY)
+
+        var size = 0
+            private set
+
+        fun decode(encodedPath: String, precision: Int) {
+            val factor = Math.pow(10.0, precision.toDouble())
+            var index = 0
+            var lat = 0
+            var lng = 0
+            while (index < encodedPath.length) {
+                var result = 1
+                var shift = 0
+                var b: Int
+                do {
+                    b = encodedPath[index++].toInt() - 63 - 1
+                    result += b shl shift
+                    shift += 5
+                } while (b >= 0x1f)
+                lat += if ((result and 1) != 0) (result shr 1).inv() else result shr 1
+
+                result = 1
+                shift = 0
+                do {
+                    b = encodedPath[index++].toInt() - 63 - 1
+                    result += b shl shift
+                    shift += 5
+                } while (b >= 0x1f)
+                lng += if ((result and 1) != 0) (result shr 1).inv() else result shr 1
+
+                add(lat / factor, lng / factor)
+            }
+        }
+
+        fun latitudes(): DoubleArray = latitudes.copyOf(size)
+
+        fun longitudes(): DoubleArray = longitudes.copyOf(size)
+
+        private fun add(latitude: Double, longitude: Double) {
+            if (size == latitudes.size) {
+                latitudes = latitudes.copyOf(size * 2)
+                longitudes = longitudes.copyOf(size * 2)
+            }
+            latitudes[size] = latitude
+            longitudes[size] = longitude
+            size++
+        }
+
+        private companion object {
+            private const val INITIAL_CAPACITY = 64
+        }
+    }
+}
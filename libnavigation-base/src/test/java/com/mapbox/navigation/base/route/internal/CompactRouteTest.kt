@@ -0,0 +1,141 @@
+package com.mapbox.navigation.base.route.internal
+
+import com.mapbox.api.directions.v5.DirectionsCriteria
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class CompactRouteTest {
+
+    private val firstStep = listOf(Point.fromLngLat(-122.4194, 37.7749), Point.fromLngLat(-122.4184, 37.7759))
+    private val secondStep = listOf(Point.fromLngLat(-122.4184, 37.7759), Point.fromLngLat(-122.4164, 37.7769))
+    private val thirdStep = listOf(Point.fromLngLat(-122.4164, 37.7769), Point.fromLngLat(-122.4144, 37.7789))
+    private val routePoints = listOf(firstStep[0], firstStep[1], secondStep[1], thirdStep[1])
+
+    @Test
+    fun `route geometry is decoded like PolylineUtils`() {
+        val geometry = PolylineUtils.encode(routePoints, 6)
+
+        val compactRoute = CompactRoute.create(route(geometry))
+
+        assertEquals(PolylineUtils.decode(geometry, 6), compactRoute.points())
+        assertEquals(routePoints.size, compactRoute.size)
+    }
+
+    @Test
+    fun `polyline geometries are decoded with precision 5`() {
+        val geometry = PolylineUtils.encode(routePoints, 5)
+
+        val compactRoute = CompactRoute.create(route(geometry, DirectionsCriteria.GEOMETRY_POLYLINE))
+
+        assertEquals(PolylineUtils.decode(geometry, 5), compactRoute.points())
+    }
+
+    @Test
+    fun `distance along the route increases from zero`() {
+        val compactRoute = CompactRoute.create(route(PolylineUtils.encode(routePoints, 6)))
+
+        assertEquals(0.0, compactRoute.distanceAlong(0), 0.0)
+        for (i in 1 until compactRoute.size) {
+            assertTrue(compactRoute.distanceAlong(i) > compactRoute.distanceAlong(i - 1))
+        }
+    }
+
+    @Test
+    fun `step geometries are split by leg and step`() {
+        val compactRoute = CompactRoute.create(route(PolylineUtils.encode(routePoints, 6)))
+
+        assertEquals(2, compactRoute.stepCount(0))
+        assertEquals(1, compactRoute.stepCount(1))
+        assertEquals(PolylineUtils.decode(PolylineUtils.encode(secondStep, 6), 6), compactRoute.stepPoints(0, 1))
+        assertEquals(PolylineUtils.decode(PolylineUtils.encode(thirdStep, 6), 6), compactRoute.stepPoints(1, 0))
+        assertTrue(compactRoute.stepPoints(1, 1).isEmpty())
+        assertTrue(compactRoute.stepPoints(2, 0).isEmpty())
+    }
+
+    @Test
+    fun `leg totals are summed`() {
+        val compactRoute = CompactRoute.create(route(PolylineUtils.encode(routePoints, 6)))
+
+        assertEquals(300.0, compactRoute.distance, 0.0)
+        assertEquals(100.0, compactRoute.distanceAfterLeg(0), 0.0)
+        assertEquals(0.0, compactRoute.distanceAfterLeg(1), 0.0)
+        assertEquals(10.0, compactRoute.durationAfterLeg(0), 0.0)
+    }
+
+    @Test
+    fun `congestion is kept per leg segment`() {
+        val compactRoute = CompactRoute.create(route(PolylineUtils.encode(routePoints, 6)))
+
+        assertEquals(2, compactRoute.segmentCount(0))
+        assertEquals(CompactRoute.CONGESTION_LOW, compactRoute.congestion(0, 0))
+        assertEquals(CompactRoute.CONGESTION_HEAVY, compactRoute.congestion(0, 1))
+        assertEquals(CompactRoute.CONGESTION_UNKNOWN, compactRoute.congestion(1, 0))
+    }
+
+    @Test
+    fun `instances are shared per route`() {
+        val route = route(PolylineUtils.encode(routePoints, 6))
+        val otherRoute = route(PolylineUtils.encode(routePoints, 6))
+
+        assertSame(CompactRoute.of(route), CompactRoute.of(route))
+        assertNotSame(CompactRoute.of(route), CompactRoute.of(otherRoute))
+    }
+
+    @Test
+    fun `route without geometry and legs is empty`() {
+        val compactRoute = CompactRoute.create(mockk(relaxed = true) {
+            every { geometry() } returns null
+            every { legs() } returns null
+            every { routeOptions() } returns null
+        })
+
+        assertEquals(0, compactRoute.size)
+        assertEquals(0, compactRoute.legCount)
+        assertEquals(0.0, compactRoute.distance, 0.0)
+    }
+
+    private fun route(
+        routeGeometry: String,
+        routeGeometries: String = DirectionsCriteria.GEOMETRY_POLYLINE6
+    ): DirectionsRoute {
+        val precision = if (routeGeometries == DirectionsCriteria.GEOMETRY_POLYLINE) 5 else 6
+        return mockk {
+            every { geometry() } returns routeGeometry
+            every { routeOptions() } returns mockk {
+                every { geometries() } returns routeGeometries
+            }
+            every { legs() } returns listOf(
+                leg(200.0, 20.0, listOf("low", "heavy"), listOf(step(firstStep, precision), step(secondStep, precision))),
+                leg(100.0, 10.0, listOf("unknown"), listOf(step(thirdStep, precision)))
+            )
+        }
+    }
+
+    private fun leg(
+        legDistance: Double,
+        legDuration: Double,
+        legCongestion: List<String>,
+        legSteps: List<LegStep>
+    ): RouteLeg = mockk {
+        every { distance() } returns legDistance
+        every { duration() } returns legDuration
+        every { annotation() } returns mockk {
+            every { congestion() } returns legCongestion
+        }
+        every { steps() } returns legSteps
+    }
+
+    private fun step(points: List<Point>, precision: Int): LegStep = mockk {
+        every { geometry() } returns PolylineUtils.encode(points, precision)
+    }
+}
@@ -0,0 +1,39 @@
+package android.util
+
+/**
+ * Stand-in for the framework SparseArray, which isn't available on the JVM, for the milestone
+ * sources compiled into the benchmarks. Like the framework class, it keeps sorted keys and
+ * binary searches them, but it only has the methods these sources use.
+ */
+class SparseArray<E>(initialCapacity: Int = 10) {
+
+    private var keys = IntArray(initialCapacity)
+    private var values = arrayOfNulls<Any>(initialCapacity)
+    private var size = 0
+
+    fun size(): Int = size
+
+    @Suppress("UNCHECKED_CAST")
+    fun get(key: Int): E? {
+        val index = keys.binarySearch(key, 0, size)
+        return if (index < 0) null else values[index] as E
+    }
+
+    fun put(key: Int, value: E) {
+        var index = keys.binarySearch(key, 0, size)
+        if (index >= 0) {
+            values[index] = value
+            return
+        }
+        index = index.inv()
+        if (size == keys.size) {
+            keys = keys.copyOf(size * 2 + 1)
+            values = values.copyOf(size * 2 + 1)
+        }
+        keys.copyInto(keys, index + 1, index, size)
+        values.copyInto(values, index + 1, index, size)
+        keys[index] = key
+        values[index] = value
+        size++
+    }
+}
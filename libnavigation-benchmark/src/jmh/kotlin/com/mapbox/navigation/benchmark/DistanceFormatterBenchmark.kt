@@ -0,0 +1,79 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.navigation.core.internal.FormattedDistanceCache
+import com.mapbox.turf.TurfConstants
+import java.util.Locale
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Distance formatting of MapboxDistanceFormatter, for one distance.
+ *
+ * The formatter needs an Android Context for its unit strings and builds a SpannableString, it
+ * delegates the rounding and the memoization to [FormattedDistanceCache] which is measured here
+ * with plain strings.
+ */
+@State(Scope.Benchmark)
+open class DistanceFormatterBenchmark {
+
+    @Param("METRIC", "IMPERIAL")
+    @JvmField
+    var unitType: String = "METRIC"
+
+    private lateinit var formattedDistances: FormattedDistanceCache<String>
+    private lateinit var progressDistances: DoubleArray
+    private lateinit var distinctDistances: DoubleArray
+    private var index = 0
+
+    @Setup
+    fun setup() {
+        val isImperial = unitType == "IMPERIAL"
+        val smallUnit = if (isImperial) TurfConstants.UNIT_FEET else TurfConstants.UNIT_METERS
+        val largeUnit = if (isImperial) TurfConstants.UNIT_MILES else TurfConstants.UNIT_KILOMETERS
+        formattedDistances = FormattedDistanceCache(
+            Locale.US,
+            smallUnit,
+            largeUnit,
+            ROUNDING_INCREMENT
+        ) { roundedValue, isLargeUnit ->
+            "$roundedValue ${if (isLargeUnit) largeUnit else smallUnit}"
+        }
+        // a drive towards the next maneuver, one distance per second
+        progressDistances = DoubleArray(STEP_LENGTH_METERS / SPEED_MPS) {
+            (STEP_LENGTH_METERS - it * SPEED_MPS).toDouble()
+        }
+        // more rounded values than the formatter keeps, none of them is cached when it comes back
+        distinctDistances = DoubleArray(DISTINCT_DISTANCES) {
+            MEDIUM_DISTANCE_METERS + it * DISTINCT_DISTANCE_SPACING_METERS
+        }
+    }
+
+    /**
+     * Distances of consecutive progress updates, most of them round to the previous value.
+     */
+    @Benchmark
+    fun progressUpdates(): String = formattedDistances.get(next(progressDistances))
+
+    /**
+     * Distances which are never cached, every one of them is formatted.
+     */
+    @Benchmark
+    fun distinctDistances(): String = formattedDistances.get(next(distinctDistances))
+
+    private fun next(distances: DoubleArray): Double {
+        index = (index + 1) % distances.size
+        return distances[index]
+    }
+
+    private companion object {
+        private const val ROUNDING_INCREMENT = 50
+        private const val STEP_LENGTH_METERS = 20000
+        private const val SPEED_MPS = 25
+        private const val DISTINCT_DISTANCES = 1024
+        private const val MEDIUM_DISTANCE_METERS = 500.0
+        private const val DISTINCT_DISTANCE_SPACING_METERS = 2000.0
+    }
+}
@@ -0,0 +1,42 @@
+package com.mapbox.navigation.benchmark
+
+import java.util.Locale
+
+/**
+ * Navigator history of a drive with a location update and a status request every second, the
+ * format [com.mapbox.navigation.core.replay.history.ReplayHistoryMapper] reads.
+ */
+object HistoryFixture {
+
+    private const val START_LATITUDE = 48.8566
+    private const val START_LONGITUDE = 2.3522
+    private const val DEGREES_PER_SECOND = 0.0001
+
+    fun historyJson(seconds: Int): String {
+        val history = StringBuilder()
+        history.append("{\"history_version\":\"1.0.0\",\"version\":\"benchmark\",\"events\":[")
+        for (second in 0 until seconds) {
+            if (second > 0) {
+                history.append(',')
+            }
+            val latitude = START_LATITUDE + second * DEGREES_PER_SECOND
+            val longitude = START_LONGITUDE + second * DEGREES_PER_SECOND
+            history.append(
+                String.format(
+                    Locale.US,
+                    "{\"type\":\"updateLocation\",\"event_timestamp\":%d.0,\"location\":" +
+                        "{\"lat\":%.6f,\"lon\":%.6f,\"provider\":\"fused\",\"time\":%d.0," +
+                        "\"altitude\":35.0,\"accuracyHorizontal\":4.5,\"bearing\":45.0,\"speed\":15.0}}," +
+                        "{\"type\":\"getStatus\",\"event_timestamp\":%d.5}",
+                    second,
+                    latitude,
+                    longitude,
+                    second,
+                    second
+                )
+            )
+        }
+        history.append("]}")
+        return history.toString()
+    }
+}
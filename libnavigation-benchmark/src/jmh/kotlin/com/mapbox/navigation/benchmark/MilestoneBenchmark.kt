@@ -0,0 +1,120 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.services.android.navigation.v5.milestone.Milestone
+import com.mapbox.services.android.navigation.v5.milestone.StepMilestone
+import com.mapbox.services.android.navigation.v5.milestone.Trigger
+import com.mapbox.services.android.navigation.v5.milestone.TriggerProperty
+import com.mapbox.services.android.navigation.v5.milestone.TriggerSnapshot
+import com.mapbox.services.android.navigation.v5.routeprogress.RouteProgress
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Milestone evaluation for one route progress update, as RouteProcessorRunnable does it, with
+ * step milestones which have typical triggers.
+ *
+ * The sparse array path builds the boxed property values for every milestone, the snapshot path
+ * fills the [TriggerSnapshot] once and runs the compiled triggers. The sparse array is a JVM
+ * stand-in for the framework class, see android.util.SparseArray in this module.
+ */
+@State(Scope.Benchmark)
+open class MilestoneBenchmark {
+
+    @Param("SHORT_URBAN", "REGIONAL")
+    @JvmField
+    var fixture: RouteFixture = RouteFixture.SHORT_URBAN
+
+    private lateinit var progressUpdates: List<RouteProgress>
+    private lateinit var sparseArrayMilestones: List<Milestone>
+    private lateinit var snapshotMilestones: List<Milestone>
+    private val triggerSnapshot = TriggerSnapshot()
+    private var index = 0
+
+    @Setup
+    fun setup() {
+        val route = fixture.route()
+        val leg = route.legs()!![0]
+        val steps = leg.steps()!!
+        var legDistanceRemaining = leg.distance()!!
+        val progressUpdates = mutableListOf<RouteProgress>()
+        // one update per second along the leg, the arrival step has no length
+        for (stepIndex in 0 until steps.size - 1) {
+            val stepDistance = steps[stepIndex].distance()
+            var stepDistanceRemaining = stepDistance
+            while (stepDistanceRemaining > 0) {
+                progressUpdates.add(
+                    RouteProgress.Builder()
+                        .directionsRoute(route)
+                        .legIndex(0)
+                        .distanceRemaining(legDistanceRemaining)
+                        .legDistanceRemaining(legDistanceRemaining)
+                        .legDurationRemaining(legDistanceRemaining / SPEED_MPS)
+                        .stepDistanceRemaining(stepDistanceRemaining)
+                        .currentStep(steps[stepIndex])
+                        .currentStepPoints(emptyList())
+                        .stepIndex(stepIndex)
+                        .inTunnel(false)
+                        .build()
+                )
+                stepDistanceRemaining -= SPEED_MPS
+                legDistanceRemaining -= SPEED_MPS
+            }
+        }
+        this.progressUpdates = progressUpdates
+        sparseArrayMilestones = milestones()
+        snapshotMilestones = milestones()
+    }
+
+    @Benchmark
+    fun sparseArray(): Int {
+        val previousRouteProgress = progressUpdates[index]
+        val routeProgress = nextRouteProgress()
+        return sparseArrayMilestones.count { it.isOccurring(previousRouteProgress, routeProgress) }
+    }
+
+    @Benchmark
+    fun snapshot(): Int {
+        val previousRouteProgress = progressUpdates[index]
+        triggerSnapshot.update(previousRouteProgress, nextRouteProgress())
+        return snapshotMilestones.count { it.isOccurring(triggerSnapshot) }
+    }
+
+    private fun nextRouteProgress(): RouteProgress {
+        index = (index + 1) % progressUpdates.size
+        return progressUpdates[index]
+    }
+
+    private fun milestones(): List<Milestone> = listOf(
+        Trigger.all(
+            Trigger.gt(TriggerProperty.STEP_DISTANCE_TOTAL_METERS, 200.0),
+            Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 100.0)
+        ),
+        Trigger.eq(TriggerProperty.NEW_STEP, TriggerProperty.TRUE),
+        Trigger.all(
+            Trigger.eq(TriggerProperty.LAST_STEP, TriggerProperty.TRUE),
+            Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 50.0)
+        ),
+        Trigger.any(
+            Trigger.lt(TriggerProperty.STEP_DURATION_REMAINING_SECONDS, 10.0),
+            Trigger.lt(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 30.0)
+        ),
+        Trigger.all(
+            Trigger.neq(TriggerProperty.FIRST_STEP, TriggerProperty.TRUE),
+            Trigger.gte(TriggerProperty.NEXT_STEP_DISTANCE_METERS, 500),
+            Trigger.lte(TriggerProperty.STEP_DISTANCE_REMAINING_METERS, 400.0)
+        ),
+        Trigger.none(Trigger.eq(TriggerProperty.STEP_INDEX, 0))
+    ).mapIndexed { identifier, trigger ->
+        StepMilestone.Builder()
+            .setIdentifier(identifier)
+            .setTrigger(trigger)
+            .build()
+    }
+
+    private companion object {
+        private const val SPEED_MPS = 15.0
+    }
+}
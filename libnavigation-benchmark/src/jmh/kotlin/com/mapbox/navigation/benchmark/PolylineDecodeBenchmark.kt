@@ -0,0 +1,46 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.LineString
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import com.mapbox.navigation.base.route.internal.CompactRoute
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Decoding of the route geometry, with the geojson utilities and into a [CompactRoute], which
+ * also decodes every step geometry.
+ */
+@State(Scope.Benchmark)
+open class PolylineDecodeBenchmark {
+
+    @Param("SHORT_URBAN", "REGIONAL", "LONG_MULTI_LEG")
+    @JvmField
+    var fixture: RouteFixture = RouteFixture.SHORT_URBAN
+
+    private lateinit var route: DirectionsRoute
+    private lateinit var geometry: String
+
+    @Setup
+    fun setup() {
+        route = fixture.route()
+        geometry = route.geometry()!!
+    }
+
+    @Benchmark
+    fun polylineUtils(): List<Point> = PolylineUtils.decode(geometry, PRECISION_6)
+
+    @Benchmark
+    fun lineString(): LineString = LineString.fromPolyline(geometry, PRECISION_6)
+
+    @Benchmark
+    fun compactRoute(): CompactRoute = CompactRoute.create(route)
+
+    private companion object {
+        private const val PRECISION_6 = 6
+    }
+}
@@ -0,0 +1,43 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.base.common.logger.model.Message
+import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.navigation.core.replay.history.ReplayEventBase
+import com.mapbox.navigation.core.replay.history.ReplayHistoryMapper
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Parsing of a navigator history into replay events, for drives of ten minutes, one hour and
+ * ten hours.
+ */
+@State(Scope.Benchmark)
+open class ReplayHistoryBenchmark {
+
+    @Param("600", "3600", "36000")
+    @JvmField
+    var seconds: Int = 0
+
+    private lateinit var historyJson: String
+    private val replayHistoryMapper = ReplayHistoryMapper(logger = NoLogger)
+
+    @Setup
+    fun setup() {
+        historyJson = HistoryFixture.historyJson(seconds)
+    }
+
+    @Benchmark
+    fun mapToReplayEvents(): List<ReplayEventBase> = replayHistoryMapper.mapToReplayEvents(historyJson)
+
+    private object NoLogger : Logger {
+        override fun v(tag: Tag?, msg: Message, tr: Throwable?) = Unit
+        override fun d(tag: Tag?, msg: Message, tr: Throwable?) = Unit
+        override fun i(tag: Tag?, msg: Message, tr: Throwable?) = Unit
+        override fun w(tag: Tag?, msg: Message, tr: Throwable?) = Unit
+        override fun e(tag: Tag?, msg: Message, tr: Throwable?) = Unit
+    }
+}
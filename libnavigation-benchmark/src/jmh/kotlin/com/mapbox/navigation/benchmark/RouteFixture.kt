@@ -0,0 +1,133 @@
+package com.mapbox.navigation.benchmark
+
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import java.util.Random
+import kotlin.math.cos
+import kotlin.math.sin
+
+/**
+ * Routes of increasing size the benchmarks run against.
+ *
+ * They are generated rather than checked in, the largest one would weigh several megabytes.
+ * The generator is seeded, every run measures the same routes.
+ */
+enum class RouteFixture(
+    private val legCount: Int,
+    private val stepsPerLeg: Int,
+    private val pointsPerStep: Int,
+    private val stepLengthMeters: Double
+) {
+    /**
+     * About 5 km through a city, short steps and many turns.
+     */
+    SHORT_URBAN(1, 16, 12, 300.0),
+
+    /**
+     * About 100 km on regional roads.
+     */
+    REGIONAL(1, 50, 40, 2000.0),
+
+    /**
+     * About 1,000 km with three stops on the way.
+     */
+    LONG_MULTI_LEG(4, 60, 80, 4200.0);
+
+    fun route(): DirectionsRoute = DirectionsRoute.fromJson(routeJson())
+
+    fun routeJson(): String {
+        val random = Random(SEED)
+        var latitude = START_LATITUDE
+        var longitude = START_LONGITUDE
+        var bearing = 0.0
+        val routePoints = mutableListOf(Point.fromLngLat(longitude, latitude))
+        val legs = JsonArray()
+        val segmentLengthMeters = stepLengthMeters / pointsPerStep
+        val segmentDurationSeconds = segmentLengthMeters / SPEED_MPS
+
+        repeat(legCount) { legIndex ->
+            val steps = JsonArray()
+            val congestion = JsonArray()
+            val distances = JsonArray()
+            val durations = JsonArray()
+            repeat(stepsPerLeg) { stepIndex ->
+                bearing += random.nextInt(MAX_TURN_DEGREES * 2) - MAX_TURN_DEGREES
+                val stepStart = Point.fromLngLat(longitude, latitude)
+                val stepPoints = mutableListOf(stepStart)
+                repeat(pointsPerStep) {
+                    val radians = Math.toRadians(bearing + random.nextGaussian() * JITTER_DEGREES)
+                    latitude += segmentLengthMeters * cos(radians) / METERS_PER_DEGREE
+                    longitude += segmentLengthMeters * sin(radians) /
+                        (METERS_PER_DEGREE * cos(Math.toRadians(latitude)))
+                    val point = Point.fromLngLat(longitude, latitude)
+                    stepPoints.add(point)
+                    routePoints.add(point)
+                    congestion.add(CONGESTION[random.nextInt(CONGESTION.size)])
+                    distances.add(segmentLengthMeters)
+                    durations.add(segmentDurationSeconds)
+                }
+                steps.add(step(stepPoints, "Road ${legIndex * stepsPerLeg + stepIndex}"))
+            }
+            // the arrival step
+            steps.add(step(listOf(Point.fromLngLat(longitude, latitude)), "Stop $legIndex"))
+
+            legs.add(JsonObject().apply {
+                addProperty("distance", stepsPerLeg * stepLengthMeters)
+                addProperty("duration", stepsPerLeg * stepLengthMeters / SPEED_MPS)
+                addProperty("summary", "Leg $legIndex")
+                add("steps", steps)
+                add("annotation", JsonObject().apply {
+                    add("congestion", congestion)
+                    add("distance", distances)
+                    add("duration", durations)
+                })
+            })
+        }
+
+        return JsonObject().apply {
+            addProperty("distance", legCount * stepsPerLeg * stepLengthMeters)
+            addProperty("duration", legCount * stepsPerLeg * stepLengthMeters / SPEED_MPS)
+            addProperty("weight", legCount * stepsPerLeg * stepLengthMeters / SPEED_MPS)
+            addProperty("weight_name", "routability")
+            addProperty("geometry", PolylineUtils.encode(routePoints, PRECISION_6))
+            add("legs", legs)
+        }.toString()
+    }
+
+    private fun step(points: List<Point>, name: String): JsonObject {
+        val distance = (points.size - 1) * stepLengthMeters / pointsPerStep
+        return JsonObject().apply {
+            addProperty("distance", distance)
+            addProperty("duration", distance / SPEED_MPS)
+            addProperty("weight", distance / SPEED_MPS)
+            addProperty("geometry", PolylineUtils.encode(points, PRECISION_6))
+            addProperty("name", name)
+            addProperty("mode", "driving")
+            add("maneuver", JsonObject().apply {
+                add("location", JsonArray().apply {
+                    add(points[0].longitude())
+                    add(points[0].latitude())
+                })
+                addProperty("type", "turn")
+                addProperty("modifier", "right")
+                addProperty("instruction", "Turn right onto $name")
+            })
+            add("intersections", JsonArray())
+        }
+    }
+
+    private companion object {
+        private const val SEED = 20200101L
+        private const val START_LATITUDE = 48.8566
+        private const val START_LONGITUDE = 2.3522
+        private const val METERS_PER_DEGREE = 111320.0
+        private const val SPEED_MPS = 15.0
+        private const val MAX_TURN_DEGREES = 90
+        private const val JITTER_DEGREES = 5.0
+        private const val PRECISION_6 = 6
+        private val CONGESTION = arrayOf("unknown", "low", "moderate", "heavy", "severe")
+    }
+}
@@ -0,0 +1,46 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.navigation.base.route.internal.CompactRoute
+import com.mapbox.navigation.ui.route.generateRouteFeatureData
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Route line source generation of MapRouteLine, from the route to the GeoJSON the map source is
+ * given. MapRouteLine.generateFeatureCollection delegates to [generateRouteFeatureData], the
+ * part that doesn't need the map SDK.
+ */
+@State(Scope.Benchmark)
+open class RouteLineFeatureBenchmark {
+
+    @Param("SHORT_URBAN", "REGIONAL", "LONG_MULTI_LEG")
+    @JvmField
+    var fixture: RouteFixture = RouteFixture.SHORT_URBAN
+
+    private lateinit var route: DirectionsRoute
+
+    @Setup
+    fun setup() {
+        route = fixture.route()
+        CompactRoute.of(route)
+    }
+
+    /**
+     * The route the navigator already follows, its [CompactRoute] is shared.
+     */
+    @Benchmark
+    fun followedRoute(): String =
+        generateRouteFeatureData(route).featureCollection.toJson()
+
+    /**
+     * A route seen for the first time, like a new alternative. The copy is shallow, its
+     * [CompactRoute] is built again.
+     */
+    @Benchmark
+    fun newRoute(): String =
+        generateRouteFeatureData(route.toBuilder().build()).featureCollection.toJson()
+}
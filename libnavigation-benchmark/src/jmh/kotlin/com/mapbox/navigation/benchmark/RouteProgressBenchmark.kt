@@ -0,0 +1,81 @@
+package com.mapbox.navigation.benchmark
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.navigation.base.route.internal.CompactRoute
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.base.trip.model.RouteProgressState
+import com.mapbox.navigation.navigator.internal.RouteProgressFactory
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * [RouteProgress] construction for one navigator status halfway through the route, with the
+ * [RouteProgressFactory] MapboxNativeNavigatorImpl uses.
+ *
+ * The navigator status itself comes from the native library and isn't part of the measurement,
+ * its values are passed in as the navigator does.
+ */
+@State(Scope.Benchmark)
+open class RouteProgressBenchmark {
+
+    @Param("SHORT_URBAN", "REGIONAL", "LONG_MULTI_LEG")
+    @JvmField
+    var fixture: RouteFixture = RouteFixture.SHORT_URBAN
+
+    private lateinit var route: DirectionsRoute
+    private lateinit var compactRoute: CompactRoute
+    private val routeProgressFactory = RouteProgressFactory()
+    private var legIndex = 0
+    private var stepIndex = 0
+    private var isNextStep = false
+
+    @Setup
+    fun setup() {
+        route = fixture.route()
+        compactRoute = CompactRoute.of(route)
+        legIndex = compactRoute.legCount / 2
+        stepIndex = compactRoute.stepCount(legIndex) / 2
+    }
+
+    /**
+     * Statuses on the same step, the step geometries are reused.
+     */
+    @Benchmark
+    fun sameStep(): RouteProgress = create(stepIndex)
+
+    /**
+     * Every status on another step, the step geometries are read from the compact route.
+     */
+    @Benchmark
+    fun stepChange(): RouteProgress {
+        isNextStep = !isNextStep
+        return create(if (isNextStep) stepIndex + 2 else stepIndex)
+    }
+
+    private fun create(stepIndex: Int): RouteProgress =
+        routeProgressFactory.create(
+            route = route,
+            compactRoute = compactRoute,
+            routeBufferGeoJson = null,
+            legIndex = legIndex,
+            stepIndex = stepIndex,
+            remainingLegDistance = REMAINING_LEG_DISTANCE,
+            remainingLegDurationSeconds = REMAINING_LEG_DURATION,
+            remainingStepDistance = REMAINING_STEP_DISTANCE,
+            remainingStepDurationSeconds = REMAINING_STEP_DURATION,
+            inTunnel = false,
+            routeState = RouteProgressState.LOCATION_TRACKING,
+            bannerInstructions = { _, _ -> null },
+            voiceInstructions = null
+        )
+
+    private companion object {
+        private const val REMAINING_LEG_DISTANCE = 12000f
+        private const val REMAINING_LEG_DURATION = 800.0
+        private const val REMAINING_STEP_DISTANCE = 150f
+        private const val REMAINING_STEP_DURATION = 10.0
+    }
+}
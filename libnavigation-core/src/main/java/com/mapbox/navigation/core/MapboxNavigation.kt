@@ -4,6 +4,8 @@ import android.Manifest.permission.ACCESS_COARSE_LOCATION
 import android.Manifest.permission.ACCESS_FINE_LOCATION
 import android.content.Context
 import android.hardware.SensorEvent
+import android.net.ConnectivityManager
+import android.os.SystemClock
 import androidx.annotation.RequiresPermission
 import com.mapbox.android.core.location.LocationEngine
 import com.mapbox.android.core.location.LocationEngineProvider
@@ -18,6 +20,7 @@ import com.mapbox.common.module.provider.MapboxModuleProvider
 import com.mapbox.navigation.base.TimeFormat
 import com.mapbox.navigation.base.internal.VoiceUnit
 import com.mapbox.navigation.base.internal.accounts.SkuTokenProvider
+import com.mapbox.navigation.base.metrics.MetricsReporter
 import com.mapbox.navigation.base.options.DEFAULT_NAVIGATOR_PREDICTION_MILLIS
 import com.mapbox.navigation.base.options.Endpoint
 import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
@@ -28,6 +31,7 @@ import com.mapbox.navigation.base.trip.notification.NotificationAction
 import com.mapbox.navigation.base.trip.notification.TripNotification
 import com.mapbox.navigation.core.accounts.NavigationAccountsSession
 import com.mapbox.navigation.core.directions.session.AdjustedRouteOptionsProvider
+import com.mapbox.navigation.core.directions.session.DeferredRouter
 import com.mapbox.navigation.core.directions.session.DirectionsSession
 import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
@@ -36,13 +40,20 @@ import com.mapbox.navigation.core.fasterroute.FasterRouteObserver
 import com.mapbox.navigation.core.internal.MapboxDistanceFormatter
 import com.mapbox.navigation.core.internal.accounts.MapboxNavigationAccounts
 import com.mapbox.navigation.core.internal.trip.service.TripService
+import com.mapbox.navigation.core.routerefresh.RouteAnnotationsObserver
 import com.mapbox.navigation.core.routerefresh.RouteRefreshController
+import com.mapbox.navigation.core.sensors.SensorOptions
+import com.mapbox.navigation.core.startup.NavigationReadyObserver
+import com.mapbox.navigation.core.startup.StartupStage
+import com.mapbox.navigation.core.startup.StartupTimings
+import com.mapbox.navigation.core.startup.StartupTracker
 import com.mapbox.navigation.core.stops.ArrivalController
 import com.mapbox.navigation.core.stops.ArrivalObserver
 import com.mapbox.navigation.core.stops.ArrivalProgressObserver
 import com.mapbox.navigation.core.stops.AutoArrivalController
 import com.mapbox.navigation.core.telemetry.MapboxNavigationTelemetry
 import com.mapbox.navigation.core.telemetry.events.FeedbackEvent
+import com.mapbox.navigation.core.tiles.RouteTilesPrefetcher
 import com.mapbox.navigation.core.trip.session.BannerInstructionsObserver
 import com.mapbox.navigation.core.trip.session.LocationObserver
 import com.mapbox.navigation.core.trip.session.OffRouteObserver
@@ -61,7 +72,9 @@ import com.mapbox.navigation.utils.internal.monitorChannelWithException
 import java.io.File
 import java.lang.reflect.Field
 import java.net.URI
+import java.util.concurrent.CopyOnWriteArraySet
 import kotlinx.coroutines.channels.ReceiveChannel
+import kotlinx.coroutines.launch
 
 private const val MAPBOX_NAVIGATION_USER_AGENT_BASE = "mapbox-navigation-android"
 private const val MAPBOX_NAVIGATION_UI_USER_AGENT_BASE = "mapbox-navigation-ui-android"
@@ -70,6 +83,7 @@ private const val MAPBOX_NAVIGATION_TOKEN_EXCEPTION_OFFBOARD_ROUTER =
 private const val MAPBOX_NAVIGATION_TOKEN_EXCEPTION_ONBOARD_ROUTER =
     "You need to provide an token access in order to use the default OnboardRouter."
 private const val MAPBOX_NAVIGATION_TOKEN_EXCEPTION = "A valid token is required"
+private const val MAPBOX_NAVIGATION_TAG = "MapboxNavigation"
 
 /**
  * ## Mapbox Navigation Core SDK
@@ -134,7 +148,9 @@ constructor(
         .build()
 ) {
 
+    private val startupTracker = StartupTracker { SystemClock.elapsedRealtime() }
     private val mainJobController: JobControl = ThreadController.getMainScopeAndRootJob()
+    private val router: DeferredRouter
     private val directionsSession: DirectionsSession
     private val navigator: MapboxNativeNavigator
     private val tripService: TripService
@@ -147,6 +163,9 @@ constructor(
     private val fasterRouteController: FasterRouteController
     private val routeRefreshController: RouteRefreshController
     private val arrivalProgressObserver: ArrivalProgressObserver
+    private val routeTilesPrefetcher: RouteTilesPrefetcher?
+    private val navigationReadyObservers = CopyOnWriteArraySet<NavigationReadyObserver>()
+    private var startupTimings: StartupTimings? = null
 
     private var notificationChannelField: Field? = null
     private val MAPBOX_NAVIGATION_NOTIFICATION_PACKAGE_NAME =
@@ -157,12 +176,20 @@ constructor(
 
         ThreadController.init()
         logger = MapboxModuleProvider.createModule(MapboxModuleType.CommonLogger, ::paramsProvider)
-        navigationSession = NavigationComponentProvider.createNavigationSession()
-        directionsSession = NavigationComponentProvider.createDirectionsSession(
+        navigator = NavigationComponentProvider.createNativeNavigator()
+        router = DeferredRouter {
             MapboxModuleProvider.createModule(MapboxModuleType.NavigationRouter, ::paramsProvider)
-        )
+        }
+        preload()
+
+        startupTracker.begin(StartupStage.CORE_COMPONENTS)
+        navigationSession = NavigationComponentProvider.createNavigationSession()
+        directionsSession = NavigationComponentProvider.createDirectionsSession(router)
         directionsSession.registerRoutesObserver(internalRoutesObserver)
         directionsSession.registerRoutesObserver(navigationSession)
+        startupTracker.end(StartupStage.CORE_COMPONENTS)
+
+        startupTracker.begin(StartupStage.TRIP_SESSION)
         val notification: TripNotification = MapboxModuleProvider.createModule(
             MapboxModuleType.NavigationTripNotification,
             ::paramsProvider
@@ -173,7 +200,6 @@ constructor(
                     isAccessible = true
                 }
         }
-        navigator = NavigationComponentProvider.createNativeNavigator()
         tripService = NavigationComponentProvider.createTripService(
             context.applicationContext,
             notification,
@@ -190,6 +216,9 @@ constructor(
         tripSession.registerOffRouteObserver(internalOffRouteObserver)
         tripSession.registerStateObserver(navigationSession)
         navigationSession.registerNavigationSessionStateObserver(navigationAccountsSession)
+        startupTracker.end(StartupStage.TRIP_SESSION)
+
+        startupTracker.begin(StartupStage.TELEMETRY)
         ifNonNull(accessToken) { token ->
             logger.d(
                 Tag(MapboxNavigationTelemetry.TAG),
@@ -211,13 +240,30 @@ constructor(
                 obtainUserAgent(navigationOptions.isFromNavigationUi)
             )
         }
-
-        fasterRouteController = FasterRouteController(directionsSession, tripSession, logger)
+        startupTracker.end(StartupStage.TELEMETRY)
+
+        startupTracker.begin(StartupStage.CONTROLLERS)
+        fasterRouteController = FasterRouteController(
+            directionsSession,
+            tripSession,
+            logger,
+            context.getSystemService(Context.CONNECTIVITY_SERVICE) as? ConnectivityManager
+        )
         routeRefreshController = RouteRefreshController(directionsSession, tripSession, logger)
         routeRefreshController.start()
 
         arrivalProgressObserver = ArrivalProgressObserver(tripSession)
         attachArrivalController()
+
+        routeTilesPrefetcher = ifNonNull(
+            navigationOptions.onboardRouterConfig?.takeIf { it.tilePath.isNotEmpty() },
+            navigationOptions.routeTilesPrefetchOptions
+        ) { routerConfig, prefetchOptions ->
+            RouteTilesPrefetcher(navigator, routerConfig, prefetchOptions, logger).also {
+                tripSession.registerRouteProgressObserver(it)
+            }
+        }
+        startupTracker.end(StartupStage.CONTROLLERS)
     }
 
     /**
@@ -317,8 +363,11 @@ constructor(
         tripSession.route = null
         navigator.reset()
         navigationSession.unregisterAllNavigationSessionStateObservers()
+        navigationReadyObservers.clear()
         fasterRouteController.stop()
         routeRefreshController.stop()
+        routeRefreshController.unregisterAllRouteAnnotationsObservers()
+        routeTilesPrefetcher?.stop()
         ThreadController.cancelAllNonUICoroutines()
         ThreadController.cancelAllUICoroutines()
     }
@@ -413,6 +462,21 @@ constructor(
         directionsSession.unregisterRoutesObserver(routesObserver)
     }
 
+    /**
+     * Registers [RouteAnnotationsObserver]. The updates are available when the traffic annotations
+     * of the primary route are refreshed, which doesn't notify [RoutesObserver]s.
+     */
+    fun registerRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        routeRefreshController.registerRouteAnnotationsObserver(routeAnnotationsObserver)
+    }
+
+    /**
+     * Unregisters [RouteAnnotationsObserver].
+     */
+    fun unregisterRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        routeRefreshController.unregisterRouteAnnotationsObserver(routeAnnotationsObserver)
+    }
+
     /**
      * Registers [BannerInstructionsObserver]. The updates are available whenever SDK is in an `Active Guidance` state.
      * The SDK will push this event only once per route step.
@@ -527,6 +591,34 @@ constructor(
         fasterRouteController.stop()
     }
 
+    /**
+     * Registers [NavigationReadyObserver]. Notified once the native navigator is loaded and the
+     * router is configured in the background, or right away if that's already done.
+     *
+     * @see [unregisterNavigationReadyObserver]
+     */
+    fun registerNavigationReadyObserver(navigationReadyObserver: NavigationReadyObserver) {
+        navigationReadyObservers.add(navigationReadyObserver)
+        startupTimings?.let { navigationReadyObserver.onNavigationReady(it) }
+    }
+
+    /**
+     * Unregisters [NavigationReadyObserver].
+     *
+     * @see [registerNavigationReadyObserver]
+     */
+    fun unregisterNavigationReadyObserver(navigationReadyObserver: NavigationReadyObserver) {
+        navigationReadyObservers.remove(navigationReadyObserver)
+    }
+
+    /**
+     * Durations of the startup stages, the ones in the background are missing until
+     * [NavigationReadyObserver] is notified.
+     *
+     * @return the [StartupTimings] so far
+     */
+    fun getStartupTimings(): StartupTimings = startupTimings ?: startupTracker.timings()
+
     /**
      * Register a [NavigationSessionStateObserver] to be notified of the various Session states. Not publicly available
      */
@@ -573,6 +665,37 @@ constructor(
         }
     }
 
+    /**
+     * Loads the native navigator and creates the router off the main thread while the other
+     * components are created. A failed router creation is logged and thrown again on first use.
+     */
+    private fun preload() {
+        ThreadController.getIOScopeAndRootJob().scope.launch {
+            startupTracker.begin(StartupStage.NATIVE_NAVIGATOR)
+            navigator.preload()
+            startupTracker.end(StartupStage.NATIVE_NAVIGATOR)
+
+            startupTracker.begin(StartupStage.ROUTER)
+            try {
+                router.create()
+            } catch (e: Exception) {
+                logger.e(Tag(MAPBOX_NAVIGATION_TAG), Message("Router creation failed"), e)
+            }
+            startupTracker.end(StartupStage.ROUTER)
+
+            mainJobController.scope.launch {
+                onNavigationReady()
+            }
+        }
+    }
+
+    private fun onNavigationReady() {
+        val timings = startupTracker.timings()
+        startupTimings = timings
+        logger.d(Tag(MAPBOX_NAVIGATION_TAG), Message("Navigation ready $timings"))
+        navigationReadyObservers.forEach { it.onNavigationReady(timings) }
+    }
+
     private fun obtainUserAgent(isFromNavigationUi: Boolean): String {
         return if (isFromNavigationUi) {
             "$MAPBOX_NAVIGATION_UI_USER_AGENT_BASE/${BuildConfig.MAPBOX_NAVIGATION_VERSION_NAME}"
@@ -617,7 +740,8 @@ constructor(
                     MapboxNativeNavigator::class.java to MapboxNativeNavigatorImpl,
                     MapboxOnboardRouterConfig::class.java to (navigationOptions.onboardRouterConfig
                         ?: throw RuntimeException(MAPBOX_NAVIGATION_TOKEN_EXCEPTION_ONBOARD_ROUTER)),
-                    Logger::class.java to logger
+                    Logger::class.java to logger,
+                    MetricsReporter::class.java to MapboxMetricsReporter
                 )
             }
             MapboxModuleType.NavigationTripNotification -> arrayOf(
@@ -633,12 +757,33 @@ constructor(
     /**
      * Sends an event to improve navigation positioning. See SensorEventEmitter to register
      *
+     * Events are buffered and passed to the navigator in batches while the trip session is
+     * started, see [updateSensorOptions].
+     *
      * @param sensorEvent the Android sensor event, it will be ignored if it is not recognized
      */
     fun updateSensorEvent(sensorEvent: SensorEvent) {
         tripSession.updateSensorEvent(sensorEvent)
     }
 
+    /**
+     * Sizes the buffer of sensor events for the enabled sensors and their rate, and sets how
+     * often it is passed to the navigator. Use the same options as for the SensorEventEmitter.
+     *
+     * @param sensorOptions the options the sensors are registered with
+     */
+    fun updateSensorOptions(sensorOptions: SensorOptions) {
+        tripSession.updateSensorOptions(sensorOptions)
+    }
+
+    /**
+     * Number of sensor events that were dropped because more events were received between
+     * two batches than the buffer holds.
+     *
+     * @return the dropped sensor event count
+     */
+    fun getDroppedSensorEventCount(): Long = tripSession.getDroppedSensorEventCount()
+
     /**
      * Updates the configuration to enable or disable the extended kalman filter (EKF).
      *
@@ -0,0 +1,50 @@
+package com.mapbox.navigation.core.directions.session
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.navigation.base.route.RouteRefreshCallback
+import com.mapbox.navigation.base.route.Router
+
+/**
+ * [Router] created on first use, or ahead of it with [create].
+ *
+ * Creating the default router loads the native navigator and configures the on-board router
+ * tiles, which shouldn't happen on the main thread while the SDK starts.
+ * A failed creation isn't retried, its exception is thrown again on every use.
+ *
+ * @param createRouter creates the actual router, called once
+ */
+internal class DeferredRouter(createRouter: () -> Router) : Router {
+
+    // lazy doesn't keep a failure, the next access would call createRouter again
+    private val routerCreation = lazy { runCatching(createRouter) }
+    private val router: Router
+        get() = routerCreation.value.getOrThrow()
+
+    /**
+     * Creates the router if it wasn't already, waits for a creation in progress.
+     */
+    fun create() {
+        router
+    }
+
+    override fun getRoute(routeOptions: RouteOptions, callback: Router.Callback) {
+        router.getRoute(routeOptions, callback)
+    }
+
+    override fun cancel() {
+        if (routerCreation.isInitialized()) {
+            routerCreation.value.getOrNull()?.cancel()
+        }
+    }
+
+    override fun getRouteRefresh(route: DirectionsRoute, legIndex: Int, callback: RouteRefreshCallback) {
+        router.getRouteRefresh(route, legIndex, callback)
+    }
+
+    override fun shutdown() {
+        if (routerCreation.isInitialized()) {
+            routerCreation.value.getOrNull()?.shutdown()
+        }
+    }
+}
@@ -15,6 +15,14 @@ internal interface DirectionsSession {
      */
     var routes: List<DirectionsRoute>
 
+    /**
+     * Replaces the primary route with a refreshed version of it, without notifying [RoutesObserver]
+     * since the route itself didn't change.
+     *
+     * @param refreshedRoute the primary route with refreshed annotations
+     */
+    fun updatePrimaryRoute(refreshedRoute: DirectionsRoute)
+
     /**
      * Provide route options for current [routes]
      */
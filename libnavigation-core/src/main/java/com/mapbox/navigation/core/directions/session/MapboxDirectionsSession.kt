@@ -19,6 +19,7 @@ internal class MapboxDirectionsSession(
 
     private val routesObservers = CopyOnWriteArraySet<RoutesObserver>()
     private var routeOptions: RouteOptions? = null
+    private var currentRoutes: List<DirectionsRoute> = emptyList()
 
     /**
      * Routes that were fetched from [Router] or set manually.
@@ -26,19 +27,32 @@ internal class MapboxDirectionsSession(
      *
      * @see [registerRoutesObserver]
      */
-    override var routes: List<DirectionsRoute> = emptyList()
+    override var routes: List<DirectionsRoute>
+        get() = currentRoutes
         set(value) {
             router.cancel()
             if (routes.isEmpty() && value.isEmpty()) {
                 return
             }
-            field = value
+            currentRoutes = value
             if (routes.isNotEmpty()) {
                 this.routeOptions = routes[0].routeOptions()
             }
             routesObservers.forEach { it.onRoutesChanged(value) }
         }
 
+    /**
+     * Replaces the primary route with a refreshed version of it, without notifying [RoutesObserver]
+     * since the route itself didn't change.
+     *
+     * @param refreshedRoute the primary route with refreshed annotations
+     */
+    override fun updatePrimaryRoute(refreshedRoute: DirectionsRoute) {
+        if (currentRoutes.isNotEmpty()) {
+            currentRoutes = currentRoutes.toMutableList().apply { this[0] = refreshedRoute }
+        }
+    }
+
     /**
      * Provide route options for current [routes]
      */
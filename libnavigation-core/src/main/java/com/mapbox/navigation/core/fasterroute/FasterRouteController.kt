@@ -1,5 +1,6 @@
 package com.mapbox.navigation.core.fasterroute
 
+import android.net.ConnectivityManager
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteOptions
 import com.mapbox.base.common.logger.Logger
@@ -14,7 +15,9 @@ import com.mapbox.navigation.utils.internal.ifNonNull
 internal class FasterRouteController(
     private val directionsSession: DirectionsSession,
     private val tripSession: TripSession,
-    private val logger: Logger
+    private val logger: Logger,
+    private val connectivityManager: ConnectivityManager? = null,
+    private val fasterRouteScheduler: FasterRouteScheduler = FasterRouteScheduler()
 ) {
 
     private val fasterRouteTimer = MapboxTimer()
@@ -25,6 +28,7 @@ internal class FasterRouteController(
         val previousFasterRouteObserver = this.fasterRouteObserver
         this.fasterRouteObserver = fasterRouteObserver
         if (previousFasterRouteObserver == null) {
+            fasterRouteScheduler.reset()
             fasterRouteTimer.restartAfterMillis = fasterRouteObserver.restartAfterMillis()
             fasterRouteTimer.startTimer {
                 requestFasterRoute()
@@ -40,18 +44,33 @@ internal class FasterRouteController(
     private fun requestFasterRoute() {
         val restartAfterMillis = fasterRouteObserver?.restartAfterMillis()
             ?: return
-        if (directionsSession.routes.isEmpty()) {
+        val currentRoute = directionsSession.routes.firstOrNull()
+            ?: return
+
+        val shouldRequest = fasterRouteScheduler.onCheck(
+            restartAfterMillis,
+            currentRoute,
+            tripSession.getRouteProgress(),
+            isConnected(),
+            connectivityManager?.isActiveNetworkMetered == true
+        )
+        fasterRouteTimer.restartAfterMillis = fasterRouteScheduler.nextIntervalMillis
+        if (!shouldRequest) {
             return
         }
-
-        fasterRouteTimer.restartAfterMillis = restartAfterMillis
         ifNonNull(tripSession.getEnhancedLocation()) { enhancedLocation ->
             val optionsRebuilt = AdjustedRouteOptionsProvider.getRouteOptions(directionsSession, tripSession, enhancedLocation)
                 ?: return
+            fasterRouteScheduler.onRequested()
             directionsSession.requestFasterRoute(optionsRebuilt, fasterRouteRequestCallback)
         }
     }
 
+    private fun isConnected(): Boolean {
+        val connectivityManager = connectivityManager ?: return true
+        return connectivityManager.activeNetworkInfo?.isConnected == true
+    }
+
     private val fasterRouteRequestCallback = object : RoutesRequestCallback {
         override fun onRoutesReady(routes: List<DirectionsRoute>) {
             val currentRoute = directionsSession.routes.firstOrNull()
@@ -10,6 +10,9 @@ interface FasterRouteObserver {
 
     /**
      * Overridable value to change when the next faster route will be checked.
+     *
+     * This is the base interval, the SDK checks more often while the ETA is unstable or a maneuver
+     * is coming up and less often on quiet routes, limited to 30 requests per hour.
      */
     fun restartAfterMillis(): Long = TimeUnit.MINUTES.toMillis(2)
 
@@ -0,0 +1,147 @@
+package com.mapbox.navigation.core.fasterroute
+
+import android.os.SystemClock
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import java.util.ArrayDeque
+import java.util.concurrent.TimeUnit
+import kotlin.math.abs
+
+/**
+ * Decides when the next faster route check happens and whether it results in a request.
+ *
+ * The observer's interval is the base, it is shortened while the ETA keeps drifting away from
+ * the elapsed time, for example after refreshed traffic annotations, or while a decision point
+ * is coming up. It is stretched while the ETA is stable, without congestion data or on a metered
+ * connection. Requests are skipped right after a reroute, close to the destination, without
+ * connectivity and once [maxRequestsPerHour] requests were made within the last hour.
+ */
+internal class FasterRouteScheduler(
+    private val maxRequestsPerHour: Int = DEFAULT_MAX_REQUESTS_PER_HOUR,
+    private val elapsedRealtimeMillis: () -> Long = { SystemClock.elapsedRealtime() }
+) {
+
+    private val requestTimes = ArrayDeque<Long>()
+    private var lastRoute: DirectionsRoute? = null
+    private var lastDurationRemaining: Double? = null
+
+    /**
+     * Delay until the next check, updated by [onCheck].
+     */
+    var nextIntervalMillis: Long = 0L
+        private set
+
+    /**
+     * @return true if a faster route should be requested now, see [onRequested]
+     */
+    fun onCheck(
+        baseIntervalMillis: Long,
+        route: DirectionsRoute,
+        routeProgress: RouteProgress?,
+        isConnected: Boolean = true,
+        isMetered: Boolean = false
+    ): Boolean {
+        val elapsedMillis = if (nextIntervalMillis > 0) nextIntervalMillis else baseIntervalMillis
+        val isRerouted = isRerouted(route)
+        val etaDrift = if (isRerouted) null else etaDrift(routeProgress, elapsedMillis)
+        lastRoute = route
+        lastDurationRemaining = routeProgress?.durationRemaining()
+        nextIntervalMillis = intervalMillis(baseIntervalMillis, route, routeProgress, etaDrift, isMetered)
+
+        val now = elapsedRealtimeMillis()
+        while (requestTimes.isNotEmpty() && now - requestTimes.peekFirst() >= BUDGET_WINDOW_MILLIS) {
+            requestTimes.pollFirst()
+        }
+        return !isRerouted &&
+            isConnected &&
+            requestTimes.size < maxRequestsPerHour &&
+            (routeProgress == null || routeProgress.distanceRemaining() >= MIN_DISTANCE_REMAINING_METERS)
+    }
+
+    /**
+     * Counts a request against the hourly budget.
+     */
+    fun onRequested() {
+        requestTimes.addLast(elapsedRealtimeMillis())
+    }
+
+    fun reset() {
+        requestTimes.clear()
+        lastRoute = null
+        lastDurationRemaining = null
+        nextIntervalMillis = 0L
+    }
+
+    // a refresh replaces the route object but keeps its geometry
+    private fun isRerouted(route: DirectionsRoute): Boolean {
+        val lastRoute = lastRoute ?: return false
+        return route !== lastRoute && route.geometry() != lastRoute.geometry()
+    }
+
+    /**
+     * Change of the ETA that isn't explained by the time which passed since the last check,
+     * relative to the remaining duration.
+     */
+    private fun etaDrift(routeProgress: RouteProgress?, elapsedMillis: Long): Double? {
+        val lastDurationRemaining = lastDurationRemaining ?: return null
+        val durationRemaining = routeProgress?.durationRemaining() ?: return null
+        if (durationRemaining <= 0.0) {
+            return null
+        }
+        val expectedDurationRemaining = lastDurationRemaining - elapsedMillis / MILLIS_PER_SECOND
+        return abs(expectedDurationRemaining - durationRemaining) / durationRemaining
+    }
+
+    private fun intervalMillis(
+        baseIntervalMillis: Long,
+        route: DirectionsRoute,
+        routeProgress: RouteProgress?,
+        etaDrift: Double?,
+        isMetered: Boolean
+    ): Long {
+        var factor = 1.0
+        if (etaDrift != null) {
+            if (etaDrift >= VOLATILE_ETA_DRIFT) {
+                factor /= 2
+            } else if (etaDrift < STABLE_ETA_DRIFT) {
+                factor *= 2
+            }
+        }
+        if (isDecisionPointAhead(routeProgress)) {
+            factor /= 2
+        }
+        if (!hasCongestion(route)) {
+            factor *= 2
+        }
+        if (isMetered) {
+            factor *= 2
+        }
+        val minIntervalMillis = maxOf(minOf(baseIntervalMillis, MIN_INTERVAL_MILLIS), baseIntervalMillis / MAX_FACTOR)
+        val maxIntervalMillis = baseIntervalMillis * MAX_FACTOR
+        return (baseIntervalMillis * factor).toLong().coerceIn(minIntervalMillis, maxIntervalMillis)
+    }
+
+    // alternatives branch off at maneuvers, right before one it is too late to take them
+    private fun isDecisionPointAhead(routeProgress: RouteProgress?): Boolean {
+        val distanceToManeuver = routeProgress?.currentLegProgress()?.currentStepProgress()?.distanceRemaining()
+            ?: return false
+        return distanceToManeuver in DECISION_POINT_MIN_METERS..DECISION_POINT_MAX_METERS
+    }
+
+    private fun hasCongestion(route: DirectionsRoute): Boolean =
+        route.legs()?.any { leg -> leg.annotation()?.congestion()?.isNotEmpty() == true } == true
+
+    companion object {
+        const val DEFAULT_MAX_REQUESTS_PER_HOUR = 30
+
+        private val BUDGET_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1)
+        private val MIN_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30)
+        private const val MAX_FACTOR = 4
+        private const val MILLIS_PER_SECOND = 1000.0
+        private const val VOLATILE_ETA_DRIFT = 0.05
+        private const val STABLE_ETA_DRIFT = 0.01
+        private const val DECISION_POINT_MIN_METERS = 500f
+        private const val DECISION_POINT_MAX_METERS = 5000f
+        private const val MIN_DISTANCE_REMAINING_METERS = 1000f
+    }
+}
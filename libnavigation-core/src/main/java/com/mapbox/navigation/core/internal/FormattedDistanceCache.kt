@@ -0,0 +1,105 @@
+package com.mapbox.navigation.core.internal
+
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfConversion
+import java.text.NumberFormat
+import java.util.Locale
+import kotlin.math.pow
+import kotlin.math.roundToInt
+import kotlin.math.roundToLong
+
+/**
+ * Rounds distances in meters to the value displayed by [MapboxDistanceFormatter] and keeps what
+ * was formatted for the most recently used rounded values.
+ *
+ * Doesn't use the Android framework, [format] creates the displayed text. Not thread safe.
+ *
+ * @param locale the locale used to format large unit values
+ * @param smallUnit TurfConstants unit used below 400 meters
+ * @param largeUnit TurfConstants unit used above 400 meters
+ * @param roundingIncrement increment by which to round small unit values
+ * @param format creates the text of a rounded value, in the large unit if the flag is set
+ */
+internal class FormattedDistanceCache<T>(
+    private val locale: Locale,
+    @TurfConstants.TurfUnitCriteria private val smallUnit: String,
+    @TurfConstants.TurfUnitCriteria private val largeUnit: String,
+    private val roundingIncrement: Int,
+    private val format: (roundedValue: String, isLargeUnit: Boolean) -> T
+) {
+
+    private companion object {
+        private const val smallDistanceUpperThresholdInMeters = 400.0
+        private const val mediumDistanceUpperThresholdInMeters = 10000.0
+        private const val maxLargeUnitFractionDigits = 1
+        private const val formattedDistanceCacheSize = 128
+        private const val smallUnitKey = 0L
+        private const val largeUnitKey = 1L
+    }
+
+    private val numberFormats = arrayOfNulls<NumberFormat>(maxLargeUnitFractionDigits + 1)
+
+    // formatted distances by unit and rounded value, in least recently used order
+    private val formattedDistances = object : LinkedHashMap<Long, T>(
+        formattedDistanceCacheSize,
+        0.75f,
+        true
+    ) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Long, T>?): Boolean =
+            size > formattedDistanceCacheSize
+    }
+
+    /**
+     * @param distance in meters
+     * @return the text of the rounded distance, the same instance for distances which round
+     * to the same value while it is cached
+     */
+    fun get(distance: Double): T {
+        return when (distance) {
+            !in 0.0..Double.MAX_VALUE -> {
+                formatDistanceForSmallUnit(0.0)
+            }
+            in 0.0..smallDistanceUpperThresholdInMeters -> {
+                formatDistanceForSmallUnit(distance)
+            }
+            in smallDistanceUpperThresholdInMeters..mediumDistanceUpperThresholdInMeters -> {
+                formatDistanceForLargeUnit(distance, 1)
+            }
+            else -> {
+                formatDistanceForLargeUnit(distance, 0)
+            }
+        }
+    }
+
+    private fun formatDistanceForSmallUnit(distance: Double): T {
+        val distanceUnit = TurfConversion.convertLength(
+            distance,
+            TurfConstants.UNIT_METERS,
+            smallUnit
+        )
+        val roundedNumber = distanceUnit.roundToInt() / roundingIncrement * roundingIncrement
+        val roundedValue = if (roundedNumber < roundingIncrement) roundingIncrement else roundedNumber
+        return formattedDistances.getOrPut(cacheKey(smallUnitKey, 0, roundedValue.toLong())) {
+            format(roundedValue.toString(), false)
+        }
+    }
+
+    private fun formatDistanceForLargeUnit(distance: Double, maxFractionDigits: Int): T {
+        val distanceUnit =
+            TurfConversion.convertLength(distance, TurfConstants.UNIT_METERS, largeUnit)
+        val scale = 10.0.pow(maxFractionDigits)
+        val scaledValue = (distanceUnit * scale).roundToLong()
+        return formattedDistances.getOrPut(cacheKey(largeUnitKey, maxFractionDigits, scaledValue)) {
+            format(numberFormat(maxFractionDigits).format(scaledValue / scale), true)
+        }
+    }
+
+    private fun cacheKey(unitKey: Long, fractionDigits: Int, scaledValue: Long): Long =
+        (scaledValue shl 3) or (unitKey shl 2) or fractionDigits.toLong()
+
+    private fun numberFormat(maxFractionDigits: Int): NumberFormat =
+        numberFormats[maxFractionDigits] ?: NumberFormat.getNumberInstance(locale).also {
+            it.maximumFractionDigits = maxFractionDigits
+            numberFormats[maxFractionDigits] = it
+        }
+}
@@ -14,10 +14,7 @@ import com.mapbox.navigation.base.internal.extensions.inferDeviceLocale
 import com.mapbox.navigation.core.R
 import com.mapbox.navigation.core.Rounding
 import com.mapbox.turf.TurfConstants
-import com.mapbox.turf.TurfConversion
-import java.text.NumberFormat
 import java.util.Locale
-import kotlin.math.roundToInt
 
 /**
  * Creates an instance of DistanceFormatter, which can format distances in meters
@@ -48,10 +45,25 @@ class MapboxDistanceFormatter private constructor(
         else -> TurfConstants.UNIT_KILOMETERS
     }
 
-    companion object {
-        private const val smallDistanceUpperThresholdInMeters = 400.0
-        private const val mediumDistanceUpperThresholdInMeters = 10000.0
+    // resolving localized resources creates a new Context, so it happens once per formatter
+    private val smallUnitString by lazy {
+        getUnitString(context.resourcesWithLocale(locale), smallUnit)
+    }
+
+    private val largeUnitString by lazy {
+        getUnitString(context.resourcesWithLocale(locale), largeUnit)
+    }
+
+    private val formattedDistances = FormattedDistanceCache(
+        locale,
+        smallUnit,
+        largeUnit,
+        roundingIncrement
+    ) { roundedValue, isLargeUnit ->
+        getSpannableDistanceString(Pair(roundedValue, if (isLargeUnit) largeUnitString else smallUnitString))
+    }
 
+    companion object {
         /**
          * A new instance of [MapboxDistanceFormatter.Builder]
          *
@@ -118,51 +130,15 @@ class MapboxDistanceFormatter private constructor(
     /**
      * Returns a formatted SpannableString with bold and size formatting. I.e., "10 mi", "350 m"
      *
+     * Distances which round to the same displayed value share the same instance, which must
+     * not be modified.
+     *
      * @param distance in meters
      * @return SpannableString representation which has a bolded number and units which have a
      * relative size of .65 times the size of the number
      */
-    override fun formatDistance(distance: Double): SpannableString {
-        val distanceAndSuffix = when (distance) {
-            !in 0.0..Double.MAX_VALUE -> {
-                formatDistanceAndSuffixForSmallUnit(0.0)
-            }
-            in 0.0..smallDistanceUpperThresholdInMeters -> {
-                formatDistanceAndSuffixForSmallUnit(distance)
-            }
-            in smallDistanceUpperThresholdInMeters..mediumDistanceUpperThresholdInMeters -> {
-                formatDistanceAndSuffixForLargeUnit(distance, 1)
-            }
-            else -> {
-                formatDistanceAndSuffixForLargeUnit(distance, 0)
-            }
-        }
-        return getSpannableDistanceString(distanceAndSuffix)
-    }
-
-    private fun formatDistanceAndSuffixForSmallUnit(distance: Double): Pair<String, String> {
-        val distanceUnit = TurfConversion.convertLength(
-            distance,
-            TurfConstants.UNIT_METERS,
-            smallUnit
-        )
-        val resources = context.resourcesWithLocale(locale)
-        val unitStringSuffix = getUnitString(resources, smallUnit)
-        val roundedNumber = distanceUnit.roundToInt() / roundingIncrement * roundingIncrement
-        val roundedValue = (if (roundedNumber < roundingIncrement) roundingIncrement else roundedNumber).toString()
-        return Pair(roundedValue, unitStringSuffix)
-    }
-
-    private fun formatDistanceAndSuffixForLargeUnit(distance: Double, maxFractionDigits: Int): Pair<String, String> {
-        val resources = context.resourcesWithLocale(locale)
-        val unitStringSuffix = getUnitString(resources, largeUnit)
-        val distanceUnit =
-            TurfConversion.convertLength(distance, TurfConstants.UNIT_METERS, largeUnit)
-        val roundedValue = NumberFormat.getNumberInstance(locale).also {
-            it.maximumFractionDigits = maxFractionDigits
-        }.format(distanceUnit)
-        return Pair(roundedValue, unitStringSuffix)
-    }
+    @Synchronized
+    override fun formatDistance(distance: Double): SpannableString = formattedDistances.get(distance)
 
     /**
      * Takes in a distance and units and returns a formatted SpannableString where the number is bold
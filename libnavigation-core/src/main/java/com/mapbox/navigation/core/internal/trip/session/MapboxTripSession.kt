@@ -1,5 +1,6 @@
 package com.mapbox.navigation.core.internal.trip.session
 
+import android.hardware.Sensor
 import android.hardware.SensorEvent
 import android.location.Location
 import android.os.Looper
@@ -16,7 +17,9 @@ import com.mapbox.base.common.logger.model.Message
 import com.mapbox.navigation.base.trip.model.RouteLegProgress
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.internal.trip.service.TripService
+import com.mapbox.navigation.core.sensors.SensorEventBuffer
 import com.mapbox.navigation.core.sensors.SensorMapper
+import com.mapbox.navigation.core.sensors.SensorOptions
 import com.mapbox.navigation.core.trip.session.BannerInstructionEvent
 import com.mapbox.navigation.core.trip.session.BannerInstructionsObserver
 import com.mapbox.navigation.core.trip.session.LocationObserver
@@ -34,9 +37,12 @@ import com.mapbox.navigation.utils.internal.JobControl
 import com.mapbox.navigation.utils.internal.ThreadController
 import com.mapbox.navigation.utils.internal.ifNonNull
 import com.mapbox.navigator.NavigationStatus
+import com.mapbox.navigator.SensorData
 import java.util.Date
+import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.cancelChildren
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.isActive
@@ -72,11 +78,17 @@ class MapboxTripSession(
 
     companion object {
         private const val STATUS_POLLING_INTERVAL = 1000L
+        private const val DEFAULT_SENSOR_BUFFER_CAPACITY = 512
+        private const val MIN_SENSOR_BUFFER_CAPACITY = 64
+        private const val SENSOR_BUFFER_HEADROOM = 2
     }
 
-    override var route: DirectionsRoute? = null
+    private var currentRoute: DirectionsRoute? = null
+
+    override var route: DirectionsRoute?
+        get() = currentRoute
         set(value) {
-            field = value
+            currentRoute = value
             ioJobController.scope.launch {
                 navigator.setRoute(value)
             }
@@ -115,10 +127,46 @@ class MapboxTripSession(
             offRouteObservers.forEach { it.onOffRouteStateChanged(value) }
         }
 
+    // guards the buffer swap against the sensor thread and the start of the batches
+    private val sensorLock = Any()
+    @Volatile
+    private var sensorEventBuffer = SensorEventBuffer(DEFAULT_SENSOR_BUFFER_CAPACITY)
+    // buffers replaced by updateSensorOptions, flushed before the current one
+    private val replacedSensorEventBuffers = ConcurrentLinkedQueue<SensorEventBuffer>()
+    @Volatile
+    private var sensorBatchIntervalMillis = SensorOptions.DEFAULT_BATCH_INTERVAL_MILLIS
+    @Volatile
+    private var sensorBatchJob: Job? = null
+    @Volatile
+    private var droppedSensorEvents = 0L
+    private var reportedDroppedSensorEvents = 0L
+
     private var rawLocation: Location? = null
     private var enhancedLocation: Location? = null
     private var routeProgress: RouteProgress? = null
 
+    /**
+     * Patches the annotations of the legs that changed in the native navigator,
+     * the route geometry and the route buffer stay as they are.
+     */
+    override fun updateRouteAnnotations(refreshedRoute: DirectionsRoute): List<Int> {
+        val previousLegs = currentRoute?.legs()
+        currentRoute = refreshedRoute
+        val updatedLegIndices = mutableListOf<Int>()
+        refreshedRoute.legs()?.forEachIndexed { legIndex, leg ->
+            val annotation = leg.annotation()
+            if (annotation != null && annotation != previousLegs?.getOrNull(legIndex)?.annotation()) {
+                updatedLegIndices.add(legIndex)
+            }
+        }
+        ioJobController.scope.launch {
+            if (!navigator.updateRouteAnnotations(refreshedRoute, updatedLegIndices)) {
+                logger.e(msg = Message("Unable to update the annotations of the route"))
+            }
+        }
+        return updatedLegIndices
+    }
+
     /**
      * Return raw location
      */
@@ -180,6 +228,11 @@ class MapboxTripSession(
     }
 
     private fun reset() {
+        synchronized(sensorLock) {
+            sensorEventBuffer.clear()
+            replacedSensorEventBuffers.clear()
+            sensorBatchJob = null
+        }
         rawLocation = null
         enhancedLocation = null
         routeProgress = null
@@ -345,11 +398,81 @@ class MapboxTripSession(
     }
 
     /**
-     * Sensor event consumed by native
+     * Sensor event consumed by native. Events are buffered and passed to the native navigator
+     * in batches while the session is started, see [updateSensorOptions].
      */
     override fun updateSensorEvent(sensorEvent: SensorEvent) {
-        SensorMapper.toSensorData(sensorEvent, logger)?.let { sensorData ->
-            navigator.updateSensorData(sensorData)
+        if (state != TripSessionState.STARTED) {
+            return
+        }
+        synchronized(sensorLock) {
+            sensorEventBuffer.offer(sensorEvent, System.currentTimeMillis())
+            if (sensorBatchJob == null) {
+                sensorBatchJob = startSensorBatches()
+            }
+        }
+    }
+
+    /**
+     * Sizes the sensor event buffer for the enabled sensors and sets how often it is passed
+     * to the native navigator. Events buffered before are passed with the next batch.
+     */
+    override fun updateSensorOptions(sensorOptions: SensorOptions) {
+        sensorBatchIntervalMillis = sensorOptions.batchIntervalMillis
+        val samplesPerBatch = sensorOptions.signalsPerSecond.toLong() *
+            sensorOptions.enabledSensorTypes.size.coerceAtLeast(1) *
+            sensorOptions.batchIntervalMillis / TimeUnit.SECONDS.toMillis(1)
+        val capacity = (samplesPerBatch * SENSOR_BUFFER_HEADROOM)
+            .coerceIn(MIN_SENSOR_BUFFER_CAPACITY.toLong(), Int.MAX_VALUE.toLong()).toInt()
+        synchronized(sensorLock) {
+            val previousBuffer = sensorEventBuffer
+            if (capacity != previousBuffer.capacity) {
+                sensorEventBuffer = SensorEventBuffer(capacity)
+                droppedSensorEvents += previousBuffer.droppedCount
+                replacedSensorEventBuffers.offer(previousBuffer)
+            }
+        }
+    }
+
+    /**
+     * Number of sensor events that were dropped because the buffer was full before the next batch
+     */
+    override fun getDroppedSensorEventCount(): Long = droppedSensorEvents + sensorEventBuffer.droppedCount
+
+    private fun startSensorBatches(): Job =
+        ioJobController.scope.launch {
+            while (isActive) {
+                delay(sensorBatchIntervalMillis)
+                flushSensorEvents()
+            }
+        }
+
+    private suspend fun flushSensorEvents() {
+        val sensorData = mutableListOf<SensorData>()
+        val addSensorData: (Sensor, Long, Long, FloatArray) -> Unit =
+            { sensor, timestampNanos, timeMillis, values ->
+                SensorMapper.toSensorData(sensor, timestampNanos, timeMillis, values, logger)?.let {
+                    sensorData.add(it)
+                }
+            }
+        while (true) {
+            val replacedBuffer = replacedSensorEventBuffers.poll() ?: break
+            replacedBuffer.drain(addSensorData)
+        }
+        sensorEventBuffer.drain(addSensorData)
+        if (sensorData.isNotEmpty()) {
+            navigator.updateSensorDataBatch(sensorData)
+        }
+
+        val droppedCount = getDroppedSensorEventCount()
+        if (droppedCount > reportedDroppedSensorEvents) {
+            logger.d(
+                msg = Message(
+                    "${droppedCount - reportedDroppedSensorEvents} sensor events dropped, " +
+                        "more events arrived between two batches than the buffer holds"
+                )
+            )
+            reportedDroppedSensorEvents = droppedCount
         }
     }
 
@@ -1,11 +1,11 @@
 package com.mapbox.navigation.core.replay.history
 
 import com.google.gson.annotations.SerializedName
-import com.mapbox.navigation.core.MapboxNavigation
 
 /**
- * Data representation of the string given by [MapboxNavigation.retrieveHistory]. If you'd like to
- * add a custom event, add it to [events] and pass a [CustomEventMapper] to the [ReplayHistoryMapper].
+ * Data representation of the string given by
+ * [com.mapbox.navigation.core.MapboxNavigation.retrieveHistory]. If you'd like to add a custom
+ * event, add it to [events] and pass a [CustomEventMapper] to the [ReplayHistoryMapper].
  *
  * @param historyVersion version of the events supported: 1.0.0
  * @param version version of the navigator library
@@ -2,12 +2,19 @@ package com.mapbox.navigation.core.replay.route
 
 import android.location.Location
 import android.os.Handler
-import java.util.concurrent.CopyOnWriteArrayList
 import java.util.concurrent.CopyOnWriteArraySet
 import org.jetbrains.annotations.TestOnly
 
+/**
+ * Plays locations back at the pace of their timestamps.
+ *
+ * Locations are read from an index cursor. Played locations are dropped in bulk when more
+ * locations are added, rather than one by one from the head of the list.
+ * Meant to be used from the thread of its [Handler].
+ */
 internal class ReplayLocationDispatcher : Runnable {
     private var locationsToReplay: MutableList<Location>
+    private var cursor = 0
     private lateinit var current: Location
     private var handler: Handler = Handler()
     private val replayLocationListeners = CopyOnWriteArraySet<ReplayLocationListener>()
@@ -15,12 +22,11 @@ internal class ReplayLocationDispatcher : Runnable {
     companion object {
         private const val NON_EMPTY_LOCATION_LIST_REQUIRED =
             "Non-empty location list required."
-        private const val HEAD = 0
     }
 
     constructor(locationsToReplay: List<Location>) {
         checkValidInput(locationsToReplay)
-        this.locationsToReplay = CopyOnWriteArrayList(locationsToReplay)
+        this.locationsToReplay = ArrayList(locationsToReplay)
         initialize()
     }
 
@@ -48,12 +54,12 @@ internal class ReplayLocationDispatcher : Runnable {
 
     fun update(locationsToReplay: List<Location>) {
         checkValidInput(locationsToReplay)
-        this.locationsToReplay = CopyOnWriteArrayList(locationsToReplay)
+        this.locationsToReplay = ArrayList(locationsToReplay)
         initialize()
     }
 
     fun add(toReplay: List<Location>) {
-        val shouldRedispatch = locationsToReplay.isEmpty()
+        val shouldRedispatch = !hasNext()
         addLocations(toReplay)
         if (shouldRedispatch) {
             stopDispatching()
@@ -75,10 +81,17 @@ internal class ReplayLocationDispatcher : Runnable {
     }
 
     private fun initialize() {
-        current = locationsToReplay.removeAt(HEAD)
+        cursor = 0
+        current = next()
     }
 
+    private fun hasNext(): Boolean = cursor < locationsToReplay.size
+
+    private fun next(): Location = locationsToReplay[cursor++]
+
     private fun addLocations(toReplay: List<Location>) {
+        locationsToReplay.subList(0, cursor).clear()
+        cursor = 0
         locationsToReplay.addAll(toReplay)
     }
 
@@ -89,12 +102,12 @@ internal class ReplayLocationDispatcher : Runnable {
     }
 
     private fun scheduleNextDispatch() {
-        if (locationsToReplay.isEmpty()) {
+        if (!hasNext()) {
             stopDispatching()
             return
         }
         val currentTime = current.time
-        current = locationsToReplay.removeAt(HEAD)
+        current = next()
         val nextTime = current.time
         val diff = nextTime - currentTime
         handler.postDelayed(this, diff)
@@ -102,6 +115,7 @@ internal class ReplayLocationDispatcher : Runnable {
 
     private fun clearLocations() {
         locationsToReplay.clear()
+        cursor = 0
     }
 
     private fun stopDispatching() {
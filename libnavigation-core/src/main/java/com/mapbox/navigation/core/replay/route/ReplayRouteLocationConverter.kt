@@ -4,8 +4,8 @@ import android.location.Location
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.geojson.LineString
 import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.route.internal.CompactRoute
 import com.mapbox.navigation.core.internal.replay.route.ReplayLocationConverter
-import com.mapbox.turf.TurfConstants
 import com.mapbox.turf.TurfMeasurement
 
 internal class ReplayRouteLocationConverter(
@@ -45,9 +45,21 @@ internal class ReplayRouteLocationConverter(
     }
 
     override fun toLocations(): List<Location> {
-        val stepPoints = calculateStepPoints()
+        val trajectory = ReplayTrajectory.create(currentStepPoints(), speedMps(), distance)
+        increaseIndex()
 
-        return calculateMockLocations(stepPoints)
+        val mockedLocations = ArrayList<Location>(trajectory.size)
+        for (i in 0 until trajectory.size) {
+            val mockedLocation = createMockLocation(
+                trajectory.latitude(i),
+                trajectory.longitude(i),
+                trajectory.speed(i)
+            )
+            mockedLocation.bearing = trajectory.bearing(i)
+            time += (delay * ONE_SECOND_IN_MILLISECONDS).toLong()
+            mockedLocations.add(mockedLocation)
+        }
+        return mockedLocations
     }
 
     override fun setRoute(route: DirectionsRoute) {
@@ -68,34 +80,24 @@ internal class ReplayRouteLocationConverter(
      * @return list of sliced [Point]s.
      */
     override fun sliceRoute(lineString: LineString): List<Point> {
-        val distanceMeters = TurfMeasurement.length(lineString, TurfConstants.UNIT_METERS)
-        if (distanceMeters <= 0) {
-            return emptyList()
-        }
-
-        val points = ArrayList<Point>()
-        var i = 0.0
-        while (i < distanceMeters) {
-            val point = TurfMeasurement.along(lineString, i, TurfConstants.UNIT_METERS)
-            points.add(point)
-            i += distance
+        val trajectory = ReplayTrajectory.create(lineString.coordinates(), speedMps(), distance)
+        val points = ArrayList<Point>(trajectory.size)
+        for (i in 0 until trajectory.size) {
+            points.add(trajectory.point(i))
         }
         return points
     }
 
     override fun calculateMockLocations(points: List<Point>): List<Location> {
-        val pointsToCopy = ArrayList(points)
-        val mockedLocations = ArrayList<Location>()
-        for (point in points) {
-            val mockedLocation = createMockLocationFrom(point)
-
-            if (pointsToCopy.size >= 2) {
-                val bearing = TurfMeasurement.bearing(point, pointsToCopy[1])
+        val mockedLocations = ArrayList<Location>(points.size)
+        for ((index, point) in points.withIndex()) {
+            val mockedLocation = createMockLocation(point.latitude(), point.longitude(), speedMps())
+            if (index < points.lastIndex) {
+                val bearing = TurfMeasurement.bearing(point, points[index + 1])
                 mockedLocation.bearing = bearing.toFloat()
             }
             time += (delay * ONE_SECOND_IN_MILLISECONDS).toLong()
             mockedLocations.add(mockedLocation)
-            pointsToCopy.remove(point)
         }
 
         return mockedLocations
@@ -110,19 +112,9 @@ internal class ReplayRouteLocationConverter(
         return speed.toDouble() * ONE_KM_IN_METERS * delay.toDouble() / ONE_HOUR_IN_SECONDS
     }
 
-    private fun calculateStepPoints(): List<Point> {
-        val stepPoints = ArrayList<Point>()
-        val line = LineString.fromPolyline(
-            route?.legs()?.let { legs ->
-                legs[currentLeg]?.steps()?.let { steps ->
-                    steps[currentStep].geometry()
-                }
-            } ?: "", 6 // Use a precision of 6 decimal places when encoding or decoding a polyline
-        )
-        stepPoints.addAll(sliceRoute(line))
-        increaseIndex()
-
-        return stepPoints
+    private fun currentStepPoints(): List<Point> {
+        val route = route ?: return emptyList()
+        return CompactRoute.of(route).stepPoints(currentLeg, currentStep)
     }
 
     private fun increaseIndex() {
@@ -138,12 +130,13 @@ internal class ReplayRouteLocationConverter(
         }
     }
 
-    private fun createMockLocationFrom(point: Point): Location {
+    private fun speedMps(): Float = (speed * ONE_KM_IN_METERS / ONE_HOUR_IN_SECONDS).toFloat()
+
+    private fun createMockLocation(latitude: Double, longitude: Double, speedMps: Float): Location {
         val mockedLocation = Location(LOCATION_PROVIDER_REPLAY_ROUTE)
-        mockedLocation.latitude = point.latitude()
-        mockedLocation.longitude = point.longitude()
-        val speedInMetersPerSec = (speed * ONE_KM_IN_METERS / ONE_HOUR_IN_SECONDS).toFloat()
-        mockedLocation.speed = speedInMetersPerSec
+        mockedLocation.latitude = latitude
+        mockedLocation.longitude = longitude
+        mockedLocation.speed = speedMps
         mockedLocation.accuracy = 3f
         mockedLocation.time = time
         return mockedLocation
@@ -0,0 +1,91 @@
+package com.mapbox.navigation.core.replay.route
+
+import com.mapbox.geojson.Point
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfMeasurement
+
+/**
+ * Positions sampled along a geometry at a fixed distance from each other, which is the distance
+ * covered at a constant speed between two fixes.
+ *
+ * The geometry is walked once: segment lengths and bearings are computed a single time and each
+ * sample is placed on its segment from the cumulative distance, instead of measuring the line
+ * from its start for every sample.
+ */
+internal class ReplayTrajectory private constructor(
+    private val latitudes: DoubleArray,
+    private val longitudes: DoubleArray,
+    private val bearings: FloatArray,
+    private val speedMps: Float
+) {
+
+    val size: Int
+        get() = latitudes.size
+
+    fun latitude(index: Int): Double = latitudes[index]
+
+    fun longitude(index: Int): Double = longitudes[index]
+
+    fun bearing(index: Int): Float = bearings[index]
+
+    fun speed(index: Int): Float = speedMps
+
+    fun point(index: Int): Point = Point.fromLngLat(longitudes[index], latitudes[index])
+
+    companion object {
+
+        /**
+         * @param coordinates of the geometry
+         * @param speedMps constant speed along the geometry
+         * @param sampleDistanceMeters distance between two samples, the first one is at the start
+         * of the geometry and the last one before its end
+         */
+        fun create(coordinates: List<Point>, speedMps: Float, sampleDistanceMeters: Double): ReplayTrajectory {
+            val segmentCount = coordinates.size - 1
+            if (segmentCount < 1 || sampleDistanceMeters <= 0.0) {
+                return empty(speedMps)
+            }
+            val segmentStarts = DoubleArray(segmentCount + 1)
+            val segmentBearings = DoubleArray(segmentCount)
+            for (i in 0 until segmentCount) {
+                val length = TurfMeasurement.distance(coordinates[i], coordinates[i + 1], TurfConstants.UNIT_METERS)
+                segmentStarts[i + 1] = segmentStarts[i] + length
+                segmentBearings[i] = TurfMeasurement.bearing(coordinates[i], coordinates[i + 1])
+            }
+            val lengthMeters = segmentStarts[segmentCount]
+            if (lengthMeters <= 0.0) {
+                return empty(speedMps)
+            }
+
+            val sampleCount = Math.ceil(lengthMeters / sampleDistanceMeters).toInt()
+            val latitudes = DoubleArray(sampleCount)
+            val longitudes = DoubleArray(sampleCount)
+            val bearings = FloatArray(sampleCount)
+            var segment = 0
+            for (sample in 0 until sampleCount) {
+                val distance = sample * sampleDistanceMeters
+                while (segment < segmentCount - 1 && segmentStarts[segment + 1] <= distance) {
+                    segment++
+                }
+                val offset = distance - segmentStarts[segment]
+                val point = if (offset > 0.0) {
+                    TurfMeasurement.destination(
+                        coordinates[segment],
+                        offset,
+                        segmentBearings[segment],
+                        TurfConstants.UNIT_METERS
+                    )
+                } else {
+                    coordinates[segment]
+                }
+                latitudes[sample] = point.latitude()
+                longitudes[sample] = point.longitude()
+                bearings[sample] = segmentBearings[segment].toFloat()
+            }
+            return ReplayTrajectory(latitudes, longitudes, bearings, speedMps)
+        }
+
+        private fun empty(speedMps: Float) =
+            ReplayTrajectory(DoubleArray(0), DoubleArray(0), FloatArray(0), speedMps)
+    }
+}
@@ -0,0 +1,22 @@
+package com.mapbox.navigation.core.routerefresh
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+
+/**
+ * Interface definition for an observer that gets notified when the traffic annotations
+ * of the current route are refreshed.
+ *
+ * The route geometry, legs and steps stay the same, only data derived from the leg annotations,
+ * like congestion colors, needs to be updated. Unlike [com.mapbox.navigation.core.directions.session.RoutesObserver],
+ * this isn't a new route.
+ */
+interface RouteAnnotationsObserver {
+
+    /**
+     * Invoked when the annotations of the current route change.
+     *
+     * @param route the current route with the refreshed annotations
+     * @param legIndices indices of the legs whose annotations changed
+     */
+    fun onRouteAnnotationsUpdated(route: DirectionsRoute, legIndices: List<Int>)
+}
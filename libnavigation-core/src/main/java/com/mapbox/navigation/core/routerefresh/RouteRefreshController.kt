@@ -9,6 +9,7 @@ import com.mapbox.navigation.base.route.RouteRefreshError
 import com.mapbox.navigation.core.directions.session.DirectionsSession
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.utils.internal.MapboxTimer
+import java.util.concurrent.CopyOnWriteArraySet
 import java.util.concurrent.TimeUnit
 import kotlinx.coroutines.Job
 
@@ -16,7 +17,8 @@ import kotlinx.coroutines.Job
  * This class is responsible for refreshing the current direction route's traffic.
  * This does not support alternative routes.
  *
- * If the route is successfully refreshed, this class will update the [TripSession.route]
+ * If the route is successfully refreshed, this class will update the annotations of the
+ * [TripSession.route] and notify [RouteAnnotationsObserver]s, the route itself isn't reset.
  *
  * [start] and [stop] are attached to the application lifecycle. Observing routes that
  * can be refreshed are handled by this class. Calling [start] will restart the refresh timer.
@@ -28,6 +30,7 @@ internal class RouteRefreshController(
 ) {
 
     private val routerRefreshTimer = MapboxTimer()
+    private val routeAnnotationsObservers = CopyOnWriteArraySet<RouteAnnotationsObserver>()
 
     init {
         routerRefreshTimer.restartAfterMillis = TimeUnit.MINUTES.toMillis(5)
@@ -51,21 +54,44 @@ internal class RouteRefreshController(
         routerRefreshTimer.stopJobs()
     }
 
+    fun registerRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        routeAnnotationsObservers.add(routeAnnotationsObserver)
+    }
+
+    fun unregisterRouteAnnotationsObserver(routeAnnotationsObserver: RouteAnnotationsObserver) {
+        routeAnnotationsObservers.remove(routeAnnotationsObserver)
+    }
+
+    fun unregisterAllRouteAnnotationsObservers() {
+        routeAnnotationsObservers.clear()
+    }
+
     private fun supportsRefresh(route: DirectionsRoute?): Boolean {
         val isTrafficProfile = route?.routeOptions()
             ?.profile()?.equals(DirectionsCriteria.PROFILE_DRIVING_TRAFFIC)
         return isTrafficProfile == true
     }
 
+    // a refresh only replaces annotations, a response for a route which was replaced in the meantime is dropped
+    private fun isSameRoute(currentRoute: DirectionsRoute, refreshedRoute: DirectionsRoute): Boolean =
+        currentRoute.geometry() == refreshedRoute.geometry() &&
+            currentRoute.legs()?.size == refreshedRoute.legs()?.size
+
     private val routeRefreshCallback = object : RouteRefreshCallback {
 
         override fun onRefresh(directionsRoute: DirectionsRoute) {
+            val currentRoute = tripSession.route
+            if (currentRoute == null || !isSameRoute(currentRoute, directionsRoute)) {
+                logger.i(msg = Message("Refreshed route is no longer the current route"))
+                return
+            }
             logger.i(msg = Message("Successful refresh"))
-            tripSession.route = directionsRoute
-            val directionsSessionRoutes = directionsSession.routes.toMutableList()
-            if (directionsSessionRoutes.isNotEmpty()) {
-                directionsSessionRoutes[0] = directionsRoute
-                directionsSession.routes = directionsSessionRoutes
+            val updatedLegIndices = tripSession.updateRouteAnnotations(directionsRoute)
+            directionsSession.updatePrimaryRoute(directionsRoute)
+            if (updatedLegIndices.isNotEmpty()) {
+                routeAnnotationsObservers.forEach {
+                    it.onRouteAnnotationsUpdated(directionsRoute, updatedLegIndices)
+                }
             }
         }
 
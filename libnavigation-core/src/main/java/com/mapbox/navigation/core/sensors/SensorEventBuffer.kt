@@ -0,0 +1,116 @@
+package com.mapbox.navigation.core.sensors
+
+import android.hardware.Sensor
+import android.hardware.SensorEvent
+
+/**
+ * Preallocated ring buffer of sensor samples, written from the sensor callbacks and drained in
+ * batches.
+ *
+ * [SensorEvent]s are recycled by the framework, so their values are copied into primitive
+ * arrays and no object is allocated per sample. When the buffer is full the oldest sample is
+ * overwritten and counted as dropped, the most recent samples are the useful ones.
+ *
+ * There are two sets of arrays, [drain] swaps them so the sensor thread keeps writing while
+ * the drained samples are read.
+ *
+ * @param capacity number of samples kept between two drains
+ */
+internal class SensorEventBuffer(val capacity: Int) {
+
+    private var writeSamples = Samples(capacity)
+    private var readSamples = Samples(capacity)
+    private val lock = Any()
+
+    /**
+     * Number of samples overwritten before being drained since the buffer was created.
+     */
+    @Volatile
+    var droppedCount: Long = 0L
+        private set
+
+    fun offer(sensorEvent: SensorEvent, timeMillis: Long) {
+        synchronized(lock) {
+            if (!writeSamples.add(sensorEvent, timeMillis)) {
+                droppedCount++
+            }
+        }
+    }
+
+    /**
+     * Passes the buffered samples to [consumer], oldest first, and empties the buffer.
+     * Not meant to be called concurrently.
+     *
+     * @param consumer receives the sensor, the event timestamp in nanoseconds, the time the
+     * sample was buffered in milliseconds and its values. The values array is reused.
+     */
+    fun drain(consumer: (Sensor, Long, Long, FloatArray) -> Unit) {
+        val samples = synchronized(lock) {
+            val samples = writeSamples
+            writeSamples = readSamples
+            readSamples = samples
+            samples
+        }
+        samples.forEach(consumer)
+        samples.clear()
+    }
+
+    fun clear() {
+        synchronized(lock) {
+            writeSamples.clear()
+        }
+    }
+
+    private class Samples(private val capacity: Int) {
+        private val sensors = arrayOfNulls<Sensor>(capacity)
+        private val timestamps = LongArray(capacity)
+        private val times = LongArray(capacity)
+        private val values = FloatArray(capacity * MAX_VALUES)
+        private val valueCounts = IntArray(capacity)
+        private val valuesByCount = Array(MAX_VALUES + 1) { FloatArray(it) }
+        private var head = 0
+        private var size = 0
+
+        /**
+         * @return false if the oldest sample was overwritten
+         */
+        fun add(sensorEvent: SensorEvent, timeMillis: Long): Boolean {
+            val isFull = size == capacity
+            val index = (head + size) % capacity
+            if (isFull) {
+                head = (head + 1) % capacity
+            } else {
+                size++
+            }
+            val valueCount = minOf(sensorEvent.values.size, MAX_VALUES)
+            sensors[index] = sensorEvent.sensor
+            timestamps[index] = sensorEvent.timestamp
+            times[index] = timeMillis
+            valueCounts[index] = valueCount
+            System.arraycopy(sensorEvent.values, 0, values, index * MAX_VALUES, valueCount)
+            return !isFull
+        }
+
+        fun forEach(consumer: (Sensor, Long, Long, FloatArray) -> Unit) {
+            for (i in 0 until size) {
+                val index = (head + i) % capacity
+                val sampleValues = valuesByCount[valueCounts[index]]
+                System.arraycopy(values, index * MAX_VALUES, sampleValues, 0, sampleValues.size)
+                sensors[index]?.let { sensor ->
+                    consumer(sensor, timestamps[index], times[index], sampleValues)
+                }
+            }
+        }
+
+        fun clear() {
+            sensors.fill(null)
+            head = 0
+            size = 0
+        }
+    }
+
+    companion object {
+        // uncalibrated sensors report a value and a bias per axis
+        private const val MAX_VALUES = 6
+    }
+}
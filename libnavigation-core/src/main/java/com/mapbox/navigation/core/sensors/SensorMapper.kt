@@ -29,13 +29,29 @@ internal object SensorMapper {
     }
 
     fun toSensorData(sensorEvent: SensorEvent, logger: Logger): SensorData? {
-        val sensorType = toSensorType(sensorEvent.sensor, logger)
+        return toSensorData(
+            sensorEvent.sensor,
+            sensorEvent.timestamp,
+            System.currentTimeMillis(),
+            sensorEvent.values,
+            logger
+        )
+    }
+
+    fun toSensorData(
+        sensor: Sensor,
+        timestampNanos: Long,
+        timeMillis: Long,
+        values: FloatArray,
+        logger: Logger
+    ): SensorData? {
+        val sensorType = toSensorType(sensor, logger)
             ?: return null
         return SensorData(
             sensorType,
-            Date(),
-            sensorEvent.timestamp,
-            sensorEvent.values.toList()
+            Date(timeMillis),
+            timestampNanos,
+            values.toList()
         )
     }
 
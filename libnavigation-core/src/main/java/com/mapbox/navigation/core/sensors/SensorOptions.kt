@@ -6,17 +6,28 @@ package com.mapbox.navigation.core.sensors
  *
  * @param enabledSensorTypes set of enabled sensors
  * @param signalsPerSecond signals per second received from sensors
+ * @param batchIntervalMillis how often buffered sensor events are passed to the navigator
  */
 data class SensorOptions(
     val enabledSensorTypes: Set<Int>,
-    val signalsPerSecond: Int
+    val signalsPerSecond: Int,
+    val batchIntervalMillis: Long = DEFAULT_BATCH_INTERVAL_MILLIS
 ) {
+
+    companion object {
+        /**
+         * Default interval between two batches of sensor events passed to the navigator
+         */
+        const val DEFAULT_BATCH_INTERVAL_MILLIS = 200L
+    }
+
     /**
      * Builder of [SensorOptions]
      */
     class Builder {
         private val enabledSensors: MutableSet<Int> = mutableSetOf()
         private var signalsPerSecond: Int = 25
+        private var batchIntervalMillis: Long = DEFAULT_BATCH_INTERVAL_MILLIS
 
         /**
          * Enable all available sensors
@@ -48,6 +59,16 @@ data class SensorOptions(
             return this
         }
 
+        /**
+         * How often buffered sensor events are passed to the navigator
+         *
+         * @return Builder
+         */
+        fun batchIntervalMillis(batchIntervalMillis: Long): Builder {
+            this.batchIntervalMillis = batchIntervalMillis
+            return this
+        }
+
         /**
          * Build a new instance of [SensorOptions]
          *
@@ -56,7 +77,8 @@ data class SensorOptions(
         fun build(): SensorOptions {
             return SensorOptions(
                 enabledSensors,
-                signalsPerSecond
+                signalsPerSecond,
+                batchIntervalMillis
             )
         }
     }
@@ -0,0 +1,17 @@
+package com.mapbox.navigation.core.startup
+
+/**
+ * Interface definition for an observer that gets notified once the background part of the
+ * [com.mapbox.navigation.core.MapboxNavigation] startup is done: the native navigator is loaded
+ * and the router is configured.
+ */
+interface NavigationReadyObserver {
+
+    /**
+     * Invoked on the main thread once the navigation is ready, or right away when registered
+     * after that.
+     *
+     * @param startupTimings durations of the startup stages
+     */
+    fun onNavigationReady(startupTimings: StartupTimings)
+}
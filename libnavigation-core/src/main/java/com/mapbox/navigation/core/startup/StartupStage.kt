@@ -0,0 +1,38 @@
+package com.mapbox.navigation.core.startup
+
+/**
+ * Stages of the [com.mapbox.navigation.core.MapboxNavigation] startup.
+ */
+enum class StartupStage {
+
+    /**
+     * Logger, navigation and directions sessions, on the calling thread.
+     */
+    CORE_COMPONENTS,
+
+    /**
+     * Trip notification, trip service and trip session, on the calling thread.
+     */
+    TRIP_SESSION,
+
+    /**
+     * Metrics reporter and telemetry, on the calling thread.
+     */
+    TELEMETRY,
+
+    /**
+     * Faster route, route refresh, arrival and tiles prefetch controllers, on the calling thread.
+     */
+    CONTROLLERS,
+
+    /**
+     * Loading of the native library and creation of the native navigator, in the background.
+     */
+    NATIVE_NAVIGATOR,
+
+    /**
+     * Creation of the router module, including the on-board router tiles configuration, in the
+     * background after [NATIVE_NAVIGATOR].
+     */
+    ROUTER
+}
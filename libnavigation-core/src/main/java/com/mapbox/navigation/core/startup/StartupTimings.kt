@@ -0,0 +1,14 @@
+package com.mapbox.navigation.core.startup
+
+/**
+ * Durations of the [com.mapbox.navigation.core.MapboxNavigation] startup.
+ *
+ * @param stageDurations duration in milliseconds of each completed stage. Background stages
+ * overlap with the ones on the calling thread.
+ * @param totalMillis time in milliseconds from the start of the construction until the
+ * instance was ready
+ */
+data class StartupTimings(
+    val stageDurations: Map<StartupStage, Long>,
+    val totalMillis: Long
+)
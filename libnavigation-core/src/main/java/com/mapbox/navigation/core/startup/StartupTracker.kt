@@ -0,0 +1,32 @@
+package com.mapbox.navigation.core.startup
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Measures the startup stages, from the calling thread and from the background.
+ *
+ * @param elapsedRealtime clock in milliseconds, the tracker starts when created
+ */
+internal class StartupTracker(private val elapsedRealtime: () -> Long) {
+
+    private val startMillis = elapsedRealtime()
+    private val stageStartMillis = ConcurrentHashMap<StartupStage, Long>()
+    private val stageDurations = ConcurrentHashMap<StartupStage, Long>()
+
+    fun begin(stage: StartupStage) {
+        stageStartMillis[stage] = elapsedRealtime()
+    }
+
+    /**
+     * Completes the stage, ignored if it wasn't begun.
+     */
+    fun end(stage: StartupStage) {
+        stageStartMillis[stage]?.let { stageDurations[stage] = elapsedRealtime() - it }
+    }
+
+    /**
+     * @return the durations of the stages completed so far
+     */
+    fun timings(): StartupTimings =
+        StartupTimings(stageDurations.toMap(), elapsedRealtime() - startMillis)
+}
@@ -0,0 +1,116 @@
+package com.mapbox.navigation.core.tiles
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.base.common.logger.model.Message
+import com.mapbox.base.common.logger.model.Tag
+import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
+import com.mapbox.navigation.base.options.RouteTilesPrefetchOptions
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.core.trip.session.RouteProgressObserver
+import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.navigator.internal.tilesDir
+import com.mapbox.navigation.navigator.internal.toRouterParams
+import com.mapbox.navigation.utils.internal.ThreadController
+import com.mapbox.navigation.utils.internal.Time
+import java.util.LinkedList
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancelChildren
+import kotlinx.coroutines.launch
+
+/**
+ * Follows [RouteProgress] and keeps the routing tiles around the active route downloaded,
+ * so the on-board router can take over when the network is gone.
+ *
+ * The native navigator caches tiles around the whole route set last. The request is repeated
+ * every half of [RouteTilesPrefetchOptions.lookAheadMeters] traveled to refresh the tiles ahead
+ * of the vehicle, as long as the hourly download budget isn't exhausted.
+ * The budget is a soft limit: only one prefetch runs at a time and its size is known only once
+ * it completes, so the budget can be exceeded by at most the prefetch that crosses it.
+ * If [RouteTilesPrefetchOptions.maxDiskUsageBytes] is set, the least recently updated tiles are
+ * removed after each prefetch and the router is reconfigured to pick up the change, keeping the
+ * HTTP client the on-board router configured it with.
+ */
+internal class RouteTilesPrefetcher(
+    private val navigator: MapboxNativeNavigator,
+    private val routerConfig: MapboxOnboardRouterConfig,
+    private val options: RouteTilesPrefetchOptions,
+    private val logger: Logger,
+    private val time: Time = Time.SystemImpl
+) : RouteProgressObserver {
+
+    companion object {
+        private const val TAG = "RouteTilesPrefetcher"
+        private val BUDGET_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(1)
+    }
+
+    private val jobControl = ThreadController.getIOScopeAndRootJob()
+    private val evictor = options.maxDiskUsageBytes?.let { TilesStorageEvictor(it) }
+    private val downloads = LinkedList<Download>()
+    private var prefetchJob: Job? = null
+    private var lastRoute: DirectionsRoute? = null
+    private var lastPrefetchDistance = 0f
+
+    override fun onRouteProgressChanged(routeProgress: RouteProgress) {
+        val route = routeProgress.route() ?: return
+        val distanceTraveled = routeProgress.distanceTraveled()
+        val isNewRoute = route !== lastRoute
+        if (isNewRoute || distanceTraveled - lastPrefetchDistance >= options.lookAheadMeters / 2) {
+            if (prefetch()) {
+                lastRoute = route
+                lastPrefetchDistance = distanceTraveled
+            }
+        }
+    }
+
+    /**
+     * Cancels an ongoing prefetch.
+     */
+    fun stop() {
+        jobControl.job.cancelChildren()
+        lastRoute = null
+    }
+
+    private fun prefetch(): Boolean {
+        // a single prefetch at a time keeps the budget overshoot bounded to one download
+        if (prefetchJob?.isActive == true) {
+            return false
+        }
+        val now = time.millis()
+        if (downloadedWithinBudgetWindow(now) >= options.maxBytesPerHour) {
+            logger.d(Tag(TAG), Message("Hourly download budget exhausted, skipping prefetch"))
+            return false
+        }
+
+        prefetchJob = jobControl.scope.launch {
+            val tilesDir = routerConfig.tilesDir()
+            val sizeBefore = tilesDir.directorySize()
+            navigator.cacheLastRoute()
+            val downloaded = (tilesDir.directorySize() - sizeBefore).coerceAtLeast(0)
+            synchronized(downloads) {
+                downloads.add(Download(now, downloaded))
+            }
+
+            val removed = evictor?.evict(tilesDir) ?: 0
+            if (removed > 0) {
+                navigator.reconfigureRouter(routerConfig.toRouterParams())
+            }
+            logger.d(
+                Tag(TAG),
+                Message("Prefetched $downloaded bytes of tiles, evicted $removed tiles")
+            )
+        }
+        return true
+    }
+
+    private fun downloadedWithinBudgetWindow(now: Long): Long =
+        synchronized(downloads) {
+            while (downloads.isNotEmpty() && now - downloads.first.timestamp > BUDGET_WINDOW_MILLIS) {
+                downloads.removeFirst()
+            }
+            downloads.fold(0L) { sum, download -> sum + download.bytes }
+        }
+
+    private data class Download(val timestamp: Long, val bytes: Long)
+}
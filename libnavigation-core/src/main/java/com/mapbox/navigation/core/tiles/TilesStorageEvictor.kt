@@ -0,0 +1,45 @@
+package com.mapbox.navigation.core.tiles
+
+import java.io.File
+
+/**
+ * Keeps the routing tiles directory within [maxDiskUsageBytes] by removing the least recently
+ * updated tile files first.
+ */
+internal class TilesStorageEvictor(
+    private val maxDiskUsageBytes: Long
+) {
+
+    /**
+     * Removes the oldest tile files until the directory fits into [maxDiskUsageBytes].
+     *
+     * @param tilesDir routing tiles directory
+     * @return number of removed files
+     */
+    fun evict(tilesDir: File): Int {
+        val files = tilesDir.walkTopDown().filter { it.isFile }.toList()
+        var usedBytes = files.fold(0L) { size, file -> size + file.length() }
+        if (usedBytes <= maxDiskUsageBytes) {
+            return 0
+        }
+
+        var removed = 0
+        for (file in files.sortedBy { it.lastModified() }) {
+            if (usedBytes <= maxDiskUsageBytes) {
+                break
+            }
+            val length = file.length()
+            if (file.delete()) {
+                usedBytes -= length
+                removed++
+            }
+        }
+        return removed
+    }
+}
+
+/**
+ * Size of all the files in the directory tree.
+ */
+internal fun File.directorySize(): Long =
+    walkTopDown().filter { it.isFile }.fold(0L) { size, file -> size + file.length() }
@@ -7,6 +7,7 @@ import com.mapbox.android.core.location.LocationEngineRequest
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.internal.trip.service.TripService
+import com.mapbox.navigation.core.sensors.SensorOptions
 import com.mapbox.navigator.NavigationStatus
 
 internal interface TripSession {
@@ -16,6 +17,14 @@ internal interface TripSession {
     val locationEngineRequest: LocationEngineRequest
     var route: DirectionsRoute?
 
+    /**
+     * Replaces the [route] with a refreshed version of the same route,
+     * updating only the leg annotations which changed instead of setting a new route.
+     *
+     * @return indices of the legs whose annotations changed
+     */
+    fun updateRouteAnnotations(refreshedRoute: DirectionsRoute): List<Int>
+
     fun getRawLocation(): Location?
     fun getEnhancedLocation(): Location?
     fun getRouteProgress(): RouteProgress?
@@ -48,6 +57,8 @@ internal interface TripSession {
     fun unregisterVoiceInstructionsObserver(voiceInstructionsObserver: VoiceInstructionsObserver)
     fun unregisterAllVoiceInstructionsObservers()
     fun updateSensorEvent(sensorEvent: SensorEvent)
+    fun updateSensorOptions(sensorOptions: SensorOptions)
+    fun getDroppedSensorEventCount(): Long
 
     fun useExtendedKalmanFilter(useEKF: Boolean)
     fun updateLegIndex(legIndex: Int): NavigationStatus
@@ -27,6 +27,9 @@ import com.mapbox.navigation.core.directions.session.RoutesObserver
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
 import com.mapbox.navigation.core.internal.MapboxDistanceFormatter
 import com.mapbox.navigation.core.internal.trip.service.TripService
+import com.mapbox.navigation.core.startup.NavigationReadyObserver
+import com.mapbox.navigation.core.startup.StartupStage
+import com.mapbox.navigation.core.startup.StartupTimings
 import com.mapbox.navigation.core.trip.session.OffRouteObserver
 import com.mapbox.navigation.core.trip.session.TripSession
 import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
@@ -45,6 +48,7 @@ import kotlinx.coroutines.InternalCoroutinesApi
 import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.BeforeClass
 import org.junit.Rule
@@ -392,6 +396,26 @@ class MapboxNavigationTest {
         verify { tripSession.route = null }
     }
 
+    @Test
+    fun init_preloadsNativeNavigatorAndRouterInBackground() {
+        verify(timeout = 1000) { navigator.preload() }
+        verify(timeout = 1000) {
+            MapboxModuleProvider.createModule<Router>(MapboxModuleType.NavigationRouter, any())
+        }
+    }
+
+    @Test
+    fun navigationReadyObserver_notifiedWithStartupTimings() {
+        val navigationReadyObserver: NavigationReadyObserver = mockk(relaxUnitFun = true)
+
+        mapboxNavigation.registerNavigationReadyObserver(navigationReadyObserver)
+
+        val timingsSlot = slot<StartupTimings>()
+        verify(timeout = 1000) { navigationReadyObserver.onNavigationReady(capture(timingsSlot)) }
+        assertTrue(timingsSlot.captured.stageDurations.containsKey(StartupStage.NATIVE_NAVIGATOR))
+        assertTrue(timingsSlot.captured.stageDurations.containsKey(StartupStage.ROUTER))
+    }
+
     private fun mockLocation() {
         every { location.longitude } returns -122.789876
         every { location.latitude } returns 37.657483
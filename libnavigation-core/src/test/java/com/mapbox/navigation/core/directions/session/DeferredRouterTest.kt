@@ -0,0 +1,86 @@
+package com.mapbox.navigation.core.directions.session
+
+import com.mapbox.api.directions.v5.models.RouteOptions
+import com.mapbox.navigation.base.route.Router
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Assert.fail
+import org.junit.Test
+
+class DeferredRouterTest {
+
+    private val router: Router = mockk(relaxUnitFun = true)
+    private var createdCount = 0
+    private val deferredRouter = DeferredRouter {
+        createdCount++
+        router
+    }
+
+    @Test
+    fun `router is created once on first use`() {
+        val routeOptions: RouteOptions = mockk()
+        val callback: Router.Callback = mockk()
+
+        deferredRouter.getRoute(routeOptions, callback)
+        deferredRouter.getRoute(routeOptions, callback)
+
+        assertEquals(1, createdCount)
+        verify(exactly = 2) { router.getRoute(routeOptions, callback) }
+    }
+
+    @Test
+    fun `create does not create the router again`() {
+        deferredRouter.create()
+        deferredRouter.create()
+
+        assertEquals(1, createdCount)
+    }
+
+    @Test
+    fun `cancel and shutdown do not create the router`() {
+        deferredRouter.cancel()
+        deferredRouter.shutdown()
+
+        assertEquals(0, createdCount)
+    }
+
+    @Test
+    fun `shutdown is forwarded once created`() {
+        deferredRouter.create()
+
+        deferredRouter.shutdown()
+
+        verify(exactly = 1) { router.shutdown() }
+    }
+
+    @Test
+    fun `failed creation is thrown again without creating the router again`() {
+        val failure = UnsatisfiedLinkError()
+        var failedCount = 0
+        val failingRouter = DeferredRouter {
+            failedCount++
+            throw failure
+        }
+
+        repeat(2) {
+            try {
+                failingRouter.create()
+                fail()
+            } catch (error: UnsatisfiedLinkError) {
+                assertSame(failure, error)
+            }
+        }
+
+        assertEquals(1, failedCount)
+    }
+
+    @Test
+    fun `shutdown after a failed creation is ignored`() {
+        val failingRouter = DeferredRouter { throw UnsatisfiedLinkError() }
+        runCatching { failingRouter.create() }
+
+        failingRouter.shutdown()
+    }
+}
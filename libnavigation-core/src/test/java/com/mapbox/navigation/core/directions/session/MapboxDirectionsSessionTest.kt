@@ -58,6 +58,20 @@ class MapboxDirectionsSessionTest {
         verify(exactly = 1) { observer.onRoutesChanged(routes) }
     }
 
+    @Test
+    fun updatePrimaryRoute_observersAreNotNotified() {
+        val refreshedRoute: DirectionsRoute = mockk()
+        session.requestRoutes(routeOptions, routesRequestCallback)
+        callback.onResponse(routes)
+        session.registerRoutesObserver(observer)
+        clearMocks(observer)
+
+        session.updatePrimaryRoute(refreshedRoute)
+
+        assertEquals(listOf(refreshedRoute), session.routes)
+        verify(exactly = 0) { observer.onRoutesChanged(any()) }
+    }
+
     @Test
     fun routeResponse_inProgress() {
         session.requestRoutes(routeOptions, routesRequestCallback)
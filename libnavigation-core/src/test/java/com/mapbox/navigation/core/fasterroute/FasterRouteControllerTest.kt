@@ -1,7 +1,9 @@
 package com.mapbox.navigation.core.fasterroute
 
 import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteLeg
 import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.directions.session.AdjustedRouteOptionsProvider
 import com.mapbox.navigation.core.directions.session.DirectionsSession
 import com.mapbox.navigation.core.directions.session.RoutesRequestCallback
@@ -44,7 +46,7 @@ class FasterRouteControllerTest {
 
         every { directionsSession.getRouteOptions() } returns mockk()
         every { directionsSession.requestFasterRoute(any(), capture(routesRequestCallbacks)) } returns mockk()
-        every { tripSession.getRouteProgress() } returns mockk()
+        every { tripSession.getRouteProgress() } returns routeProgress(3600.0)
     }
 
     @After
@@ -58,6 +60,7 @@ class FasterRouteControllerTest {
             mockk {
                 every { routeIndex() } returns "0"
                 every { duration() } returns 727.228
+                every { legs() } returns congestionLegs()
             }
         )
         every { tripSession.getEnhancedLocation() } returns mockk {
@@ -94,15 +97,14 @@ class FasterRouteControllerTest {
         val currentRoute: DirectionsRoute = mockk {
             every { routeIndex() } returns "0"
             every { duration() } returns 801.332
+            every { legs() } returns congestionLegs()
         }
         every { directionsSession.routes } returns listOf(currentRoute)
         every { tripSession.getEnhancedLocation() } returns mockk {
             every { latitude } returns -33.874308
             every { longitude } returns 151.206087
         }
-        every { tripSession.getRouteProgress() } returns mockk {
-            every { durationRemaining() } returns 601.334
-        }
+        every { tripSession.getRouteProgress() } returns routeProgress(601.334)
         every { directionsSession.requestFasterRoute(any(), capture(routesRequestCallbacks)) } returns mockk()
 
         fasterRouteController.attach(fasterRouteObserver)
@@ -124,15 +126,14 @@ class FasterRouteControllerTest {
         val currentRoute: DirectionsRoute = mockk {
             every { routeIndex() } returns "0"
             every { duration() } returns 801.332
+            every { legs() } returns congestionLegs()
         }
         every { directionsSession.routes } returns listOf(currentRoute)
         every { tripSession.getEnhancedLocation() } returns mockk {
             every { latitude } returns -33.874308
             every { longitude } returns 151.206087
         }
-        every { tripSession.getRouteProgress() } returns mockk {
-            every { durationRemaining() } returns 751.334
-        }
+        every { tripSession.getRouteProgress() } returns routeProgress(751.334)
         every { directionsSession.requestFasterRoute(any(), capture(routesRequestCallbacks)) } returns mockk()
 
         fasterRouteController.attach(fasterRouteObserver)
@@ -148,4 +149,59 @@ class FasterRouteControllerTest {
         fasterRouteController.stop()
         coroutineRule.testDispatcher.cleanupTestCoroutines()
     }
+
+    @Test
+    fun `should not request after the hourly budget is used`() = coroutineRule.runBlockingTest {
+        val controller = FasterRouteController(
+            directionsSession,
+            tripSession,
+            logger,
+            fasterRouteScheduler = FasterRouteScheduler(maxRequestsPerHour = 2) { 0L }
+        )
+        every { directionsSession.routes } returns listOf(
+            mockk {
+                every { legs() } returns congestionLegs()
+            }
+        )
+        every { tripSession.getEnhancedLocation() } returns mockk()
+
+        controller.attach(fasterRouteObserver)
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(4))
+        controller.stop()
+
+        coroutineRule.testDispatcher.cleanupTestCoroutines()
+        verify(exactly = 2) { directionsSession.requestFasterRoute(any(), any()) }
+    }
+
+    @Test
+    fun `should not request close to the destination`() = coroutineRule.runBlockingTest {
+        every { directionsSession.routes } returns listOf(
+            mockk {
+                every { legs() } returns congestionLegs()
+            }
+        )
+        every { tripSession.getEnhancedLocation() } returns mockk()
+        every { tripSession.getRouteProgress() } returns routeProgress(60.0, distanceMeters = 400f)
+
+        fasterRouteController.attach(fasterRouteObserver)
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(4))
+        fasterRouteController.stop()
+
+        coroutineRule.testDispatcher.cleanupTestCoroutines()
+        verify(exactly = 0) { directionsSession.requestFasterRoute(any(), any()) }
+    }
+
+    private fun routeProgress(durationSeconds: Double, distanceMeters: Float = 50000f): RouteProgress = mockk {
+        every { durationRemaining() } returns durationSeconds
+        every { distanceRemaining() } returns distanceMeters
+        every { currentLegProgress() } returns null
+    }
+
+    private fun congestionLegs(): List<RouteLeg> = listOf(
+        mockk {
+            every { annotation() } returns mockk {
+                every { congestion() } returns listOf("low", "moderate")
+            }
+        }
+    )
 }
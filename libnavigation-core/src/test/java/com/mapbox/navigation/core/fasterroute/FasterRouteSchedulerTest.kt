@@ -0,0 +1,122 @@
+package com.mapbox.navigation.core.fasterroute
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import io.mockk.every
+import io.mockk.mockk
+import java.util.concurrent.TimeUnit
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class FasterRouteSchedulerTest {
+
+    private val baseIntervalMillis = TimeUnit.MINUTES.toMillis(2)
+    private var elapsedRealtimeMillis = 0L
+    private val scheduler = FasterRouteScheduler(maxRequestsPerHour = 2) { elapsedRealtimeMillis }
+
+    @Test
+    fun `base interval is used without history`() {
+        scheduler.onCheck(baseIntervalMillis, route(), routeProgress(3600.0))
+
+        assertEquals(baseIntervalMillis, scheduler.nextIntervalMillis)
+    }
+
+    @Test
+    fun `interval is shortened when eta drifts`() {
+        val route = route()
+        scheduler.onCheck(baseIntervalMillis, route, routeProgress(3600.0))
+
+        scheduler.onCheck(baseIntervalMillis, route, routeProgress(4200.0))
+
+        assertEquals(baseIntervalMillis / 2, scheduler.nextIntervalMillis)
+    }
+
+    @Test
+    fun `interval is stretched when eta follows elapsed time`() {
+        val route = route()
+        scheduler.onCheck(baseIntervalMillis, route, routeProgress(3600.0))
+
+        scheduler.onCheck(baseIntervalMillis, route, routeProgress(3480.0))
+
+        assertEquals(baseIntervalMillis * 2, scheduler.nextIntervalMillis)
+    }
+
+    @Test
+    fun `interval is shortened ahead of a decision point`() {
+        scheduler.onCheck(baseIntervalMillis, route(), routeProgress(3600.0, distanceToManeuver = 1500f))
+
+        assertEquals(baseIntervalMillis / 2, scheduler.nextIntervalMillis)
+    }
+
+    @Test
+    fun `interval is stretched without congestion on a metered connection`() {
+        scheduler.onCheck(baseIntervalMillis, route(hasCongestion = false), routeProgress(3600.0), isMetered = true)
+
+        assertEquals(baseIntervalMillis * 4, scheduler.nextIntervalMillis)
+    }
+
+    @Test
+    fun `no request right after a reroute`() {
+        scheduler.onCheck(baseIntervalMillis, route(routeGeometry = "first"), routeProgress(3600.0))
+
+        val shouldRequest = scheduler.onCheck(baseIntervalMillis, route(routeGeometry = "second"), routeProgress(3600.0))
+
+        assertFalse(shouldRequest)
+    }
+
+    @Test
+    fun `request after a refresh of the same route`() {
+        scheduler.onCheck(baseIntervalMillis, route(routeGeometry = "first"), routeProgress(3600.0))
+
+        val shouldRequest = scheduler.onCheck(baseIntervalMillis, route(routeGeometry = "first"), routeProgress(3480.0))
+
+        assertTrue(shouldRequest)
+    }
+
+    @Test
+    fun `no request without connectivity`() {
+        val shouldRequest = scheduler.onCheck(baseIntervalMillis, route(), routeProgress(3600.0), isConnected = false)
+
+        assertFalse(shouldRequest)
+    }
+
+    @Test
+    fun `requests are limited per hour`() {
+        val route = route()
+        scheduler.onRequested()
+        elapsedRealtimeMillis = TimeUnit.MINUTES.toMillis(10)
+        scheduler.onRequested()
+
+        assertFalse(scheduler.onCheck(baseIntervalMillis, route, routeProgress(3600.0)))
+
+        elapsedRealtimeMillis = TimeUnit.MINUTES.toMillis(60)
+        assertTrue(scheduler.onCheck(baseIntervalMillis, route, routeProgress(3480.0)))
+    }
+
+    private fun route(routeGeometry: String = "geometry", hasCongestion: Boolean = true): DirectionsRoute = mockk {
+        every { geometry() } returns routeGeometry
+        every { legs() } returns listOf<RouteLeg>(
+            mockk {
+                every { annotation() } returns mockk {
+                    every { congestion() } returns if (hasCongestion) listOf("low", "heavy") else null
+                }
+            }
+        )
+    }
+
+    private fun routeProgress(
+        durationSeconds: Double,
+        distanceToManeuver: Float = 100f
+    ): RouteProgress = mockk {
+        every { durationRemaining() } returns durationSeconds
+        every { distanceRemaining() } returns 50000f
+        every { currentLegProgress() } returns mockk {
+            every { currentStepProgress() } returns mockk {
+                every { distanceRemaining() } returns distanceToManeuver
+            }
+        }
+    }
+}
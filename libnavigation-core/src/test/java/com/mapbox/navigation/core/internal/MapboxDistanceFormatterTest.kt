@@ -15,6 +15,7 @@ import io.mockk.mockk
 import io.mockk.verify
 import java.util.Locale
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -267,4 +268,47 @@ class MapboxDistanceFormatterTest {
 
         assertEquals("19 km", result.toString())
     }
+
+    @Config(qualifiers = "en")
+    @Test
+    fun formatDistanceSameRoundedValueReturnsCachedString() {
+        val formatter = MapboxDistanceFormatter.Builder(ctx)
+            .withUnitType(METRIC)
+            .withRoundingIncrement(INCREMENT_FIFTY)
+            .build()
+
+        val first = formatter.formatDistance(310.0)
+        val second = formatter.formatDistance(320.0)
+
+        assertSame(first, second)
+        assertEquals("300 m", second.toString())
+    }
+
+    @Config(qualifiers = "en")
+    @Test
+    fun formatDistanceDifferentRoundedValueIsFormattedAgain() {
+        val formatter = MapboxDistanceFormatter.Builder(ctx)
+            .withUnitType(METRIC)
+            .withRoundingIncrement(INCREMENT_FIFTY)
+            .build()
+
+        formatter.formatDistance(5100.0)
+        val result = formatter.formatDistance(5200.0)
+
+        assertEquals("5.2 km", result.toString())
+    }
+
+    @Config(qualifiers = "en")
+    @Test
+    fun formatDistanceSameValueInDifferentUnitsIsNotShared() {
+        val formatter = MapboxDistanceFormatter.Builder(ctx)
+            .withUnitType(METRIC)
+            .withRoundingIncrement(INCREMENT_FIVE)
+            .build()
+
+        formatter.formatDistance(10.0)
+        val result = formatter.formatDistance(10000.0)
+
+        assertEquals("10 km", result.toString())
+    }
 }
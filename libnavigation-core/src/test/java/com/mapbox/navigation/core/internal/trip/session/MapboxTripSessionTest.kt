@@ -1,5 +1,6 @@
 package com.mapbox.navigation.core.internal.trip.session
 
+import android.hardware.Sensor
 import android.location.Location
 import android.os.Looper
 import android.os.SystemClock
@@ -9,10 +10,13 @@ import com.mapbox.android.core.location.LocationEngineRequest
 import com.mapbox.android.core.location.LocationEngineResult
 import com.mapbox.api.directions.v5.models.BannerInstructions
 import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegAnnotation
 import com.mapbox.api.directions.v5.models.VoiceInstructions
 import com.mapbox.base.common.logger.Logger
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.core.internal.trip.service.TripService
+import com.mapbox.navigation.core.sensors.SensorOptions
+import com.mapbox.navigation.core.sensors.mockSensorEvent
 import com.mapbox.navigation.core.trip.session.BannerInstructionsObserver
 import com.mapbox.navigation.core.trip.session.LocationObserver
 import com.mapbox.navigation.core.trip.session.OffRouteObserver
@@ -414,6 +418,32 @@ class MapboxTripSessionTest {
         coVerify { navigator.setRoute(null) }
     }
 
+    @Test
+    fun updateRouteAnnotations_onlyChangedLegsAreUpdated() {
+        val unchangedAnnotation: LegAnnotation = mockk()
+        val previousRoute: DirectionsRoute = mockk {
+            every { legs() } returns listOf(
+                mockk { every { annotation() } returns unchangedAnnotation },
+                mockk { every { annotation() } returns mockk() }
+            )
+        }
+        val refreshedRoute: DirectionsRoute = mockk {
+            every { legs() } returns listOf(
+                mockk { every { annotation() } returns unchangedAnnotation },
+                mockk { every { annotation() } returns mockk() }
+            )
+        }
+        coEvery { navigator.updateRouteAnnotations(any(), any()) } returns true
+        tripSession.route = previousRoute
+
+        val updatedLegIndices = tripSession.updateRouteAnnotations(refreshedRoute)
+
+        assertEquals(listOf(1), updatedLegIndices)
+        assertEquals(refreshedRoute, tripSession.route)
+        coVerify { navigator.updateRouteAnnotations(refreshedRoute, listOf(1)) }
+        coVerify(exactly = 1) { navigator.setRoute(any()) }
+    }
+
     @Test
     fun stateObserverImmediateStop() {
         tripSession.registerStateObserver(stateObserver)
@@ -618,6 +648,67 @@ class MapboxTripSessionTest {
         tripSession.stop()
     }
 
+    @Test
+    fun sensorEventsArePassedInBatches() = coroutineRule.runBlockingTest {
+        coEvery { navigator.updateSensorDataBatch(any()) } returns 2
+        val sensor: Sensor = mockk(relaxed = true)
+        every { sensor.type } returns Sensor.TYPE_ACCELEROMETER
+        tripSession.start()
+
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 1L, floatArrayOf(1f, 2f, 3f)))
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 2L, floatArrayOf(4f, 5f, 6f)))
+        advanceTimeBy(SensorOptions.DEFAULT_BATCH_INTERVAL_MILLIS)
+
+        coVerify(exactly = 1) { navigator.updateSensorDataBatch(match { it.size == 2 }) }
+        tripSession.stop()
+    }
+
+    @Test
+    fun sensorEventsBufferedBeforeOptionsUpdateArePassed() = coroutineRule.runBlockingTest {
+        coEvery { navigator.updateSensorDataBatch(any()) } returns 3
+        val sensor: Sensor = mockk(relaxed = true)
+        every { sensor.type } returns Sensor.TYPE_ACCELEROMETER
+        tripSession.start()
+
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 1L, floatArrayOf(1f, 2f, 3f)))
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 2L, floatArrayOf(4f, 5f, 6f)))
+        tripSession.updateSensorOptions(SensorOptions(setOf(Sensor.TYPE_ACCELEROMETER), 10))
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 3L, floatArrayOf(7f, 8f, 9f)))
+        advanceTimeBy(SensorOptions.DEFAULT_BATCH_INTERVAL_MILLIS)
+
+        coVerify(exactly = 1) { navigator.updateSensorDataBatch(match { it.size == 3 }) }
+        assertEquals(0L, tripSession.getDroppedSensorEventCount())
+        tripSession.stop()
+    }
+
+    @Test
+    fun droppedSensorEventsAreCountedAfterOptionsUpdate() = coroutineRule.runBlockingTest {
+        val sensor: Sensor = mockk(relaxed = true)
+        every { sensor.type } returns Sensor.TYPE_ACCELEROMETER
+        tripSession.start()
+        // buffers the minimum of 64 events
+        tripSession.updateSensorOptions(SensorOptions(setOf(Sensor.TYPE_ACCELEROMETER), 10))
+
+        repeat(66) {
+            tripSession.updateSensorEvent(mockSensorEvent(sensor, it.toLong(), floatArrayOf(1f, 2f, 3f)))
+        }
+        tripSession.updateSensorOptions(SensorOptions(setOf(Sensor.TYPE_ACCELEROMETER), 1000))
+
+        assertEquals(2L, tripSession.getDroppedSensorEventCount())
+        tripSession.stop()
+    }
+
+    @Test
+    fun sensorEventsAreIgnoredWhileStopped() = coroutineRule.runBlockingTest {
+        val sensor: Sensor = mockk(relaxed = true)
+        every { sensor.type } returns Sensor.TYPE_ACCELEROMETER
+
+        tripSession.updateSensorEvent(mockSensorEvent(sensor, 1L, floatArrayOf(1f, 2f, 3f)))
+        advanceTimeBy(SensorOptions.DEFAULT_BATCH_INTERVAL_MILLIS)
+
+        coVerify(exactly = 0) { navigator.updateSensorDataBatch(any()) }
+    }
+
     @After
     fun cleanUp() {
         unmockkObject(ThreadController)
@@ -0,0 +1,62 @@
+package com.mapbox.navigation.core.replay.route
+
+import android.location.Location
+import android.os.Handler
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import org.junit.Test
+
+class ReplayLocationDispatcherTest {
+
+    private val handler: Handler = mockk(relaxed = true)
+    private val listener: ReplayLocationListener = mockk(relaxed = true)
+
+    @Test
+    fun `locations are dispatched in order`() {
+        val locations = listOf(location(1000L), location(2000L), location(3000L))
+        val dispatcher = ReplayLocationDispatcher(locations.toMutableList(), handler)
+        dispatcher.addReplayLocationListener(listener)
+
+        repeat(3) { dispatcher.run() }
+
+        verifyOrder {
+            listener.onLocationReplay(locations[0])
+            listener.onLocationReplay(locations[1])
+            listener.onLocationReplay(locations[2])
+        }
+        verify(exactly = 2) { handler.postDelayed(dispatcher, 1000L) }
+    }
+
+    @Test
+    fun `added locations are dispatched after played ones`() {
+        val first = location(1000L)
+        val second = location(2000L)
+        val dispatcher = ReplayLocationDispatcher(mutableListOf(first), handler)
+        dispatcher.addReplayLocationListener(listener)
+        dispatcher.run()
+
+        dispatcher.add(listOf(second))
+        dispatcher.run()
+
+        verifyOrder {
+            listener.onLocationReplay(first)
+            listener.onLocationReplay(second)
+        }
+        verify(exactly = 1) { handler.postDelayed(dispatcher, 1000L) }
+    }
+
+    @Test
+    fun `no dispatch is scheduled after the last location`() {
+        val dispatcher = ReplayLocationDispatcher(mutableListOf(location(1000L)), handler)
+
+        dispatcher.run()
+
+        verify(exactly = 0) { handler.postDelayed(any(), any()) }
+    }
+
+    private fun location(time: Long): Location = mockk {
+        every { this@mockk.time } returns time
+    }
+}
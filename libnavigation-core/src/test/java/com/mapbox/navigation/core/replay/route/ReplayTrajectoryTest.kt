@@ -0,0 +1,64 @@
+package com.mapbox.navigation.core.replay.route
+
+import com.mapbox.geojson.LineString
+import com.mapbox.geojson.Point
+import com.mapbox.turf.TurfConstants
+import com.mapbox.turf.TurfMeasurement
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class ReplayTrajectoryTest {
+
+    private val cmAccuracy = 0.0000001
+    private val coordinates = listOf(
+        Point.fromLngLat(-122.393181, 37.758193),
+        Point.fromLngLat(-122.393143, 37.757759),
+        Point.fromLngLat(-122.393143, 37.757743),
+        Point.fromLngLat(-122.393136, 37.757652),
+        Point.fromLngLat(-122.392707, 37.757676),
+        Point.fromLngLat(-122.392261, 37.757701)
+    )
+
+    @Test
+    fun `samples match positions along the line`() {
+        val line = LineString.fromLngLats(coordinates)
+        val sampleDistance = 12.5
+
+        val trajectory = ReplayTrajectory.create(coordinates, 12.5f, sampleDistance)
+
+        val lengthMeters = TurfMeasurement.length(line, TurfConstants.UNIT_METERS)
+        assertEquals(Math.ceil(lengthMeters / sampleDistance).toInt(), trajectory.size)
+        for (i in 0 until trajectory.size) {
+            val expected = TurfMeasurement.along(line, i * sampleDistance, TurfConstants.UNIT_METERS)
+            assertEquals(expected.longitude(), trajectory.longitude(i), cmAccuracy)
+            assertEquals(expected.latitude(), trajectory.latitude(i), cmAccuracy)
+        }
+    }
+
+    @Test
+    fun `bearing follows the segment of the sample`() {
+        val trajectory = ReplayTrajectory.create(coordinates, 12.5f, 12.5)
+
+        val firstSegmentBearing = TurfMeasurement.bearing(coordinates[0], coordinates[1])
+        val lastSegmentBearing = TurfMeasurement.bearing(coordinates[4], coordinates[5])
+        assertEquals(firstSegmentBearing.toFloat(), trajectory.bearing(0))
+        assertEquals(lastSegmentBearing.toFloat(), trajectory.bearing(trajectory.size - 1))
+    }
+
+    @Test
+    fun `speed is constant`() {
+        val trajectory = ReplayTrajectory.create(coordinates, 12.5f, 12.5)
+
+        for (i in 0 until trajectory.size) {
+            assertEquals(12.5f, trajectory.speed(i))
+        }
+    }
+
+    @Test
+    fun `geometry without length is empty`() {
+        val point = Point.fromLngLat(-122.393181, 37.758193)
+
+        assertEquals(0, ReplayTrajectory.create(listOf(point), 12.5f, 12.5).size)
+        assertEquals(0, ReplayTrajectory.create(listOf(point, point), 12.5f, 12.5).size)
+    }
+}
@@ -0,0 +1,95 @@
+package com.mapbox.navigation.core.routerefresh
+
+import com.mapbox.api.directions.v5.DirectionsCriteria
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigation.base.route.RouteRefreshCallback
+import com.mapbox.navigation.core.directions.session.DirectionsSession
+import com.mapbox.navigation.core.trip.session.TripSession
+import com.mapbox.navigation.testing.MainCoroutineRule
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+
+@ExperimentalCoroutinesApi
+class RouteRefreshControllerTest {
+
+    @get:Rule
+    val coroutineRule = MainCoroutineRule()
+
+    private val directionsSession: DirectionsSession = mockk(relaxUnitFun = true)
+    private val tripSession: TripSession = mockk(relaxUnitFun = true)
+    private val logger: Logger = mockk(relaxUnitFun = true)
+    private val routeAnnotationsObserver: RouteAnnotationsObserver = mockk(relaxUnitFun = true)
+    private val routeRefreshCallback = slot<RouteRefreshCallback>()
+    private val currentRoute = buildRoute("geometry")
+
+    private val routeRefreshController = RouteRefreshController(directionsSession, tripSession, logger)
+
+    @Before
+    fun setup() {
+        every { tripSession.route } returns currentRoute
+        every { tripSession.getRouteProgress() } returns null
+        every {
+            directionsSession.requestRouteRefresh(any(), any(), capture(routeRefreshCallback))
+        } returns Unit
+        routeRefreshController.registerRouteAnnotationsObserver(routeAnnotationsObserver)
+    }
+
+    @Test
+    fun `refreshed annotations are patched without setting a new route`() = coroutineRule.runBlockingTest {
+        val refreshedRoute = buildRoute("geometry")
+        every { tripSession.updateRouteAnnotations(refreshedRoute) } returns listOf(1)
+
+        requestRefresh()
+        routeRefreshCallback.captured.onRefresh(refreshedRoute)
+
+        verify { tripSession.updateRouteAnnotations(refreshedRoute) }
+        verify { directionsSession.updatePrimaryRoute(refreshedRoute) }
+        verify { routeAnnotationsObserver.onRouteAnnotationsUpdated(refreshedRoute, listOf(1)) }
+        verify(exactly = 0) { tripSession.route = any() }
+        verify(exactly = 0) { directionsSession.routes = any() }
+    }
+
+    @Test
+    fun `observers are not notified when no annotation changed`() = coroutineRule.runBlockingTest {
+        val refreshedRoute = buildRoute("geometry")
+        every { tripSession.updateRouteAnnotations(refreshedRoute) } returns emptyList()
+
+        requestRefresh()
+        routeRefreshCallback.captured.onRefresh(refreshedRoute)
+
+        verify(exactly = 0) { routeAnnotationsObserver.onRouteAnnotationsUpdated(any(), any()) }
+    }
+
+    @Test
+    fun `refresh of a replaced route is dropped`() = coroutineRule.runBlockingTest {
+        val refreshedRoute = buildRoute("other geometry")
+
+        requestRefresh()
+        routeRefreshCallback.captured.onRefresh(refreshedRoute)
+
+        verify(exactly = 0) { tripSession.updateRouteAnnotations(any()) }
+        verify(exactly = 0) { directionsSession.updatePrimaryRoute(any()) }
+    }
+
+    private fun requestRefresh() {
+        routeRefreshController.start()
+        coroutineRule.testDispatcher.advanceTimeBy(TimeUnit.MINUTES.toMillis(5))
+        routeRefreshController.stop()
+    }
+
+    private fun buildRoute(geometry: String): DirectionsRoute = mockk {
+        every { geometry() } returns geometry
+        every { legs() } returns listOf(mockk(), mockk())
+        every { routeOptions() } returns mockk {
+            every { profile() } returns DirectionsCriteria.PROFILE_DRIVING_TRAFFIC
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mapbox.navigation.core.sensors
+
+import android.hardware.Sensor
+import io.mockk.mockk
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class SensorEventBufferTest {
+
+    private val sensor: Sensor = mockk(relaxed = true)
+
+    @Test
+    fun `samples are drained oldest first`() {
+        val buffer = SensorEventBuffer(4)
+        buffer.offer(mockSensorEvent(sensor, 1L, floatArrayOf(1f, 2f, 3f)), 100L)
+        buffer.offer(mockSensorEvent(sensor, 2L, floatArrayOf(4f, 5f, 6f)), 200L)
+
+        val samples = drain(buffer)
+
+        assertEquals(listOf(1L, 2L), samples.map { it.timestampNanos })
+        assertEquals(listOf(100L, 200L), samples.map { it.timeMillis })
+        assertArrayEquals(floatArrayOf(4f, 5f, 6f), samples[1].values, 0f)
+        assertEquals(0L, buffer.droppedCount)
+    }
+
+    @Test
+    fun `values are copied from the event`() {
+        val buffer = SensorEventBuffer(4)
+        val values = floatArrayOf(1f, 2f, 3f)
+        buffer.offer(mockSensorEvent(sensor, 1L, values), 100L)
+        values[0] = 10f
+
+        val samples = drain(buffer)
+
+        assertArrayEquals(floatArrayOf(1f, 2f, 3f), samples[0].values, 0f)
+    }
+
+    @Test
+    fun `oldest samples are overwritten and counted when full`() {
+        val buffer = SensorEventBuffer(2)
+        buffer.offer(mockSensorEvent(sensor, 1L, floatArrayOf(1f)), 100L)
+        buffer.offer(mockSensorEvent(sensor, 2L, floatArrayOf(2f)), 200L)
+        buffer.offer(mockSensorEvent(sensor, 3L, floatArrayOf(3f)), 300L)
+
+        val samples = drain(buffer)
+
+        assertEquals(listOf(2L, 3L), samples.map { it.timestampNanos })
+        assertEquals(1L, buffer.droppedCount)
+    }
+
+    @Test
+    fun `drain empties the buffer`() {
+        val buffer = SensorEventBuffer(2)
+        buffer.offer(mockSensorEvent(sensor, 1L, floatArrayOf(1f)), 100L)
+        drain(buffer)
+
+        buffer.offer(mockSensorEvent(sensor, 2L, floatArrayOf(2f)), 200L)
+
+        assertEquals(listOf(2L), drain(buffer).map { it.timestampNanos })
+    }
+
+    private fun drain(buffer: SensorEventBuffer): List<Sample> {
+        val samples = mutableListOf<Sample>()
+        buffer.drain { _, timestampNanos, timeMillis, values ->
+            samples.add(Sample(timestampNanos, timeMillis, values.copyOf()))
+        }
+        return samples
+    }
+
+    private class Sample(val timestampNanos: Long, val timeMillis: Long, val values: FloatArray)
+}
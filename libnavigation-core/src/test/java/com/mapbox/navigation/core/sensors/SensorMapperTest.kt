@@ -81,7 +81,7 @@ class SensorMapperTest {
     }
 }
 
-private fun mockSensorEvent(sensor: Sensor, timestamp: Long, values: FloatArray): SensorEvent {
+internal fun mockSensorEvent(sensor: Sensor, timestamp: Long, values: FloatArray): SensorEvent {
     val sensorEvent: SensorEvent = mockk(relaxed = true)
     try {
         SensorEvent::class.java.getField("sensor")
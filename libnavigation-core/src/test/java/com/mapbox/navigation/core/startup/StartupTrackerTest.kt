@@ -0,0 +1,37 @@
+package com.mapbox.navigation.core.startup
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+
+class StartupTrackerTest {
+
+    private var elapsedRealtimeMillis = 100L
+    private val startupTracker = StartupTracker { elapsedRealtimeMillis }
+
+    @Test
+    fun `stage duration is measured from begin to end`() {
+        startupTracker.begin(StartupStage.TRIP_SESSION)
+        elapsedRealtimeMillis += 30L
+        startupTracker.end(StartupStage.TRIP_SESSION)
+
+        assertEquals(30L, startupTracker.timings().stageDurations[StartupStage.TRIP_SESSION])
+    }
+
+    @Test
+    fun `stage not begun is not measured`() {
+        startupTracker.end(StartupStage.ROUTER)
+
+        assertFalse(startupTracker.timings().stageDurations.containsKey(StartupStage.ROUTER))
+    }
+
+    @Test
+    fun `total is measured from creation`() {
+        startupTracker.begin(StartupStage.NATIVE_NAVIGATOR)
+        elapsedRealtimeMillis += 50L
+        startupTracker.end(StartupStage.NATIVE_NAVIGATOR)
+        elapsedRealtimeMillis += 20L
+
+        assertEquals(70L, startupTracker.timings().totalMillis)
+    }
+}
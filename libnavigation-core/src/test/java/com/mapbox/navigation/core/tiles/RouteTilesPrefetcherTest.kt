@@ -0,0 +1,155 @@
+package com.mapbox.navigation.core.tiles
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.base.common.logger.Logger
+import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
+import com.mapbox.navigation.base.options.RouteTilesPrefetchOptions
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.navigator.internal.MapboxNativeNavigator
+import com.mapbox.navigation.testing.MainCoroutineRule
+import com.mapbox.navigation.utils.internal.JobControl
+import com.mapbox.navigation.utils.internal.ThreadController
+import com.mapbox.navigation.utils.internal.Time
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.mockkObject
+import io.mockk.unmockkObject
+import io.mockk.verify
+import java.io.File
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.SupervisorJob
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+@ExperimentalCoroutinesApi
+class RouteTilesPrefetcherTest {
+
+    @get:Rule
+    val coroutineRule = MainCoroutineRule()
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    private val navigator: MapboxNativeNavigator = mockk(relaxed = true)
+    private val logger: Logger = mockk(relaxUnitFun = true)
+    private val time: Time = mockk {
+        every { millis() } returns 0L
+    }
+    private val route: DirectionsRoute = mockk()
+    private lateinit var routerConfig: MapboxOnboardRouterConfig
+    private lateinit var tilesDir: File
+    private lateinit var prefetcher: RouteTilesPrefetcher
+
+    @Before
+    fun setup() {
+        mockkObject(ThreadController)
+        val parentJob = SupervisorJob()
+        val testScope = CoroutineScope(parentJob + coroutineRule.testDispatcher)
+        every { ThreadController.getIOScopeAndRootJob() } returns JobControl(parentJob, testScope)
+
+        routerConfig = MapboxOnboardRouterConfig(temporaryFolder.root.absolutePath)
+        tilesDir = File(temporaryFolder.root, "tiles").apply { mkdirs() }
+        prefetcher = RouteTilesPrefetcher(
+            navigator,
+            routerConfig,
+            RouteTilesPrefetchOptions(lookAheadMeters = 1000.0, maxBytesPerHour = 100),
+            logger,
+            time
+        )
+    }
+
+    @After
+    fun teardown() {
+        unmockkObject(ThreadController)
+    }
+
+    @Test
+    fun `prefetch when route is set`() {
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+
+        verify(exactly = 1) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `prefetch again after half of look ahead distance`() {
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+        prefetcher.onRouteProgressChanged(routeProgress(route, 400f))
+        prefetcher.onRouteProgressChanged(routeProgress(route, 500f))
+
+        verify(exactly = 2) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `prefetch when route changes`() {
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+        prefetcher.onRouteProgressChanged(routeProgress(mockk(), 0f))
+
+        verify(exactly = 2) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `skip prefetch when budget is exhausted`() {
+        every { navigator.cacheLastRoute() } answers {
+            File(tilesDir, "tile.gph").writeBytes(ByteArray(200))
+        }
+
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+        prefetcher.onRouteProgressChanged(routeProgress(route, 500f))
+
+        verify(exactly = 1) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `skip prefetch while another one is in flight`() {
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+        prefetcher.onRouteProgressChanged(routeProgress(mockk(), 0f))
+        coroutineRule.testDispatcher.resumeDispatcher()
+
+        verify(exactly = 1) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `budget is restored after an hour`() {
+        every { navigator.cacheLastRoute() } answers {
+            File(tilesDir, "tile_${System.nanoTime()}.gph").writeBytes(ByteArray(200))
+        }
+
+        prefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+        every { time.millis() } returns TimeUnit.HOURS.toMillis(1) + 1
+        prefetcher.onRouteProgressChanged(routeProgress(route, 500f))
+
+        verify(exactly = 2) { navigator.cacheLastRoute() }
+    }
+
+    @Test
+    fun `router is reconfigured with its http client after an eviction`() {
+        every { navigator.cacheLastRoute() } answers {
+            File(tilesDir, "tile.gph").writeBytes(ByteArray(200))
+        }
+        val evictingPrefetcher = RouteTilesPrefetcher(
+            navigator,
+            routerConfig,
+            RouteTilesPrefetchOptions(lookAheadMeters = 1000.0, maxBytesPerHour = 1000, maxDiskUsageBytes = 100),
+            logger,
+            time
+        )
+
+        evictingPrefetcher.onRouteProgressChanged(routeProgress(route, 0f))
+
+        verify(exactly = 1) { navigator.reconfigureRouter(any()) }
+        verify(exactly = 0) { navigator.configureRouter(any(), any()) }
+    }
+
+    private fun routeProgress(progressRoute: DirectionsRoute, traveled: Float): RouteProgress =
+        mockk {
+            every { route() } returns progressRoute
+            every { distanceTraveled() } returns traveled
+        }
+}
@@ -0,0 +1,48 @@
+package com.mapbox.navigation.core.tiles
+
+import java.io.File
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class TilesStorageEvictorTest {
+
+    @get:Rule
+    val temporaryFolder = TemporaryFolder()
+
+    @Test
+    fun `nothing removed within the limit`() {
+        val tilesDir = temporaryFolder.newFolder("tiles")
+        createTile(tilesDir, "a.gph", 100, 1000L)
+
+        val removed = TilesStorageEvictor(100).evict(tilesDir)
+
+        assertEquals(0, removed)
+    }
+
+    @Test
+    fun `oldest tiles removed first`() {
+        val tilesDir = temporaryFolder.newFolder("tiles")
+        val oldest = createTile(tilesDir, "1/a.gph", 100, 1000L)
+        val middle = createTile(tilesDir, "1/b.gph", 100, 2000L)
+        val newest = createTile(tilesDir, "2/c.gph", 100, 3000L)
+
+        val removed = TilesStorageEvictor(150).evict(tilesDir)
+
+        assertEquals(2, removed)
+        assertFalse(oldest.exists())
+        assertFalse(middle.exists())
+        assertTrue(newest.exists())
+        assertEquals(100L, tilesDir.directorySize())
+    }
+
+    private fun createTile(dir: File, name: String, size: Int, lastModified: Long): File =
+        File(dir, name).apply {
+            parentFile?.mkdirs()
+            writeBytes(ByteArray(size))
+            setLastModified(lastModified)
+        }
+}
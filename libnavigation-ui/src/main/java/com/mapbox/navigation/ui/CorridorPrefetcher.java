@@ -0,0 +1,233 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+import timber.log.Timber;
+
+/**
+ * Downloads the chunks of a route corridor in order, a few at a time and within a storage budget.
+ * <p>
+ * Chunks already covered by a region stored in this or a previous session are not downloaded again.
+ * Regions older than the maximum age are evicted when the stored regions are first listed, and the
+ * oldest regions away from the corridor are evicted when the storage budget is reached. The budget
+ * is checked against the completed downloads, the ones in progress can exceed it.
+ * <p>
+ * A new corridor replaces the chunks still queued, the downloads in progress are completed.
+ * Cancelling stops the downloads in progress too.
+ * All calls and callbacks are expected on the main thread.
+ */
+class CorridorPrefetcher {
+
+  static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 2;
+  static final long DEFAULT_MAX_STORAGE_BYTES = 50L * 1024 * 1024;
+  static final long DEFAULT_MAX_REGION_AGE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+  private final OfflineRegionStore store;
+  private final int maxConcurrentDownloads;
+  private final long maxStorageBytes;
+  private final long maxRegionAgeMillis;
+  private final List<StoredRegion> storedRegions = new ArrayList<>();
+  private final List<RegionBounds> activeDownloads = new ArrayList<>();
+  private final List<RegionBounds> corridorChunks = new ArrayList<>();
+  private final Queue<RegionBounds> pendingChunks = new ArrayDeque<>();
+  private OfflineRegionDownloadCallback callback;
+  private boolean isListing;
+  private boolean isListed;
+  private long corridorStartMillis;
+  private int failedCount;
+
+  CorridorPrefetcher(OfflineRegionStore store, int maxConcurrentDownloads, long maxStorageBytes,
+                     long maxRegionAgeMillis) {
+    this.store = store;
+    this.maxConcurrentDownloads = maxConcurrentDownloads;
+    this.maxStorageBytes = maxStorageBytes;
+    this.maxRegionAgeMillis = maxRegionAgeMillis;
+  }
+
+  /**
+   * Replaces the queued chunks with the corridor ones.
+   *
+   * @param chunks    of the corridor, nearest first
+   * @param nowMillis current time, recorded with the downloaded regions
+   * @param callback  notified once the corridor is downloaded, with an error if some chunks failed
+   */
+  void prefetch(@NonNull List<RegionBounds> chunks, long nowMillis, @NonNull OfflineRegionDownloadCallback callback) {
+    this.callback = callback;
+    corridorChunks.clear();
+    corridorChunks.addAll(chunks);
+    pendingChunks.clear();
+    pendingChunks.addAll(chunks);
+    corridorStartMillis = nowMillis;
+    failedCount = 0;
+    if (isListed) {
+      downloadNext();
+    } else if (!isListing) {
+      listStoredRegions();
+    }
+  }
+
+  void cancel() {
+    corridorChunks.clear();
+    pendingChunks.clear();
+    activeDownloads.clear();
+    store.cancelDownloads();
+    callback = null;
+  }
+
+  long getStoredBytes() {
+    long storedBytes = 0;
+    for (StoredRegion region : storedRegions) {
+      storedBytes += region.getSizeBytes();
+    }
+    return storedBytes;
+  }
+
+  int getActiveDownloadCount() {
+    return activeDownloads.size();
+  }
+
+  private void listStoredRegions() {
+    isListing = true;
+    store.list(new OfflineRegionStore.ListCallback() {
+      @Override
+      public void onList(@NonNull List<StoredRegion> regions) {
+        isListing = false;
+        isListed = true;
+        storedRegions.addAll(regions);
+        evictExpired();
+        downloadNext();
+      }
+
+      @Override
+      public void onError(String error) {
+        isListing = false;
+        isListed = true;
+        Timber.e("Stored offline regions not listed: %s", error);
+        downloadNext();
+      }
+    });
+  }
+
+  private void evictExpired() {
+    Iterator<StoredRegion> iterator = storedRegions.iterator();
+    while (iterator.hasNext()) {
+      StoredRegion region = iterator.next();
+      if (corridorStartMillis - region.getCreatedAtMillis() > maxRegionAgeMillis) {
+        iterator.remove();
+        store.delete(region);
+      }
+    }
+  }
+
+  private void downloadNext() {
+    while (activeDownloads.size() < maxConcurrentDownloads && !pendingChunks.isEmpty()) {
+      RegionBounds chunk = pendingChunks.peek();
+      if (isCovered(chunk)) {
+        pendingChunks.remove();
+        continue;
+      }
+      if (getStoredBytes() >= maxStorageBytes && !evictOldest()) {
+        Timber.w("Offline storage budget of %d bytes reached, %d chunks skipped", maxStorageBytes,
+          pendingChunks.size());
+        failedCount += pendingChunks.size();
+        pendingChunks.clear();
+        break;
+      }
+      pendingChunks.remove();
+      download(chunk);
+    }
+    if (activeDownloads.isEmpty() && pendingChunks.isEmpty()) {
+      notifyDone();
+    }
+  }
+
+  private boolean isCovered(RegionBounds chunk) {
+    for (StoredRegion region : storedRegions) {
+      if (region.getBounds().contains(chunk)) {
+        return true;
+      }
+    }
+    for (RegionBounds activeDownload : activeDownloads) {
+      if (activeDownload.contains(chunk)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Evicts the oldest region that doesn't overlap the current corridor.
+   *
+   * @return false if there was none
+   */
+  private boolean evictOldest() {
+    List<StoredRegion> evictable = new ArrayList<>();
+    for (StoredRegion region : storedRegions) {
+      if (!overlapsCorridor(region.getBounds())) {
+        evictable.add(region);
+      }
+    }
+    if (evictable.isEmpty()) {
+      return false;
+    }
+    StoredRegion oldest = Collections.min(evictable, new Comparator<StoredRegion>() {
+      @Override
+      public int compare(StoredRegion first, StoredRegion second) {
+        return Long.compare(first.getCreatedAtMillis(), second.getCreatedAtMillis());
+      }
+    });
+    storedRegions.remove(oldest);
+    store.delete(oldest);
+    return true;
+  }
+
+  private boolean overlapsCorridor(RegionBounds bounds) {
+    for (RegionBounds chunk : corridorChunks) {
+      if (bounds.intersects(chunk)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void download(final RegionBounds chunk) {
+    activeDownloads.add(chunk);
+    store.download(chunk, corridorStartMillis, new OfflineRegionStore.DownloadCallback() {
+      @Override
+      public void onComplete(@NonNull StoredRegion region) {
+        activeDownloads.remove(chunk);
+        storedRegions.add(region);
+        downloadNext();
+      }
+
+      @Override
+      public void onError(String error) {
+        Timber.e("Offline corridor chunk %s failed: %s", chunk, error);
+        activeDownloads.remove(chunk);
+        failedCount++;
+        downloadNext();
+      }
+    });
+  }
+
+  private void notifyDone() {
+    OfflineRegionDownloadCallback doneCallback = callback;
+    callback = null;
+    if (doneCallback == null) {
+      return;
+    }
+    if (failedCount == 0) {
+      doneCallback.onComplete();
+    } else {
+      doneCallback.onError(String.format("%s offline corridor chunks not downloaded", failedCount));
+    }
+  }
+}
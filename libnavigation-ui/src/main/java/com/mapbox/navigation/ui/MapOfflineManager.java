@@ -2,54 +2,66 @@ package com.mapbox.navigation.ui;
 
 import androidx.annotation.NonNull;
 
-import com.mapbox.geojson.Geometry;
-import com.mapbox.mapboxsdk.offline.OfflineGeometryRegionDefinition;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.mapboxsdk.offline.OfflineManager;
+import com.mapbox.navigation.base.route.internal.CompactRoute;
 import com.mapbox.navigation.base.trip.model.RouteProgress;
 import com.mapbox.navigation.core.trip.session.RouteProgressObserver;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 class MapOfflineManager implements RouteProgressObserver {
 
   private final OfflineManager offlineManager;
-  private final OfflineRegionDefinitionProvider definitionProvider;
-  private final OfflineMetadataProvider metadataProvider;
+  private final RouteCorridorChunker corridorChunker;
+  private final CorridorPrefetcher corridorPrefetcher;
   private final MapConnectivityController connectivityController;
   private final RegionDownloadCallback regionDownloadCallback;
-  private Geometry previousRouteGeometry;
+  private String previousRouteGeometry;
+  private double prefetchedDistanceTraveled;
   private MergeOfflineRegionsCallback mergeOfflineRegionsCallback;
 
-  MapOfflineManager(OfflineManager offlineManager, OfflineRegionDefinitionProvider definitionProvider,
-                    OfflineMetadataProvider metadataProvider, MapConnectivityController connectivityController,
+  MapOfflineManager(OfflineManager offlineManager, RouteCorridorChunker corridorChunker,
+                    CorridorPrefetcher corridorPrefetcher, MapConnectivityController connectivityController,
                     RegionDownloadCallback regionDownloadCallback) {
     this.offlineManager = offlineManager;
-    this.definitionProvider = definitionProvider;
-    this.metadataProvider = metadataProvider;
+    this.corridorChunker = corridorChunker;
+    this.corridorPrefetcher = corridorPrefetcher;
     this.connectivityController = connectivityController;
     this.regionDownloadCallback = regionDownloadCallback;
   }
 
   // Package private (no modifier) for testing purposes
-  MapOfflineManager(OfflineManager offlineManager, OfflineRegionDefinitionProvider definitionProvider,
-                    OfflineMetadataProvider metadataProvider, MapConnectivityController connectivityController,
+  MapOfflineManager(OfflineManager offlineManager, RouteCorridorChunker corridorChunker,
+                    CorridorPrefetcher corridorPrefetcher, MapConnectivityController connectivityController,
                     RegionDownloadCallback regionDownloadCallback,
                     MergeOfflineRegionsCallback mergeOfflineRegionsCallback) {
     this.offlineManager = offlineManager;
-    this.definitionProvider = definitionProvider;
-    this.metadataProvider = metadataProvider;
+    this.corridorChunker = corridorChunker;
+    this.corridorPrefetcher = corridorPrefetcher;
     this.connectivityController = connectivityController;
     this.regionDownloadCallback = regionDownloadCallback;
     this.mergeOfflineRegionsCallback = mergeOfflineRegionsCallback;
   }
 
+  /**
+   * Prefetches the corridor ahead when the route changes, and again once half of the look ahead
+   * distance was driven.
+   */
   @Override
   public void onRouteProgressChanged(@NotNull RouteProgress routeProgress) {
-    Geometry currentRouteGeometry = routeProgress.routeGeometryWithBuffer();
-    if (previousRouteGeometry == null || !previousRouteGeometry.equals(currentRouteGeometry)) {
+    DirectionsRoute route = routeProgress.route();
+    String currentRouteGeometry = route.geometry();
+    double distanceTraveled = routeProgress.distanceTraveled();
+    boolean isNewRoute = previousRouteGeometry == null || !previousRouteGeometry.equals(currentRouteGeometry);
+    boolean isLookAheadHalfDriven =
+      distanceTraveled - prefetchedDistanceTraveled >= corridorChunker.getLookAheadMeters() / 2;
+    if (isNewRoute || isLookAheadHalfDriven) {
       previousRouteGeometry = currentRouteGeometry;
-      String routeSummary = routeProgress.route().routeOptions().requestUuid();
-      download(routeSummary, previousRouteGeometry, regionDownloadCallback);
+      prefetchedDistanceTraveled = distanceTraveled;
+      download(route, distanceTraveled, regionDownloadCallback);
     }
   }
 
@@ -62,13 +74,16 @@ class MapOfflineManager implements RouteProgressObserver {
     if (mergeOfflineRegionsCallback != null) {
       mergeOfflineRegionsCallback.onDestroy();
     }
+    corridorPrefetcher.cancel();
   }
 
-  private void download(@NonNull String routeSummary, @NonNull Geometry routeGeometry,
+  private void download(@NonNull DirectionsRoute route, double distanceTraveled,
                         final OfflineRegionDownloadCallback callback) {
-    OfflineGeometryRegionDefinition definition = definitionProvider.buildRegionFor(routeGeometry);
-    byte[] metadata = metadataProvider.buildMetadataFor(routeSummary);
+    List<RegionBounds> chunks = corridorChunker.chunksAhead(CompactRoute.of(route), distanceTraveled);
+    if (chunks.isEmpty()) {
+      return;
+    }
     connectivityController.assign(null);
-    offlineManager.createOfflineRegion(definition, metadata, new CreateOfflineRegionCallback(callback));
+    corridorPrefetcher.prefetch(chunks, System.currentTimeMillis(), callback);
   }
-}
\ No newline at end of file
+}
@@ -7,6 +7,8 @@ public class MapOfflineOptions {
 
   private final String databasePath;
   private final String styleUrl;
+  private final int maxConcurrentDownloads;
+  private final long maxStorageBytes;
 
   /**
    * Add an offline path and style URL for loading an offline map database.
@@ -15,8 +17,26 @@ public class MapOfflineOptions {
    * @param styleUrl         for the offline database data
    */
   public MapOfflineOptions(@NonNull String databaseFilePath, @NonNull String styleUrl) {
+    this(databaseFilePath, styleUrl, CorridorPrefetcher.DEFAULT_MAX_CONCURRENT_DOWNLOADS,
+      CorridorPrefetcher.DEFAULT_MAX_STORAGE_BYTES);
+  }
+
+  /**
+   * Add an offline path and style URL for loading an offline map database, and the limits of the
+   * map regions downloaded along the route.
+   *
+   * @param databaseFilePath       to the offline database on the device
+   * @param styleUrl               for the offline database data
+   * @param maxConcurrentDownloads number of route corridor regions downloaded at the same time
+   * @param maxStorageBytes        size of the route corridor regions kept on the device, the
+   *                               oldest ones are deleted past it
+   */
+  public MapOfflineOptions(@NonNull String databaseFilePath, @NonNull String styleUrl,
+                           int maxConcurrentDownloads, long maxStorageBytes) {
     this.databasePath = databaseFilePath;
     this.styleUrl = styleUrl;
+    this.maxConcurrentDownloads = maxConcurrentDownloads;
+    this.maxStorageBytes = maxStorageBytes;
   }
 
   /**
@@ -38,4 +58,22 @@ public class MapOfflineOptions {
   public String getStyleUrl() {
     return styleUrl;
   }
+
+  /**
+   * The number of route corridor regions downloaded at the same time.
+   *
+   * @return the maximum concurrent downloads
+   */
+  public int getMaxConcurrentDownloads() {
+    return maxConcurrentDownloads;
+  }
+
+  /**
+   * The size of the route corridor regions kept on the device.
+   *
+   * @return the storage budget in bytes
+   */
+  public long getMaxStorageBytes() {
+    return maxStorageBytes;
+  }
 }
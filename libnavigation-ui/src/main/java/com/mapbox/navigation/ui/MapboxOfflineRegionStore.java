@@ -0,0 +1,275 @@
+package com.mapbox.navigation.ui;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.mapbox.mapboxsdk.offline.OfflineGeometryRegionDefinition;
+import com.mapbox.mapboxsdk.offline.OfflineManager;
+import com.mapbox.mapboxsdk.offline.OfflineRegion;
+import com.mapbox.mapboxsdk.offline.OfflineRegionError;
+import com.mapbox.mapboxsdk.offline.OfflineRegionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import timber.log.Timber;
+
+/**
+ * {@link OfflineRegionStore} backed by the Maps SDK {@link OfflineManager}. Corridor regions are
+ * told apart from other offline regions by their metadata, which records the style, the pixel ratio
+ * and once they are complete. Regions left incomplete by a previous session or downloaded for another
+ * style or pixel ratio are deleted when listed. A download without progress
+ * for the stall timeout fails, the offline manager retries connection errors indefinitely.
+ */
+class MapboxOfflineRegionStore implements OfflineRegionStore {
+
+  private static final long STALLED_DOWNLOAD_TIMEOUT_MILLIS = 60L * 1000;
+
+  private final OfflineManager offlineManager;
+  private final OfflineRegionDefinitionProvider definitionProvider;
+  private final OfflineMetadataProvider metadataProvider;
+  private final Handler handler;
+  private final long stalledDownloadTimeoutMillis;
+  private final Map<Long, OfflineRegion> offlineRegions = new HashMap<>();
+  private final List<CorridorRegionObserver> activeDownloads = new ArrayList<>();
+  // regions created for the downloads before the last cancel are deleted
+  private int downloadGeneration = 0;
+
+  MapboxOfflineRegionStore(OfflineManager offlineManager, OfflineRegionDefinitionProvider definitionProvider,
+                           OfflineMetadataProvider metadataProvider) {
+    this(offlineManager, definitionProvider, metadataProvider, new Handler(Looper.getMainLooper()),
+      STALLED_DOWNLOAD_TIMEOUT_MILLIS);
+  }
+
+  // Package private for testing purposes
+  MapboxOfflineRegionStore(OfflineManager offlineManager, OfflineRegionDefinitionProvider definitionProvider,
+                           OfflineMetadataProvider metadataProvider, Handler handler,
+                           long stalledDownloadTimeoutMillis) {
+    this.offlineManager = offlineManager;
+    this.definitionProvider = definitionProvider;
+    this.metadataProvider = metadataProvider;
+    this.handler = handler;
+    this.stalledDownloadTimeoutMillis = stalledDownloadTimeoutMillis;
+  }
+
+  @Override
+  public void list(@NonNull final ListCallback callback) {
+    offlineManager.listOfflineRegions(new OfflineManager.ListOfflineRegionsCallback() {
+      @Override
+      public void onList(OfflineRegion[] regions) {
+        List<StoredRegion> storedRegions = new ArrayList<>();
+        if (regions != null) {
+          for (OfflineRegion region : regions) {
+            byte[] metadata = region.getMetadata();
+            StoredRegion storedRegion = metadataProvider.readCorridorRegion(region.getID(), metadata,
+              definitionProvider.getStyleUrl(), definitionProvider.getPixelRatio());
+            if (storedRegion != null) {
+              offlineRegions.put(region.getID(), region);
+              storedRegions.add(storedRegion);
+            } else if (isUnusable(metadata) && !isDownloading(region.getID())) {
+              // interrupted or for another style, its chunk is downloaded again when needed
+              deleteRegion(region);
+            }
+          }
+        }
+        callback.onList(storedRegions);
+      }
+
+      @Override
+      public void onError(String error) {
+        callback.onError(error);
+      }
+    });
+  }
+
+  @Override
+  public void download(@NonNull final RegionBounds bounds, final long createdAtMillis,
+                       @NonNull final DownloadCallback callback) {
+    final int generation = downloadGeneration;
+    OfflineGeometryRegionDefinition definition = definitionProvider.buildRegionFor(bounds.toPolygon());
+    byte[] metadata = buildMetadata(bounds, createdAtMillis, 0, false);
+    offlineManager.createOfflineRegion(definition, metadata, new OfflineManager.CreateOfflineRegionCallback() {
+      @Override
+      public void onCreate(OfflineRegion offlineRegion) {
+        if (generation != downloadGeneration) {
+          deleteRegion(offlineRegion);
+          return;
+        }
+        offlineRegions.put(offlineRegion.getID(), offlineRegion);
+        CorridorRegionObserver observer = new CorridorRegionObserver(offlineRegion, bounds, createdAtMillis,
+          callback);
+        activeDownloads.add(observer);
+        offlineRegion.setObserver(observer);
+        offlineRegion.setDownloadState(OfflineRegion.STATE_ACTIVE);
+        observer.waitForProgress();
+      }
+
+      @Override
+      public void onError(String error) {
+        if (generation == downloadGeneration) {
+          callback.onError(error);
+        }
+      }
+    });
+  }
+
+  /**
+   * Sets the regions in progress inactive, they are deleted when next listed.
+   */
+  @Override
+  public void cancelDownloads() {
+    downloadGeneration++;
+    for (CorridorRegionObserver observer : new ArrayList<>(activeDownloads)) {
+      observer.cancel();
+    }
+  }
+
+  @Override
+  public void delete(@NonNull StoredRegion region) {
+    OfflineRegion offlineRegion = offlineRegions.remove(region.getId());
+    if (offlineRegion != null) {
+      deleteRegion(offlineRegion);
+    }
+  }
+
+  private byte[] buildMetadata(RegionBounds bounds, long createdAtMillis, long sizeBytes, boolean isComplete) {
+    return metadataProvider.buildCorridorMetadataFor(bounds, definitionProvider.getStyleUrl(),
+      definitionProvider.getPixelRatio(), createdAtMillis, sizeBytes, isComplete);
+  }
+
+  private boolean isUnusable(byte[] metadata) {
+    return metadataProvider.isUnusableCorridorRegion(metadata, definitionProvider.getStyleUrl(),
+      definitionProvider.getPixelRatio());
+  }
+
+  private boolean isDownloading(long id) {
+    for (CorridorRegionObserver observer : activeDownloads) {
+      if (observer.offlineRegion.getID() == id) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void deleteRegion(OfflineRegion offlineRegion) {
+    offlineRegion.setObserver(null);
+    offlineRegion.setDownloadState(OfflineRegion.STATE_INACTIVE);
+    offlineRegion.delete(new OfflineRegion.OfflineRegionDeleteCallback() {
+      @Override
+      public void onDelete() {
+      }
+
+      @Override
+      public void onError(String error) {
+        Timber.e("Offline region not deleted: %s", error);
+      }
+    });
+  }
+
+  private class CorridorRegionObserver implements OfflineRegion.OfflineRegionObserver {
+
+    private final OfflineRegion offlineRegion;
+    private final RegionBounds bounds;
+    private final long createdAtMillis;
+    private final DownloadCallback callback;
+    private final Runnable stalledDownload = new Runnable() {
+      @Override
+      public void run() {
+        fail(String.format("Offline corridor region download stalled for %s ms", stalledDownloadTimeoutMillis));
+      }
+    };
+    private long completedResourceCount = -1;
+    private boolean isDone = false;
+
+    CorridorRegionObserver(OfflineRegion offlineRegion, RegionBounds bounds, long createdAtMillis,
+                           DownloadCallback callback) {
+      this.offlineRegion = offlineRegion;
+      this.bounds = bounds;
+      this.createdAtMillis = createdAtMillis;
+      this.callback = callback;
+    }
+
+    void waitForProgress() {
+      handler.removeCallbacks(stalledDownload);
+      handler.postDelayed(stalledDownload, stalledDownloadTimeoutMillis);
+    }
+
+    void cancel() {
+      if (isDone) {
+        return;
+      }
+      isDone = true;
+      stop();
+      offlineRegions.remove(offlineRegion.getID());
+      offlineRegion.setObserver(null);
+      offlineRegion.setDownloadState(OfflineRegion.STATE_INACTIVE);
+    }
+
+    @Override
+    public void onStatusChanged(OfflineRegionStatus status) {
+      if (isDone) {
+        return;
+      }
+      if (status.isComplete()) {
+        complete(status.getCompletedSize());
+      } else if (status.getCompletedResourceCount() > completedResourceCount) {
+        completedResourceCount = status.getCompletedResourceCount();
+        waitForProgress();
+      }
+    }
+
+    @Override
+    public void onError(OfflineRegionError error) {
+      if (OfflineRegionError.REASON_CONNECTION.equals(error.getReason())) {
+        // retried by the offline manager until the download stalls, slow connections are the reason
+        // for downloading ahead
+        Timber.w("Offline corridor region download interrupted: %s", error.getMessage());
+        return;
+      }
+      fail(String.format("%s %s", error.getMessage(), error.getReason()));
+    }
+
+    @Override
+    public void mapboxTileCountLimitExceeded(long limit) {
+      fail(String.format("Offline map tile limit reached %s", limit));
+    }
+
+    private void complete(long sizeBytes) {
+      isDone = true;
+      stop();
+      offlineRegion.setDownloadState(OfflineRegion.STATE_INACTIVE);
+      byte[] metadata = buildMetadata(bounds, createdAtMillis, sizeBytes, true);
+      offlineRegion.updateMetadata(metadata, new OfflineRegion.OfflineRegionUpdateMetadataCallback() {
+        @Override
+        public void onUpdate(byte[] metadata) {
+        }
+
+        @Override
+        public void onError(String error) {
+          Timber.e("Offline region completion not recorded, deleted in the next session: %s", error);
+        }
+      });
+      callback.onComplete(new StoredRegion(offlineRegion.getID(), bounds, createdAtMillis, sizeBytes));
+    }
+
+    private void fail(String error) {
+      if (isDone) {
+        return;
+      }
+      isDone = true;
+      stop();
+      offlineRegions.remove(offlineRegion.getID());
+      deleteRegion(offlineRegion);
+      callback.onError(error);
+    }
+
+    private void stop() {
+      handler.removeCallbacks(stalledDownload);
+      activeDownloads.remove(this);
+    }
+  }
+}
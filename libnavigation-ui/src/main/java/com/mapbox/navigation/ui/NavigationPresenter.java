@@ -57,6 +57,10 @@ class NavigationPresenter {
     }
   }
 
+  void onRouteAnnotationsUpdate(DirectionsRoute directionsRoute) {
+    view.drawRoute(directionsRoute);
+  }
+
   void onDestinationUpdate(Point point) {
     view.addMarker(point);
   }
@@ -30,6 +30,7 @@ import com.mapbox.navigation.core.internal.MapboxDistanceFormatter;
 import com.mapbox.navigation.core.MapboxNavigation;
 import com.mapbox.navigation.core.directions.session.RoutesObserver;
 import com.mapbox.navigation.core.replay.route.ReplayRouteLocationEngine;
+import com.mapbox.navigation.core.routerefresh.RouteAnnotationsObserver;
 import com.mapbox.navigation.core.trip.session.BannerInstructionsObserver;
 import com.mapbox.navigation.core.trip.session.OffRouteObserver;
 import com.mapbox.navigation.core.trip.session.VoiceInstructionsObserver;
@@ -72,6 +73,7 @@ public class NavigationViewModel extends AndroidViewModel {
   private final MutableLiveData<RouteJunctionModel> routeJunctionModel = new MutableLiveData<>();
   private final MutableLiveData<Location> navigationLocation = new MutableLiveData<>();
   private final MutableLiveData<DirectionsRoute> route = new MutableLiveData<>();
+  private final MutableLiveData<DirectionsRoute> refreshedRoute = new MutableLiveData<>();
   private final MutableLiveData<Boolean> shouldRecordScreenshot = new MutableLiveData<>();
   private final MutableLiveData<Boolean> isFeedbackSentSuccess = new MutableLiveData<>();
   private final MutableLiveData<Point> destination = new MutableLiveData<>();
@@ -220,6 +222,7 @@ public class NavigationViewModel extends AndroidViewModel {
     navigation.setRoutes(Arrays.asList(options.directionsRoute()));
     navigation.startTripSession();
     voiceInstructionCache.initCache(options.directionsRoute());
+    voiceInstructionCache.cache();
   }
 
   void updateFeedbackScreenshot(String screenshot) {
@@ -249,6 +252,7 @@ public class NavigationViewModel extends AndroidViewModel {
     navigation.unregisterRouteProgressObserver(navigationProgressObserver);
     navigation.unregisterLocationObserver(navigationProgressObserver);
     navigation.unregisterRoutesObserver(routesObserver);
+    navigation.unregisterRouteAnnotationsObserver(routeAnnotationsObserver);
     navigation.unregisterOffRouteObserver(offRouteObserver);
     navigation.unregisterBannerInstructionsObserver(bannerInstructionsObserver);
     navigation.unregisterVoiceInstructionsObserver(voiceInstructionsObserver);
@@ -304,6 +308,10 @@ public class NavigationViewModel extends AndroidViewModel {
     return route;
   }
 
+  LiveData<DirectionsRoute> retrieveRefreshedRoute() {
+    return refreshedRoute;
+  }
+
   LiveData<Point> retrieveDestination() {
     return destination;
   }
@@ -402,8 +410,13 @@ public class NavigationViewModel extends AndroidViewModel {
     float pixelRatio = applicationContext.getResources().getDisplayMetrics().density;
     OfflineRegionDefinitionProvider definitionProvider = new OfflineRegionDefinitionProvider(mapStyleUrl, pixelRatio);
     OfflineMetadataProvider metadataProvider = new OfflineMetadataProvider();
+    OfflineRegionStore regionStore = new MapboxOfflineRegionStore(offlineManager, definitionProvider,
+        metadataProvider);
+    CorridorPrefetcher corridorPrefetcher = new CorridorPrefetcher(regionStore,
+        mapOfflineOptions.getMaxConcurrentDownloads(), mapOfflineOptions.getMaxStorageBytes(),
+        CorridorPrefetcher.DEFAULT_MAX_REGION_AGE_MILLIS);
     RegionDownloadCallback regionDownloadCallback = new RegionDownloadCallback(connectivityController);
-    mapOfflineManager = new MapOfflineManager(offlineManager, definitionProvider, metadataProvider,
+    mapOfflineManager = new MapOfflineManager(offlineManager, new RouteCorridorChunker(), corridorPrefetcher,
         connectivityController, regionDownloadCallback);
     navigation.registerRouteProgressObserver(mapOfflineManager);
   }
@@ -416,7 +429,7 @@ public class NavigationViewModel extends AndroidViewModel {
 
   private void initializeVoiceInstructionCache() {
     ConnectivityStatusProvider connectivityStatus = new ConnectivityStatusProvider(getApplication());
-    voiceInstructionCache = new VoiceInstructionCache(navigation, voiceInstructionLoader, connectivityStatus);
+    voiceInstructionCache = new VoiceInstructionCache(voiceInstructionLoader, connectivityStatus);
   }
 
   @NonNull
@@ -447,6 +460,7 @@ public class NavigationViewModel extends AndroidViewModel {
     navigation.registerRouteProgressObserver(navigationProgressObserver);
     navigation.registerLocationObserver(navigationProgressObserver);
     navigation.registerRoutesObserver(routesObserver);
+    navigation.registerRouteAnnotationsObserver(routeAnnotationsObserver);
     navigation.registerOffRouteObserver(offRouteObserver);
     navigation.registerBannerInstructionsObserver(bannerInstructionsObserver);
     navigation.registerVoiceInstructionsObserver(voiceInstructionsObserver);
@@ -518,6 +532,13 @@ public class NavigationViewModel extends AndroidViewModel {
     }
   };
 
+  private RouteAnnotationsObserver routeAnnotationsObserver = new RouteAnnotationsObserver() {
+    @Override
+    public void onRouteAnnotationsUpdated(@NotNull DirectionsRoute route, @NotNull List<Integer> legIndices) {
+      refreshedRoute.setValue(route);
+    }
+  };
+
   @SuppressLint("MissingPermission")
   private void startNavigation(DirectionsRoute route) {
     if (route != null) {
@@ -525,6 +546,7 @@ public class NavigationViewModel extends AndroidViewModel {
       navigation.startTripSession();
       voiceInstructionsToAnnounce = 0;
       voiceInstructionCache.initCache(route);
+      voiceInstructionCache.cache();
     }
   }
 
@@ -36,6 +36,15 @@ class NavigationViewSubscriber implements LifecycleObserver {
       }
     });
 
+    navigationViewModel.retrieveRefreshedRoute().observe(lifecycleOwner, new Observer<DirectionsRoute>() {
+      @Override
+      public void onChanged(@Nullable DirectionsRoute directionsRoute) {
+        if (directionsRoute != null) {
+          navigationPresenter.onRouteAnnotationsUpdate(directionsRoute);
+        }
+      }
+    });
+
     navigationViewModel.retrieveDestination().observe(lifecycleOwner, new Observer<Point>() {
       @Override
       public void onChanged(@Nullable Point point) {
@@ -76,6 +85,7 @@ class NavigationViewSubscriber implements LifecycleObserver {
   @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
   void unsubscribe() {
     navigationViewModel.retrieveRoute().removeObservers(lifecycleOwner);
+    navigationViewModel.retrieveRefreshedRoute().removeObservers(lifecycleOwner);
     navigationViewModel.retrieveDestination().removeObservers(lifecycleOwner);
     navigationViewModel.retrieveNavigationLocation().removeObservers(lifecycleOwner);
     navigationViewModel.retrieveShouldRecordScreenshot().removeObservers(lifecycleOwner);
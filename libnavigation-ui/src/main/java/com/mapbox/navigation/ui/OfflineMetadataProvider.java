@@ -1,24 +1,94 @@
 package com.mapbox.navigation.ui;
 
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 class OfflineMetadataProvider {
 
-  private static final String ROUTE_SUMMARY = "route_summary";
+  private static final String CORRIDOR_BOUNDS = "corridor_bounds";
+  private static final String STYLE_URL = "style_url";
+  private static final String PIXEL_RATIO = "pixel_ratio";
+  private static final String CREATED_AT = "created_at";
+  private static final String SIZE = "size";
+  private static final String COMPLETE = "complete";
   private static final String JSON_CHARSET = "UTF-8";
 
   @Nullable
-  byte[] buildMetadataFor(String routeSummary) {
+  byte[] buildCorridorMetadataFor(@NonNull RegionBounds bounds, String styleUrl, float pixelRatio,
+                                  long createdAtMillis, long sizeBytes, boolean isComplete) {
     try {
+      JSONArray jsonBounds = new JSONArray();
+      jsonBounds.put(bounds.getWest());
+      jsonBounds.put(bounds.getSouth());
+      jsonBounds.put(bounds.getEast());
+      jsonBounds.put(bounds.getNorth());
       JSONObject jsonObject = new JSONObject();
-      jsonObject.put(ROUTE_SUMMARY, routeSummary);
+      jsonObject.put(CORRIDOR_BOUNDS, jsonBounds);
+      jsonObject.put(STYLE_URL, styleUrl);
+      jsonObject.put(PIXEL_RATIO, pixelRatio);
+      jsonObject.put(CREATED_AT, createdAtMillis);
+      jsonObject.put(SIZE, sizeBytes);
+      jsonObject.put(COMPLETE, isComplete);
       String json = jsonObject.toString();
       return json.getBytes(JSON_CHARSET);
     } catch (Exception exception) {
       return null;
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * @return the region described by corridor metadata, null for other metadata and for corridor
+   * regions which weren't completely downloaded for the style and pixel ratio
+   */
+  @Nullable
+  StoredRegion readCorridorRegion(long id, @Nullable byte[] metadata, String styleUrl, float pixelRatio) {
+    JSONObject jsonObject = readCorridorMetadata(metadata);
+    if (jsonObject == null || isUnusable(jsonObject, styleUrl, pixelRatio)) {
+      return null;
+    }
+    try {
+      JSONArray jsonBounds = jsonObject.getJSONArray(CORRIDOR_BOUNDS);
+      RegionBounds bounds = new RegionBounds(
+        jsonBounds.getDouble(0),
+        jsonBounds.getDouble(1),
+        jsonBounds.getDouble(2),
+        jsonBounds.getDouble(3)
+      );
+      return new StoredRegion(id, bounds, jsonObject.getLong(CREATED_AT), jsonObject.optLong(SIZE));
+    } catch (Exception exception) {
+      return null;
+    }
+  }
+
+  /**
+   * @return true for a corridor region whose download was interrupted or failed and for one
+   * downloaded for another style or pixel ratio
+   */
+  boolean isUnusableCorridorRegion(@Nullable byte[] metadata, String styleUrl, float pixelRatio) {
+    JSONObject jsonObject = readCorridorMetadata(metadata);
+    return jsonObject != null && isUnusable(jsonObject, styleUrl, pixelRatio);
+  }
+
+  private boolean isUnusable(@NonNull JSONObject jsonObject, String styleUrl, float pixelRatio) {
+    return !jsonObject.optBoolean(COMPLETE)
+      || !jsonObject.optString(STYLE_URL).equals(styleUrl)
+      || (float) jsonObject.optDouble(PIXEL_RATIO) != pixelRatio;
+  }
+
+  @Nullable
+  private JSONObject readCorridorMetadata(@Nullable byte[] metadata) {
+    if (metadata == null) {
+      return null;
+    }
+    try {
+      JSONObject jsonObject = new JSONObject(new String(metadata, JSON_CHARSET));
+      return jsonObject.has(CORRIDOR_BOUNDS) ? jsonObject : null;
+    } catch (Exception exception) {
+      return null;
+    }
+  }
+}
@@ -15,6 +15,14 @@ class OfflineRegionDefinitionProvider {
     this.pixelRatio = pixelRatio;
   }
 
+  String getStyleUrl() {
+    return styleUrl;
+  }
+
+  float getPixelRatio() {
+    return pixelRatio;
+  }
+
   OfflineGeometryRegionDefinition buildRegionFor(Geometry routeGeometry) {
     return new OfflineGeometryRegionDefinition(
       styleUrl,
@@ -0,0 +1,47 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Storage of the offline regions downloaded by the {@link CorridorPrefetcher}. Callbacks are
+ * expected on the thread the calls are made from.
+ */
+interface OfflineRegionStore {
+
+  /**
+   * Lists the regions stored by previous downloads, other offline regions are left out.
+   */
+  void list(@NonNull ListCallback callback);
+
+  /**
+   * Downloads the region covering the bounds.
+   *
+   * @param bounds          of the region
+   * @param createdAtMillis time recorded with the region, used to evict old regions
+   * @param callback        notified once the region is complete or failed
+   */
+  void download(@NonNull RegionBounds bounds, long createdAtMillis, @NonNull DownloadCallback callback);
+
+  /**
+   * Stops the downloads in progress, their callbacks aren't notified anymore.
+   */
+  void cancelDownloads();
+
+  void delete(@NonNull StoredRegion region);
+
+  interface ListCallback {
+
+    void onList(@NonNull List<StoredRegion> regions);
+
+    void onError(String error);
+  }
+
+  interface DownloadCallback {
+
+    void onComplete(@NonNull StoredRegion region);
+
+    void onError(String error);
+  }
+}
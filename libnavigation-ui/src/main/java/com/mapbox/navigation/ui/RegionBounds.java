@@ -0,0 +1,89 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Longitude / latitude bounding box of an offline region.
+ */
+class RegionBounds {
+
+  private final double west;
+  private final double south;
+  private final double east;
+  private final double north;
+
+  RegionBounds(double west, double south, double east, double north) {
+    this.west = west;
+    this.south = south;
+    this.east = east;
+    this.north = north;
+  }
+
+  double getWest() {
+    return west;
+  }
+
+  double getSouth() {
+    return south;
+  }
+
+  double getEast() {
+    return east;
+  }
+
+  double getNorth() {
+    return north;
+  }
+
+  boolean contains(@NonNull RegionBounds other) {
+    return west <= other.west && south <= other.south && east >= other.east && north >= other.north;
+  }
+
+  boolean intersects(@NonNull RegionBounds other) {
+    return west <= other.east && other.west <= east && south <= other.north && other.south <= north;
+  }
+
+  @NonNull
+  Polygon toPolygon() {
+    List<Point> ring = Arrays.asList(
+      Point.fromLngLat(west, south),
+      Point.fromLngLat(east, south),
+      Point.fromLngLat(east, north),
+      Point.fromLngLat(west, north),
+      Point.fromLngLat(west, south)
+    );
+    return Polygon.fromLngLats(Collections.singletonList(ring));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RegionBounds that = (RegionBounds) o;
+    return Double.compare(that.west, west) == 0
+      && Double.compare(that.south, south) == 0
+      && Double.compare(that.east, east) == 0
+      && Double.compare(that.north, north) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(new double[] {west, south, east, north});
+  }
+
+  @Override
+  public String toString() {
+    return "RegionBounds{" + west + ", " + south + ", " + east + ", " + north + "}";
+  }
+}
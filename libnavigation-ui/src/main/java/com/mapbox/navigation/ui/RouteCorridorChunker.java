@@ -0,0 +1,90 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+import com.mapbox.navigation.base.route.internal.CompactRoute;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the corridor along a route into bounding boxes of a fixed route length, ordered from
+ * the current position. The nearest part of the route is downloaded first, which matters most on
+ * a poor connection.
+ */
+class RouteCorridorChunker {
+
+  static final double DEFAULT_CHUNK_LENGTH_METERS = 5000;
+  static final double DEFAULT_BUFFER_METERS = 1000;
+  static final double DEFAULT_LOOK_AHEAD_METERS = 50000;
+  private static final double METERS_PER_DEGREE = 111320;
+
+  private final double chunkLengthMeters;
+  private final double bufferMeters;
+  private final double lookAheadMeters;
+
+  RouteCorridorChunker() {
+    this(DEFAULT_CHUNK_LENGTH_METERS, DEFAULT_BUFFER_METERS, DEFAULT_LOOK_AHEAD_METERS);
+  }
+
+  RouteCorridorChunker(double chunkLengthMeters, double bufferMeters, double lookAheadMeters) {
+    this.chunkLengthMeters = chunkLengthMeters;
+    this.bufferMeters = bufferMeters;
+    this.lookAheadMeters = lookAheadMeters;
+  }
+
+  double getLookAheadMeters() {
+    return lookAheadMeters;
+  }
+
+  /**
+   * @param route             the route geometry
+   * @param distanceTraveled  distance in meters along the route geometry of the current position
+   * @return the chunks covering the route ahead up to the look ahead distance, nearest first
+   */
+  @NonNull
+  List<RegionBounds> chunksAhead(@NonNull CompactRoute route, double distanceTraveled) {
+    List<RegionBounds> chunks = new ArrayList<>();
+    int size = route.getSize();
+    if (size < 2) {
+      return chunks;
+    }
+    int start = 0;
+    while (start < size - 2 && route.distanceAlong(start + 1) <= distanceTraveled) {
+      start++;
+    }
+    double endDistance = distanceTraveled + lookAheadMeters;
+    while (start < size - 1 && route.distanceAlong(start) < endDistance) {
+      double chunkEndDistance = Math.max(route.distanceAlong(start), distanceTraveled) + chunkLengthMeters;
+      int end = start + 1;
+      while (end < size - 1 && route.distanceAlong(end) < chunkEndDistance) {
+        end++;
+      }
+      chunks.add(boundsOf(route, start, end));
+      start = end;
+    }
+    return chunks;
+  }
+
+  private RegionBounds boundsOf(CompactRoute route, int start, int end) {
+    double west = Double.MAX_VALUE;
+    double south = Double.MAX_VALUE;
+    double east = -Double.MAX_VALUE;
+    double north = -Double.MAX_VALUE;
+    for (int i = start; i <= end; i++) {
+      west = Math.min(west, route.longitude(i));
+      south = Math.min(south, route.latitude(i));
+      east = Math.max(east, route.longitude(i));
+      north = Math.max(north, route.latitude(i));
+    }
+    double latitudeBuffer = bufferMeters / METERS_PER_DEGREE;
+    double maxLatitude = Math.min(Math.max(Math.abs(south), Math.abs(north)) + latitudeBuffer, 89.0);
+    double longitudeBuffer = bufferMeters / (METERS_PER_DEGREE * Math.cos(Math.toRadians(maxLatitude)));
+    return new RegionBounds(
+      Math.max(west - longitudeBuffer, -180.0),
+      Math.max(south - latitudeBuffer, -90.0),
+      Math.min(east + longitudeBuffer, 180.0),
+      Math.min(north + latitudeBuffer, 90.0)
+    );
+  }
+}
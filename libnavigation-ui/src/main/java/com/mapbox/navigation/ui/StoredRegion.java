@@ -0,0 +1,38 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Offline region downloaded by the {@link CorridorPrefetcher}, in this or a previous session.
+ */
+class StoredRegion {
+
+  private final long id;
+  private final RegionBounds bounds;
+  private final long createdAtMillis;
+  private final long sizeBytes;
+
+  StoredRegion(long id, @NonNull RegionBounds bounds, long createdAtMillis, long sizeBytes) {
+    this.id = id;
+    this.bounds = bounds;
+    this.createdAtMillis = createdAtMillis;
+    this.sizeBytes = sizeBytes;
+  }
+
+  long getId() {
+    return id;
+  }
+
+  @NonNull
+  RegionBounds getBounds() {
+    return bounds;
+  }
+
+  long getCreatedAtMillis() {
+    return createdAtMillis;
+  }
+
+  long getSizeBytes() {
+    return sizeBytes;
+  }
+}
@@ -4,40 +4,49 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.VoiceInstructions;
-import com.mapbox.navigation.core.MapboxNavigation;
 import com.mapbox.navigation.ui.voice.VoiceInstructionLoader;
 
 import org.jetbrains.annotations.TestOnly;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Prefetches the synthesized audio of all the voice instructions of the route,
+ * so they can still be played by the MapboxSpeechPlayer after the connection is lost.
+ * <p>
+ * Announcements are requested in the order of their distance along the route, skipping the
+ * ones already announced. If the prefetch couldn't be started because there was no
+ * connectivity, it's retried on the next call to {@link #cache()}.
+ */
 class VoiceInstructionCache {
 
-  private static final int MAX_VOICE_INSTRUCTIONS_TO_CACHE = 10;
-  private static final int VOICE_INSTRUCTIONS_TO_CACHE_THRESHOLD = 5;
-  private final MapboxNavigation navigation;
   private final VoiceInstructionLoader voiceInstructionLoader;
   private final ConnectivityStatusProvider connectivityStatus;
-  private int totalVoiceInstructions = 0;
-  private int currentVoiceInstructionsCachedIndex = 0;
-  private boolean isVoiceInstructionsToCacheThresholdReached = true;
+  private final List<String> routeInstructions = new ArrayList<>();
+  private int announcedInstructions = 0;
+  private boolean isPrefetchPending = false;
 
-  VoiceInstructionCache(MapboxNavigation navigation, VoiceInstructionLoader voiceInstructionLoader,
+  VoiceInstructionCache(VoiceInstructionLoader voiceInstructionLoader,
                         ConnectivityStatusProvider connectivityStatus) {
-    this.navigation = navigation;
     this.voiceInstructionLoader = voiceInstructionLoader;
     this.connectivityStatus = connectivityStatus;
   }
 
   void initCache(DirectionsRoute route) {
-    totalVoiceInstructions = 0;
+    routeInstructions.clear();
+    announcedInstructions = 0;
+    isPrefetchPending = true;
 
     List<RouteLeg> routeLegs = route.legs();
     if (routeLegs == null) {
       return;
     }
 
+    List<Announcement> announcements = new ArrayList<>();
+    double stepStartDistance = 0;
     for (int i = 0; i < routeLegs.size(); i++) {
       RouteLeg leg = routeLegs.get(i);
       if (leg == null) {
@@ -55,42 +64,65 @@ class VoiceInstructionCache {
           continue;
         }
 
+        double stepEndDistance = stepStartDistance + step.distance();
         List<VoiceInstructions> voiceInstructions = step.voiceInstructions();
         if (voiceInstructions != null) {
-          totalVoiceInstructions += voiceInstructions.size();
+          for (VoiceInstructions instruction : voiceInstructions) {
+            Double distanceAlongGeometry = instruction.distanceAlongGeometry();
+            double distance = distanceAlongGeometry == null
+              ? stepStartDistance : stepEndDistance - distanceAlongGeometry;
+            announcements.add(new Announcement(instruction.ssmlAnnouncement(), distance));
+          }
         }
+        stepStartDistance = stepEndDistance;
       }
     }
+
+    // stable sort, announcements at the same distance keep the route order
+    Collections.sort(announcements, new Comparator<Announcement>() {
+      @Override
+      public int compare(Announcement first, Announcement second) {
+        return Double.compare(first.distance, second.distance);
+      }
+    });
+    for (Announcement announcement : announcements) {
+      routeInstructions.add(announcement.ssml);
+    }
   }
 
   void cache() {
     if (!connectivityStatus.isConnected()) {
+      // the loader drops its queue when offline, resubmit the rest once back online
+      isPrefetchPending = true;
       return;
     }
-
-    if (isVoiceInstructionsToCacheThresholdReached) {
-      isVoiceInstructionsToCacheThresholdReached = false;
-      voiceInstructionLoader.evictVoiceInstructions();
-      List<String> voiceInstructionsToCache = new ArrayList<>();
-      for (int i = currentVoiceInstructionsCachedIndex; i < totalVoiceInstructions; i++) {
-        voiceInstructionsToCache.add(navigation.retrieveSsmlAnnouncementInstruction(i));
-        currentVoiceInstructionsCachedIndex++;
-        if ((currentVoiceInstructionsCachedIndex + 1) % MAX_VOICE_INSTRUCTIONS_TO_CACHE == 0) {
-          break;
-        }
-      }
-      voiceInstructionLoader.cacheInstructions(voiceInstructionsToCache);
+    if (!isPrefetchPending) {
+      return;
     }
+
+    isPrefetchPending = false;
+    voiceInstructionLoader.evictVoiceInstructions();
+    int firstUpcoming = Math.min(announcedInstructions, routeInstructions.size());
+    voiceInstructionLoader.cacheInstructions(
+      new ArrayList<>(routeInstructions.subList(firstUpcoming, routeInstructions.size())));
   }
 
   void update(int voiceInstructionsToAnnounce) {
-    if (voiceInstructionsToAnnounce % VOICE_INSTRUCTIONS_TO_CACHE_THRESHOLD == 0) {
-      isVoiceInstructionsToCacheThresholdReached = true;
-    }
+    announcedInstructions = voiceInstructionsToAnnounce;
   }
 
   @TestOnly
   int getTotalVoiceInstructionNumber() {
-    return totalVoiceInstructions;
+    return routeInstructions.size();
+  }
+
+  private static class Announcement {
+    private final String ssml;
+    private final double distance;
+
+    Announcement(String ssml, double distance) {
+      this.ssml = ssml;
+      this.distance = distance;
+    }
   }
 }
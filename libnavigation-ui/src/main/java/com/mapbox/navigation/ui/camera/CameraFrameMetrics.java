@@ -0,0 +1,78 @@
+package com.mapbox.navigation.ui.camera;
+
+/**
+ * Timing of the camera updates scheduled by {@link NavigationCamera}.
+ * <p>
+ * Location and progress updates are coalesced into at most one camera update per
+ * display frame. Updates where the user moved less than a pixel on screen are skipped.
+ * The counters can be compared with the map frame rate to see how much work the camera
+ * saves while tracking.
+ */
+public class CameraFrameMetrics {
+
+  private long requestedUpdateCount;
+  private long coalescedUpdateCount;
+  private long frameCount;
+  private long skippedUpdateCount;
+  private long totalUpdateTimeNanos;
+  private long maxUpdateTimeNanos;
+
+  /**
+   * @return number of location and progress updates which asked for a camera update
+   */
+  public long getRequestedUpdateCount() {
+    return requestedUpdateCount;
+  }
+
+  /**
+   * @return number of requested updates merged into an already scheduled frame
+   */
+  public long getCoalescedUpdateCount() {
+    return coalescedUpdateCount;
+  }
+
+  /**
+   * @return number of display frames the camera was updated on
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return number of frames where the zoom and tilt weren't recomputed because the user barely moved
+   */
+  public long getSkippedUpdateCount() {
+    return skippedUpdateCount;
+  }
+
+  /**
+   * @return average time spent updating the camera in a frame, in nanoseconds
+   */
+  public long getAverageUpdateTimeNanos() {
+    return frameCount == 0 ? 0 : totalUpdateTimeNanos / frameCount;
+  }
+
+  /**
+   * @return longest time spent updating the camera in a frame, in nanoseconds
+   */
+  public long getMaxUpdateTimeNanos() {
+    return maxUpdateTimeNanos;
+  }
+
+  void onUpdateRequested(boolean isCoalesced) {
+    requestedUpdateCount++;
+    if (isCoalesced) {
+      coalescedUpdateCount++;
+    }
+  }
+
+  void onFrame(long updateTimeNanos) {
+    frameCount++;
+    totalUpdateTimeNanos += updateTimeNanos;
+    maxUpdateTimeNanos = Math.max(maxUpdateTimeNanos, updateTimeNanos);
+  }
+
+  void onUpdateSkipped() {
+    skippedUpdateCount++;
+  }
+}
@@ -0,0 +1,56 @@
+package com.mapbox.navigation.ui.camera;
+
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Runs the camera update on the next display frame.
+ * <p>
+ * Any number of requests before the frame result in a single update, so location and
+ * progress updates arriving together only move the camera once.
+ * Must be used from the main thread.
+ */
+class CameraFrameScheduler implements Choreographer.FrameCallback {
+
+  private final Runnable frameUpdate;
+  private final CameraFrameMetrics metrics;
+  private Choreographer choreographer;
+  private boolean isFramePending;
+
+  CameraFrameScheduler(@NonNull Runnable frameUpdate, @NonNull CameraFrameMetrics metrics) {
+    this.frameUpdate = frameUpdate;
+    this.metrics = metrics;
+  }
+
+  void requestFrame() {
+    metrics.onUpdateRequested(isFramePending);
+    if (isFramePending) {
+      return;
+    }
+    isFramePending = true;
+    retrieveChoreographer().postFrameCallback(this);
+  }
+
+  void cancel() {
+    if (isFramePending) {
+      isFramePending = false;
+      retrieveChoreographer().removeFrameCallback(this);
+    }
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    isFramePending = false;
+    long updateStart = System.nanoTime();
+    frameUpdate.run();
+    metrics.onFrame(System.nanoTime() - updateStart);
+  }
+
+  private Choreographer retrieveChoreographer() {
+    if (choreographer == null) {
+      choreographer = Choreographer.getInstance();
+    }
+    return choreographer;
+  }
+}
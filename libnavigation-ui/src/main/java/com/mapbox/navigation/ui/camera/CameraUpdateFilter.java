@@ -0,0 +1,63 @@
+package com.mapbox.navigation.ui.camera;
+
+import android.location.Location;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Decides whether the camera zoom and tilt need to be recomputed for a frame.
+ * <p>
+ * The location puck is already moved by the {@link com.mapbox.mapboxsdk.location.LocationComponent},
+ * the navigation camera only adjusts zoom and tilt. These don't visibly change while the puck
+ * stays within a pixel of where they were last computed on the same step, which is most of the
+ * time on long straight segments.
+ */
+class CameraUpdateFilter {
+
+  private static final double EARTH_RADIUS_METERS = 6371008.8;
+  private static final double MIN_MOVEMENT_PIXELS = 1d;
+  private static final int NO_INDEX = -1;
+
+  @Nullable
+  private Location lastLocation;
+  private int lastLegIndex = NO_INDEX;
+  private int lastStepIndex = NO_INDEX;
+
+  /**
+   * @param location       current location, can be null before the first location update
+   * @param legIndex       index of the current leg
+   * @param stepIndex      index of the current step
+   * @param metersPerPixel at the latitude of the location with the current zoom
+   * @return true if the camera should be recomputed, false if the frame can be skipped
+   */
+  boolean shouldUpdate(@Nullable Location location, int legIndex, int stepIndex, double metersPerPixel) {
+    boolean isSameStep = legIndex == lastLegIndex && stepIndex == lastStepIndex;
+    if (isSameStep && location != null && lastLocation != null && metersPerPixel > 0
+      && distanceBetween(location, lastLocation) < MIN_MOVEMENT_PIXELS * metersPerPixel) {
+      return false;
+    }
+    lastLocation = location;
+    lastLegIndex = legIndex;
+    lastStepIndex = stepIndex;
+    return true;
+  }
+
+  /**
+   * Makes the next frame recompute the camera, regardless of the movement.
+   */
+  void reset() {
+    lastLocation = null;
+    lastLegIndex = NO_INDEX;
+    lastStepIndex = NO_INDEX;
+  }
+
+  /**
+   * Equirectangular approximation, exact enough at the few meters compared here.
+   */
+  private static double distanceBetween(Location first, Location second) {
+    double averageLatitude = Math.toRadians((first.getLatitude() + second.getLatitude()) / 2);
+    double x = Math.toRadians(second.getLongitude() - first.getLongitude()) * Math.cos(averageLatitude);
+    double y = Math.toRadians(second.getLatitude() - first.getLatitude());
+    return Math.sqrt(x * x + y * y) * EARTH_RADIUS_METERS;
+  }
+}
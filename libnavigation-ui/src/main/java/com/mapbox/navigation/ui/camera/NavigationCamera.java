@@ -21,7 +21,9 @@ import com.mapbox.mapboxsdk.location.OnLocationCameraTransitionListener;
 import com.mapbox.mapboxsdk.location.modes.CameraMode;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.utils.MathUtils;
+import com.mapbox.navigation.base.trip.model.RouteLegProgress;
 import com.mapbox.navigation.base.trip.model.RouteProgress;
+import com.mapbox.navigation.base.trip.model.RouteStepProgress;
 import com.mapbox.navigation.core.MapboxNavigation;
 import com.mapbox.navigation.core.trip.session.LocationObserver;
 import com.mapbox.navigation.core.trip.session.RouteProgressObserver;
@@ -70,6 +72,8 @@ public class NavigationCamera {
    */
   public static final int NAVIGATION_TRACKING_MODE_NONE = 2;
   private static final int ONE_POINT = 1;
+  private static final double MIN_ZOOM_CHANGE = 0.01;
+  private static final float MIN_TILT_CHANGE = 0.1f;
   private final CopyOnWriteArraySet<OnTrackingModeTransitionListener> onTrackingModeTransitionListeners
           = new CopyOnWriteArraySet<>();
   private final CopyOnWriteArraySet<OnTrackingModeChangedListener> onTrackingModeChangedListeners
@@ -78,6 +82,14 @@ public class NavigationCamera {
           = new NavigationCameraTransitionListener(this);
   private final OnCameraTrackingChangedListener cameraTrackingChangedListener
           = new NavigationCameraTrackingChangedListener(this);
+  private final CameraFrameMetrics frameMetrics = new CameraFrameMetrics();
+  private final CameraUpdateFilter updateFilter = new CameraUpdateFilter();
+  private final CameraFrameScheduler frameScheduler = new CameraFrameScheduler(new Runnable() {
+    @Override
+    public void run() {
+      tryToBuildRouteInformationAndAdjustCamera();
+    }
+  }, frameMetrics);
   private MapboxMap mapboxMap;
   private LocationComponent locationComponent;
   private MapboxNavigation navigation;
@@ -89,12 +101,14 @@ public class NavigationCamera {
   private boolean isCameraResetting;
   private CameraAnimationDelegate animationDelegate;
   private Camera camera;
+  private double lastZoom = Double.NaN;
+  private float lastTilt = Float.NaN;
 
   private RouteProgressObserver routeProgressObserver = new RouteProgressObserver() {
     @Override
     public void onRouteProgressChanged(@NotNull RouteProgress routeProgress) {
       NavigationCamera.this.currentRouteProgress = routeProgress;
-      tryToBuildRouteInformationAndAdjustCamera();
+      requestCameraUpdate();
     }
   };
 
@@ -111,7 +125,7 @@ public class NavigationCamera {
       @NotNull List<? extends Location> keyPoints
     ) {
       NavigationCamera.this.currentLocation = enhancedLocation;
-      tryToBuildRouteInformationAndAdjustCamera();
+      requestCameraUpdate();
     }
   };
 
@@ -318,6 +332,20 @@ public class NavigationCamera {
       navigation.unregisterRouteProgressObserver(routeProgressObserver);
       navigation.unregisterLocationObserver(locationObserver);
     }
+    frameScheduler.cancel();
+  }
+
+  /**
+   * Timing of the camera updates while tracking.
+   * <p>
+   * Location and progress updates are applied at most once per display frame, and skipped
+   * while the user moves less than a pixel on the same step.
+   *
+   * @return metrics of the camera updates, read on the main thread
+   */
+  @NonNull
+  public CameraFrameMetrics getFrameMetrics() {
+    return frameMetrics;
   }
 
   /**
@@ -411,8 +439,18 @@ public class NavigationCamera {
     this.isCameraResetting = isResetting;
   }
 
+  private void requestCameraUpdate() {
+    if (isTrackingEnabled()) {
+      frameScheduler.requestFrame();
+    }
+  }
+
   private void tryToBuildRouteInformationAndAdjustCamera() {
     if (isTrackingEnabled() && currentRouteProgress != null) {
+      if (!shouldUpdateCamera()) {
+        frameMetrics.onUpdateSkipped();
+        return;
+      }
       currentRouteInformation =
         new RouteInformation(null, currentLocation, currentRouteProgress);
       if (!isCameraResetting) {
@@ -421,6 +459,27 @@ public class NavigationCamera {
     }
   }
 
+  private boolean shouldUpdateCamera() {
+    if (isCameraResetting) {
+      return true;
+    }
+    int legIndex = 0;
+    int stepIndex = 0;
+    RouteLegProgress legProgress = currentRouteProgress.currentLegProgress();
+    if (legProgress != null) {
+      legIndex = legProgress.legIndex();
+      RouteStepProgress stepProgress = legProgress.currentStepProgress();
+      if (stepProgress != null) {
+        stepIndex = stepProgress.stepIndex();
+      }
+    }
+    double metersPerPixel = 0;
+    if (currentLocation != null) {
+      metersPerPixel = mapboxMap.getProjection().getMetersPerPixelAtLatitude(currentLocation.getLatitude());
+    }
+    return updateFilter.shouldUpdate(currentLocation, legIndex, stepIndex, metersPerPixel);
+  }
+
   /**
    * Creates a camera position based on the given route.
    * <p>
@@ -504,6 +563,7 @@ public class NavigationCamera {
     @CameraMode.Mode Integer cameraMode = findCameraModeFor(trackingCameraMode);
     if (cameraMode != null) {
       this.trackingCameraMode = trackingCameraMode;
+      resetCameraUpdates();
       updateTrackingModeListenersWith(this.trackingCameraMode);
       if (cameraMode != locationComponent.getCameraMode()) {
         locationComponent.setCameraMode(cameraMode, cameraTransitionListener);
@@ -538,6 +598,12 @@ public class NavigationCamera {
     updateCameraTrackingMode(trackingMode);
   }
 
+  private void resetCameraUpdates() {
+    updateFilter.reset();
+    lastZoom = Double.NaN;
+    lastTilt = Float.NaN;
+  }
+
   private void resetDynamicCamera(Camera camera) {
     if (camera instanceof DynamicCamera) {
       ((DynamicCamera) camera).forceResetZoomLevel();
@@ -549,13 +615,22 @@ public class NavigationCamera {
     double zoom = camera.zoom(routeInformation);
     locationComponent.zoomWhileTracking(zoom, getZoomAnimationDuration(zoom), new ResetCancelableCallback(this));
     locationComponent.tiltWhileTracking(tilt, getTiltAnimationDuration(tilt));
+    lastZoom = zoom;
+    lastTilt = tilt;
   }
 
   private void adjustCameraFromLocation(RouteInformation routeInformation) {
     float tilt = (float) camera.tilt(routeInformation);
     double zoom = camera.zoom(routeInformation);
-    locationComponent.zoomWhileTracking(zoom, getZoomAnimationDuration(zoom));
-    locationComponent.tiltWhileTracking(tilt, getTiltAnimationDuration(tilt));
+    // restarting an animation towards the same value only interrupts the running one
+    if (Double.isNaN(lastZoom) || Math.abs(zoom - lastZoom) >= MIN_ZOOM_CHANGE) {
+      locationComponent.zoomWhileTracking(zoom, getZoomAnimationDuration(zoom));
+      lastZoom = zoom;
+    }
+    if (Float.isNaN(lastTilt) || Math.abs(tilt - lastTilt) >= MIN_TILT_CHANGE) {
+      locationComponent.tiltWhileTracking(tilt, getTiltAnimationDuration(tilt));
+      lastTilt = tilt;
+    }
   }
 
   private long getZoomAnimationDuration(double zoom) {
@@ -584,5 +659,6 @@ public class NavigationCamera {
 
   public void setCamera(Camera camera) {
     this.camera = camera;
+    resetCameraUpdates();
   }
 }
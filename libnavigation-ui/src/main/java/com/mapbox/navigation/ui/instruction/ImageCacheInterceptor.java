@@ -0,0 +1,28 @@
+package com.mapbox.navigation.ui.instruction;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Network interceptor marking successful image responses as cacheable for a long time.
+ * Images behind a given url never change, so they keep being served from the disk cache.
+ */
+class ImageCacheInterceptor implements Interceptor {
+
+  static final String IMAGE_CACHE_CONTROL = "public, max-age=" + TimeUnit.DAYS.toSeconds(30);
+  private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Response response = chain.proceed(chain.request());
+    if (!response.isSuccessful()) {
+      return response;
+    }
+    return response.newBuilder()
+      .header(HEADER_CACHE_CONTROL, IMAGE_CACHE_CONTROL)
+      .build();
+  }
+}
@@ -5,17 +5,30 @@ import android.os.Build;
 import android.text.Spannable;
 import android.text.SpannableString;
 import android.text.style.ImageSpan;
+import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.mapbox.api.directions.v5.models.BannerComponents;
 import com.mapbox.api.directions.v5.models.BannerInstructions;
 import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.BannerView;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.mapbox.mapboxsdk.Mapbox;
 import com.mapbox.navigation.ui.legacy.SdkVersionChecker;
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.OkHttp3Downloader;
 import com.squareup.picasso.Picasso;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
 
 /**
  * Utility class that can be used to load a given {@link BannerText} into the provided
@@ -26,9 +39,17 @@ import java.util.List;
  * <p>
  * If a shield URL is found, {@link Picasso} is used to load the image.  Then, once the image is loaded,
  * a new {@link ImageSpan} is created and set to the appropriate position of the {@link Spannable}
+ * <p>
+ * The same {@link Picasso} instance loads shields, exit signs and junction views. It keeps decoded
+ * images in a memory LRU sized to the device, so identical shields share one bitmap, and downloaded
+ * images in a persistent disk cache keyed by the density-resolved URL.
  */
 public class ImageCreator extends NodeCreator<BannerComponentNode, ImageVerifier> {
 
+  private static final String IMAGE_CACHE = "mapbox_instruction_image_cache";
+  private static final long IMAGE_CACHE_SIZE = 50 * 1024 * 1024;
+  private static final String ACCESS_TOKEN_PARAMETER = "&access_token=";
+
   private static ImageCreator instance;
   private boolean isInitialized;
   private Picasso picassoImageLoader;
@@ -40,6 +61,16 @@ public class ImageCreator extends NodeCreator<BannerComponentNode, ImageVerifier
     super(imageVerifier);
   }
 
+  // Package private (no modifier) for testing purposes
+  ImageCreator(ImageVerifier imageVerifier, Picasso picassoImageLoader, UrlDensityMap urlDensityMap) {
+    super(imageVerifier);
+    this.picassoImageLoader = picassoImageLoader;
+    this.urlDensityMap = urlDensityMap;
+    targets = new ArrayList<>();
+    bannerShieldList = new ArrayList<>();
+    isInitialized = true;
+  }
+
   @Override
   BannerComponentNode setupNode(BannerComponents components, int index, int startIndex,
                                 String modifier) {
@@ -100,6 +131,46 @@ public class ImageCreator extends NodeCreator<BannerComponentNode, ImageVerifier
     fetchInstructions(legStep);
   }
 
+  /**
+   * Will pre-fetch shield, exit sign and junction view images for every step of the route,
+   * in the order they are going to be displayed.
+   * <p>
+   * If loaded successfully, the images are displayed without delay in the {@link InstructionView},
+   * even if the connection is lost later on.
+   *
+   * @param route providing the image Urls
+   */
+  public void prefetchImageCache(DirectionsRoute route) {
+    checkIsInitialized();
+    if (route == null || route.legs() == null) {
+      return;
+    }
+
+    Set<String> imageUrls = new LinkedHashSet<>();
+    for (RouteLeg leg : route.legs()) {
+      if (leg.steps() == null) {
+        continue;
+      }
+      for (LegStep step : leg.steps()) {
+        collectImageUrls(step, imageUrls);
+      }
+    }
+    for (String imageUrl : imageUrls) {
+      picassoImageLoader.load(imageUrl).priority(Picasso.Priority.LOW).fetch();
+    }
+  }
+
+  /**
+   * Loads a junction view image into the given view, sharing the caches with the shield images.
+   *
+   * @param guidanceImageUrl the image url, including the access token
+   * @param imageView        target of the image
+   */
+  void loadGuidanceImage(String guidanceImageUrl, ImageView imageView) {
+    checkIsInitialized();
+    picassoImageLoader.load(guidanceImageUrl).into(imageView);
+  }
+
   public void shutdown() {
     targets.clear();
   }
@@ -123,8 +194,16 @@ public class ImageCreator extends NodeCreator<BannerComponentNode, ImageVerifier
   }
 
   private void initializePicasso(Context context) {
-    Picasso.Builder builder = new Picasso.Builder(context);
-    picassoImageLoader = builder.build();
+    Context applicationContext = context.getApplicationContext();
+    Cache imageCache = new Cache(new File(applicationContext.getCacheDir(), IMAGE_CACHE), IMAGE_CACHE_SIZE);
+    OkHttpClient imageClient = new OkHttpClient.Builder()
+      .cache(imageCache)
+      .addNetworkInterceptor(new ImageCacheInterceptor())
+      .build();
+    picassoImageLoader = new Picasso.Builder(applicationContext)
+      .downloader(new OkHttp3Downloader(imageClient))
+      .memoryCache(new LruCache(applicationContext))
+      .build();
   }
 
   private void initializeData(Context context) {
@@ -135,6 +214,40 @@ public class ImageCreator extends NodeCreator<BannerComponentNode, ImageVerifier
     bannerShieldList = new ArrayList<>();
   }
 
+  private void collectImageUrls(LegStep legStep, Set<String> imageUrls) {
+    if (legStep == null || legStep.bannerInstructions() == null) {
+      return;
+    }
+
+    for (BannerInstructions instructions : legStep.bannerInstructions()) {
+      collectShieldUrls(instructions.primary(), imageUrls);
+      collectShieldUrls(instructions.secondary(), imageUrls);
+      collectShieldUrls(instructions.sub(), imageUrls);
+      BannerView view = instructions.view();
+      if (view != null && view.components() != null && !view.components().isEmpty()) {
+        String guidanceViewUrl = view.components().get(0).imageUrl();
+        if (guidanceViewUrl != null) {
+          imageUrls.add(appendAccessToken(guidanceViewUrl));
+        }
+      }
+    }
+  }
+
+  private void collectShieldUrls(BannerText bannerText, Set<String> imageUrls) {
+    if (!hasComponents(bannerText)) {
+      return;
+    }
+    for (BannerComponents components : bannerText.components()) {
+      if (nodeVerifier.hasImageUrl(components)) {
+        imageUrls.add(urlDensityMap.get(components.imageBaseUrl()));
+      }
+    }
+  }
+
+  private String appendAccessToken(String guidanceViewUrl) {
+    return guidanceViewUrl + ACCESS_TOKEN_PARAMETER + Mapbox.getAccessToken();
+  }
+
   private void fetchInstructions(LegStep legStep) {
     if (legStep == null || legStep.bannerInstructions() == null
       || legStep.bannerInstructions().isEmpty()) {
@@ -36,6 +36,7 @@ import androidx.transition.TransitionManager;
 import com.mapbox.api.directions.v5.models.BannerComponents;
 import com.mapbox.api.directions.v5.models.BannerInstructions;
 import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.libnavigation.ui.R;
 import com.mapbox.mapboxsdk.Mapbox;
@@ -63,7 +64,6 @@ import com.mapbox.navigation.ui.legacy.NavigationConstants;
 import com.mapbox.navigation.ui.listeners.InstructionListListener;
 import com.mapbox.navigation.ui.summary.list.InstructionListAdapter;
 import com.mapbox.navigation.ui.utils.ViewUtils;
-import com.squareup.picasso.Picasso;
 
 import java.util.Locale;
 
@@ -123,6 +123,7 @@ public class InstructionView extends RelativeLayout implements LifecycleObserver
   private LifecycleOwner lifecycleOwner;
 
   private String guidanceImageUrl = "";
+  private DirectionsRoute prefetchedRoute;
   private RouteJunction routeJunction = null;
 
   private int primaryBackgroundColor;
@@ -411,10 +412,10 @@ public class InstructionView extends RelativeLayout implements LifecycleObserver
     if (currentStepTotalDistance <= metersBeforeShowGuidanceView) {
       routeJunction = new RouteJunction(appendTokenTo(), currentStepTotalDistance);
       animateShowGuidanceViewImage();
-      new Picasso.Builder(getContext()).build().load(routeJunction.getGuidanceImageUrl()).into(guidanceViewImage);
+      ImageCreator.getInstance().loadGuidanceImage(routeJunction.getGuidanceImageUrl(), guidanceViewImage);
     } else if (currentStepDistanceTraveled + metersBeforeShowGuidanceView >= currentStepTotalDistance) {
       routeJunction = new RouteJunction(appendTokenTo(), currentStepTotalDistance);
-      new Picasso.Builder(getContext()).build().load(routeJunction.getGuidanceImageUrl()).into(guidanceViewImage);
+      ImageCreator.getInstance().loadGuidanceImage(routeJunction.getGuidanceImageUrl(), guidanceViewImage);
       animateShowGuidanceViewImage();
     }
   }
@@ -954,12 +955,21 @@ public class InstructionView extends RelativeLayout implements LifecycleObserver
   private void updateDataFromInstruction(InstructionModel model) {
     updateDistanceText(model);
     updateInstructionList(model);
+    prefetchRouteImages(model.retrieveProgress().route());
     if (newStep(model.retrieveProgress())) {
       LegStep upComingStep = model.retrieveProgress().currentLegProgress().upcomingStep();
       ImageCreator.getInstance().prefetchImageCache(upComingStep);
     }
   }
 
+  private void prefetchRouteImages(DirectionsRoute route) {
+    if (route != null && route != prefetchedRoute) {
+      prefetchedRoute = route;
+      ImageCreator.getInstance().prefetchImageCache(route);
+      maneuverView.prewarmManeuverIcons(route);
+    }
+  }
+
   /**
    * Looks to see if we have a new instruction text.
    * Sets new instruction text if found.
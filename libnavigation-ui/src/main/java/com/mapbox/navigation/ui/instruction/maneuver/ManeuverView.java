@@ -2,6 +2,7 @@ package com.mapbox.navigation.ui.instruction.maneuver;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.PointF;
 import android.text.TextUtils;
@@ -13,23 +14,33 @@ import androidx.annotation.FloatRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
-import androidx.core.util.Pair;
 
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.api.directions.v5.models.StepManeuver;
 import com.mapbox.libnavigation.ui.R;
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconCache;
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper;
-import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconDrawer;
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconKey;
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverModifier;
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuversStyleKit;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import static com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.DEFAULT_ROUNDABOUT_ANGLE;
-import static com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.MANEUVER_TYPES_WITH_NULL_MODIFIERS;
-import static com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.MANEUVER_ICON_DRAWER_MAP;
 import static com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.ROUNDABOUT_MANEUVER_TYPES;
 
 
 /**
  * A view that draws a maneuver arrow indicating the upcoming maneuver.
+ * <p>
+ * Icons are drawn once per size and color into the shared {@link ManeuverIconCache}
+ * and reused on later draws.
  *
  * @since 0.6.0
  */
@@ -44,7 +55,6 @@ public class ManeuverView extends View {
   @ColorInt
   private int secondaryColor;
   private float roundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE;
-  private Pair<String, String> maneuverTypeAndModifier = new Pair<>(null, null);
   private PointF size;
   private String drivingSide = ManeuverModifier.RIGHT;
 
@@ -103,11 +113,6 @@ public class ManeuverView extends View {
     if (isNewTypeOrModifier(maneuverType, maneuverModifier)) {
       this.maneuverType = maneuverType;
       this.maneuverModifier = maneuverModifier;
-      if (checkManeuverTypeWithNullModifier(maneuverType)) {
-        return;
-      }
-      maneuverType = checkManeuverModifier(maneuverType, maneuverModifier);
-      maneuverTypeAndModifier = new Pair<>(maneuverType, maneuverModifier);
       invalidate();
     }
   }
@@ -134,6 +139,42 @@ public class ManeuverView extends View {
     }
   }
 
+  /**
+   * Draws the icons of every maneuver along the route in the background, so switching
+   * to the next maneuver doesn't have to draw its icon.
+   * <p>
+   * Has no effect until the view has been measured.
+   *
+   * @param route with the maneuvers to draw
+   */
+  public void prewarmManeuverIcons(@NonNull DirectionsRoute route) {
+    if (size == null || route.legs() == null) {
+      return;
+    }
+    Set<ManeuverIconKey> iconKeys = new LinkedHashSet<>();
+    for (RouteLeg leg : route.legs()) {
+      List<LegStep> steps = leg.steps();
+      if (steps == null) {
+        continue;
+      }
+      for (LegStep step : steps) {
+        List<BannerInstructions> bannerInstructions = step.bannerInstructions();
+        if (bannerInstructions == null) {
+          continue;
+        }
+        for (BannerInstructions instructions : bannerInstructions) {
+          BannerText primary = instructions.primary();
+          if (primary.type() != null) {
+            float angle = primary.degrees() != null
+              ? ManeuverIconHelper.adjustRoundaboutAngle(primary.degrees().floatValue()) : DEFAULT_ROUNDABOUT_ANGLE;
+            iconKeys.add(buildIconKey(primary.type(), primary.modifier(), step.drivingSide(), angle));
+          }
+        }
+      }
+    }
+    ManeuverIconCache.getInstance().prewarm(iconKeys);
+  }
+
   /**
    * Updates maneuver view primary color.
    * <p>
@@ -184,17 +225,21 @@ public class ManeuverView extends View {
       return;
     }
 
-    if (maneuverType == null) {
+    if (maneuverType == null || size == null) {
       return;
     }
 
-    ManeuverIconDrawer maneuverIconDrawer = MANEUVER_ICON_DRAWER_MAP.get(maneuverTypeAndModifier);
-    if (maneuverIconDrawer != null) {
-      maneuverIconDrawer.drawManeuverIcon(canvas, primaryColor, secondaryColor, size, roundaboutAngle);
+    ManeuverIconKey iconKey = buildIconKey(maneuverType, maneuverModifier, drivingSide, roundaboutAngle);
+    Bitmap icon = ManeuverIconCache.getInstance().getOrDraw(iconKey);
+    if (icon != null) {
+      canvas.drawBitmap(icon, 0, 0, null);
     }
+  }
 
-    boolean flip = ManeuverIconHelper.isManeuverIconNeedFlip(maneuverType, maneuverModifier, drivingSide);
-    setScaleX(flip ? -1 : 1);
+  private ManeuverIconKey buildIconKey(String maneuverType, @Nullable String maneuverModifier,
+                                       @Nullable String drivingSide, float roundaboutAngle) {
+    return ManeuverIconHelper.buildManeuverIconKey(maneuverType, maneuverModifier, drivingSide, roundaboutAngle,
+      primaryColor, secondaryColor, (int) size.x, (int) size.y);
   }
 
   private void initializeColorFrom(AttributeSet attributeSet) {
@@ -214,23 +259,6 @@ public class ManeuverView extends View {
       || !TextUtils.equals(this.maneuverModifier, maneuverModifier);
   }
 
-  private boolean checkManeuverTypeWithNullModifier(String maneuverType) {
-    if (MANEUVER_TYPES_WITH_NULL_MODIFIERS.contains(maneuverType)) {
-      maneuverTypeAndModifier = new Pair<>(maneuverType, null);
-      invalidate();
-      return true;
-    }
-    return false;
-  }
-
-  @Nullable
-  private String checkManeuverModifier(String maneuverType, String maneuverModifier) {
-    if (!maneuverType.contentEquals(StepManeuver.ARRIVE) && maneuverModifier != null) {
-      maneuverType = null;
-    }
-    return maneuverType;
-  }
-
   private void updateRoundaboutAngle(float roundaboutAngle) {
     this.roundaboutAngle = ManeuverIconHelper.adjustRoundaboutAngle(roundaboutAngle);
   }
@@ -2,7 +2,8 @@ package com.mapbox.navigation.ui.map;
 
 import android.graphics.PointF;
 import android.location.Location;
-import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 
@@ -14,6 +15,9 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.mapbox.navigation.ui.map.NavigationMapboxMap.STREETS_LAYER_ID;
 
@@ -21,6 +25,7 @@ class MapWayName {
 
   private static final String NAME_PROPERTY = "name";
   private static final String EMPTY_CURRENT_WAY_NAME = "";
+  private static final ExecutorService WAYNAME_EXECUTOR = Executors.newSingleThreadExecutor();
   private final MapWayNameChangeObserver mapWayNameChangeObserver = new MapWayNameChangeObserver(this);
   private final Set<OnWayNameChangedListener> onWayNameChangedListeners;
   private WaynameFeatureFinder featureInteractor;
@@ -28,7 +33,10 @@ class MapWayName {
   private Location currentLocation = null;
   private MapboxNavigation navigation;
   private boolean isAutoQueryEnabled;
-  private FeatureFilterTask filterTask;
+  private final WaynameMatcher waynameMatcher = new WaynameMatcher();
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private Future<?> matchTask;
+  private int matchGeneration = 0;
   private String wayName = EMPTY_CURRENT_WAY_NAME;
 
   MapWayName(WaynameFeatureFinder featureInteractor, MapPaddingAdjustor paddingAdjustor) {
@@ -46,7 +54,7 @@ class MapWayName {
     if (invalidLabelFeatures) {
       return;
     }
-    executeFeatureFilterTask(roadLabelFeatures);
+    matchWayName(roadLabelFeatures);
   }
 
   void updateProgress(List<Point> currentStepPoints) {
@@ -83,9 +91,7 @@ class MapWayName {
   }
 
   void onStop() {
-    if (isTaskRunning()) {
-      filterTask.cancel(true);
-    }
+    cancelMatchTask();
     unregisterObservers();
   }
 
@@ -108,27 +114,44 @@ class MapWayName {
     return featureInteractor.queryRenderedFeatures(point, layerIds);
   }
 
-  private void executeFeatureFilterTask(List<Feature> roadFeatures) {
-    if (isTaskRunning()) {
-      filterTask.cancel(true);
+  private void matchWayName(final List<Feature> roadFeatures) {
+    cancelMatchTask();
+    if (!hasValidProgressData()) {
+      return;
     }
 
-    if (hasValidProgressData()) {
-      filterTask = new FeatureFilterTask(roadFeatures, currentLocation, currentStepPoints,
-        new OnFeatureFilteredCallback() {
+    final Point currentPoint = Point.fromLngLat(currentLocation.getLongitude(), currentLocation.getLatitude());
+    final List<Point> stepPoints = currentStepPoints;
+    final int generation = matchGeneration;
+    final OnFeatureFilteredCallback callback = new OnFeatureFilteredCallback() {
+      @Override
+      public void onFeatureFiltered(@NonNull Feature feature) {
+        // results of cancelled matches are dropped
+        if (generation == matchGeneration) {
+          updateWayNameLayerWithNameProperty(feature);
+        }
+      }
+    };
+    matchTask = WAYNAME_EXECUTOR.submit(new Runnable() {
+      @Override
+      public void run() {
+        final Feature feature = waynameMatcher.match(roadFeatures, currentPoint, stepPoints);
+        mainHandler.post(new Runnable() {
           @Override
-          public void onFeatureFiltered(@NonNull Feature feature) {
-            updateWayNameLayerWithNameProperty(feature);
+          public void run() {
+            callback.onFeatureFiltered(feature);
           }
         });
-      filterTask.execute();
-    }
+      }
+    });
   }
 
-  private boolean isTaskRunning() {
-    return filterTask != null
-      && (filterTask.getStatus() == AsyncTask.Status.PENDING
-      || filterTask.getStatus() == AsyncTask.Status.RUNNING);
+  private void cancelMatchTask() {
+    matchGeneration++;
+    if (matchTask != null) {
+      matchTask.cancel(false);
+      matchTask = null;
+    }
   }
 
   private boolean hasValidProgressData() {
@@ -0,0 +1,171 @@
+package com.mapbox.navigation.ui.map;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.MultiLineString;
+import com.mapbox.geojson.Point;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Picks the road label feature the user is driving on.
+ * <p>
+ * The queried features and the current step geometry are projected to a local planar frame
+ * around the user, in meters, and split into segments. Each feature is scored by the distance
+ * from the user to its closest segment plus a penalty for how much that segment deviates from
+ * the direction of the step, so a parallel road beats a closer cross street.
+ * <p>
+ * The last match is kept and reused as long as the user is still close to it and
+ * moving along it, which skips scoring the other features on most updates.
+ * <p>
+ * Not thread safe, meant to be used from a single background thread.
+ */
+class WaynameMatcher {
+
+  private static final double EARTH_RADIUS_METERS = 6371008.8;
+  private static final double ALIGNMENT_PENALTY_METERS = 20d;
+  private static final double LAST_MATCH_KEEP_SCORE_METERS = 8d;
+  private static final int TWO_POINTS = 2;
+
+  @Nullable
+  private Feature lastMatch;
+
+  /**
+   * Matches the road label feature the user is driving on.
+   *
+   * @param queriedFeatures   road label features around the user, can't be empty
+   * @param currentPoint      position of the user
+   * @param currentStepPoints decoded geometry of the current step
+   * @return the best matching feature, or the first one if none of them could be scored
+   */
+  @NonNull
+  Feature match(List<Feature> queriedFeatures, Point currentPoint, List<Point> currentStepPoints) {
+    LocalFrame frame = new LocalFrame(currentPoint);
+    double[] stepDirection = findStepDirection(frame, currentStepPoints);
+
+    if (lastMatch != null && queriedFeatures.contains(lastMatch)
+      && score(frame, lastMatch, stepDirection) <= LAST_MATCH_KEEP_SCORE_METERS) {
+      return lastMatch;
+    }
+
+    Feature bestFeature = queriedFeatures.get(0);
+    double bestScore = Double.POSITIVE_INFINITY;
+    for (Feature feature : queriedFeatures) {
+      double score = score(frame, feature, stepDirection);
+      if (score < bestScore) {
+        bestScore = score;
+        bestFeature = feature;
+      }
+    }
+    if (bestScore < Double.POSITIVE_INFINITY) {
+      lastMatch = bestFeature;
+    }
+    return bestFeature;
+  }
+
+  private double score(LocalFrame frame, Feature feature, @Nullable double[] stepDirection) {
+    double bestScore = Double.POSITIVE_INFINITY;
+    for (List<Point> line : lineCoordinates(feature.geometry())) {
+      for (int i = 1; i < line.size(); i++) {
+        double[] start = frame.project(line.get(i - 1));
+        double[] end = frame.project(line.get(i));
+        double segmentScore = distanceToOrigin(start, end);
+        if (segmentScore >= bestScore) {
+          continue;
+        }
+        if (stepDirection != null) {
+          segmentScore += ALIGNMENT_PENALTY_METERS * (1 - Math.abs(cosine(start, end, stepDirection)));
+        }
+        bestScore = Math.min(bestScore, segmentScore);
+      }
+    }
+    return bestScore;
+  }
+
+  /**
+   * Direction of the step segment closest to the user, as a vector in the local frame.
+   */
+  @Nullable
+  private double[] findStepDirection(LocalFrame frame, List<Point> stepPoints) {
+    if (stepPoints == null || stepPoints.size() < TWO_POINTS) {
+      return null;
+    }
+    double[] direction = null;
+    double smallestDistance = Double.POSITIVE_INFINITY;
+    double[] start = frame.project(stepPoints.get(0));
+    for (int i = 1; i < stepPoints.size(); i++) {
+      double[] end = frame.project(stepPoints.get(i));
+      double distance = distanceToOrigin(start, end);
+      if (distance < smallestDistance && (end[0] != start[0] || end[1] != start[1])) {
+        smallestDistance = distance;
+        direction = new double[] {end[0] - start[0], end[1] - start[1]};
+      }
+      start = end;
+    }
+    return direction;
+  }
+
+  private static List<List<Point>> lineCoordinates(@Nullable Geometry geometry) {
+    if (geometry instanceof LineString) {
+      return Collections.singletonList(((LineString) geometry).coordinates());
+    } else if (geometry instanceof MultiLineString) {
+      return ((MultiLineString) geometry).coordinates();
+    }
+    return new ArrayList<>();
+  }
+
+  private static double distanceToOrigin(double[] start, double[] end) {
+    double dx = end[0] - start[0];
+    double dy = end[1] - start[1];
+    double lengthSquared = dx * dx + dy * dy;
+    double t = 0;
+    if (lengthSquared > 0) {
+      t = Math.max(0, Math.min(1, -(start[0] * dx + start[1] * dy) / lengthSquared));
+    }
+    double x = start[0] + t * dx;
+    double y = start[1] + t * dy;
+    return Math.sqrt(x * x + y * y);
+  }
+
+  private static double cosine(double[] start, double[] end, double[] direction) {
+    double dx = end[0] - start[0];
+    double dy = end[1] - start[1];
+    double length = Math.sqrt(dx * dx + dy * dy) * Math.hypot(direction[0], direction[1]);
+    if (length == 0) {
+      return 0;
+    }
+    return (dx * direction[0] + dy * direction[1]) / length;
+  }
+
+  /**
+   * Equirectangular projection around the user, accurate enough within the few hundred
+   * meters covered by the queried features.
+   */
+  private static class LocalFrame {
+
+    private final double originLongitude;
+    private final double originLatitude;
+    private final double metersPerDegreeLongitude;
+    private final double metersPerDegreeLatitude;
+
+    LocalFrame(Point origin) {
+      originLongitude = origin.longitude();
+      originLatitude = origin.latitude();
+      metersPerDegreeLatitude = Math.toRadians(EARTH_RADIUS_METERS);
+      metersPerDegreeLongitude = metersPerDegreeLatitude * Math.cos(Math.toRadians(originLatitude));
+    }
+
+    double[] project(Point point) {
+      return new double[] {
+        (point.longitude() - originLongitude) * metersPerDegreeLongitude,
+        (point.latitude() - originLatitude) * metersPerDegreeLatitude
+      };
+    }
+  }
+}
@@ -6,7 +6,6 @@ import androidx.appcompat.content.res.AppCompatResources
 import androidx.core.content.ContextCompat
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.RouteLeg
-import com.mapbox.core.constants.Constants
 import com.mapbox.geojson.Feature
 import com.mapbox.geojson.FeatureCollection
 import com.mapbox.geojson.LineString
@@ -22,6 +21,7 @@ import com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineGradient
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer
 import com.mapbox.mapboxsdk.style.sources.GeoJsonOptions
 import com.mapbox.mapboxsdk.style.sources.GeoJsonSource
+import com.mapbox.navigation.base.route.internal.CompactRoute
 import com.mapbox.navigation.ui.route.MapRouteLine.MapRouteLineSupport.buildRouteLineExpression
 import com.mapbox.navigation.ui.route.MapRouteLine.MapRouteLineSupport.buildWayPointFeatureCollection
 import com.mapbox.navigation.ui.route.MapRouteLine.MapRouteLineSupport.generateFeatureCollection
@@ -383,7 +383,7 @@ internal class MapRouteLine(
     fun getLineStringForRoute(route: DirectionsRoute): LineString {
         return routeFeatureData.firstOrNull {
             it.route == route
-        }?.lineString ?: LineString.fromPolyline(route.geometry()!!, Constants.PRECISION_6)
+        }?.lineString ?: LineString.fromLngLats(CompactRoute.of(route).points())
     }
 
     /**
@@ -701,15 +701,8 @@ internal class MapRouteLine(
          * @return a RouteFeatureData containing the original route and a FeatureCollection and
          * LineString
          */
-        fun generateFeatureCollection(route: DirectionsRoute): RouteFeatureData {
-            val routeGeometry = LineString.fromPolyline(
-                route.geometry() ?: "",
-                Constants.PRECISION_6
-            )
-            val routeFeature = Feature.fromGeometry(routeGeometry)
-
-            return RouteFeatureData(route, FeatureCollection.fromFeatures(listOf(routeFeature)), routeGeometry)
-        }
+        fun generateFeatureCollection(route: DirectionsRoute): RouteFeatureData =
+            generateRouteFeatureData(route)
 
         /**
          * Creates an Expression that can be applied to the layer style changing the appearance of
@@ -878,17 +871,3 @@ internal class MapRouteLine(
         }
     }
 }
-
-/**
- * Maintains an association between a DirectionsRoute, FeatureCollection
- * and LineString.
- *
- * @param route a Directionsroute
- * @param featureCollection a FeatureCollection created using the route
- * @param lineString a LineString derived from the route's geometry.
- */
-data class RouteFeatureData(
-    val route: DirectionsRoute,
-    val featureCollection: FeatureCollection,
-    val lineString: LineString
-)
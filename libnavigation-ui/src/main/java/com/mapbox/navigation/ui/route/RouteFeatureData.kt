@@ -0,0 +1,37 @@
+package com.mapbox.navigation.ui.route
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.geojson.Feature
+import com.mapbox.geojson.FeatureCollection
+import com.mapbox.geojson.LineString
+import com.mapbox.navigation.base.route.internal.CompactRoute
+
+/**
+ * Maintains an association between a DirectionsRoute, FeatureCollection
+ * and LineString.
+ *
+ * @param route a Directionsroute
+ * @param featureCollection a FeatureCollection created using the route
+ * @param lineString a LineString derived from the route's geometry.
+ */
+data class RouteFeatureData(
+    val route: DirectionsRoute,
+    val featureCollection: FeatureCollection,
+    val lineString: LineString
+)
+
+/**
+ * Generates a FeatureCollection and LineString based on the @param route.
+ * Doesn't use the map SDK, the route line source is built from the result.
+ *
+ * @param route the DirectionsRoute to used to derive the result
+ *
+ * @return a RouteFeatureData containing the original route and a FeatureCollection and
+ * LineString
+ */
+internal fun generateRouteFeatureData(route: DirectionsRoute): RouteFeatureData {
+    val routeGeometry = LineString.fromLngLats(CompactRoute.of(route).points())
+    val routeFeature = Feature.fromGeometry(routeGeometry)
+
+    return RouteFeatureData(route, FeatureCollection.fromFeatures(listOf(routeFeature)), routeGeometry)
+}
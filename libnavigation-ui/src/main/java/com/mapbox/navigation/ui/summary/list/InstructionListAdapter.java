@@ -5,12 +5,15 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.mapbox.libnavigation.ui.R;
 import com.mapbox.navigation.base.formatter.DistanceFormatter;
 import com.mapbox.navigation.base.trip.model.RouteProgress;
 
+import java.util.List;
+
 public class InstructionListAdapter extends RecyclerView.Adapter<InstructionViewHolder> {
 
   private final InstructionListPresenter presenter;
@@ -52,9 +55,11 @@ public class InstructionListAdapter extends RecyclerView.Adapter<InstructionView
   }
 
   public void updateBannerListWith(RouteProgress routeProgress, boolean isListShowing) {
+    List<InstructionListItem> oldItems = presenter.retrieveInstructionListItems();
     boolean didUpdate = presenter.updateBannerListWith(routeProgress);
     if (didUpdate && isListShowing) {
-      notifyDataSetChanged();
+      DiffUtil.calculateDiff(new InstructionListDiffCallback(oldItems, presenter.retrieveInstructionListItems()), false)
+        .dispatchUpdatesTo(this);
     }
   }
 
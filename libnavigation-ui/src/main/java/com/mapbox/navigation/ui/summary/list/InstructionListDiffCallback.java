@@ -0,0 +1,44 @@
+package com.mapbox.navigation.ui.summary.list;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.List;
+
+/**
+ * Compares two versions of the instruction list, so passing an instruction or starting
+ * a new leg only updates the rows that changed.
+ */
+class InstructionListDiffCallback extends DiffUtil.Callback {
+
+  private final List<InstructionListItem> oldItems;
+  private final List<InstructionListItem> newItems;
+
+  InstructionListDiffCallback(List<InstructionListItem> oldItems, List<InstructionListItem> newItems) {
+    this.oldItems = oldItems;
+    this.newItems = newItems;
+  }
+
+  @Override
+  public int getOldListSize() {
+    return oldItems.size();
+  }
+
+  @Override
+  public int getNewListSize() {
+    return newItems.size();
+  }
+
+  @Override
+  public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+    InstructionListItem oldItem = oldItems.get(oldItemPosition);
+    InstructionListItem newItem = newItems.get(newItemPosition);
+    return oldItem == newItem
+      || oldItem.getBannerInstructions().equals(newItem.getBannerInstructions());
+  }
+
+  @Override
+  public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+    // items are immutable, the same banner always renders the same row
+    return true;
+  }
+}
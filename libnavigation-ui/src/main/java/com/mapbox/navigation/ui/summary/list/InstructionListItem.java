@@ -0,0 +1,79 @@
+package com.mapbox.navigation.ui.summary.list;
+
+import android.text.SpannableString;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.navigation.base.formatter.DistanceFormatter;
+
+/**
+ * Row of the instruction list, built once per leg.
+ * <p>
+ * Holds the values bound to an {@link InstructionListView} so binding a row doesn't have
+ * to walk the {@link BannerInstructions} again. The distance of a banner never changes,
+ * so its formatted text is kept until the {@link DistanceFormatter} changes.
+ */
+class InstructionListItem {
+
+  private final BannerInstructions bannerInstructions;
+  private final String primaryText;
+  @Nullable
+  private final String secondaryText;
+  private final String maneuverType;
+  private final String maneuverModifier;
+  @Nullable
+  private final Double roundaboutDegrees;
+  @Nullable
+  private SpannableString distanceText;
+
+  InstructionListItem(@NonNull BannerInstructions bannerInstructions) {
+    this.bannerInstructions = bannerInstructions;
+    BannerText primary = bannerInstructions.primary();
+    BannerText secondary = bannerInstructions.secondary();
+    primaryText = primary.text();
+    secondaryText = secondary != null ? secondary.text() : null;
+    maneuverType = primary.type();
+    maneuverModifier = primary.modifier();
+    roundaboutDegrees = primary.degrees();
+  }
+
+  BannerInstructions getBannerInstructions() {
+    return bannerInstructions;
+  }
+
+  String getPrimaryText() {
+    return primaryText;
+  }
+
+  @Nullable
+  String getSecondaryText() {
+    return secondaryText;
+  }
+
+  String getManeuverType() {
+    return maneuverType;
+  }
+
+  String getManeuverModifier() {
+    return maneuverModifier;
+  }
+
+  @Nullable
+  Double getRoundaboutDegrees() {
+    return roundaboutDegrees;
+  }
+
+  SpannableString retrieveDistanceText(@NonNull DistanceFormatter distanceFormatter) {
+    if (distanceText == null) {
+      distanceText = distanceFormatter.formatDistance(bannerInstructions.distanceAlongGeometry());
+    }
+    return distanceText;
+  }
+
+  void clearDistanceText() {
+    distanceText = null;
+  }
+}
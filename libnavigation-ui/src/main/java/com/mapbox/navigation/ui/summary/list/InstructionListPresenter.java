@@ -25,35 +25,49 @@ class InstructionListPresenter {
   private static final float TWO_LINE_BIAS = 0.65f;
   private static final float ONE_LINE_BIAS = 0.5f;
   private static final int FIRST_INSTRUCTION_INDEX = 0;
+  private static final int NO_INSTRUCTION_INDEX = -1;
   private DistanceFormatter distanceFormatter;
-  private List<BannerInstructions> instructions;
+  private List<InstructionListItem> legItems;
+  private int firstItemIndex = FIRST_INSTRUCTION_INDEX;
   private RouteLeg currentLeg;
   private String drivingSide;
 
   InstructionListPresenter(DistanceFormatter distanceFormatter) {
     this.distanceFormatter = distanceFormatter;
-    instructions = new ArrayList<>();
+    legItems = Collections.emptyList();
   }
 
   void onBindInstructionListViewAtPosition(int position, @NonNull InstructionListView listView) {
-    BannerInstructions bannerInstructions = instructions.get(position);
-    double distance = bannerInstructions.distanceAlongGeometry();
-    SpannableString distanceText = distanceFormatter.formatDistance(distance);
-    updateListView(listView, bannerInstructions, distanceText);
+    InstructionListItem item = legItems.get(firstItemIndex + position);
+    SpannableString distanceText = item.retrieveDistanceText(distanceFormatter);
+    updateListView(listView, item, distanceText);
   }
 
   int retrieveBannerInstructionListSize() {
-    return instructions.size();
+    return legItems.size() - firstItemIndex;
+  }
+
+  /**
+   * The instructions currently in the list. The returned list is never modified,
+   * an update replaces it, so it can be kept to diff against the next update.
+   *
+   * @return the upcoming instructions of the current leg
+   */
+  List<InstructionListItem> retrieveInstructionListItems() {
+    return legItems.subList(firstItemIndex, legItems.size());
   }
 
   boolean updateBannerListWith(RouteProgress routeProgress) {
-    addBannerInstructions(routeProgress);
-    return updateInstructionList(routeProgress);
+    boolean isNewLeg = addBannerInstructions(routeProgress);
+    return updateInstructionList(routeProgress) || isNewLeg;
   }
 
   void updateDistanceFormatter(DistanceFormatter distanceFormatter) {
     if (shouldUpdate(distanceFormatter)) {
       this.distanceFormatter = distanceFormatter;
+      for (InstructionListItem item : legItems) {
+        item.clearDistanceText();
+      }
     }
   }
 
@@ -62,20 +76,19 @@ class InstructionListPresenter {
         && (this.distanceFormatter == null || !this.distanceFormatter.equals(distanceFormatter));
   }
 
-  private void updateListView(@NonNull InstructionListView listView, BannerInstructions bannerInstructions,
+  private void updateListView(@NonNull InstructionListView listView, InstructionListItem item,
       SpannableString distanceText) {
-    listView.updatePrimaryText(bannerInstructions.primary().text());
-    updateSecondaryInstruction(listView, bannerInstructions);
-    updateManeuverView(listView, bannerInstructions);
+    listView.updatePrimaryText(item.getPrimaryText());
+    updateSecondaryInstruction(listView, item);
+    updateManeuverView(listView, item);
     listView.updateDistanceText(distanceText);
   }
 
-  private void updateSecondaryInstruction(@NonNull InstructionListView listView,
-      BannerInstructions bannerInstructions) {
-    boolean hasSecondaryInstructions = bannerInstructions.secondary() != null;
+  private void updateSecondaryInstruction(@NonNull InstructionListView listView, InstructionListItem item) {
+    boolean hasSecondaryInstructions = item.getSecondaryText() != null;
     adjustListViewForSecondaryInstructions(listView, hasSecondaryInstructions);
     if (hasSecondaryInstructions) {
-      listView.updateSecondaryText(bannerInstructions.secondary().text());
+      listView.updateSecondaryText(item.getSecondaryText());
     }
   }
 
@@ -99,68 +112,90 @@ class InstructionListPresenter {
     listView.updateBannerVerticalBias(ONE_LINE_BIAS);
   }
 
-  private void updateManeuverView(@NonNull InstructionListView listView, BannerInstructions bannerInstructions) {
-    String maneuverType = bannerInstructions.primary().type();
-    String maneuverModifier = bannerInstructions.primary().modifier();
-    listView.updateManeuverViewTypeAndModifier(maneuverType, maneuverModifier);
+  private void updateManeuverView(@NonNull InstructionListView listView, InstructionListItem item) {
+    listView.updateManeuverViewTypeAndModifier(item.getManeuverType(), item.getManeuverModifier());
 
-    Double roundaboutDegrees = bannerInstructions.primary().degrees();
+    Double roundaboutDegrees = item.getRoundaboutDegrees();
     if (roundaboutDegrees != null) {
       listView.updateManeuverViewRoundaboutDegrees(roundaboutDegrees.floatValue());
     }
     listView.updateManeuverViewDrivingSide(drivingSide);
   }
 
-  private void addBannerInstructions(RouteProgress routeProgress) {
-    if (isNewLeg(routeProgress)) {
-      instructions = new ArrayList<>();
-      currentLeg = routeProgress.currentLegProgress().routeLeg();
-      if (routeProgress.currentLegProgress().currentStepProgress() != null
-          && routeProgress.currentLegProgress().currentStepProgress().step() != null) {
-        drivingSide = routeProgress.currentLegProgress().currentStepProgress().step().drivingSide();
-      }
-      if (currentLeg != null) {
-        List<LegStep> steps = currentLeg.steps();
-        for (LegStep step : steps) {
-          List<BannerInstructions> bannerInstructions = step.bannerInstructions();
-          if (bannerInstructions != null && !bannerInstructions.isEmpty()) {
-            instructions.addAll(bannerInstructions);
+  private boolean addBannerInstructions(RouteProgress routeProgress) {
+    RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    if (legProgress == null || !isNewLeg(legProgress.routeLeg())) {
+      return false;
+    }
+    currentLeg = legProgress.routeLeg();
+    firstItemIndex = FIRST_INSTRUCTION_INDEX;
+    if (legProgress.currentStepProgress() != null && legProgress.currentStepProgress().step() != null) {
+      drivingSide = legProgress.currentStepProgress().step().drivingSide();
+    }
+    List<InstructionListItem> items = new ArrayList<>();
+    if (currentLeg != null && currentLeg.steps() != null) {
+      for (LegStep step : currentLeg.steps()) {
+        List<BannerInstructions> bannerInstructions = step.bannerInstructions();
+        if (bannerInstructions != null) {
+          for (BannerInstructions instructions : bannerInstructions) {
+            items.add(new InstructionListItem(instructions));
           }
         }
       }
     }
+    legItems = Collections.unmodifiableList(items);
+    return true;
   }
 
-  private boolean isNewLeg(RouteProgress routeProgress) {
-    return currentLeg == null || !currentLeg.equals(routeProgress.currentLegProgress());
+  private boolean isNewLeg(@Nullable RouteLeg routeLeg) {
+    // the leg is compared by reference first, deep equality is expensive on long legs
+    return routeLeg != currentLeg && (currentLeg == null || !currentLeg.equals(routeLeg));
   }
 
   private boolean updateInstructionList(RouteProgress routeProgress) {
-    if (instructions.isEmpty()) {
+    if (legItems.isEmpty()) {
       return false;
     }
     RouteLegProgress legProgress = routeProgress.currentLegProgress();
+    if (legProgress == null || legProgress.currentStepProgress() == null) {
+      return false;
+    }
     LegStep currentStep = legProgress.currentStepProgress().step();
     double stepDistanceRemaining = legProgress.currentStepProgress().distanceRemaining();
     BannerInstructions currentBannerInstructions = findCurrentBannerInstructions(
         currentStep, stepDistanceRemaining
     );
-    if (!instructions.contains(currentBannerInstructions)) {
+    int currentInstructionIndex = indexOf(currentBannerInstructions);
+    if (currentInstructionIndex == NO_INSTRUCTION_INDEX) {
       return false;
     }
-    int currentInstructionIndex = instructions.indexOf(currentBannerInstructions);
-    return removeInstructionsFrom(currentInstructionIndex);
+    return removeInstructionsUpTo(currentInstructionIndex);
+  }
+
+  private int indexOf(@Nullable BannerInstructions bannerInstructions) {
+    if (bannerInstructions == null) {
+      return NO_INSTRUCTION_INDEX;
+    }
+    for (int i = firstItemIndex; i < legItems.size(); i++) {
+      BannerInstructions itemInstructions = legItems.get(i).getBannerInstructions();
+      if (itemInstructions == bannerInstructions || itemInstructions.equals(bannerInstructions)) {
+        return i;
+      }
+    }
+    return NO_INSTRUCTION_INDEX;
   }
 
-  private boolean removeInstructionsFrom(int currentInstructionIndex) {
-    if (currentInstructionIndex == FIRST_INSTRUCTION_INDEX) {
-      instructions.remove(FIRST_INSTRUCTION_INDEX);
-      return true;
-    } else if (currentInstructionIndex <= instructions.size()) {
-      instructions.subList(FIRST_INSTRUCTION_INDEX, currentInstructionIndex).clear();
-      return true;
+  /**
+   * Drops the instructions before the current one. If the current instruction is already
+   * at the top of the list, it's dropped as well.
+   */
+  private boolean removeInstructionsUpTo(int currentInstructionIndex) {
+    if (currentInstructionIndex == firstItemIndex) {
+      firstItemIndex = currentInstructionIndex + 1;
+    } else {
+      firstItemIndex = currentInstructionIndex;
     }
-    return false;
+    return true;
   }
 
   /**
@@ -0,0 +1,82 @@
+package com.mapbox.navigation.ui.voice;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the synthesized audio of upcoming instructions in memory, within a fixed byte budget.
+ * <p>
+ * Clips are offered in the order they will be announced, so once the budget is reached
+ * newer clips are rejected rather than evicting the ones needed sooner. A clip is removed
+ * from the pool when it's taken for playback, which frees room for the next ones. When the upcoming
+ * instructions change, e.g. after a reroute, clips that are no longer upcoming are dropped.
+ */
+class AudioClipPool {
+
+  private final Map<String, byte[]> clips = new HashMap<>();
+  private final long maxBytes;
+  private long usedBytes = 0;
+
+  AudioClipPool(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Adds the clip of the instruction if it fits into the budget.
+   *
+   * @param instruction the clip was synthesized from
+   * @param clip        encoded audio
+   * @return true if the clip was added
+   */
+  synchronized boolean offer(String instruction, byte[] clip) {
+    if (clips.containsKey(instruction)) {
+      return true;
+    }
+    if (usedBytes + clip.length > maxBytes) {
+      return false;
+    }
+    clips.put(instruction, clip);
+    usedBytes += clip.length;
+    return true;
+  }
+
+  /**
+   * Removes the clip of the instruction from the pool.
+   *
+   * @param instruction the clip was synthesized from
+   * @return the clip or null if it isn't in the pool
+   */
+  synchronized byte[] take(String instruction) {
+    byte[] clip = clips.remove(instruction);
+    if (clip != null) {
+      usedBytes -= clip.length;
+    }
+    return clip;
+  }
+
+  /**
+   * Drops the clips of all the instructions except the given ones.
+   *
+   * @param instructions upcoming instructions whose clips are kept
+   */
+  synchronized void retainAll(Collection<String> instructions) {
+    for (Iterator<Map.Entry<String, byte[]>> entries = clips.entrySet().iterator(); entries.hasNext(); ) {
+      Map.Entry<String, byte[]> entry = entries.next();
+      if (!instructions.contains(entry.getKey())) {
+        usedBytes -= entry.getValue().length;
+        entries.remove();
+      }
+    }
+  }
+
+  synchronized void clear() {
+    clips.clear();
+    usedBytes = 0;
+  }
+
+  synchronized long usedBytes() {
+    return usedBytes;
+  }
+}
@@ -0,0 +1,39 @@
+package com.mapbox.navigation.ui.voice;
+
+import android.media.MediaDataSource;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * Lets the {@link android.media.MediaPlayer} read an audio clip straight from memory.
+ */
+@RequiresApi(api = Build.VERSION_CODES.M)
+class ByteArrayMediaDataSource extends MediaDataSource {
+
+  private final byte[] clip;
+
+  ByteArrayMediaDataSource(byte[] clip) {
+    this.clip = clip;
+  }
+
+  @Override
+  public int readAt(long position, byte[] buffer, int offset, int size) {
+    if (position >= clip.length) {
+      return -1;
+    }
+    int length = (int) Math.min(size, clip.length - position);
+    System.arraycopy(clip, (int) position, buffer, offset, length);
+    return length;
+  }
+
+  @Override
+  public long getSize() {
+    return clip.length;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release
+  }
+}
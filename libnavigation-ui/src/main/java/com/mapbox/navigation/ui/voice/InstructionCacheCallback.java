@@ -2,6 +2,9 @@ package com.mapbox.navigation.ui.voice;
 
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
 
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -12,31 +15,43 @@ import timber.log.Timber;
 class InstructionCacheCallback implements Callback<ResponseBody> {
 
   private final VoiceInstructionLoader loader;
+  private final String instruction;
 
-  InstructionCacheCallback(VoiceInstructionLoader loader) {
+  InstructionCacheCallback(VoiceInstructionLoader loader, String instruction) {
     this.loader = loader;
+    this.instruction = instruction;
   }
 
   @Override
   public void onResponse(@NonNull Call<ResponseBody> call, @NonNull Response<ResponseBody> response) {
-    if (closeResponseBody(response)) {
+    byte[] clip = readResponseBody(response);
+    if (clip != null) {
       String url = call.request().url().toString();
-      loader.addCachedUrl(url);
+      loader.onInstructionCached(instruction, url, clip);
     }
+    loader.onPrefetchFinished();
   }
 
   @Override
   public void onFailure(@NonNull Call<ResponseBody> call, @NonNull Throwable throwable) {
     Timber.e(throwable, "onFailure cache instruction");
+    loader.onPrefetchFinished();
   }
 
-  private boolean closeResponseBody(@NonNull Response<ResponseBody> response) {
+  @Nullable
+  private byte[] readResponseBody(@NonNull Response<ResponseBody> response) {
     ResponseBody body = response.body();
-    if (body != null) {
-      body.byteStream();
+    if (body == null) {
+      return null;
+    }
+    try {
+      // Retrofit has already buffered the body, this doesn't touch the network
+      return body.bytes();
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to read instruction audio");
+      return null;
+    } finally {
       body.close();
-      return true;
     }
-    return false;
   }
-}
\ No newline at end of file
+}
@@ -2,16 +2,17 @@ package com.mapbox.navigation.ui.voice;
 
 import android.content.Context;
 import android.media.MediaPlayer;
-import android.os.AsyncTask;
+import android.os.Build;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.util.Pair;
 
 import com.mapbox.api.directions.v5.models.VoiceInstructions;
-import com.mapbox.navigation.ui.legacy.DownloadTask;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -26,18 +27,20 @@ import timber.log.Timber;
  * <p>
  * Will retrieve synthesized speech mp3s from Mapbox's API Voice.
  * </p>
+ * Clips are looked up in the {@link VoiceInstructionLoader} memory pool and on-disk clip cache
+ * before being downloaded, and are played from memory through a single, reused {@link MediaPlayer}.
  */
 class MapboxSpeechPlayer implements SpeechPlayer {
 
   private static final String MAPBOX_INSTRUCTION_CACHE = "mapbox_instruction_cache";
   private static final String ERROR_TEXT = "Unable to set data source for the media mediaPlayer! %s";
   private static final VoiceInstructionMap VOICE_INSTRUCTION_MAP = new VoiceInstructionMap();
-  private static final String MP3_POSTFIX = "mp3";
+  private static final String INSTRUCTION_FILE = "instruction.mp3";
 
   private VoiceInstructions announcement;
   private VoiceListener voiceListener;
   private MediaPlayer mediaPlayer;
-  private Queue<File> instructionQueue;
+  private Queue<byte[]> instructionQueue;
   private File mapboxCache;
   private boolean isPlaying;
   private boolean isMuted;
@@ -54,7 +57,7 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     this.voiceListener = voiceListener;
     this.voiceInstructionLoader = voiceInstructionLoader;
     setupCaches(context);
-    instructionQueue = new ConcurrentLinkedQueue();
+    instructionQueue = new ConcurrentLinkedQueue<>();
   }
 
   /**
@@ -86,12 +89,17 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   @Override
   public void onOffRoute() {
     pauseInstruction();
-    clearInstructionUrls();
+    instructionQueue.clear();
   }
 
   @Override
   public void onDestroy() {
     stopMediaPlayerPlaying();
+    instructionQueue.clear();
+    if (mediaPlayer != null) {
+      mediaPlayer.release();
+      mediaPlayer = null;
+    }
     voiceInstructionLoader.flushCache();
   }
 
@@ -107,37 +115,45 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     playAnnouncementText(textAndType.first, textAndType.second);
   }
 
-  private void playAnnouncementText(String instruction, String textType) {
-    downloadVoiceFile(instruction, textType);
+  private void playAnnouncementText(final String instruction, final String textType) {
+    boolean isInvalidInstruction = TextUtils.isEmpty(instruction);
+    if (isMuted || isInvalidInstruction) {
+      return;
+    }
+
+    voiceInstructionLoader.loadCachedClip(instruction, textType, new VoiceInstructionLoader.ClipCallback() {
+      @Override
+      public void onClipLoaded(@Nullable byte[] clip) {
+        if (clip != null) {
+          enqueueInstruction(clip);
+        } else {
+          downloadVoiceClip(instruction, textType);
+        }
+      }
+    });
   }
 
   private void muteSpeech() {
     if (isMuted) {
       stopMediaPlayerPlaying();
-      clearInstructionUrls();
+      instructionQueue.clear();
     }
   }
 
   private void stopMediaPlayerPlaying() {
     if (isPlaying) {
       isPlaying = false;
-      mediaPlayer.stop();
-      mediaPlayer.release();
+      mediaPlayer.reset();
       voiceListener.onDone();
     }
   }
 
-  private void downloadVoiceFile(final String instruction, String textType) {
-    boolean isInvalidInstruction = TextUtils.isEmpty(instruction);
-    if (isMuted || isInvalidInstruction) {
-      return;
-    }
-
+  private void downloadVoiceClip(final String instruction, final String textType) {
     voiceInstructionLoader.requestInstruction(instruction, textType, new Callback<ResponseBody>() {
       @Override
       public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
         if (response.isSuccessful()) {
-          executeInstructionTask(response.body());
+          readInstructionClip(instruction, textType, response.body());
         } else {
           try {
             onError(response.errorBody().string());
@@ -154,39 +170,85 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     });
   }
 
+  private void readInstructionClip(String instruction, String textType, ResponseBody responseBody) {
+    if (responseBody == null) {
+      onError("There was an error downloading the voice files.");
+      return;
+    }
+    try {
+      // Retrofit has already buffered the body, this doesn't touch the network
+      byte[] clip = responseBody.bytes();
+      voiceInstructionLoader.storeClip(instruction, textType, clip);
+      enqueueInstruction(clip);
+    } catch (IOException exception) {
+      onError(exception.getLocalizedMessage());
+    } finally {
+      responseBody.close();
+    }
+  }
+
   private void onError(String errorText) {
     voiceListener.onError(errorText, announcement);
   }
 
-  private void playInstruction(@NonNull File instruction) {
-    setupMediaPlayer(instruction.getPath());
+  private void enqueueInstruction(byte[] clip) {
+    if (isMuted) {
+      return;
+    }
+    boolean isUpNext = instructionQueue.isEmpty();
+    instructionQueue.add(clip);
+    if (isUpNext) {
+      playInstruction(clip);
+    }
   }
 
-  private void setupMediaPlayer(String instructionPath) {
-    if (TextUtils.isEmpty(instructionPath)) {
-      return;
+  private void playInstruction(@NonNull byte[] clip) {
+    if (mediaPlayer == null) {
+      mediaPlayer = new MediaPlayer();
+      addListeners();
+    } else {
+      mediaPlayer.reset();
+    }
+    if (setDataSource(clip)) {
+      mediaPlayer.prepareAsync();
+    } else {
+      onInstructionFinishedPlaying();
     }
-    mediaPlayer = new MediaPlayer();
-    setDataSource(instructionPath);
-    mediaPlayer.prepareAsync();
-    addListeners();
   }
 
   private void pauseInstruction() {
     if (isPlaying) {
       isPlaying = false;
-      mediaPlayer.stop();
+      mediaPlayer.reset();
     }
   }
 
-  private void setDataSource(String instruction) {
+  private boolean setDataSource(byte[] clip) {
     try {
-      mediaPlayer.setDataSource(instruction);
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+        mediaPlayer.setDataSource(new ByteArrayMediaDataSource(clip));
+      } else {
+        mediaPlayer.setDataSource(writeInstructionFile(clip).getPath());
+      }
+      return true;
     } catch (IOException ioException) {
       Timber.e(ERROR_TEXT, ioException.getMessage());
+      return false;
     }
   }
 
+  private File writeInstructionFile(byte[] clip) throws IOException {
+    // the previous clip is done at this point, so a single file can be reused
+    File instructionFile = new File(mapboxCache, INSTRUCTION_FILE);
+    FileOutputStream outputStream = new FileOutputStream(instructionFile);
+    try {
+      outputStream.write(clip);
+    } finally {
+      outputStream.close();
+    }
+    return instructionFile;
+  }
+
   private void addListeners() {
     mediaPlayer.setOnPreparedListener(new MediaPlayer.OnPreparedListener() {
       @Override
@@ -199,7 +261,6 @@ class MapboxSpeechPlayer implements SpeechPlayer {
     mediaPlayer.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
       @Override
       public void onCompletion(MediaPlayer mp) {
-        mp.release();
         isPlaying = false;
         voiceListener.onDone();
         onInstructionFinishedPlaying();
@@ -208,46 +269,14 @@ class MapboxSpeechPlayer implements SpeechPlayer {
   }
 
   private void onInstructionFinishedPlaying() {
-    deleteLastInstructionPlayed();
+    instructionQueue.poll();
     startNextInstruction();
   }
 
-  private void deleteLastInstructionPlayed() {
-    if (!instructionQueue.isEmpty()) {
-      instructionQueue.poll().delete();
-    }
-  }
-
   private void startNextInstruction() {
-    if (!instructionQueue.isEmpty()) {
-      playInstruction(instructionQueue.peek());
-    }
-  }
-
-  private void clearInstructionUrls() {
-    while (!instructionQueue.isEmpty()) {
-      instructionQueue.remove().delete();
-    }
-  }
-
-  private void executeInstructionTask(ResponseBody responseBody) {
-    new DownloadTask(mapboxCache.getPath(), MP3_POSTFIX, new DownloadTask.DownloadListener() {
-      @Override
-      public void onFinishedDownloading(@NonNull File instructionFile) {
-        playInstructionIfUpNext(instructionFile);
-        instructionQueue.add(instructionFile);
-      }
-
-      @Override
-      public void onErrorDownloading() {
-        onError("There was an error downloading the voice files.");
-      }
-    }).executeOnExecutor(AsyncTask.SERIAL_EXECUTOR, responseBody);
-  }
-
-  private void playInstructionIfUpNext(File instructionFile) {
-    if (instructionQueue.isEmpty()) {
-      playInstruction(instructionFile);
+    byte[] nextClip = instructionQueue.peek();
+    if (nextClip != null) {
+      playInstruction(nextClip);
     }
   }
 }
@@ -0,0 +1,238 @@
+package com.mapbox.navigation.ui.voice;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import timber.log.Timber;
+
+/**
+ * On-disk cache of synthesized voice clips, shared across routes and sessions.
+ * <p>
+ * Clips are addressed by the content they were synthesized from, the language, the text type
+ * and the whitespace-normalized instruction, rather than by the request url. The same phrase
+ * is therefore reused regardless of the route or access token it was requested with.
+ * The least recently used clips are removed once the cache grows over its size limit.
+ * <p>
+ * Access happens on a background thread, the index is built from the directory on first use.
+ * Only {@link #contains(String)} and the hit counters can be called from any thread, they never
+ * wait for the disk.
+ */
+class VoiceClipDiskCache {
+
+  private static final String CLIP_EXTENSION = ".mp3";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
+  private static final String KEY_SEPARATOR = "\n";
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final File directory;
+  private final long maxBytes;
+  // key -> clip size, in least recently used order
+  private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+  // keys of the stored clips, readable without holding the lock used for disk access
+  private final Set<String> storedKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private long usedBytes = 0;
+  private boolean isIndexed = false;
+  private volatile int hitCount = 0;
+  private volatile int missCount = 0;
+
+  VoiceClipDiskCache(File directory, long maxBytes) {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Builds the content address of a clip.
+   *
+   * @param language    of the synthesized voice
+   * @param textType    ssml or text
+   * @param instruction the clip is synthesized from
+   * @return hex encoded key
+   */
+  static String key(String language, String textType, String instruction) {
+    String normalizedInstruction = WHITESPACE.matcher(instruction).replaceAll(" ").trim();
+    String content = language + KEY_SEPARATOR + textType + KEY_SEPARATOR + normalizedInstruction;
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(UTF_8));
+      char[] hex = new char[digest.length * 2];
+      for (int i = 0; i < digest.length; i++) {
+        hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+        hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+      }
+      return new String(hex);
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  /**
+   * Builds the index of the stored clips, so it doesn't have to happen on the first lookup.
+   */
+  synchronized void load() {
+    ensureIndexed();
+  }
+
+  /**
+   * Checks whether a clip is stored, without touching the disk.
+   * Clips stored in previous sessions are only found once {@link #load()} has completed.
+   *
+   * @param key content address of the clip
+   * @return true if the clip is stored
+   */
+  boolean contains(String key) {
+    return storedKeys.contains(key);
+  }
+
+  @Nullable
+  synchronized byte[] get(String key) {
+    ensureIndexed();
+    if (entries.get(key) == null) {
+      missCount++;
+      return null;
+    }
+    File clipFile = clipFile(key);
+    try {
+      byte[] clip = readFile(clipFile);
+      clipFile.setLastModified(System.currentTimeMillis());
+      hitCount++;
+      return clip;
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to read voice clip");
+      remove(key);
+      missCount++;
+      return null;
+    }
+  }
+
+  synchronized void put(String key, byte[] clip) {
+    ensureIndexed();
+    if (entries.containsKey(key) || clip.length > maxBytes) {
+      return;
+    }
+    File temporaryFile = new File(directory, key + TEMPORARY_EXTENSION);
+    try {
+      writeFile(temporaryFile, clip);
+      if (!temporaryFile.renameTo(clipFile(key))) {
+        throw new IOException("Unable to move voice clip into the cache");
+      }
+    } catch (IOException exception) {
+      Timber.e(exception, "Unable to store voice clip");
+      temporaryFile.delete();
+      return;
+    }
+    entries.put(key, (long) clip.length);
+    storedKeys.add(key);
+    usedBytes += clip.length;
+    trimToSize();
+  }
+
+  int hitCount() {
+    return hitCount;
+  }
+
+  int missCount() {
+    return missCount;
+  }
+
+  private void ensureIndexed() {
+    if (isIndexed) {
+      return;
+    }
+    isIndexed = true;
+    if (!directory.exists() && !directory.mkdirs()) {
+      Timber.e("Unable to create voice clip cache directory");
+      return;
+    }
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File first, File second) {
+        return Long.compare(first.lastModified(), second.lastModified());
+      }
+    });
+    for (File file : files) {
+      String name = file.getName();
+      if (name.endsWith(CLIP_EXTENSION)) {
+        String key = name.substring(0, name.length() - CLIP_EXTENSION.length());
+        entries.put(key, file.length());
+        storedKeys.add(key);
+        usedBytes += file.length();
+      } else {
+        // leftover of an interrupted write
+        file.delete();
+      }
+    }
+    trimToSize();
+  }
+
+  private void trimToSize() {
+    Iterator<Map.Entry<String, Long>> leastRecentlyUsed = entries.entrySet().iterator();
+    while (usedBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+      Map.Entry<String, Long> entry = leastRecentlyUsed.next();
+      clipFile(entry.getKey()).delete();
+      storedKeys.remove(entry.getKey());
+      usedBytes -= entry.getValue();
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  private void remove(String key) {
+    Long size = entries.remove(key);
+    storedKeys.remove(key);
+    if (size != null) {
+      usedBytes -= size;
+    }
+    clipFile(key).delete();
+  }
+
+  private File clipFile(String key) {
+    return new File(directory, key + CLIP_EXTENSION);
+  }
+
+  private static byte[] readFile(File file) throws IOException {
+    byte[] content = new byte[(int) file.length()];
+    FileInputStream inputStream = new FileInputStream(file);
+    try {
+      int offset = 0;
+      while (offset < content.length) {
+        int read = inputStream.read(content, offset, content.length - offset);
+        if (read < 0) {
+          throw new IOException("Voice clip is truncated");
+        }
+        offset += read;
+      }
+    } finally {
+      inputStream.close();
+    }
+    return content;
+  }
+
+  private static void writeFile(File file, byte[] content) throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(content);
+    } finally {
+      outputStream.close();
+    }
+  }
+}
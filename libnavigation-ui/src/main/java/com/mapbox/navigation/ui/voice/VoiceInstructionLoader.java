@@ -1,15 +1,27 @@
 package com.mapbox.navigation.ui.voice;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextUtils;
 
+import androidx.annotation.Nullable;
+
 import com.mapbox.api.speech.v1.MapboxSpeech;
 import com.mapbox.navigation.ui.ConnectivityStatusProvider;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Cache;
@@ -22,68 +34,174 @@ import retrofit2.Callback;
 import timber.log.Timber;
 
 public class VoiceInstructionLoader {
-  private static final int VOICE_INSTRUCTIONS_TO_EVICT_THRESHOLD = 4;
+  private static final int MAX_CONCURRENT_DOWNLOADS = 4;
+  private static final int MAX_CACHED_INSTRUCTIONS = 250;
+  private static final long MAX_POOLED_AUDIO_BYTES = 2 * 1024 * 1024;
+  private static final long MAX_VOICE_CLIP_CACHE_BYTES = 25 * 1024 * 1024;
+  private static final String VOICE_CLIP_CACHE = "mapbox_voice_clip_cache";
   private static final String SSML_TEXT_TYPE = "ssml";
   private final ConnectivityStatusProvider connectivityStatus;
   private final String accessToken;
-  private List<String> urlsCached;
   private final Cache cache;
   private final Context context;
+  private final int maxCachedInstructions;
+  // instruction -> url of the cached audio, in least recently used order
+  private final LinkedHashMap<String, String> cachedInstructions = new LinkedHashMap<>(16, 0.75f, true);
+  private final ArrayDeque<String> instructionsToPrefetch = new ArrayDeque<>();
+  private final Set<String> urlsToEvict = new HashSet<>();
+  private final AudioClipPool audioClipPool = new AudioClipPool(MAX_POOLED_AUDIO_BYTES);
+  private final VoiceClipDiskCache voiceClipCache;
+  private final Executor diskExecutor;
+  private final Handler mainHandler;
+  private int downloadsInProgress = 0;
+  private String language = "";
   private MapboxSpeech.Builder mapboxSpeechBuilder = null;
 
   public VoiceInstructionLoader(Context context, String accessToken, Cache cache) {
-    this.connectivityStatus = new ConnectivityStatusProvider(context);
-    this.accessToken = accessToken;
-    this.context = context;
-    this.urlsCached = new ArrayList<>();
-    this.cache = cache;
+    this(context, accessToken, cache, null, new ConnectivityStatusProvider(context), MAX_CACHED_INSTRUCTIONS,
+      new VoiceClipDiskCache(new File(context.getCacheDir(), VOICE_CLIP_CACHE), MAX_VOICE_CLIP_CACHE_BYTES),
+      Executors.newSingleThreadExecutor());
   }
 
   // Package private (no modifier) for testing purposes
   VoiceInstructionLoader(Context context, String accessToken, Cache cache, MapboxSpeech.Builder mapboxSpeechBuilder,
-                         ConnectivityStatusProvider connectivityStatus) {
+                         ConnectivityStatusProvider connectivityStatus, int maxCachedInstructions,
+                         VoiceClipDiskCache voiceClipCache, Executor diskExecutor) {
     this.accessToken = accessToken;
     this.context = context;
-    this.urlsCached = new ArrayList<>();
     this.cache = cache;
     this.mapboxSpeechBuilder = mapboxSpeechBuilder;
     this.connectivityStatus = connectivityStatus;
+    this.maxCachedInstructions = maxCachedInstructions;
+    this.voiceClipCache = voiceClipCache;
+    this.diskExecutor = diskExecutor;
+    this.mainHandler = new Handler(Looper.getMainLooper());
+    diskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        voiceClipCache.load();
+      }
+    });
   }
 
-  public List<String> evictVoiceInstructions() {
-    List<String> urlsToRemove = new ArrayList<>();
-    for (int i = 0; i < urlsCached.size() && i < VOICE_INSTRUCTIONS_TO_EVICT_THRESHOLD; i++) {
-      String urlToRemove = urlsCached.get(i);
-      try {
-        Iterator<String> urlsCurrentlyCached = cache.urls();
-        for (Iterator<String> urlCached = urlsCurrentlyCached; urlCached.hasNext(); ) {
-          String url = urlCached.next();
-          if (url.equals(urlToRemove)) {
-            urlCached.remove();
-            urlsToRemove.add(urlToRemove);
-            break;
-          }
+  /**
+   * Removes the audio of the least recently used instructions that no longer fit
+   * into the cache from the HTTP cache.
+   *
+   * @return urls of the removed audio
+   */
+  public synchronized List<String> evictVoiceInstructions() {
+    List<String> urlsRemoved = new ArrayList<>();
+    if (urlsToEvict.isEmpty()) {
+      return urlsRemoved;
+    }
+    try {
+      // OkHttp only allows removing entries through this iterator, so all the pending
+      // urls are removed in a single pass
+      for (Iterator<String> urlCached = cache.urls(); urlCached.hasNext(); ) {
+        String url = urlCached.next();
+        if (urlsToEvict.contains(url)) {
+          urlCached.remove();
+          urlsRemoved.add(url);
         }
-      } catch (IOException exception) {
-        exception.printStackTrace();
       }
+    } catch (IOException exception) {
+      Timber.e(exception);
     }
-    urlsCached.removeAll(urlsToRemove);
-    return urlsToRemove;
+    urlsToEvict.clear();
+    return urlsRemoved;
   }
 
-  public void cacheInstructions(List<String> instructions) {
+  /**
+   * Replaces the pending prefetch queue with the given instructions.
+   * The instructions are downloaded in order, with at most {@link #MAX_CONCURRENT_DOWNLOADS}
+   * requests in flight, so they should be sorted by the distance to their announcement.
+   * Instructions which are already cached are only marked as recently used, and the audio kept
+   * in memory for instructions that are no longer in the list is released.
+   *
+   * @param instructions SSML instructions to prefetch
+   */
+  public synchronized void cacheInstructions(List<String> instructions) {
+    instructionsToPrefetch.clear();
+    audioClipPool.retainAll(new HashSet<>(instructions));
     for (String instruction : instructions) {
-      cacheInstruction(instruction);
+      if (TextUtils.isEmpty(instruction)) {
+        continue;
+      }
+      boolean isCached = cachedInstructions.get(instruction) != null
+        || voiceClipCache.contains(VoiceClipDiskCache.key(language, SSML_TEXT_TYPE, instruction));
+      if (!isCached) {
+        instructionsToPrefetch.add(instruction);
+      }
     }
+    prefetchNext();
   }
 
-  // Package private (no modifier) for testing purposes
-  void addStubUrlsToCache(List<String> urlsToCache) {
-    this.urlsCached = urlsToCache;
+  synchronized void onInstructionCached(String instruction, String url, byte[] clip) {
+    cachedInstructions.put(instruction, url);
+    audioClipPool.offer(instruction, clip);
+    storeClip(instruction, SSML_TEXT_TYPE, clip);
+    urlsToEvict.remove(url);
+    Iterator<Map.Entry<String, String>> leastRecentlyUsed = cachedInstructions.entrySet().iterator();
+    while (cachedInstructions.size() > maxCachedInstructions) {
+      urlsToEvict.add(leastRecentlyUsed.next().getValue());
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  /**
+   * Looks the audio of the instruction up in the memory pool and then in the on-disk clip cache.
+   * The callback is invoked on the main thread, with null if the audio has to be downloaded.
+   *
+   * @param instruction instruction text
+   * @param textType    ssml or text
+   * @param callback    receives the audio
+   */
+  void loadCachedClip(String instruction, String textType, final ClipCallback callback) {
+    byte[] pooledClip = audioClipPool.take(instruction);
+    if (pooledClip != null) {
+      callback.onClipLoaded(pooledClip);
+      return;
+    }
+    final String key = VoiceClipDiskCache.key(language, textType, instruction);
+    diskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        final byte[] clip = voiceClipCache.get(key);
+        mainHandler.post(new Runnable() {
+          @Override
+          public void run() {
+            callback.onClipLoaded(clip);
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Stores downloaded audio in the on-disk clip cache.
+   *
+   * @param instruction instruction text
+   * @param textType    ssml or text
+   * @param clip        encoded audio
+   */
+  void storeClip(String instruction, String textType, final byte[] clip) {
+    final String key = VoiceClipDiskCache.key(language, textType, instruction);
+    diskExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        voiceClipCache.put(key, clip);
+      }
+    });
+  }
+
+  synchronized void onPrefetchFinished() {
+    downloadsInProgress--;
+    prefetchNext();
   }
 
   void setupMapboxSpeechBuilder(String language) {
+    this.language = language;
     if (mapboxSpeechBuilder == null) {
       mapboxSpeechBuilder = MapboxSpeech.builder()
               .accessToken(accessToken)
@@ -94,7 +212,7 @@ public class VoiceInstructionLoader {
   }
 
   void requestInstruction(String instruction, String textType, Callback<ResponseBody> callback) {
-    if (context != null && !cache.isClosed() && mapboxSpeechBuilder != null) {
+    if (canRequestInstruction()) {
       mapboxSpeechBuilder
               .instruction(instruction); // TODO Sku interceptor
       MapboxSpeech mapboxSpeech = mapboxSpeechBuilder
@@ -105,11 +223,35 @@ public class VoiceInstructionLoader {
     }
   }
 
-  boolean hasCache() {
-    return !urlsCached.isEmpty();
+  /**
+   * Number of instructions whose audio was read from the on-disk clip cache since it was created.
+   *
+   * @return voice clip cache hits
+   */
+  public int getVoiceClipCacheHitCount() {
+    return voiceClipCache.hitCount();
+  }
+
+  /**
+   * Number of instructions whose audio wasn't found in the on-disk clip cache and had to be downloaded.
+   *
+   * @return voice clip cache misses
+   */
+  public int getVoiceClipCacheMissCount() {
+    return voiceClipCache.missCount();
+  }
+
+  synchronized boolean hasCache() {
+    return !cachedInstructions.isEmpty();
   }
 
   void flushCache() {
+    synchronized (this) {
+      instructionsToPrefetch.clear();
+      cachedInstructions.clear();
+      urlsToEvict.clear();
+    }
+    audioClipPool.clear();
     try {
       cache.evictAll();
     } catch (IOException exception) {
@@ -117,14 +259,22 @@ public class VoiceInstructionLoader {
     }
   }
 
-  void addCachedUrl(String url) {
-    urlsCached.add(url);
+  private void prefetchNext() {
+    while (downloadsInProgress < MAX_CONCURRENT_DOWNLOADS && !instructionsToPrefetch.isEmpty()) {
+      if (!connectivityStatus.isConnected()) {
+        instructionsToPrefetch.clear();
+        return;
+      }
+      String instruction = instructionsToPrefetch.poll();
+      if (canRequestInstruction()) {
+        downloadsInProgress++;
+        requestInstruction(instruction, SSML_TEXT_TYPE, new InstructionCacheCallback(this, instruction));
+      }
+    }
   }
 
-  private void cacheInstruction(String instruction) {
-    if (!TextUtils.isEmpty(instruction)) {
-      requestInstruction(instruction, SSML_TEXT_TYPE, new InstructionCacheCallback(this));
-    }
+  private boolean canRequestInstruction() {
+    return context != null && !cache.isClosed() && mapboxSpeechBuilder != null;
   }
 
   private Interceptor provideOfflineCacheInterceptor() {
@@ -144,4 +294,8 @@ public class VoiceInstructionLoader {
       }
     };
   }
+
+  interface ClipCallback {
+    void onClipLoaded(@Nullable byte[] clip);
+  }
 }
@@ -0,0 +1,164 @@
+package com.mapbox.navigation.ui;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CorridorPrefetcherTest {
+
+  private static final int TILE_SIZE_BYTES = 1000;
+  private static final long DAY_MILLIS = 24 * 60 * 60 * 1000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File tileSource;
+  private File storage;
+
+  @Before
+  public void setUp() throws IOException {
+    tileSource = temporaryFolder.newFolder("tiles");
+    storage = temporaryFolder.newFolder("regions");
+    FileTileRegionStore.writeTiles(tileSource, new RegionBounds(-79.0, 38.5, -74.0, 39.5), TILE_SIZE_BYTES);
+  }
+
+  @Test
+  public void chunksAreDownloadedInOrderWithinConcurrencyLimit() {
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 2, Long.MAX_VALUE);
+    List<RegionBounds> chunks = buildChunks(0, 4);
+
+    prefetcher.prefetch(chunks, DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+
+    assertEquals(2, store.getPendingCount());
+    assertEquals(chunks.subList(0, 2), store.getDownloadedBounds());
+
+    store.completeNext();
+
+    assertEquals(2, store.getPendingCount());
+    assertEquals(chunks.subList(0, 3), store.getDownloadedBounds());
+  }
+
+  @Test
+  public void callbackIsCompletedOnceAllChunksAreDownloaded() {
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 2, Long.MAX_VALUE);
+    OfflineRegionDownloadCallback callback = mock(OfflineRegionDownloadCallback.class);
+
+    prefetcher.prefetch(buildChunks(0, 3), DAY_MILLIS, callback);
+    store.completeNext();
+    store.completeNext();
+
+    verify(callback, never()).onComplete();
+
+    store.completeAll();
+
+    verify(callback).onComplete();
+    assertEquals(3, store.getStoredRegionCount());
+    assertEquals(12 * TILE_SIZE_BYTES, prefetcher.getStoredBytes());
+  }
+
+  @Test
+  public void regionsFromPreviousSessionAreReused() {
+    FileTileRegionStore previousStore = new FileTileRegionStore(tileSource, storage);
+    buildPrefetcher(previousStore, 2, Long.MAX_VALUE)
+      .prefetch(buildChunks(0, 2), DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+    previousStore.completeAll();
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 2, Long.MAX_VALUE);
+    List<RegionBounds> chunks = buildChunks(0, 3);
+
+    prefetcher.prefetch(chunks, 2 * DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+
+    assertEquals(chunks.subList(2, 3), store.getDownloadedBounds());
+  }
+
+  @Test
+  public void expiredRegionsAreEvicted() {
+    FileTileRegionStore previousStore = new FileTileRegionStore(tileSource, storage);
+    buildPrefetcher(previousStore, 2, Long.MAX_VALUE)
+      .prefetch(buildChunks(0, 2), DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+    previousStore.completeAll();
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 2, Long.MAX_VALUE);
+    List<RegionBounds> chunks = buildChunks(0, 2);
+
+    prefetcher.prefetch(chunks, 40 * DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+
+    assertEquals(0, store.getStoredRegionCount());
+    assertEquals(chunks, store.getDownloadedBounds());
+  }
+
+  @Test
+  public void oldestRegionAwayFromCorridorIsEvictedWhenBudgetIsReached() {
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 1, 8 * TILE_SIZE_BYTES);
+    prefetcher.prefetch(buildChunks(0, 1), DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+    store.completeAll();
+    prefetcher.prefetch(buildChunks(10, 1), 2 * DAY_MILLIS, mock(OfflineRegionDownloadCallback.class));
+    store.completeAll();
+    OfflineRegionDownloadCallback callback = mock(OfflineRegionDownloadCallback.class);
+
+    prefetcher.prefetch(buildChunks(20, 2), 3 * DAY_MILLIS, callback);
+    store.completeAll();
+
+    verify(callback).onComplete();
+    assertEquals(4, store.getDownloadedBounds().size());
+    assertEquals(3, store.getStoredRegionCount());
+    assertEquals(8 * TILE_SIZE_BYTES, prefetcher.getStoredBytes());
+  }
+
+  @Test
+  public void chunksAreSkippedWhenBudgetIsTakenByCorridor() {
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 1, TILE_SIZE_BYTES);
+    OfflineRegionDownloadCallback callback = mock(OfflineRegionDownloadCallback.class);
+
+    prefetcher.prefetch(buildChunks(0, 3), DAY_MILLIS, callback);
+    store.completeAll();
+
+    verify(callback).onError(anyString());
+    assertEquals(1, store.getDownloadedBounds().size());
+  }
+
+  @Test
+  public void cancelStopsDownloadsInProgress() {
+    FileTileRegionStore store = new FileTileRegionStore(tileSource, storage);
+    CorridorPrefetcher prefetcher = buildPrefetcher(store, 2, Long.MAX_VALUE);
+    OfflineRegionDownloadCallback callback = mock(OfflineRegionDownloadCallback.class);
+    prefetcher.prefetch(buildChunks(0, 4), DAY_MILLIS, callback);
+
+    prefetcher.cancel();
+
+    assertEquals(0, store.getPendingCount());
+    assertEquals(0, prefetcher.getActiveDownloadCount());
+    assertEquals(2, store.getDownloadedBounds().size());
+    verify(callback, never()).onComplete();
+  }
+
+  private CorridorPrefetcher buildPrefetcher(OfflineRegionStore store, int maxConcurrentDownloads,
+                                             long maxStorageBytes) {
+    return new CorridorPrefetcher(store, maxConcurrentDownloads, maxStorageBytes, 30 * DAY_MILLIS);
+  }
+
+  private List<RegionBounds> buildChunks(int first, int count) {
+    List<RegionBounds> chunks = new ArrayList<>();
+    for (int i = first; i < first + count; i++) {
+      double west = -77.9 + i * 0.1;
+      chunks.add(new RegionBounds(west, 39.0, west + 0.05, 39.05));
+    }
+    return chunks;
+  }
+}
@@ -0,0 +1,170 @@
+package com.mapbox.navigation.ui;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Scanner;
+
+/**
+ * {@link OfflineRegionStore} copying tiles from a local directory laid out as {@code z/x/y.pbf},
+ * one directory per region. A new instance over the same directory acts as a new session.
+ * Downloads complete when {@link #completeNext()} is called, to control what is in flight.
+ */
+class FileTileRegionStore implements OfflineRegionStore {
+
+  static final int ZOOM = 12;
+  private static final String REGION_FILE = "region";
+
+  private final File tileSource;
+  private final File storage;
+  private final Queue<Runnable> pendingCompletions = new ArrayDeque<>();
+  private final List<RegionBounds> downloadedBounds = new ArrayList<>();
+
+  FileTileRegionStore(File tileSource, File storage) {
+    this.tileSource = tileSource;
+    this.storage = storage;
+  }
+
+  static void writeTiles(File tileSource, RegionBounds bounds, int tileSizeBytes) throws IOException {
+    for (int x = tileX(bounds.getWest()); x <= tileX(bounds.getEast()); x++) {
+      for (int y = tileY(bounds.getNorth()); y <= tileY(bounds.getSouth()); y++) {
+        File tile = new File(tileSource, ZOOM + "/" + x + "/" + y + ".pbf");
+        tile.getParentFile().mkdirs();
+        Files.write(tile.toPath(), new byte[tileSizeBytes]);
+      }
+    }
+  }
+
+  @Override
+  public void list(@NonNull ListCallback callback) {
+    List<StoredRegion> regions = new ArrayList<>();
+    File[] regionDirectories = storage.listFiles();
+    if (regionDirectories != null) {
+      for (File regionDirectory : regionDirectories) {
+        try (Scanner scanner = new Scanner(new File(regionDirectory, REGION_FILE)).useLocale(Locale.US)) {
+          RegionBounds bounds = new RegionBounds(scanner.nextDouble(), scanner.nextDouble(),
+            scanner.nextDouble(), scanner.nextDouble());
+          regions.add(new StoredRegion(Long.parseLong(regionDirectory.getName()), bounds,
+            scanner.nextLong(), scanner.nextLong()));
+        } catch (IOException exception) {
+          callback.onError(exception.getMessage());
+          return;
+        }
+      }
+    }
+    callback.onList(regions);
+  }
+
+  @Override
+  public void download(@NonNull final RegionBounds bounds, final long createdAtMillis,
+                       @NonNull final DownloadCallback callback) {
+    downloadedBounds.add(bounds);
+    pendingCompletions.add(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          callback.onComplete(copyTiles(bounds, createdAtMillis));
+        } catch (IOException exception) {
+          callback.onError(exception.getMessage());
+        }
+      }
+    });
+  }
+
+  @Override
+  public void cancelDownloads() {
+    pendingCompletions.clear();
+  }
+
+  @Override
+  public void delete(@NonNull StoredRegion region) {
+    File regionDirectory = new File(storage, String.valueOf(region.getId()));
+    deleteRecursively(regionDirectory);
+  }
+
+  void completeNext() {
+    pendingCompletions.remove().run();
+  }
+
+  void completeAll() {
+    while (!pendingCompletions.isEmpty()) {
+      completeNext();
+    }
+  }
+
+  int getPendingCount() {
+    return pendingCompletions.size();
+  }
+
+  List<RegionBounds> getDownloadedBounds() {
+    return downloadedBounds;
+  }
+
+  int getStoredRegionCount() {
+    File[] regionDirectories = storage.listFiles();
+    return regionDirectories == null ? 0 : regionDirectories.length;
+  }
+
+  private StoredRegion copyTiles(RegionBounds bounds, long createdAtMillis) throws IOException {
+    long id = nextId();
+    File regionDirectory = new File(storage, String.valueOf(id));
+    long sizeBytes = 0;
+    for (int x = tileX(bounds.getWest()); x <= tileX(bounds.getEast()); x++) {
+      for (int y = tileY(bounds.getNorth()); y <= tileY(bounds.getSouth()); y++) {
+        String tilePath = ZOOM + "/" + x + "/" + y + ".pbf";
+        File tile = new File(tileSource, tilePath);
+        if (!tile.exists()) {
+          throw new IOException("Tile not found " + tilePath);
+        }
+        File copy = new File(regionDirectory, tilePath);
+        copy.getParentFile().mkdirs();
+        Files.copy(tile.toPath(), copy.toPath());
+        sizeBytes += copy.length();
+      }
+    }
+    try (FileWriter writer = new FileWriter(new File(regionDirectory, REGION_FILE))) {
+      writer.write(bounds.getWest() + " " + bounds.getSouth() + " " + bounds.getEast() + " "
+        + bounds.getNorth() + " " + createdAtMillis + " " + sizeBytes);
+    }
+    return new StoredRegion(id, bounds, createdAtMillis, sizeBytes);
+  }
+
+  private long nextId() {
+    long id = 0;
+    File[] regionDirectories = storage.listFiles();
+    if (regionDirectories != null) {
+      for (File regionDirectory : regionDirectories) {
+        id = Math.max(id, Long.parseLong(regionDirectory.getName()) + 1);
+      }
+    }
+    return id;
+  }
+
+  private static int tileX(double longitude) {
+    return (int) Math.floor((longitude + 180.0) / 360.0 * (1 << ZOOM));
+  }
+
+  private static int tileY(double latitude) {
+    double latitudeRadians = Math.toRadians(latitude);
+    double y = (1.0 - Math.log(Math.tan(latitudeRadians) + 1.0 / Math.cos(latitudeRadians)) / Math.PI) / 2.0;
+    return (int) Math.floor(y * (1 << ZOOM));
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+}
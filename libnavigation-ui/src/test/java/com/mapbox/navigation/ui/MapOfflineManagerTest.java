@@ -1,33 +1,42 @@
 package com.mapbox.navigation.ui;
 
-import android.location.Location;
-
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.api.directions.v5.models.RouteOptions;
-import com.mapbox.geojson.Geometry;
-import com.mapbox.geojson.gson.GeometryGeoJson;
-import com.mapbox.mapboxsdk.offline.OfflineGeometryRegionDefinition;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
 import com.mapbox.mapboxsdk.offline.OfflineManager;
+import com.mapbox.navigation.base.route.internal.CompactRoute;
 import com.mapbox.navigation.base.trip.model.RouteProgress;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MapOfflineManagerTest {
 
+  private static final String A_ROUTE_GEOMETRY = PolylineUtils.encode(Arrays.asList(
+    Point.fromLngLat(-77.15, 39.08), Point.fromLngLat(-77.16, 39.11)), 6);
+  private static final String ANOTHER_ROUTE_GEOMETRY = PolylineUtils.encode(Arrays.asList(
+    Point.fromLngLat(-77.15, 39.08), Point.fromLngLat(-77.14, 39.09)), 6);
+  private static final double LOOK_AHEAD_METERS = 20000;
+
   @Test
-  public void checksDefaultMapConnectivityIsSetWhenDownloadingRouteBuffer() {
-    String aRouteSummary = "cjuykbm4705v26pnpvqlbjm5n";
+  public void checksDefaultMapConnectivityIsSetWhenPrefetchingRouteCorridor() {
     MapConnectivityController mockedMapConnectivityController = mock(MapConnectivityController.class);
-    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(aRouteSummary, mockedMapConnectivityController);
-    Location mockedLocation = mock(Location.class);
-    Geometry aRouteBufferGeometry = buildARouteBufferGeometry();
-    RouteProgress mockedRouteProgress = buildMockRouteProgress(aRouteSummary, aRouteBufferGeometry);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(buildMockChunker(),
+      mock(CorridorPrefetcher.class), mockedMapConnectivityController, mock(RegionDownloadCallback.class));
+    RouteProgress mockedRouteProgress = buildMockRouteProgress(A_ROUTE_GEOMETRY, 0f);
     Boolean defaultState = null;
 
     theMapOfflineManager.onRouteProgressChanged(mockedRouteProgress);
@@ -36,87 +45,83 @@ public class MapOfflineManagerTest {
   }
 
   @Test
-  public void checksCreateOfflineRegionIsCalledWhenDownloadingRouteBuffer() {
-    OfflineManager mockedOfflineManager = mock(OfflineManager.class);
-    OfflineRegionDefinitionProvider mockedOfflineRegionDefinitionProvider = mock(OfflineRegionDefinitionProvider.class);
-    String guidanceStyleUrl = "mapbox://styles/mapbox/navigation-guidance-day-v4";
-    float anyPixelRatio = 3.0f;
-    OfflineRegionDefinitionProvider anOfflineRegionDefinitionProvider =
-      new OfflineRegionDefinitionProvider(guidanceStyleUrl, anyPixelRatio);
-    Geometry aRouteBufferGeometry = buildARouteBufferGeometry();
-    OfflineGeometryRegionDefinition routeBufferDefinition =
-      anOfflineRegionDefinitionProvider.buildRegionFor(aRouteBufferGeometry);
-    when(mockedOfflineRegionDefinitionProvider.buildRegionFor(eq(aRouteBufferGeometry))).thenReturn(routeBufferDefinition);
-    OfflineMetadataProvider mockedOfflineMetadataProvider = mock(OfflineMetadataProvider.class);
-    OfflineMetadataProvider anOfflineMetadataProvider = new OfflineMetadataProvider();
-    String aRouteSummary = "cjuykbm4705v26pnpvqlbjm5n";
-    byte[] routeSummaryMetadata = anOfflineMetadataProvider.buildMetadataFor(aRouteSummary);
-    when(mockedOfflineMetadataProvider.buildMetadataFor(eq(aRouteSummary))).thenReturn(routeSummaryMetadata);
-    MapConnectivityController mockedMapConnectivityController = mock(MapConnectivityController.class);
+  public void checksCorridorChunksArePrefetchedFromCurrentPosition() {
+    RouteCorridorChunker mockedChunker = buildMockChunker();
+    List<RegionBounds> chunks = Collections.singletonList(new RegionBounds(-77.1, 39.0, -77.0, 39.1));
+    when(mockedChunker.chunksAhead(any(CompactRoute.class), eq(1500.0))).thenReturn(chunks);
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
     RegionDownloadCallback mockedRegionDownloadCallback = mock(RegionDownloadCallback.class);
-    MapOfflineManager theMapOfflineManager = new MapOfflineManager(mockedOfflineManager,
-      mockedOfflineRegionDefinitionProvider, mockedOfflineMetadataProvider, mockedMapConnectivityController,
-      mockedRegionDownloadCallback);
-    Location mockedLocation = mock(Location.class);
-    RouteProgress mockedRouteProgress = buildMockRouteProgress(aRouteSummary, aRouteBufferGeometry);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(mockedChunker, mockedCorridorPrefetcher,
+      mock(MapConnectivityController.class), mockedRegionDownloadCallback);
+    RouteProgress mockedRouteProgress = buildMockRouteProgress(A_ROUTE_GEOMETRY, 1500f);
 
     theMapOfflineManager.onRouteProgressChanged(mockedRouteProgress);
 
-    verify(mockedOfflineManager).createOfflineRegion(eq(routeBufferDefinition), eq(routeSummaryMetadata),
-      any(CreateOfflineRegionCallback.class));
+    verify(mockedCorridorPrefetcher).prefetch(eq(chunks), anyLong(), eq(mockedRegionDownloadCallback));
   }
 
-  /*@Test
-  public void checksDownloadIfPreviousRouteGeometryIsNotNullAndIsNotEqualToCurrentRouteGeometry() {
-    OfflineManager mockedOfflineManager = mock(OfflineManager.class);
-    OfflineRegionDefinitionProvider mockedOfflineRegionDefinitionProvider = mock(OfflineRegionDefinitionProvider.class);
-    String guidanceStyleUrl = "mapbox://styles/mapbox/navigation-guidance-day-v4";
-    float anyPixelRatio = 3.0f;
-    OfflineRegionDefinitionProvider anOfflineRegionDefinitionProvider =
-      new OfflineRegionDefinitionProvider(guidanceStyleUrl, anyPixelRatio);
-    OfflineMetadataProvider mockedOfflineMetadataProvider = mock(OfflineMetadataProvider.class);
-    OfflineMetadataProvider anOfflineMetadataProvider = new OfflineMetadataProvider();
-    String aRouteSummary = "cjuykbm4705v26pnpvqlbjm5n";
-    byte[] routeSummaryMetadata = anOfflineMetadataProvider.buildMetadataFor(aRouteSummary);
-    when(mockedOfflineMetadataProvider.buildMetadataFor(eq(aRouteSummary))).thenReturn(routeSummaryMetadata);
+  @Test
+  public void checksCorridorIsNotPrefetchedAgainForSameRouteNearby() {
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(buildMockChunker(), mockedCorridorPrefetcher,
+      mock(MapConnectivityController.class), mock(RegionDownloadCallback.class));
+
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 0f));
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 5000f));
+
+    verify(mockedCorridorPrefetcher, times(1)).prefetch(any(List.class), anyLong(),
+      any(OfflineRegionDownloadCallback.class));
+  }
+
+  @Test
+  public void checksCorridorIsPrefetchedAgainForNewRoute() {
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(buildMockChunker(), mockedCorridorPrefetcher,
+      mock(MapConnectivityController.class), mock(RegionDownloadCallback.class));
+
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 0f));
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(ANOTHER_ROUTE_GEOMETRY, 0f));
+
+    verify(mockedCorridorPrefetcher, times(2)).prefetch(any(List.class), anyLong(),
+      any(OfflineRegionDownloadCallback.class));
+  }
+
+  @Test
+  public void checksCorridorIsPrefetchedAgainOnceHalfOfLookAheadIsDriven() {
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(buildMockChunker(), mockedCorridorPrefetcher,
+      mock(MapConnectivityController.class), mock(RegionDownloadCallback.class));
+
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 0f));
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 10000f));
+
+    verify(mockedCorridorPrefetcher, times(2)).prefetch(any(List.class), anyLong(),
+      any(OfflineRegionDownloadCallback.class));
+  }
+
+  @Test
+  public void checksNothingIsPrefetchedWithoutChunks() {
+    RouteCorridorChunker mockedChunker = buildMockChunker();
+    when(mockedChunker.chunksAhead(any(CompactRoute.class), anyDouble()))
+      .thenReturn(Collections.<RegionBounds>emptyList());
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
     MapConnectivityController mockedMapConnectivityController = mock(MapConnectivityController.class);
-    RegionDownloadCallback mockedRegionDownloadCallback = mock(RegionDownloadCallback.class);
-    MapOfflineManager theMapOfflineManager = new MapOfflineManager(mockedOfflineManager,
-      mockedOfflineRegionDefinitionProvider, mockedOfflineMetadataProvider, mockedMapConnectivityController,
-      mockedRegionDownloadCallback);
-    Location mockedLocation = mock(Location.class);
-    Geometry aRouteBufferGeometry = buildARouteBufferGeometry();
-    RouteProgress mockedRouteProgress = buildMockRouteProgress(aRouteSummary, aRouteBufferGeometry);
-    Geometry anotherRouteBufferGeometry = buildAnotherRouteBufferGeometry();
-    when(mockedRouteProgress.routeGeometryWithBuffer()).thenReturn(aRouteBufferGeometry, anotherRouteBufferGeometry);
-    OfflineGeometryRegionDefinition aRouteBufferDefinition =
-      anOfflineRegionDefinitionProvider.buildRegionFor(aRouteBufferGeometry);
-    OfflineGeometryRegionDefinition anotherRouteBufferDefinition =
-      anOfflineRegionDefinitionProvider.buildRegionFor(anotherRouteBufferGeometry);
-    when(mockedOfflineRegionDefinitionProvider.buildRegionFor(any(Geometry.class)))
-      .thenReturn(aRouteBufferDefinition, anotherRouteBufferDefinition);
-    Boolean defaultState = null;
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(mockedChunker, mockedCorridorPrefetcher,
+      mockedMapConnectivityController, mock(RegionDownloadCallback.class));
 
-    theMapOfflineManager.onRouteProgressChanged(mockedRouteProgress);
+    theMapOfflineManager.onRouteProgressChanged(buildMockRouteProgress(A_ROUTE_GEOMETRY, 0f));
 
-    verify(mockedMapConnectivityController, times(2)).assign(eq(defaultState));
-    InOrder inOrder = inOrder(mockedOfflineManager, mockedOfflineManager);
-    inOrder.verify(mockedOfflineManager).createOfflineRegion(eq(aRouteBufferDefinition), eq(routeSummaryMetadata),
-      any(CreateOfflineRegionCallback.class));
-    inOrder.verify(mockedOfflineManager).createOfflineRegion(eq(anotherRouteBufferDefinition), eq(routeSummaryMetadata),
-      any(CreateOfflineRegionCallback.class));
-  }*/
+    verify(mockedCorridorPrefetcher, never()).prefetch(any(List.class), anyLong(),
+      any(OfflineRegionDownloadCallback.class));
+    verify(mockedMapConnectivityController, never()).assign(any(Boolean.class));
+  }
 
   @Test
   public void checksMergeOfflineRegionsIsCalledWhenLoadDatabase() {
     OfflineManager mockedOfflineManager = mock(OfflineManager.class);
-    OfflineRegionDefinitionProvider mockedOfflineRegionDefinitionProvider = mock(OfflineRegionDefinitionProvider.class);
-    OfflineMetadataProvider mockedOfflineMetadataProvider = mock(OfflineMetadataProvider.class);
-    MapConnectivityController mockedMapConnectivityController = mock(MapConnectivityController.class);
-    RegionDownloadCallback mockedRegionDownloadCallback = mock(RegionDownloadCallback.class);
     MapOfflineManager theMapOfflineManager = new MapOfflineManager(mockedOfflineManager,
-      mockedOfflineRegionDefinitionProvider, mockedOfflineMetadataProvider, mockedMapConnectivityController,
-      mockedRegionDownloadCallback);
+      mock(RouteCorridorChunker.class), mock(CorridorPrefetcher.class), mock(MapConnectivityController.class),
+      mock(RegionDownloadCallback.class));
     String aDatabasePath = "a/database/path";
     OfflineDatabaseLoadedCallback mockedOfflineDatabaseLoadedCallback = mock(OfflineDatabaseLoadedCallback.class);
 
@@ -127,62 +132,49 @@ public class MapOfflineManagerTest {
 
   @Test
   public void checksMergeOfflineRegionsCallbackOnDestroyIsCalledIfNotNullWhenOnDestroy() {
-    OfflineManager mockedOfflineManager = mock(OfflineManager.class);
-    OfflineRegionDefinitionProvider mockedOfflineRegionDefinitionProvider = mock(OfflineRegionDefinitionProvider.class);
-    OfflineMetadataProvider mockedOfflineMetadataProvider = mock(OfflineMetadataProvider.class);
-    MapConnectivityController mockedMapConnectivityController = mock(MapConnectivityController.class);
-    RegionDownloadCallback mockedRegionDownloadCallback = mock(RegionDownloadCallback.class);
     MergeOfflineRegionsCallback mockedMergeOfflineRegionsCallback = mock(MergeOfflineRegionsCallback.class);
-    MapOfflineManager theMapOfflineManager = new MapOfflineManager(mockedOfflineManager,
-      mockedOfflineRegionDefinitionProvider, mockedOfflineMetadataProvider, mockedMapConnectivityController,
-      mockedRegionDownloadCallback, mockedMergeOfflineRegionsCallback);
+    MapOfflineManager theMapOfflineManager = new MapOfflineManager(mock(OfflineManager.class),
+      mock(RouteCorridorChunker.class), mock(CorridorPrefetcher.class), mock(MapConnectivityController.class),
+      mock(RegionDownloadCallback.class), mockedMergeOfflineRegionsCallback);
 
     theMapOfflineManager.onDestroy();
 
     verify(mockedMergeOfflineRegionsCallback).onDestroy();
   }
 
-  private MapOfflineManager buildMapOfflineManager(String routeSummary,
-                                                   MapConnectivityController mapConnectivityController) {
-    OfflineManager mockedOfflineManager = mock(OfflineManager.class);
-    OfflineRegionDefinitionProvider mockedOfflineRegionDefinitionProvider = mock(OfflineRegionDefinitionProvider.class);
-    OfflineMetadataProvider mockedOfflineMetadataProvider = mock(OfflineMetadataProvider.class);
-    OfflineMetadataProvider anOfflineMetadataProvider = new OfflineMetadataProvider();
-    byte[] routeSummaryMetadata = anOfflineMetadataProvider.buildMetadataFor(routeSummary);
-    when(mockedOfflineMetadataProvider.buildMetadataFor(eq(routeSummary))).thenReturn(routeSummaryMetadata);
-    RegionDownloadCallback mockedRegionDownloadCallback = mock(RegionDownloadCallback.class);
-    return new MapOfflineManager(mockedOfflineManager, mockedOfflineRegionDefinitionProvider,
-      mockedOfflineMetadataProvider, mapConnectivityController, mockedRegionDownloadCallback);
+  @Test
+  public void checksCorridorPrefetchIsCancelledWhenOnDestroy() {
+    CorridorPrefetcher mockedCorridorPrefetcher = mock(CorridorPrefetcher.class);
+    MapOfflineManager theMapOfflineManager = buildMapOfflineManager(buildMockChunker(), mockedCorridorPrefetcher,
+      mock(MapConnectivityController.class), mock(RegionDownloadCallback.class));
+
+    theMapOfflineManager.onDestroy();
+
+    verify(mockedCorridorPrefetcher).cancel();
   }
 
-  private RouteProgress buildMockRouteProgress(String routeSummary, Geometry routeBufferGeometry) {
-    RouteProgress mockedRouteProgress = mock(RouteProgress.class);
-    when(mockedRouteProgress.routeGeometryWithBuffer()).thenReturn(routeBufferGeometry);
-    DirectionsRoute mockedRoute = mock(DirectionsRoute.class);
-    RouteOptions mockedRouteOptions = mock(RouteOptions.class);
-    when(mockedRouteOptions.requestUuid()).thenReturn(routeSummary);
-    when(mockedRoute.routeOptions()).thenReturn(mockedRouteOptions);
-    when(mockedRouteProgress.route()).thenReturn(mockedRoute);
-    return mockedRouteProgress;
+  private MapOfflineManager buildMapOfflineManager(RouteCorridorChunker chunker,
+                                                   CorridorPrefetcher corridorPrefetcher,
+                                                   MapConnectivityController mapConnectivityController,
+                                                   RegionDownloadCallback regionDownloadCallback) {
+    return new MapOfflineManager(mock(OfflineManager.class), chunker, corridorPrefetcher,
+      mapConnectivityController, regionDownloadCallback);
   }
 
-  private Geometry buildARouteBufferGeometry() {
-    return GeometryGeoJson.fromJson("{\"type\":\"Polygon\",\"coordinates\":[[[-77" +
-      ".152533,39.085537],[-77.152533,39.083038],[-77.150031,39.083038],[-77.150031,39.085537],[-77.147529,39" +
-      ".085537],[-77.147529,39.088039],[-77.147529,39.090538],[-77.150031,39.090538],[-77.150031,39.093037],[-77" +
-      ".150031,39.095539],[-77.150031,39.098038],[-77.150031,39.100540],[-77.150031,39.103039],[-77.152533,39" +
-      ".103039],[-77.152533,39.105537],[-77.155028,39.105537],[-77.155028,39.108040],[-77.155028,39.110538],[-77" +
-      ".157531,39.110538],[-77.157531,39.113037],[-77.160033,39.113037],[-77.160033,39.115536],[-77.162528,39" +
-      ".115540],[-77.162528,39.118038],[-77.165030,39.118038],[-77.165030,39.115536],[-77.167533,39.115536],[-77" +
-      ".167533,39.113037],[-77.167533,39.110538],[-77.165030,39.110538],[-77.165030,39.108040],[-77.162536,39" +
-      ".108036],[-77.162536,39.105537],[-77.162536,39.103039],[-77.160033,39.103039],[-77.160033,39.100540],[-77" +
-      ".157531,39.100536],[-77.157531,39.098038],[-77.157531,39.095535],[-77.157531,39.093037],[-77.157531,39" +
-      ".090538],[-77.157531,39.088039],[-77.155036,39.088036],[-77.155036,39.085537],[-77.152533,39.085537]]]}");
+  private RouteCorridorChunker buildMockChunker() {
+    RouteCorridorChunker mockedChunker = mock(RouteCorridorChunker.class);
+    when(mockedChunker.getLookAheadMeters()).thenReturn(LOOK_AHEAD_METERS);
+    when(mockedChunker.chunksAhead(any(CompactRoute.class), anyDouble()))
+      .thenReturn(Collections.singletonList(new RegionBounds(-77.1, 39.0, -77.0, 39.1)));
+    return mockedChunker;
   }
 
-  private Geometry buildAnotherRouteBufferGeometry() {
-    return GeometryGeoJson.fromJson("{\"type\":\"Polygon\",\"coordinates\":[[[-77" +
-      ".152533,39.085537],[-77.152533,39.083038],[-77.150031,39.083038],[-77.150031,39.085537],[-77.147529,39" +
-      ".085537],[-77.147529,39.088039],[-77.147529,39.090538]]]}");
+  private RouteProgress buildMockRouteProgress(String routeGeometry, float distanceTraveled) {
+    RouteProgress mockedRouteProgress = mock(RouteProgress.class);
+    DirectionsRoute mockedRoute = mock(DirectionsRoute.class);
+    when(mockedRoute.geometry()).thenReturn(routeGeometry);
+    when(mockedRouteProgress.route()).thenReturn(mockedRoute);
+    when(mockedRouteProgress.distanceTraveled()).thenReturn(distanceTraveled);
+    return mockedRouteProgress;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.mapbox.navigation.ui;
+
+import android.os.Handler;
+
+import com.mapbox.mapboxsdk.offline.OfflineManager;
+import com.mapbox.mapboxsdk.offline.OfflineRegion;
+import com.mapbox.mapboxsdk.offline.OfflineRegionError;
+import com.mapbox.mapboxsdk.offline.OfflineRegionStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MapboxOfflineRegionStoreTest {
+
+  private static final long STALLED_TIMEOUT_MILLIS = 1000;
+  private static final RegionBounds BOUNDS = new RegionBounds(-77.9, 39.0, -77.85, 39.05);
+  private static final String STYLE_URL = "mapbox://styles/mapbox/navigation-guidance-day-v4";
+  private static final float PIXEL_RATIO = 2f;
+
+  private final OfflineManager offlineManager = mock(OfflineManager.class);
+  private final OfflineRegionDefinitionProvider definitionProvider = mock(OfflineRegionDefinitionProvider.class);
+  private final OfflineMetadataProvider metadataProvider = new OfflineMetadataProvider();
+  private final Handler handler = mock(Handler.class);
+  private final OfflineRegion offlineRegion = mock(OfflineRegion.class);
+  private final OfflineRegionStore.DownloadCallback callback = mock(OfflineRegionStore.DownloadCallback.class);
+  private MapboxOfflineRegionStore store;
+
+  @Before
+  public void setUp() {
+    when(offlineRegion.getID()).thenReturn(1L);
+    when(definitionProvider.getStyleUrl()).thenReturn(STYLE_URL);
+    when(definitionProvider.getPixelRatio()).thenReturn(PIXEL_RATIO);
+    store = new MapboxOfflineRegionStore(offlineManager, definitionProvider, metadataProvider, handler,
+      STALLED_TIMEOUT_MILLIS);
+  }
+
+  @Test
+  public void incompleteCorridorRegionsAreDeletedWhenListed() {
+    OfflineRegion complete = buildRegion(1L, buildCorridorMetadata(STYLE_URL, PIXEL_RATIO, true));
+    OfflineRegion incomplete = buildRegion(2L, buildCorridorMetadata(STYLE_URL, PIXEL_RATIO, false));
+    OfflineRegion route = buildRegion(3L, "{\"route_summary\":\"route\"}".getBytes());
+
+    List<StoredRegion> storedRegions = list(complete, incomplete, route);
+
+    assertEquals(1, storedRegions.size());
+    assertEquals(1L, storedRegions.get(0).getId());
+    verify(incomplete).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+    verify(complete, never()).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+    verify(route, never()).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+  }
+
+  @Test
+  public void corridorRegionsForAnotherStyleOrPixelRatioAreDeletedWhenListed() {
+    OfflineRegion otherStyle = buildRegion(1L, buildCorridorMetadata("mapbox://styles/mapbox/streets-v11",
+      PIXEL_RATIO, true));
+    OfflineRegion otherPixelRatio = buildRegion(2L, buildCorridorMetadata(STYLE_URL, 3f, true));
+
+    List<StoredRegion> storedRegions = list(otherStyle, otherPixelRatio);
+
+    assertTrue(storedRegions.isEmpty());
+    verify(otherStyle).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+    verify(otherPixelRatio).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+  }
+
+  @Test
+  public void completedRegionIsRecordedAsComplete() {
+    OfflineRegion.OfflineRegionObserver observer = download();
+
+    observer.onStatusChanged(buildStatus(true, 10));
+
+    ArgumentCaptor<byte[]> metadataCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(offlineRegion).updateMetadata(metadataCaptor.capture(),
+      any(OfflineRegion.OfflineRegionUpdateMetadataCallback.class));
+    assertNotNull(metadataProvider.readCorridorRegion(1L, metadataCaptor.getValue(), STYLE_URL, PIXEL_RATIO));
+    verify(callback).onComplete(any(StoredRegion.class));
+  }
+
+  @Test
+  public void stalledDownloadFails() {
+    download();
+    ArgumentCaptor<Runnable> stalledCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(handler).postDelayed(stalledCaptor.capture(), eq(STALLED_TIMEOUT_MILLIS));
+
+    stalledCaptor.getValue().run();
+
+    verify(callback).onError(anyString());
+    verify(offlineRegion).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+  }
+
+  @Test
+  public void progressPostponesStalledDownload() {
+    OfflineRegion.OfflineRegionObserver observer = download();
+
+    observer.onStatusChanged(buildStatus(false, 1));
+    observer.onStatusChanged(buildStatus(false, 1));
+
+    verify(handler, times(2)).postDelayed(any(Runnable.class), eq(STALLED_TIMEOUT_MILLIS));
+  }
+
+  @Test
+  public void connectionErrorDoesNotFailDownload() {
+    OfflineRegion.OfflineRegionObserver observer = download();
+    OfflineRegionError error = mock(OfflineRegionError.class);
+    when(error.getReason()).thenReturn(OfflineRegionError.REASON_CONNECTION);
+
+    observer.onError(error);
+
+    verify(callback, never()).onError(anyString());
+  }
+
+  @Test
+  public void cancelledDownloadIsSetInactive() {
+    OfflineRegion.OfflineRegionObserver observer = download();
+
+    store.cancelDownloads();
+    observer.onStatusChanged(buildStatus(true, 10));
+
+    verify(offlineRegion).setDownloadState(OfflineRegion.STATE_INACTIVE);
+    verify(callback, never()).onComplete(any(StoredRegion.class));
+  }
+
+  @Test
+  public void regionCreatedAfterCancelIsDeleted() {
+    store.download(BOUNDS, 0, callback);
+    store.cancelDownloads();
+
+    captureCreateCallback().onCreate(offlineRegion);
+
+    verify(offlineRegion, never()).setDownloadState(OfflineRegion.STATE_ACTIVE);
+    verify(offlineRegion).delete(any(OfflineRegion.OfflineRegionDeleteCallback.class));
+  }
+
+  private OfflineRegion.OfflineRegionObserver download() {
+    store.download(BOUNDS, 0, callback);
+    captureCreateCallback().onCreate(offlineRegion);
+    ArgumentCaptor<OfflineRegion.OfflineRegionObserver> observerCaptor =
+      ArgumentCaptor.forClass(OfflineRegion.OfflineRegionObserver.class);
+    verify(offlineRegion).setObserver(observerCaptor.capture());
+    return observerCaptor.getValue();
+  }
+
+  private OfflineManager.CreateOfflineRegionCallback captureCreateCallback() {
+    ArgumentCaptor<OfflineManager.CreateOfflineRegionCallback> createCaptor =
+      ArgumentCaptor.forClass(OfflineManager.CreateOfflineRegionCallback.class);
+    verify(offlineManager).createOfflineRegion(any(), any(byte[].class), createCaptor.capture());
+    return createCaptor.getValue();
+  }
+
+  private List<StoredRegion> list(OfflineRegion... regions) {
+    OfflineRegionStore.ListCallback listCallback = mock(OfflineRegionStore.ListCallback.class);
+    store.list(listCallback);
+    ArgumentCaptor<OfflineManager.ListOfflineRegionsCallback> listCaptor =
+      ArgumentCaptor.forClass(OfflineManager.ListOfflineRegionsCallback.class);
+    verify(offlineManager).listOfflineRegions(listCaptor.capture());
+    listCaptor.getValue().onList(regions);
+    ArgumentCaptor<List<StoredRegion>> regionsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(listCallback).onList(regionsCaptor.capture());
+    return regionsCaptor.getValue();
+  }
+
+  private byte[] buildCorridorMetadata(String styleUrl, float pixelRatio, boolean isComplete) {
+    return metadataProvider.buildCorridorMetadataFor(BOUNDS, styleUrl, pixelRatio, 0, isComplete ? 100 : 0,
+      isComplete);
+  }
+
+  private OfflineRegion buildRegion(long id, byte[] metadata) {
+    OfflineRegion region = mock(OfflineRegion.class);
+    when(region.getID()).thenReturn(id);
+    when(region.getMetadata()).thenReturn(metadata);
+    return region;
+  }
+
+  private OfflineRegionStatus buildStatus(boolean isComplete, long completedResourceCount) {
+    OfflineRegionStatus status = mock(OfflineRegionStatus.class);
+    when(status.isComplete()).thenReturn(isComplete);
+    when(status.getCompletedResourceCount()).thenReturn(completedResourceCount);
+    when(status.getCompletedSize()).thenReturn(100L);
+    return status;
+  }
+}
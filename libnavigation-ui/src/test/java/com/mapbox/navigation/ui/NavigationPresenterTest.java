@@ -5,6 +5,7 @@ import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import org.junit.Test;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -140,6 +141,18 @@ public class NavigationPresenterTest {
     verify(view).drawRoute(directionsRoute);
   }
 
+  @Test
+  public void onRouteAnnotationsUpdate_routeIsRedrawnWithoutRestartingCamera() {
+    DirectionsRoute directionsRoute = mock(DirectionsRoute.class);
+    NavigationContract.View view = mock(NavigationContract.View.class);
+    NavigationPresenter presenter = new NavigationPresenter(view);
+
+    presenter.onRouteAnnotationsUpdate(directionsRoute);
+
+    verify(view).drawRoute(directionsRoute);
+    verify(view, never()).startCamera(directionsRoute);
+  }
+
   @Test
   public void onRouteUpdate_overviewIsShownWhenResumeState() {
     DirectionsRoute directionsRoute = mock(DirectionsRoute.class);
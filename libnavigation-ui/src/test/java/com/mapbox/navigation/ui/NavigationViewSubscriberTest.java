@@ -54,6 +54,7 @@ public class NavigationViewSubscriberTest {
   @Test
   public void checkObserversAreRemovedWhenUnsubscribe() {
     when(navigationViewModel.retrieveRoute()).thenReturn(mock(MutableLiveData.class));
+    when(navigationViewModel.retrieveRefreshedRoute()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveNavigationLocation()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveDestination()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveShouldRecordScreenshot()).thenReturn(mock(MutableLiveData.class));
@@ -62,6 +63,7 @@ public class NavigationViewSubscriberTest {
     theNavigationViewSubscriber.unsubscribe();
 
     verify(navigationViewModel.retrieveRoute()).removeObservers(eq(lifecycleOwner));
+    verify(navigationViewModel.retrieveRefreshedRoute()).removeObservers(eq(lifecycleOwner));
     verify(navigationViewModel.retrieveNavigationLocation()).removeObservers(eq(lifecycleOwner));
     verify(navigationViewModel.retrieveDestination()).removeObservers(eq(lifecycleOwner));
     verify(navigationViewModel.retrieveShouldRecordScreenshot()).removeObservers(eq(lifecycleOwner));
@@ -71,6 +73,7 @@ public class NavigationViewSubscriberTest {
   @Test
   public void checkObserversAreAddedWhenSubscribe() {
     when(navigationViewModel.retrieveRoute()).thenReturn(mock(MutableLiveData.class));
+    when(navigationViewModel.retrieveRefreshedRoute()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveNavigationLocation()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveDestination()).thenReturn(mock(MutableLiveData.class));
     when(navigationViewModel.retrieveShouldRecordScreenshot()).thenReturn(mock(MutableLiveData.class));
@@ -79,6 +82,7 @@ public class NavigationViewSubscriberTest {
     theNavigationViewSubscriber.subscribe();
 
     verify(navigationViewModel.retrieveRoute()).observe(eq(lifecycleOwner), any(Observer.class));
+    verify(navigationViewModel.retrieveRefreshedRoute()).observe(eq(lifecycleOwner), any(Observer.class));
     verify(navigationViewModel.retrieveNavigationLocation()).observe(eq(lifecycleOwner), any(Observer.class));
     verify(navigationViewModel.retrieveDestination()).observe(eq(lifecycleOwner), any(Observer.class));
     verify(navigationViewModel.retrieveShouldRecordScreenshot()).observe(eq(lifecycleOwner), any(Observer.class));
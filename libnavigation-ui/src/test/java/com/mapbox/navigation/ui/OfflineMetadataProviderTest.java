@@ -5,16 +5,60 @@ import com.mapbox.navigation.ui.OfflineMetadataProvider;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class OfflineMetadataProviderTest {
 
+  private static final String STYLE_URL = "mapbox://styles/mapbox/navigation-guidance-day-v4";
+  private static final float PIXEL_RATIO = 2f;
+
+  @Test
+  public void completeCorridorRegionIsRead() {
+    OfflineMetadataProvider theOfflineMetadataProvider = new OfflineMetadataProvider();
+    RegionBounds bounds = new RegionBounds(-77.9, 39.0, -77.85, 39.05);
+    byte[] metadata = theOfflineMetadataProvider.buildCorridorMetadataFor(bounds, STYLE_URL, PIXEL_RATIO, 10L,
+      100L, true);
+
+    StoredRegion region = theOfflineMetadataProvider.readCorridorRegion(1L, metadata, STYLE_URL, PIXEL_RATIO);
+
+    assertEquals(bounds, region.getBounds());
+    assertEquals(10L, region.getCreatedAtMillis());
+    assertEquals(100L, region.getSizeBytes());
+    assertFalse(theOfflineMetadataProvider.isUnusableCorridorRegion(metadata, STYLE_URL, PIXEL_RATIO));
+  }
+
+  @Test
+  public void incompleteCorridorRegionIsNotRead() {
+    OfflineMetadataProvider theOfflineMetadataProvider = new OfflineMetadataProvider();
+    RegionBounds bounds = new RegionBounds(-77.9, 39.0, -77.85, 39.05);
+    byte[] metadata = theOfflineMetadataProvider.buildCorridorMetadataFor(bounds, STYLE_URL, PIXEL_RATIO, 10L,
+      0L, false);
+
+    assertNull(theOfflineMetadataProvider.readCorridorRegion(1L, metadata, STYLE_URL, PIXEL_RATIO));
+    assertTrue(theOfflineMetadataProvider.isUnusableCorridorRegion(metadata, STYLE_URL, PIXEL_RATIO));
+  }
+
+  @Test
+  public void corridorRegionForAnotherStyleIsNotRead() {
+    OfflineMetadataProvider theOfflineMetadataProvider = new OfflineMetadataProvider();
+    RegionBounds bounds = new RegionBounds(-77.9, 39.0, -77.85, 39.05);
+    byte[] metadata = theOfflineMetadataProvider.buildCorridorMetadataFor(bounds, STYLE_URL, PIXEL_RATIO, 10L,
+      100L, true);
+
+    assertNull(theOfflineMetadataProvider.readCorridorRegion(1L, metadata, "mapbox://styles/mapbox/streets-v11",
+      PIXEL_RATIO));
+    assertNull(theOfflineMetadataProvider.readCorridorRegion(1L, metadata, STYLE_URL, 3f));
+    assertTrue(theOfflineMetadataProvider.isUnusableCorridorRegion(metadata, STYLE_URL, 3f));
+  }
+
   @Test
-  public void checksOfflineRouteMetadataCreation() {
-    String aRouteSummary = "cjuykbm4705v26pnpvqlbjm5n";
+  public void routeMetadataIsNotAnIncompleteCorridorRegion() {
     OfflineMetadataProvider theOfflineMetadataProvider = new OfflineMetadataProvider();
 
-    byte[] routeSummaryMetadata = theOfflineMetadataProvider.buildMetadataFor(aRouteSummary);
+    byte[] metadata = "{\"route_summary\":\"cjuykbm4705v26pnpvqlbjm5n\"}".getBytes();
 
-    assertEquals("{\"route_summary\":\"cjuykbm4705v26pnpvqlbjm5n\"}", new String(routeSummaryMetadata));
+    assertFalse(theOfflineMetadataProvider.isUnusableCorridorRegion(metadata, STYLE_URL, PIXEL_RATIO));
   }
-}
\ No newline at end of file
+}
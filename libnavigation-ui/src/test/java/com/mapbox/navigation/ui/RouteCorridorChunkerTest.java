@@ -0,0 +1,78 @@
+package com.mapbox.navigation.ui;
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.utils.PolylineUtils;
+import com.mapbox.navigation.base.route.internal.CompactRoute;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RouteCorridorChunkerTest {
+
+  private static final double DELTA = 0.000001;
+
+  @Test
+  public void chunksStartAtCurrentPositionAndFollowTheRoute() {
+    RouteCorridorChunker chunker = new RouteCorridorChunker(5000, 0, 20000);
+
+    List<RegionBounds> chunks = chunker.chunksAhead(buildStraightRoute(100), 10000);
+
+    assertEquals(4, chunks.size());
+    assertEquals(-76.89, chunks.get(0).getWest(), DELTA);
+    assertEquals(-76.82, chunks.get(0).getEast(), DELTA);
+    for (int i = 1; i < chunks.size(); i++) {
+      assertEquals(chunks.get(i - 1).getEast(), chunks.get(i).getWest(), DELTA);
+    }
+    assertEquals(-76.64, chunks.get(3).getEast(), DELTA);
+  }
+
+  @Test
+  public void lastChunkEndsWithTheRoute() {
+    RouteCorridorChunker chunker = new RouteCorridorChunker(5000, 0, 20000);
+
+    List<RegionBounds> chunks = chunker.chunksAhead(buildStraightRoute(100), 84000);
+
+    assertEquals(1, chunks.size());
+    assertEquals(-76.03, chunks.get(0).getWest(), DELTA);
+    assertEquals(-76.01, chunks.get(0).getEast(), DELTA);
+  }
+
+  @Test
+  public void chunksAreBufferedAroundTheRoute() {
+    RouteCorridorChunker chunker = new RouteCorridorChunker(5000, 1000, 20000);
+
+    List<RegionBounds> chunks = chunker.chunksAhead(buildStraightRoute(100), 0);
+
+    RegionBounds firstChunk = chunks.get(0);
+    assertEquals(39.0 - 1000 / 111320.0, firstChunk.getSouth(), DELTA);
+    assertEquals(39.0 + 1000 / 111320.0, firstChunk.getNorth(), DELTA);
+    assertTrue(firstChunk.getWest() < -77.0);
+  }
+
+  @Test
+  public void routeWithoutGeometryHasNoChunks() {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+
+    List<RegionBounds> chunks = new RouteCorridorChunker().chunksAhead(CompactRoute.create(route), 0);
+
+    assertTrue(chunks.isEmpty());
+  }
+
+  private CompactRoute buildStraightRoute(int pointCount) {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < pointCount; i++) {
+      points.add(Point.fromLngLat(-77.0 + i * 0.01, 39.0));
+    }
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.geometry()).thenReturn(PolylineUtils.encode(points, 6));
+    return CompactRoute.create(route);
+  }
+}
@@ -2,7 +2,6 @@ package com.mapbox.navigation.ui;
 
 import com.mapbox.api.directions.v5.models.DirectionsResponse;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
-import com.mapbox.navigation.core.MapboxNavigation;
 import com.mapbox.navigation.ui.voice.VoiceInstructionLoader;
 
 import org.junit.Test;
@@ -24,31 +23,26 @@ public class VoiceInstructionCacheTest extends BaseTest {
   private static final String DIRECTIONS_PRECISION_6 = "directions_v5_precision_6.json";
 
   @Test
-  public void checksPreCachingCachesNineInstructions() throws Exception {
-    MapboxNavigation mockedMapboxNavigation = mock(MapboxNavigation.class);
+  public void initCacheCollectsAllRouteInstructions() throws Exception {
     VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
     ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
-    when(mockedConnectivityStatus.isConnected()).thenReturn(true);
-    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedMapboxNavigation,
-      mockedVoiceInstructionLoader, mockedConnectivityStatus);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
     DirectionsRoute twentyOneInstructionsRoute = buildDirectionsRoute();
-    ArgumentCaptor<List> voiceInstructionsToCache = ArgumentCaptor.forClass(List.class);
 
     theVoiceInstructionCache.initCache(twentyOneInstructionsRoute);
 
-    verify(mockedVoiceInstructionLoader, times(0))
-      .cacheInstructions(voiceInstructionsToCache.capture());
-
+    verifyZeroInteractions(mockedVoiceInstructionLoader);
     assertEquals(21, theVoiceInstructionCache.getTotalVoiceInstructionNumber());
   }
 
   @Test
-  public void checksCacheIsNotCalledIfIsVoiceInstructionsToCacheThresholdNotReached() {
-    MapboxNavigation mockedMapboxNavigation = mock(MapboxNavigation.class);
+  public void checksCacheIsNotCalledWithoutRoute() {
     VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
     ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
-    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedMapboxNavigation,
-      mockedVoiceInstructionLoader, mockedConnectivityStatus);
+    when(mockedConnectivityStatus.isConnected()).thenReturn(true);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
 
     theVoiceInstructionCache.cache();
 
@@ -56,58 +50,75 @@ public class VoiceInstructionCacheTest extends BaseTest {
   }
 
   @Test
-  public void checksCaching() throws Exception {
-    MapboxNavigation mockedMapboxNavigation = mock(MapboxNavigation.class);
+  public void cachePrefetchesWholeRouteOnce() throws Exception {
     VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
     ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
     when(mockedConnectivityStatus.isConnected()).thenReturn(true);
-    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedMapboxNavigation,
-      mockedVoiceInstructionLoader, mockedConnectivityStatus);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
     DirectionsRoute twentyOneInstructionsRoute = buildDirectionsRoute();
 
     theVoiceInstructionCache.initCache(twentyOneInstructionsRoute);
+    theVoiceInstructionCache.cache();
     theVoiceInstructionCache.update(5);
     theVoiceInstructionCache.cache();
-    theVoiceInstructionCache.update(10);
+
+    ArgumentCaptor<List> voiceInstructionsToCache = ArgumentCaptor.forClass(List.class);
+    verify(mockedVoiceInstructionLoader, times(1))
+      .cacheInstructions(voiceInstructionsToCache.capture());
+    List<String> instructions = voiceInstructionsToCache.getValue();
+    assertEquals(21, instructions.size());
+    assertEquals(twentyOneInstructionsRoute.legs().get(0).steps().get(0).voiceInstructions().get(0)
+      .ssmlAnnouncement(), instructions.get(0));
+  }
+
+  @Test
+  public void cacheResumesFromUpcomingInstructionAfterConnectivityIsRestored() throws Exception {
+    VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
+    ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
+    when(mockedConnectivityStatus.isConnected()).thenReturn(true);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
+    DirectionsRoute twentyOneInstructionsRoute = buildDirectionsRoute();
+
+    theVoiceInstructionCache.initCache(twentyOneInstructionsRoute);
+    theVoiceInstructionCache.cache();
+    when(mockedConnectivityStatus.isConnected()).thenReturn(false);
+    theVoiceInstructionCache.update(5);
     theVoiceInstructionCache.cache();
-    theVoiceInstructionCache.update(15);
+    when(mockedConnectivityStatus.isConnected()).thenReturn(true);
     theVoiceInstructionCache.cache();
 
     ArgumentCaptor<List> voiceInstructionsToCache = ArgumentCaptor.forClass(List.class);
-    verify(mockedVoiceInstructionLoader, times(3))
+    verify(mockedVoiceInstructionLoader, times(2))
       .cacheInstructions(voiceInstructionsToCache.capture());
-    List<List> capturedVoiceInstructionsToCache = voiceInstructionsToCache.getAllValues();
-    assertEquals(9, capturedVoiceInstructionsToCache.get(0).size());
-    assertEquals(10, capturedVoiceInstructionsToCache.get(1).size());
-    assertEquals(2, capturedVoiceInstructionsToCache.get(2).size());
+    assertEquals(16, voiceInstructionsToCache.getAllValues().get(1).size());
   }
 
   @Test
   public void checksEvictVoiceInstructionsIsCalledWhenCaching() throws Exception {
-    MapboxNavigation mockedMapboxNavigation = mock(MapboxNavigation.class);
     VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
     ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
     when(mockedConnectivityStatus.isConnected()).thenReturn(true);
-    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedMapboxNavigation,
-      mockedVoiceInstructionLoader, mockedConnectivityStatus);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
     DirectionsRoute theDirectionsRoute = buildDirectionsRoute();
 
     theVoiceInstructionCache.initCache(theDirectionsRoute);
-    theVoiceInstructionCache.update(5);
     theVoiceInstructionCache.cache();
 
     verify(mockedVoiceInstructionLoader, times(1)).evictVoiceInstructions();
   }
 
   @Test
-  public void noConnectivityDoesNotAllowCaching() {
-    MapboxNavigation mockedMapboxNavigation = mock(MapboxNavigation.class);
+  public void noConnectivityDoesNotAllowCaching() throws Exception {
     VoiceInstructionLoader mockedVoiceInstructionLoader = mock(VoiceInstructionLoader.class);
     ConnectivityStatusProvider mockedConnectivityStatus = mock(ConnectivityStatusProvider.class);
     when(mockedConnectivityStatus.isConnected()).thenReturn(false);
-    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedMapboxNavigation,
-      mockedVoiceInstructionLoader, mockedConnectivityStatus);
+    VoiceInstructionCache theVoiceInstructionCache = new VoiceInstructionCache(mockedVoiceInstructionLoader,
+      mockedConnectivityStatus);
 
+    theVoiceInstructionCache.initCache(buildDirectionsRoute());
     theVoiceInstructionCache.cache();
 
     verifyZeroInteractions(mockedVoiceInstructionLoader);
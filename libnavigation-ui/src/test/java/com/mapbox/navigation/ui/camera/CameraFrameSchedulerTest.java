@@ -0,0 +1,47 @@
+package com.mapbox.navigation.ui.camera;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CameraFrameSchedulerTest {
+
+  @Test
+  public void doFrame_runsUpdateAndRecordsFrame() {
+    Runnable frameUpdate = mock(Runnable.class);
+    CameraFrameMetrics metrics = new CameraFrameMetrics();
+    CameraFrameScheduler scheduler = new CameraFrameScheduler(frameUpdate, metrics);
+
+    scheduler.doFrame(0L);
+    scheduler.doFrame(16L);
+
+    verify(frameUpdate, times(2)).run();
+    assertEquals(2, metrics.getFrameCount());
+  }
+
+  @Test
+  public void metrics_coalescedRequestsAreCounted() {
+    CameraFrameMetrics metrics = new CameraFrameMetrics();
+
+    metrics.onUpdateRequested(false);
+    metrics.onUpdateRequested(true);
+    metrics.onUpdateRequested(true);
+
+    assertEquals(3, metrics.getRequestedUpdateCount());
+    assertEquals(2, metrics.getCoalescedUpdateCount());
+  }
+
+  @Test
+  public void metrics_updateTimesAreAggregated() {
+    CameraFrameMetrics metrics = new CameraFrameMetrics();
+
+    metrics.onFrame(100L);
+    metrics.onFrame(300L);
+
+    assertEquals(200L, metrics.getAverageUpdateTimeNanos());
+    assertEquals(300L, metrics.getMaxUpdateTimeNanos());
+  }
+}
@@ -0,0 +1,88 @@
+package com.mapbox.navigation.ui.camera;
+
+import android.location.Location;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CameraUpdateFilterTest {
+
+  private static final double METERS_PER_PIXEL = 2d;
+
+  @Test
+  public void shouldUpdate_firstUpdateIsAccepted() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+
+    assertTrue(filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL));
+  }
+
+  @Test
+  public void shouldUpdate_movementWithinPixelIsSkipped() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    // ~1.1 meters north
+    boolean shouldUpdate = filter.shouldUpdate(buildLocation(38.90001, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    assertFalse(shouldUpdate);
+  }
+
+  @Test
+  public void shouldUpdate_movementOverPixelIsAccepted() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    // ~3.3 meters north
+    boolean shouldUpdate = filter.shouldUpdate(buildLocation(38.90003, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    assertTrue(shouldUpdate);
+  }
+
+  @Test
+  public void shouldUpdate_smallMovementsAddUpUntilPixelIsCrossed() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL);
+    filter.shouldUpdate(buildLocation(38.90001, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    boolean shouldUpdate = filter.shouldUpdate(buildLocation(38.90002, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    assertTrue(shouldUpdate);
+  }
+
+  @Test
+  public void shouldUpdate_newStepIsAcceptedWithoutMovement() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    assertTrue(filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 1, METERS_PER_PIXEL));
+  }
+
+  @Test
+  public void shouldUpdate_resetAcceptsNextUpdate() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL);
+
+    filter.reset();
+
+    assertTrue(filter.shouldUpdate(buildLocation(38.9, -77.03), 0, 0, METERS_PER_PIXEL));
+  }
+
+  @Test
+  public void shouldUpdate_missingLocationIsAccepted() {
+    CameraUpdateFilter filter = new CameraUpdateFilter();
+    filter.shouldUpdate(null, 0, 0, METERS_PER_PIXEL);
+
+    assertTrue(filter.shouldUpdate(null, 0, 0, METERS_PER_PIXEL));
+  }
+
+  private Location buildLocation(double latitude, double longitude) {
+    Location location = mock(Location.class);
+    when(location.getLatitude()).thenReturn(latitude);
+    when(location.getLongitude()).thenReturn(longitude);
+    return location;
+  }
+}
@@ -0,0 +1,50 @@
+package com.mapbox.navigation.ui.instruction;
+
+import org.junit.Test;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageCacheInterceptorTest {
+
+  private static final String IMAGE_URL = "https://shield.mapbox.com/i-95@3x.png";
+
+  @Test
+  public void successfulResponseIsCacheable() throws Exception {
+    Interceptor.Chain chain = buildChain(200);
+
+    Response response = new ImageCacheInterceptor().intercept(chain);
+
+    assertEquals(ImageCacheInterceptor.IMAGE_CACHE_CONTROL, response.header("Cache-Control"));
+  }
+
+  @Test
+  public void failedResponseIsNotCached() throws Exception {
+    Interceptor.Chain chain = buildChain(404);
+
+    Response response = new ImageCacheInterceptor().intercept(chain);
+
+    assertNull(response.header("Cache-Control"));
+  }
+
+  private Interceptor.Chain buildChain(int code) throws Exception {
+    Request request = new Request.Builder().url(IMAGE_URL).build();
+    Response response = new Response.Builder()
+      .request(request)
+      .protocol(Protocol.HTTP_1_1)
+      .code(code)
+      .message("")
+      .build();
+    Interceptor.Chain chain = mock(Interceptor.Chain.class);
+    when(chain.request()).thenReturn(request);
+    when(chain.proceed(request)).thenReturn(response);
+    return chain;
+  }
+}
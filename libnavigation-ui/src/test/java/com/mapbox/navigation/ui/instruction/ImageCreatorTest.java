@@ -0,0 +1,137 @@
+package com.mapbox.navigation.ui.instruction;
+
+import android.widget.ImageView;
+
+import com.mapbox.api.directions.v5.models.BannerComponents;
+import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
+import com.mapbox.api.directions.v5.models.DirectionsRoute;
+import com.mapbox.api.directions.v5.models.LegStep;
+import com.mapbox.api.directions.v5.models.RouteLeg;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImageCreatorTest {
+
+  private static final String SHIELD_URL = "https://shield.mapbox.com/i-95";
+  private static final String EXIT_URL = "https://shield.mapbox.com/exit-12";
+  private static final String DENSITY_SUFFIX = "@3x.png";
+
+  private Picasso picasso;
+  private RequestCreator requestCreator;
+  private ImageCreator imageCreator;
+
+  @Before
+  public void setUp() {
+    picasso = mock(Picasso.class);
+    requestCreator = mock(RequestCreator.class);
+    when(picasso.load(anyString())).thenReturn(requestCreator);
+    when(requestCreator.priority(any(Picasso.Priority.class))).thenReturn(requestCreator);
+    UrlDensityMap urlDensityMap = mock(UrlDensityMap.class);
+    when(urlDensityMap.get(SHIELD_URL)).thenReturn(SHIELD_URL + DENSITY_SUFFIX);
+    when(urlDensityMap.get(EXIT_URL)).thenReturn(EXIT_URL + DENSITY_SUFFIX);
+    ImageVerifier imageVerifier = mock(ImageVerifier.class);
+    when(imageVerifier.hasImageUrl(any(BannerComponents.class))).thenReturn(true);
+    imageCreator = new ImageCreator(imageVerifier, picasso, urlDensityMap);
+  }
+
+  @Test
+  public void prefetchImageCache_routeImagesAreFetchedInDisplayOrder() {
+    DirectionsRoute route = buildRoute(
+      buildStep(buildBannerText(SHIELD_URL), buildBannerText(EXIT_URL)),
+      buildStep(buildBannerText(EXIT_URL), null)
+    );
+
+    imageCreator.prefetchImageCache(route);
+
+    InOrder inOrder = inOrder(picasso);
+    inOrder.verify(picasso).load(SHIELD_URL + DENSITY_SUFFIX);
+    inOrder.verify(picasso).load(EXIT_URL + DENSITY_SUFFIX);
+  }
+
+  @Test
+  public void prefetchImageCache_sharedImageIsFetchedOnceAtLowPriority() {
+    DirectionsRoute route = buildRoute(
+      buildStep(buildBannerText(SHIELD_URL), null),
+      buildStep(buildBannerText(SHIELD_URL), null)
+    );
+
+    imageCreator.prefetchImageCache(route);
+
+    verify(picasso, times(1)).load(anyString());
+    verify(requestCreator).priority(Picasso.Priority.LOW);
+    verify(requestCreator).fetch();
+  }
+
+  @Test
+  public void prefetchImageCache_routeWithoutLegsIsIgnored() {
+    DirectionsRoute route = mock(DirectionsRoute.class);
+
+    imageCreator.prefetchImageCache(route);
+
+    verify(picasso, never()).load(anyString());
+  }
+
+  @Test
+  public void prefetchImageCache_upcomingStepImagesAreFetched() {
+    LegStep step = buildStep(buildBannerText(SHIELD_URL), buildBannerText(EXIT_URL));
+
+    imageCreator.prefetchImageCache(step);
+
+    verify(picasso).load(SHIELD_URL + DENSITY_SUFFIX);
+    verify(picasso).load(EXIT_URL + DENSITY_SUFFIX);
+    verify(requestCreator, times(2)).fetch();
+  }
+
+  @Test
+  public void loadGuidanceImage_sharedLoaderIsUsed() {
+    ImageView imageView = mock(ImageView.class);
+    String guidanceImageUrl = "https://api.mapbox.com/guidance-views/v1/junction?access_token=pk.XXX";
+
+    imageCreator.loadGuidanceImage(guidanceImageUrl, imageView);
+
+    verify(picasso).load(guidanceImageUrl);
+    verify(requestCreator).into(imageView);
+  }
+
+  private DirectionsRoute buildRoute(LegStep... steps) {
+    RouteLeg leg = mock(RouteLeg.class);
+    when(leg.steps()).thenReturn(Arrays.asList(steps));
+    DirectionsRoute route = mock(DirectionsRoute.class);
+    when(route.legs()).thenReturn(Collections.singletonList(leg));
+    return route;
+  }
+
+  private LegStep buildStep(BannerText primary, BannerText secondary) {
+    BannerInstructions instructions = mock(BannerInstructions.class);
+    when(instructions.primary()).thenReturn(primary);
+    when(instructions.secondary()).thenReturn(secondary);
+    LegStep step = mock(LegStep.class);
+    when(step.bannerInstructions()).thenReturn(Collections.singletonList(instructions));
+    return step;
+  }
+
+  private BannerText buildBannerText(String imageBaseUrl) {
+    BannerComponents components = mock(BannerComponents.class);
+    when(components.imageBaseUrl()).thenReturn(imageBaseUrl);
+    BannerText bannerText = mock(BannerText.class);
+    when(bannerText.components()).thenReturn(Collections.singletonList(components));
+    return bannerText;
+  }
+}
@@ -0,0 +1,103 @@
+package com.mapbox.navigation.ui.map;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.Assert.assertEquals;
+
+public class WaynameMatcherTest {
+
+  // east of 14th St NW and just north of I St NW
+  private static final Point CURRENT_POINT = Point.fromLngLat(-77.0318, 38.90135);
+
+  @Test
+  public void match_closestFeatureIsReturnedWithoutStepGeometry() {
+    Feature fourteenthStreet = Feature.fromJson(loadJsonFixture("feature_one.json"));
+    Feature iStreet = Feature.fromJson(loadJsonFixture("feature_two.json"));
+    WaynameMatcher matcher = new WaynameMatcher();
+
+    Feature match = matcher.match(Arrays.asList(fourteenthStreet, iStreet), CURRENT_POINT,
+      Collections.<Point>emptyList());
+
+    assertEquals(iStreet, match);
+  }
+
+  @Test
+  public void match_featureAlongStepBeatsCloserCrossStreet() {
+    Feature fourteenthStreet = Feature.fromJson(loadJsonFixture("feature_one.json"));
+    Feature iStreet = Feature.fromJson(loadJsonFixture("feature_two.json"));
+    WaynameMatcher matcher = new WaynameMatcher();
+
+    Feature match = matcher.match(Arrays.asList(iStreet, fourteenthStreet), CURRENT_POINT, buildNorthboundStep());
+
+    assertEquals(fourteenthStreet, match);
+  }
+
+  @Test
+  public void match_lastMatchIsReusedWhileUserStaysOnIt() {
+    Feature road = buildEastboundFeature(38.9);
+    Feature parallelRoad = buildEastboundFeature(38.90004);
+    List<Point> eastboundStep = Arrays.asList(Point.fromLngLat(-77.04, 38.9), Point.fromLngLat(-77.02, 38.9));
+    WaynameMatcher matcher = new WaynameMatcher();
+    matcher.match(Arrays.asList(road, parallelRoad), Point.fromLngLat(-77.03, 38.9), eastboundStep);
+
+    Feature match = matcher.match(Arrays.asList(parallelRoad, road), Point.fromLngLat(-77.03, 38.90003), eastboundStep);
+
+    assertEquals(road, match);
+  }
+
+  @Test
+  public void match_featureWithoutLineGeometryFallsBackToFirstFeature() {
+    Feature first = Feature.fromGeometry(Point.fromLngLat(-77.0318, 38.90135));
+    Feature second = Feature.fromGeometry(Point.fromLngLat(-77.0319, 38.90135));
+    WaynameMatcher matcher = new WaynameMatcher();
+
+    Feature match = matcher.match(Arrays.asList(first, second), CURRENT_POINT, buildNorthboundStep());
+
+    assertEquals(first, match);
+  }
+
+  @Test
+  public void match_singleLineFeatureIsReturned() {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(Point.fromLngLat(-77.04, 38.91));
+    coordinates.add(Point.fromLngLat(-77.05, 38.91));
+    Feature feature = Feature.fromGeometry(LineString.fromLngLats(coordinates));
+    WaynameMatcher matcher = new WaynameMatcher();
+
+    Feature match = matcher.match(Collections.singletonList(feature), CURRENT_POINT, buildNorthboundStep());
+
+    assertEquals(feature, match);
+  }
+
+  private Feature buildEastboundFeature(double latitude) {
+    List<Point> coordinates = new ArrayList<>();
+    coordinates.add(Point.fromLngLat(-77.04, latitude));
+    coordinates.add(Point.fromLngLat(-77.02, latitude));
+    return Feature.fromGeometry(LineString.fromLngLats(coordinates));
+  }
+
+  private List<Point> buildNorthboundStep() {
+    List<Point> stepPoints = new ArrayList<>();
+    stepPoints.add(Point.fromLngLat(-77.03195, 38.8995));
+    stepPoints.add(Point.fromLngLat(-77.03195, 38.9040));
+    return stepPoints;
+  }
+
+  private String loadJsonFixture(String filename) {
+    ClassLoader classLoader = getClass().getClassLoader();
+    InputStream inputStream = classLoader.getResourceAsStream(filename);
+    Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+    return scanner.hasNext() ? scanner.next() : "";
+  }
+}
@@ -5,21 +5,31 @@ import android.text.SpannableString;
 import androidx.annotation.NonNull;
 
 import com.mapbox.api.directions.v5.models.BannerInstructions;
+import com.mapbox.api.directions.v5.models.BannerText;
 import com.mapbox.api.directions.v5.models.DirectionsRoute;
 import com.mapbox.api.directions.v5.models.LegStep;
 import com.mapbox.api.directions.v5.models.RouteLeg;
 import com.mapbox.navigation.base.formatter.DistanceFormatter;
+import com.mapbox.navigation.base.trip.model.RouteLegProgress;
 import com.mapbox.navigation.base.trip.model.RouteProgress;
+import com.mapbox.navigation.base.trip.model.RouteStepProgress;
 import com.mapbox.navigation.ui.BaseTest;
 
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class InstructionListPresenterTest extends BaseTest {
@@ -155,6 +165,103 @@ public class InstructionListPresenterTest extends BaseTest {
     verify(distanceFormatter).formatDistance(anyDouble());
   }*/
 
+  @Test
+  public void updateBannerListWith_listStartsAfterCurrentInstruction() {
+    List<LegStep> steps = buildSteps(3);
+    RouteLeg routeLeg = buildRouteLeg(steps);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+
+    boolean didUpdate = presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(0)));
+
+    assertTrue(didUpdate);
+    assertEquals(2, presenter.retrieveBannerInstructionListSize());
+    assertSame(steps.get(1).bannerInstructions().get(0),
+      presenter.retrieveInstructionListItems().get(0).getBannerInstructions());
+  }
+
+  @Test
+  public void updateBannerListWith_sameInstructionDoesNotUpdate() {
+    List<LegStep> steps = buildSteps(3);
+    RouteLeg routeLeg = buildRouteLeg(steps);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+    presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(0)));
+
+    boolean didUpdate = presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(0)));
+
+    assertFalse(didUpdate);
+  }
+
+  @Test
+  public void updateBannerListWith_nextInstructionKeepsPreviousItemsUnchanged() {
+    List<LegStep> steps = buildSteps(3);
+    RouteLeg routeLeg = buildRouteLeg(steps);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+    presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(0)));
+    List<InstructionListItem> oldItems = presenter.retrieveInstructionListItems();
+
+    presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(1)));
+
+    assertEquals(2, oldItems.size());
+    assertEquals(1, presenter.retrieveBannerInstructionListSize());
+    assertSame(oldItems.get(1), presenter.retrieveInstructionListItems().get(0));
+  }
+
+  @Test
+  public void updateBannerListWith_skippedInstructionsAreRemovedAndCurrentIsKept() {
+    List<LegStep> steps = buildSteps(4);
+    RouteLeg routeLeg = buildRouteLeg(steps);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+
+    boolean didUpdate = presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(2)));
+
+    assertTrue(didUpdate);
+    assertEquals(2, presenter.retrieveBannerInstructionListSize());
+    assertSame(steps.get(2).bannerInstructions().get(0),
+      presenter.retrieveInstructionListItems().get(0).getBannerInstructions());
+  }
+
+  @Test
+  public void updateBannerListWith_currentInstructionAtTopIsRemovedOnNextUpdate() {
+    List<LegStep> steps = buildSteps(4);
+    RouteLeg routeLeg = buildRouteLeg(steps);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+    presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(2)));
+
+    boolean didUpdate = presenter.updateBannerListWith(buildRouteProgress(routeLeg, steps.get(2)));
+
+    assertTrue(didUpdate);
+    assertEquals(1, presenter.retrieveBannerInstructionListSize());
+    assertSame(steps.get(3).bannerInstructions().get(0),
+      presenter.retrieveInstructionListItems().get(0).getBannerInstructions());
+  }
+
+  @Test
+  public void onBindInstructionListView_distanceIsFormattedOnce() {
+    List<LegStep> steps = buildSteps(3);
+    DistanceFormatter distanceFormatter = buildDistanceFormatter();
+    InstructionListPresenter presenter = buildPresenter(distanceFormatter);
+    presenter.updateBannerListWith(buildRouteProgress(buildRouteLeg(steps), steps.get(0)));
+
+    presenter.onBindInstructionListViewAtPosition(0, mock(InstructionListView.class));
+    presenter.onBindInstructionListViewAtPosition(0, mock(InstructionListView.class));
+
+    verify(distanceFormatter, times(1)).formatDistance(anyDouble());
+  }
+
+  @Test
+  public void updateDistanceFormatter_cachedDistanceTextIsCleared() {
+    List<LegStep> steps = buildSteps(3);
+    InstructionListPresenter presenter = buildPresenter(buildDistanceFormatter());
+    presenter.updateBannerListWith(buildRouteProgress(buildRouteLeg(steps), steps.get(0)));
+    presenter.onBindInstructionListViewAtPosition(0, mock(InstructionListView.class));
+    DistanceFormatter secondDistanceFormatter = buildDistanceFormatter();
+
+    presenter.updateDistanceFormatter(secondDistanceFormatter);
+    presenter.onBindInstructionListViewAtPosition(0, mock(InstructionListView.class));
+
+    verify(secondDistanceFormatter).formatDistance(anyDouble());
+  }
+
   @Test
   public void findCurrentBannerInstructions_returnsNullWithNullCurrentStep() throws Exception {
     LegStep currentStep = null;
@@ -241,6 +348,42 @@ public class InstructionListPresenterTest extends BaseTest {
     return buildRouteProgress(route, 100, 100, 100, 0, 0);
   }
 
+  @NonNull
+  private RouteProgress buildRouteProgress(RouteLeg routeLeg, LegStep currentStep) {
+    RouteStepProgress stepProgress = mock(RouteStepProgress.class);
+    when(stepProgress.step()).thenReturn(currentStep);
+    when(stepProgress.distanceRemaining()).thenReturn(50f);
+    RouteLegProgress legProgress = mock(RouteLegProgress.class);
+    when(legProgress.routeLeg()).thenReturn(routeLeg);
+    when(legProgress.currentStepProgress()).thenReturn(stepProgress);
+    RouteProgress routeProgress = mock(RouteProgress.class);
+    when(routeProgress.currentLegProgress()).thenReturn(legProgress);
+    return routeProgress;
+  }
+
+  @NonNull
+  private RouteLeg buildRouteLeg(List<LegStep> steps) {
+    RouteLeg routeLeg = mock(RouteLeg.class);
+    when(routeLeg.steps()).thenReturn(steps);
+    return routeLeg;
+  }
+
+  @NonNull
+  private List<LegStep> buildSteps(int size) {
+    List<LegStep> steps = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      BannerText primary = mock(BannerText.class);
+      when(primary.text()).thenReturn("Step " + i);
+      BannerInstructions bannerInstructions = mock(BannerInstructions.class);
+      when(bannerInstructions.primary()).thenReturn(primary);
+      when(bannerInstructions.distanceAlongGeometry()).thenReturn(100d);
+      LegStep step = mock(LegStep.class);
+      when(step.bannerInstructions()).thenReturn(Collections.singletonList(bannerInstructions));
+      steps.add(step);
+    }
+    return steps;
+  }
+
   @NonNull
   private InstructionListPresenter buildPresenter(SpannableString spannableString) {
     DistanceFormatter distanceFormatter = mock(DistanceFormatter.class);
@@ -0,0 +1,82 @@
+package com.mapbox.navigation.ui.voice;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AudioClipPoolTest {
+
+  @Test
+  public void offer_clipWithinBudgetIsAdded() {
+    AudioClipPool pool = new AudioClipPool(10);
+
+    boolean isAdded = pool.offer("instruction", new byte[8]);
+
+    assertTrue(isAdded);
+    assertEquals(8, pool.usedBytes());
+  }
+
+  @Test
+  public void offer_clipOverBudgetIsRejected() {
+    AudioClipPool pool = new AudioClipPool(10);
+    pool.offer("first", new byte[8]);
+
+    boolean isAdded = pool.offer("second", new byte[8]);
+
+    assertFalse(isAdded);
+    assertNull(pool.take("second"));
+  }
+
+  @Test
+  public void take_clipIsRemovedFromPool() {
+    AudioClipPool pool = new AudioClipPool(10);
+    byte[] clip = new byte[] {1, 2, 3};
+    pool.offer("instruction", clip);
+
+    assertArrayEquals(clip, pool.take("instruction"));
+    assertNull(pool.take("instruction"));
+    assertEquals(0, pool.usedBytes());
+  }
+
+  @Test
+  public void take_freesRoomForNextClip() {
+    AudioClipPool pool = new AudioClipPool(10);
+    pool.offer("first", new byte[8]);
+    pool.take("first");
+
+    boolean isAdded = pool.offer("second", new byte[8]);
+
+    assertTrue(isAdded);
+  }
+
+  @Test
+  public void retainAll_clipsOfOtherInstructionsAreDropped() {
+    AudioClipPool pool = new AudioClipPool(10);
+    byte[] upcoming = new byte[] {1, 2};
+    pool.offer("old route", new byte[8]);
+    pool.offer("new route", upcoming);
+
+    pool.retainAll(Collections.singletonList("new route"));
+
+    assertEquals(2, pool.usedBytes());
+    assertNull(pool.take("old route"));
+    assertArrayEquals(upcoming, pool.take("new route"));
+  }
+
+  @Test
+  public void retainAll_freesRoomForClipsOfNewRoute() {
+    AudioClipPool pool = new AudioClipPool(10);
+    pool.offer("old route", new byte[8]);
+
+    pool.retainAll(Collections.<String>emptyList());
+    boolean isAdded = pool.offer("new route", new byte[8]);
+
+    assertTrue(isAdded);
+  }
+}
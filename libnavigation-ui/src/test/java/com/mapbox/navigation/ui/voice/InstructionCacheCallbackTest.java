@@ -8,27 +8,31 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 public class InstructionCacheCallbackTest {
 
   @Test
-  public void onResponse_cachedUrlIsAdded() {
+  public void onResponse_cachedUrlIsAdded() throws Exception {
     VoiceInstructionLoader loader = mock(VoiceInstructionLoader.class);
     Response<ResponseBody> response = mock(Response.class);
     ResponseBody body = mock(ResponseBody.class);
+    byte[] clip = new byte[] {1, 2, 3};
+    when(body.bytes()).thenReturn(clip);
     when(response.body()).thenReturn(body);
     String url = "http://some.url";
     Call call = buildMockCall(url);
-    InstructionCacheCallback callback = new InstructionCacheCallback(loader);
+    InstructionCacheCallback callback = new InstructionCacheCallback(loader, "instruction");
 
     callback.onResponse(call, response);
 
-    verify(loader).addCachedUrl(eq(url));
+    verify(loader).onInstructionCached(eq("instruction"), eq(url), eq(clip));
   }
 
   @Test
@@ -39,7 +43,7 @@ public class InstructionCacheCallbackTest {
     when(response.body()).thenReturn(body);
     String url = "http://some.url";
     Call call = buildMockCall(url);
-    InstructionCacheCallback callback = new InstructionCacheCallback(loader);
+    InstructionCacheCallback callback = new InstructionCacheCallback(loader, "instruction");
 
     callback.onResponse(call, response);
 
@@ -52,11 +56,23 @@ public class InstructionCacheCallbackTest {
     Response<ResponseBody> response = mock(Response.class);
     String url = "http://some.url";
     Call call = buildMockCall(url);
-    InstructionCacheCallback callback = new InstructionCacheCallback(loader);
+    InstructionCacheCallback callback = new InstructionCacheCallback(loader, "instruction");
 
     callback.onResponse(call, response);
 
-    verifyZeroInteractions(loader);
+    verify(loader, never()).onInstructionCached(anyString(), anyString(), any(byte[].class));
+    verify(loader).onPrefetchFinished();
+  }
+
+  @Test
+  public void onFailure_nextPrefetchIsStarted() {
+    VoiceInstructionLoader loader = mock(VoiceInstructionLoader.class);
+    Call call = buildMockCall("http://some.url");
+    InstructionCacheCallback callback = new InstructionCacheCallback(loader, "instruction");
+
+    callback.onFailure(call, new Throwable());
+
+    verify(loader).onPrefetchFinished();
   }
 
   private Call buildMockCall(String stringUrl) {
@@ -0,0 +1,90 @@
+package com.mapbox.navigation.ui.voice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class VoiceClipDiskCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void key_ignoresWhitespaceDifferences() {
+    String first = VoiceClipDiskCache.key("en", "ssml", "<speak>Turn left onto  Main Street</speak>");
+    String second = VoiceClipDiskCache.key("en", "ssml", " <speak>Turn left onto Main\nStreet</speak> ");
+
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void key_differsByLanguage() {
+    String english = VoiceClipDiskCache.key("en", "ssml", "<speak>Turn left</speak>");
+    String german = VoiceClipDiskCache.key("de", "ssml", "<speak>Turn left</speak>");
+
+    assertNotEquals(english, german);
+  }
+
+  @Test
+  public void get_returnsStoredClip() throws Exception {
+    VoiceClipDiskCache cache = new VoiceClipDiskCache(temporaryFolder.newFolder(), 100);
+    byte[] clip = new byte[] {1, 2, 3};
+
+    cache.put("key", clip);
+
+    assertArrayEquals(clip, cache.get("key"));
+    assertEquals(1, cache.hitCount());
+  }
+
+  @Test
+  public void get_missingClipIsCountedAsMiss() throws Exception {
+    VoiceClipDiskCache cache = new VoiceClipDiskCache(temporaryFolder.newFolder(), 100);
+
+    assertNull(cache.get("key"));
+    assertEquals(1, cache.missCount());
+  }
+
+  @Test
+  public void put_leastRecentlyUsedClipIsEvicted() throws Exception {
+    VoiceClipDiskCache cache = new VoiceClipDiskCache(temporaryFolder.newFolder(), 100);
+    cache.put("first", new byte[40]);
+    cache.put("second", new byte[40]);
+    cache.get("first");
+
+    cache.put("third", new byte[40]);
+
+    assertTrue(cache.contains("first"));
+    assertFalse(cache.contains("second"));
+    assertTrue(cache.contains("third"));
+  }
+
+  @Test
+  public void load_clipsStoredInPreviousSessionAreFound() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    new VoiceClipDiskCache(directory, 100).put("key", new byte[] {1});
+
+    VoiceClipDiskCache cache = new VoiceClipDiskCache(directory, 100);
+    cache.load();
+
+    assertTrue(cache.contains("key"));
+  }
+
+  @Test
+  public void contains_doesNotIndexTheDirectory() throws Exception {
+    File directory = temporaryFolder.newFolder();
+    new VoiceClipDiskCache(directory, 100).put("key", new byte[] {1});
+
+    VoiceClipDiskCache cache = new VoiceClipDiskCache(directory, 100);
+
+    assertFalse(cache.contains("key"));
+  }
+}
@@ -9,38 +9,132 @@ import com.mapbox.navigation.ui.ConnectivityStatusProvider;
 import org.junit.Test;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import okhttp3.Cache;
 import retrofit2.Callback;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class VoiceInstructionLoaderTest extends BaseTest {
 
+  private static final int MAX_CACHED_INSTRUCTIONS = 250;
+
   @Test
-  public void checksEvictFourInstructions() throws Exception {
+  public void checksLeastRecentlyUsedInstructionsAreEvicted() throws Exception {
     Context anyContext = mock(Context.class);
     Cache aCache = mock(Cache.class);
     List<String> urlsToBeCached = buildUrlsToCache();
-    urlsToBeCached.remove(4);
-    Iterator<String> urlsCached = urlsToBeCached.iterator();
-    when(aCache.urls()).thenReturn(urlsCached);
-    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(anyContext, "any_access_token",
-      aCache);
-    List<String> urlsToCache = buildUrlsToCache();
-    theVoiceInstructionLoader.addStubUrlsToCache(urlsToCache);
+    when(aCache.urls()).thenReturn(new ArrayList<>(urlsToBeCached).iterator());
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(anyContext, aCache,
+      mock(MapboxSpeech.Builder.class), mock(ConnectivityStatusProvider.class), 3);
+    for (int i = 0; i < urlsToBeCached.size(); i++) {
+      theVoiceInstructionLoader.onInstructionCached("instruction " + i, urlsToBeCached.get(i), new byte[0]);
+    }
 
     List<String> urlsEvicted = theVoiceInstructionLoader.evictVoiceInstructions();
 
-    assertEquals(4, urlsEvicted.size());
+    assertEquals(2, urlsEvicted.size());
+    assertTrue(urlsEvicted.contains(urlsToBeCached.get(0)));
+    assertTrue(urlsEvicted.contains(urlsToBeCached.get(1)));
+  }
+
+  @Test
+  public void checksRecentlyPrefetchedInstructionIsNotEvicted() throws Exception {
+    Cache aCache = mock(Cache.class);
+    when(aCache.isClosed()).thenReturn(true);
+    List<String> urlsToBeCached = buildUrlsToCache();
+    when(aCache.urls()).thenReturn(new ArrayList<>(urlsToBeCached).iterator());
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(mock(Context.class), aCache,
+      mock(MapboxSpeech.Builder.class), mock(ConnectivityStatusProvider.class), 2);
+    theVoiceInstructionLoader.onInstructionCached("instruction 0", urlsToBeCached.get(0), new byte[0]);
+    theVoiceInstructionLoader.onInstructionCached("instruction 1", urlsToBeCached.get(1), new byte[0]);
+
+    theVoiceInstructionLoader.cacheInstructions(Collections.singletonList("instruction 0"));
+    theVoiceInstructionLoader.onInstructionCached("instruction 2", urlsToBeCached.get(2), new byte[0]);
+    List<String> urlsEvicted = theVoiceInstructionLoader.evictVoiceInstructions();
+
+    assertEquals(Collections.singletonList(urlsToBeCached.get(1)), urlsEvicted);
+  }
+
+  @Test
+  public void checksPrefetchIsLimitedToFourConcurrentDownloads() {
+    Cache anyCache = mock(Cache.class);
+    MapboxSpeech.Builder aSpeechBuilder = mock(MapboxSpeech.Builder.class);
+    when(aSpeechBuilder.instruction(anyString())).thenReturn(aSpeechBuilder);
+    when(aSpeechBuilder.textType(anyString())).thenReturn(aSpeechBuilder);
+    MapboxSpeech aSpeech = mock(MapboxSpeech.class);
+    when(aSpeechBuilder.build()).thenReturn(aSpeech);
+    ConnectivityStatusProvider connectivityStatus = mock(ConnectivityStatusProvider.class);
+    when(connectivityStatus.isConnected()).thenReturn(true);
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(mock(Context.class), anyCache,
+      aSpeechBuilder, connectivityStatus, MAX_CACHED_INSTRUCTIONS);
+
+    theVoiceInstructionLoader.cacheInstructions(Arrays.asList("1", "2", "3", "4", "5", "6"));
+    verify(aSpeech, times(4)).enqueueCall(any(Callback.class));
+
+    theVoiceInstructionLoader.onPrefetchFinished();
+    verify(aSpeech, times(5)).enqueueCall(any(Callback.class));
+  }
+
+  @Test
+  public void checksAlreadyCachedInstructionIsNotDownloadedAgain() {
+    Cache anyCache = mock(Cache.class);
+    MapboxSpeech.Builder aSpeechBuilder = mock(MapboxSpeech.Builder.class);
+    ConnectivityStatusProvider connectivityStatus = mock(ConnectivityStatusProvider.class);
+    when(connectivityStatus.isConnected()).thenReturn(true);
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(mock(Context.class), anyCache,
+      aSpeechBuilder, connectivityStatus, MAX_CACHED_INSTRUCTIONS);
+    theVoiceInstructionLoader.onInstructionCached("1", "http://some.url", new byte[0]);
+
+    theVoiceInstructionLoader.cacheInstructions(Collections.singletonList("1"));
+
+    verify(aSpeechBuilder, never()).build();
+  }
+
+  @Test
+  public void checksPooledAudioOfInstructionsNoLongerUpcomingIsReleased() {
+    VoiceClipDiskCache voiceClipCache = mock(VoiceClipDiskCache.class);
+    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(mock(Context.class),
+      "any_access_token", mock(Cache.class), null, mock(ConnectivityStatusProvider.class),
+      MAX_CACHED_INSTRUCTIONS, voiceClipCache, new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+          runnable.run();
+        }
+      });
+    theVoiceInstructionLoader.onInstructionCached("old route", "http://some.url", new byte[] {1});
+    VoiceInstructionLoader.ClipCallback callback = mock(VoiceInstructionLoader.ClipCallback.class);
+
+    theVoiceInstructionLoader.cacheInstructions(Collections.singletonList("new route"));
+    theVoiceInstructionLoader.loadCachedClip("old route", "ssml", callback);
+
+    verify(voiceClipCache).get(anyString());
+  }
+
+  @Test
+  public void checksVoiceClipCacheCountersAreExposed() {
+    VoiceClipDiskCache voiceClipCache = mock(VoiceClipDiskCache.class);
+    when(voiceClipCache.hitCount()).thenReturn(3);
+    when(voiceClipCache.missCount()).thenReturn(2);
+    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(mock(Context.class),
+      "any_access_token", mock(Cache.class), null, mock(ConnectivityStatusProvider.class),
+      MAX_CACHED_INSTRUCTIONS, voiceClipCache, mock(Executor.class));
+
+    assertEquals(3, theVoiceInstructionLoader.getVoiceClipCacheHitCount());
+    assertEquals(2, theVoiceInstructionLoader.getVoiceClipCacheMissCount());
   }
 
   @Test
@@ -54,8 +148,8 @@ public class VoiceInstructionLoaderTest extends BaseTest {
     when(aSpeechBuilder.build()).thenReturn(aSpeech);
     ConnectivityStatusProvider connectivityStatus = mock(ConnectivityStatusProvider.class);
     Context context = mock(Context.class);
-    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(context, "any_access_token",
-      anyCache, aSpeechBuilder, connectivityStatus);
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(context, anyCache,
+      aSpeechBuilder, connectivityStatus, MAX_CACHED_INSTRUCTIONS);
     Callback aCallback = mock(Callback.class);
 
     theVoiceInstructionLoader.requestInstruction("anyInstruction", "anyType", aCallback);
@@ -71,8 +165,8 @@ public class VoiceInstructionLoaderTest extends BaseTest {
     MapboxSpeech aSpeech = mock(MapboxSpeech.class);
     ConnectivityStatusProvider connectivityStatus = mock(ConnectivityStatusProvider.class);
     Context context = mock(Context.class);
-    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(context, "any_access_token",
-      anyCache, anySpeechBuilder, connectivityStatus);
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(context, anyCache,
+      anySpeechBuilder, connectivityStatus, MAX_CACHED_INSTRUCTIONS);
     Callback aCallback = mock(Callback.class);
 
     theVoiceInstructionLoader.requestInstruction("anyInstruction", "anyType", aCallback);
@@ -88,8 +182,8 @@ public class VoiceInstructionLoaderTest extends BaseTest {
     MapboxSpeech aSpeech = mock(MapboxSpeech.class);
     ConnectivityStatusProvider connectivityStatus = mock(ConnectivityStatusProvider.class);
     Context context = mock(Context.class);
-    VoiceInstructionLoader theVoiceInstructionLoader = new VoiceInstructionLoader(context, "any_access_token",
-      anyCache, nullSpeechBuilder, connectivityStatus);
+    VoiceInstructionLoader theVoiceInstructionLoader = buildLoader(context, anyCache,
+      nullSpeechBuilder, connectivityStatus, MAX_CACHED_INSTRUCTIONS);
     Callback aCallback = mock(Callback.class);
 
     theVoiceInstructionLoader.requestInstruction("anyInstruction", "anyType", aCallback);
@@ -97,6 +191,18 @@ public class VoiceInstructionLoaderTest extends BaseTest {
     verify(aSpeech, times(0)).enqueueCall(eq(aCallback));
   }
 
+  private VoiceInstructionLoader buildLoader(Context context, Cache cache, MapboxSpeech.Builder speechBuilder,
+                                             ConnectivityStatusProvider connectivityStatus,
+                                             int maxCachedInstructions) {
+    return new VoiceInstructionLoader(context, "any_access_token", cache, speechBuilder, connectivityStatus,
+      maxCachedInstructions, mock(VoiceClipDiskCache.class), new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+          runnable.run();
+        }
+      });
+  }
+
   private List<String> buildUrlsToCache() {
     List<String> urlsCached = new ArrayList<>();
     urlsCached.add("https://api.mapbox.com/voice/v1/speak/%3Cspeak%3E%3Camazon:effect%20name=%22drc%22%3E%3Cprosody" +
@@ -44,6 +44,15 @@ interface MapboxNativeNavigator {
      */
     fun updateSensorData(sensorData: SensorData): Boolean
 
+    /**
+     * Passes in a batch of sensor data, holding the navigator lock once for the whole batch.
+     *
+     * @param sensorData sensor data of the user, oldest first.
+     *
+     * @return the number of samples that were usable.
+     */
+    suspend fun updateSensorDataBatch(sensorData: List<SensorData>): Int
+
     /**
      * Gets the status as an offset in time from the last fixed location. This
      * allows the caller to get predicted statuses in the future along the route if
@@ -90,6 +99,17 @@ interface MapboxNativeNavigator {
      */
     fun updateAnnotations(legAnnotationJson: String, routeIndex: Int, legIndex: Int): Boolean
 
+    /**
+     * Replaces the route with a refreshed version of the same route and updates
+     * the annotations of the given legs, without setting the route again.
+     *
+     * @param route [DirectionsRoute] with the refreshed annotations
+     * @param legIndices Which legs have new annotations
+     *
+     * @return True if all the annotations could be updated
+     */
+    suspend fun updateRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>): Boolean
+
     /**
      * Gets the banner at a specific step index in the route. If there is no
      * banner at the specified index method return *null*.
@@ -161,6 +181,17 @@ interface MapboxNativeNavigator {
      */
     fun configureRouter(routerParams: RouterParams, httpClient: HttpInterface?): Long
 
+    /**
+     * Configures the router again, with the HTTP client of the last [configureRouter] call,
+     * so it picks up tiles removed from its directory.
+     *
+     * @param routerParams [RouterParams] object which contains router configurations for
+     * getting routes offline.
+     *
+     * @return number of tiles founded in the directory
+     */
+    fun reconfigureRouter(routerParams: RouterParams): Long
+
     /**
      * Uses valhalla and local tile data to generate mapbox-directions-api-like json.
      *
@@ -249,6 +280,12 @@ interface MapboxNativeNavigator {
      */
     fun getVoiceInstruction(index: Int): VoiceInstruction?
 
+    /**
+     * Loads the native library and creates the native navigator, which otherwise happens on
+     * their first use. Blocks until done, meant to be called off the main thread.
+     */
+    fun preload()
+
     /**
      * Reset resources.
      */
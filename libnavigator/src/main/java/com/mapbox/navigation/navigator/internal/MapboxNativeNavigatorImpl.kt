@@ -6,17 +6,13 @@ import com.mapbox.api.directions.v5.models.BannerInstructions
 import com.mapbox.api.directions.v5.models.BannerText
 import com.mapbox.api.directions.v5.models.DirectionsRoute
 import com.mapbox.api.directions.v5.models.LegStep
-import com.mapbox.api.directions.v5.models.RouteLeg
 import com.mapbox.api.directions.v5.models.VoiceInstructions
 import com.mapbox.geojson.Geometry
 import com.mapbox.geojson.Point
 import com.mapbox.geojson.gson.GeometryGeoJson
-import com.mapbox.geojson.utils.PolylineUtils
-import com.mapbox.navigation.base.trip.model.RouteLegProgress
+import com.mapbox.navigation.base.route.internal.CompactRoute
 import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.base.trip.model.RouteProgressState
-import com.mapbox.navigation.base.trip.model.RouteStepProgress
-import com.mapbox.navigation.navigator.ifNonNull
 import com.mapbox.navigation.navigator.toFixLocation
 import com.mapbox.navigation.navigator.toLocation
 import com.mapbox.navigator.BannerComponent
@@ -40,23 +36,39 @@ import kotlinx.coroutines.sync.withLock
  */
 object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
 
-    // Order matters! https://kotlinlang.org/docs/reference/classes.html#constructors
-    init {
-        System.loadLibrary("navigator-android")
-    }
-
-    private const val ONE_INDEX = 1
     private const val ONE_SECOND_IN_MILLISECONDS = 1000.0
     private const val FIRST_BANNER_INSTRUCTION = 0
     private const val GRID_SIZE = 0.0025f
     private const val BUFFER_DILATION: Short = 1
-    private const val TWO_LEGS: Short = 2
     private const val PRIMARY_ROUTE_INDEX = 0
 
-    private var navigator: Navigator = Navigator()
+    private val navigatorLock = Any()
+    @Volatile
+    private var nativeNavigator: Navigator? = null
     private var route: DirectionsRoute? = null
+    private var compactRoute: CompactRoute? = null
+    private val routeProgressFactory = RouteProgressFactory()
     private var routeBufferGeoJson: Geometry? = null
     private val mutex = Mutex()
+    // the router is configured by the on-board router and reconfigured by the tiles prefetcher
+    private val routerLock = Any()
+    private var routerHttpClient: HttpInterface? = null
+
+    // the native library is loaded on first use, see preload
+    private val navigator: Navigator
+        get() = nativeNavigator ?: synchronized(navigatorLock) {
+            nativeNavigator ?: run {
+                System.loadLibrary("navigator-android")
+                Navigator().also { nativeNavigator = it }
+            }
+        }
+
+    // Package private for testing purposes
+    internal fun useNavigator(navigator: Navigator) {
+        synchronized(navigatorLock) {
+            nativeNavigator = navigator
+        }
+    }
 
     // Route following
 
@@ -84,6 +96,19 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
         return navigator.updateSensorData(sensorData)
     }
 
+    /**
+     * Passes in a batch of sensor data, holding the navigator lock once for the whole batch.
+     *
+     * @param sensorData sensor data of the user, oldest first.
+     *
+     * @return the number of samples that were usable.
+     */
+    override suspend fun updateSensorDataBatch(sensorData: List<SensorData>): Int {
+        mutex.withLock {
+            return sensorData.count { navigator.updateSensorData(it) }
+        }
+    }
+
     /**
      * Gets the status as an offset in time from the last fixed location. This
      * allows the caller to get predicted statuses in the future along the route if
@@ -128,6 +153,7 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
     ): NavigationStatus {
         mutex.withLock {
             MapboxNativeNavigatorImpl.route = route
+            compactRoute = route?.let { CompactRoute.of(it) }
             val result = navigator.setRoute(route?.toJson() ?: "{}", PRIMARY_ROUTE_INDEX, legIndex)
             navigator.getRouteBufferGeoJson(GRID_SIZE, BUFFER_DILATION)?.also {
                 routeBufferGeoJson = GeometryGeoJson.fromJson(it)
@@ -152,6 +178,32 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
         legIndex: Int
     ): Boolean = navigator.updateAnnotations(legAnnotationJson, routeIndex, legIndex)
 
+    /**
+     * Replaces the route with a refreshed version of the same route and updates
+     * the annotations of the given legs, without setting the route again.
+     * The route buffer doesn't depend on annotations and is kept.
+     *
+     * @param route [DirectionsRoute] with the refreshed annotations
+     * @param legIndices Which legs have new annotations
+     *
+     * @return True if all the annotations could be updated
+     */
+    override suspend fun updateRouteAnnotations(route: DirectionsRoute, legIndices: List<Int>): Boolean {
+        mutex.withLock {
+            MapboxNativeNavigatorImpl.route = route
+            compactRoute = CompactRoute.of(route)
+            var isUpdated = true
+            val legs = route.legs()
+            for (legIndex in legIndices) {
+                val annotationJson = legs?.getOrNull(legIndex)?.annotation()?.toJson()
+                isUpdated = annotationJson != null &&
+                    navigator.updateAnnotations(annotationJson, PRIMARY_ROUTE_INDEX, legIndex) &&
+                    isUpdated
+            }
+            return isUpdated
+        }
+    }
+
     /**
      * Gets the banner at a specific step index in the route. If there is no
      * banner at the specified index method return *null*.
@@ -225,7 +277,24 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
      * @return number of tiles founded in the directory
      */
     override fun configureRouter(routerParams: RouterParams, httpClient: HttpInterface?): Long =
-        navigator.configureRouter(routerParams, httpClient)
+        synchronized(routerLock) {
+            routerHttpClient = httpClient
+            navigator.configureRouter(routerParams, httpClient)
+        }
+
+    /**
+     * Configures the router again, with the HTTP client of the last [configureRouter] call,
+     * so it picks up tiles removed from its directory.
+     *
+     * @param routerParams [RouterParams] object which contains router configurations for
+     * getting routes offline.
+     *
+     * @return number of tiles founded in the directory
+     */
+    override fun reconfigureRouter(routerParams: RouterParams): Long =
+        synchronized(routerLock) {
+            navigator.configureRouter(routerParams, routerHttpClient)
+        }
 
     /**
      * Uses valhalla and local tile data to generate mapbox-directions-api-like json.
@@ -322,146 +391,52 @@ object MapboxNativeNavigatorImpl : MapboxNativeNavigator {
         navigator.getVoiceInstruction(index)
 
     /**
-     * Reset resources.
+     * Loads the native library and creates the native navigator if it wasn't done yet.
+     * Any other call waits for a preload in progress.
+     */
+    override fun preload() {
+        navigator
+    }
+
+    /**
+     * Reset resources. The next call creates a new native navigator.
      */
     override fun reset() {
-        navigator = Navigator()
+        synchronized(navigatorLock) {
+            nativeNavigator = null
+        }
+        synchronized(routerLock) {
+            routerHttpClient = null
+        }
         route = null
+        compactRoute = null
         routeBufferGeoJson = null
     }
     /**
      * Builds [RouteProgress] object based on [NavigationStatus] returned by [Navigator]
      */
-    private fun NavigationStatus.getRouteProgress(): RouteProgress {
-        val upcomingStepIndex = stepIndex + ONE_INDEX
-
-        val routeProgressBuilder = RouteProgress.Builder()
-        val legProgressBuilder = RouteLegProgress.Builder()
-        val stepProgressBuilder = RouteStepProgress.Builder()
-
-        ifNonNull(route?.legs()) { legs ->
-            var currentLeg: RouteLeg? = null
-            if (legIndex < legs.size) {
-                currentLeg = legs[legIndex]
-                legProgressBuilder.legIndex(legIndex)
-                legProgressBuilder.routeLeg(currentLeg)
-
-                // todo mapbox java issue - leg distance is nullable
-                val distanceTraveled =
-                    (currentLeg.distance()?.toFloat() ?: 0f) - remainingLegDistance
-                legProgressBuilder.distanceTraveled(distanceTraveled)
-                legProgressBuilder.fractionTraveled(
-                    distanceTraveled / (currentLeg.distance()?.toFloat() ?: 0f)
-                )
-
-                var routeDistanceRemaining = remainingLegDistance
-                var routeDurationRemaining = remainingLegDuration / ONE_SECOND_IN_MILLISECONDS
-                if (legs.size >= TWO_LEGS) {
-                    for (i in legIndex + ONE_INDEX until legs.size) {
-                        routeDistanceRemaining += legs[i].distance()?.toFloat() ?: 0f
-                        routeDurationRemaining += legs[i].duration() ?: 0.0
-                    }
-                }
-                routeProgressBuilder.distanceRemaining(routeDistanceRemaining)
-                routeProgressBuilder.durationRemaining(routeDurationRemaining)
-
-                var routeDistance = 0f
-                for (leg in legs) {
-                    routeDistance += leg.distance()?.toFloat() ?: 0f
-                }
-                val routeDistanceTraveled = routeDistance - routeDistanceRemaining
-                routeProgressBuilder.distanceTraveled(routeDistanceTraveled)
-                routeProgressBuilder.fractionTraveled(routeDistanceTraveled / routeDistance)
-
-                routeProgressBuilder.remainingWaypoints(legs.size - (legIndex + 1))
-            }
-
-            ifNonNull(currentLeg?.steps()) { steps ->
-                val currentStep: LegStep?
-                if (stepIndex < steps.size) {
-                    currentStep = steps[stepIndex]
-                    stepProgressBuilder.stepIndex(stepIndex)
-                    stepProgressBuilder.step(currentStep)
-
-                    currentStep?.distance()
-                    val stepGeometry = currentStep.geometry()
-                    stepGeometry?.let {
-                        stepProgressBuilder.stepPoints(
-                            PolylineUtils.decode(
-                                stepGeometry, /* todo add core dependency PRECISION_6*/
-                                6
-                            )
-                        )
-                    }
-
-                    val distanceTraveled =
-                        currentStep.distance().toFloat() - remainingStepDistance
-                    stepProgressBuilder.distanceTraveled(distanceTraveled)
-                    stepProgressBuilder.fractionTraveled(distanceTraveled / currentStep.distance().toFloat())
-
-                    routeState.convertState()?.also {
-                        routeProgressBuilder.currentState(it)
-
-                        var bannerInstructions = bannerInstruction?.mapToDirectionsApi(currentStep)
-                        if (it == RouteProgressState.ROUTE_INITIALIZED) {
-                            bannerInstructions =
-                                getBannerInstruction(FIRST_BANNER_INSTRUCTION)?.mapToDirectionsApi(
-                                    currentStep
-                                )
-                        }
-                        routeProgressBuilder.bannerInstructions(bannerInstructions)
-                    }
-                    ifNonNull(currentStep.bannerInstructions()) {
-                        stepProgressBuilder.guidanceViewURL(getGuidanceViewUrl(it))
-                    }
-                }
-
-                if (upcomingStepIndex < steps.size) {
-                    val upcomingStep = steps[upcomingStepIndex]
-                    legProgressBuilder.upcomingStep(upcomingStep)
-
-                    val stepGeometry = upcomingStep.geometry()
-                    stepGeometry?.let {
-                        routeProgressBuilder.upcomingStepPoints(
-                            PolylineUtils.decode(
-                                stepGeometry, /* todo add core dependency PRECISION_6*/
-                                6
-                            )
-                        )
-                    }
+    private fun NavigationStatus.getRouteProgress(): RouteProgress =
+        routeProgressFactory.create(
+            route = route,
+            compactRoute = compactRoute,
+            routeBufferGeoJson = routeBufferGeoJson,
+            legIndex = legIndex,
+            stepIndex = stepIndex,
+            remainingLegDistance = remainingLegDistance,
+            remainingLegDurationSeconds = remainingLegDuration / ONE_SECOND_IN_MILLISECONDS,
+            remainingStepDistance = remainingStepDistance,
+            remainingStepDurationSeconds = remainingStepDuration / ONE_SECOND_IN_MILLISECONDS,
+            inTunnel = inTunnel,
+            routeState = routeState.convertState(),
+            bannerInstructions = { currentStep, state ->
+                if (state == RouteProgressState.ROUTE_INITIALIZED) {
+                    getBannerInstruction(FIRST_BANNER_INSTRUCTION)?.mapToDirectionsApi(currentStep)
+                } else {
+                    bannerInstruction?.mapToDirectionsApi(currentStep)
                 }
-            }
-        }
-
-        stepProgressBuilder.distanceRemaining(remainingStepDistance)
-        stepProgressBuilder.durationRemaining(remainingStepDuration / ONE_SECOND_IN_MILLISECONDS)
-
-        legProgressBuilder.currentStepProgress(stepProgressBuilder.build())
-        legProgressBuilder.distanceRemaining(remainingLegDistance)
-        legProgressBuilder.durationRemaining(remainingLegDuration / ONE_SECOND_IN_MILLISECONDS)
-
-        routeProgressBuilder.currentLegProgress(legProgressBuilder.build())
-
-        routeProgressBuilder.inTunnel(inTunnel)
-        routeProgressBuilder.routeGeometryWithBuffer(routeBufferGeoJson)
-
-        routeProgressBuilder.voiceInstructions(voiceInstruction?.mapToDirectionsApi())
-
-        ifNonNull(route) {
-            routeProgressBuilder.route(it)
-        }
-
-        return routeProgressBuilder.build()
-    }
-
-    private fun getGuidanceViewUrl(bannerInstructions: List<BannerInstructions>): String? {
-        bannerInstructions.forEach {
-            ifNonNull(it.view()) { bannerView ->
-                return bannerView.components()?.firstOrNull()?.imageUrl()
-            }
-        }
-        return null
-    }
+            },
+            voiceInstructions = voiceInstruction?.mapToDirectionsApi()
+        )
 
     private fun BannerInstruction.mapToDirectionsApi(currentStep: LegStep): BannerInstructions {
         return BannerInstructions.builder()
@@ -0,0 +1,38 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.navigation.base.options.MapboxOnboardRouterConfig
+import com.mapbox.navigator.RouterParams
+import com.mapbox.navigator.TileEndpointConfiguration
+import java.io.File
+
+private const val TILES_DIR_NAME = "tiles"
+
+/**
+ * Directory where the on-board router stores routing tiles.
+ */
+fun MapboxOnboardRouterConfig.tilesDir(): File = File(tilePath, TILES_DIR_NAME)
+
+/**
+ * Maps the config to [RouterParams] used to configure the native router.
+ * The tiles directory is created if it doesn't exist yet.
+ */
+fun MapboxOnboardRouterConfig.toRouterParams(): RouterParams {
+    val tileDir = tilesDir()
+    if (!tileDir.exists()) {
+        tileDir.mkdirs()
+    }
+    return RouterParams(
+        tileDir.absolutePath,
+        inMemoryTileCache,
+        mapMatchingSpatialCache,
+        threadsCount,
+        endpoint?.let {
+            TileEndpointConfiguration(
+                it.host,
+                it.version,
+                it.token,
+                it.userAgent,
+                ""
+            )
+        })
+}
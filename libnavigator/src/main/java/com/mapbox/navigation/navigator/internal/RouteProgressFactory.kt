@@ -0,0 +1,180 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.api.directions.v5.models.BannerInstructions
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.api.directions.v5.models.VoiceInstructions
+import com.mapbox.geojson.Geometry
+import com.mapbox.geojson.Point
+import com.mapbox.navigation.base.route.internal.CompactRoute
+import com.mapbox.navigation.base.trip.model.RouteLegProgress
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.base.trip.model.RouteProgressState
+import com.mapbox.navigation.base.trip.model.RouteStepProgress
+import com.mapbox.navigation.navigator.ifNonNull
+
+/**
+ * Builds the [RouteProgress] of a navigator status.
+ *
+ * Takes the values of the status rather than the native type, so it doesn't need the native
+ * library. The step geometries are kept until the step changes.
+ */
+internal class RouteProgressFactory {
+
+    private val stepPoints = StepPoints()
+    private val upcomingStepPoints = StepPoints()
+
+    /**
+     * @param routeState state of the status, null when off route
+     * @param bannerInstructions provides the banner of the current step for the route state
+     */
+    fun create(
+        route: DirectionsRoute?,
+        compactRoute: CompactRoute?,
+        routeBufferGeoJson: Geometry?,
+        legIndex: Int,
+        stepIndex: Int,
+        remainingLegDistance: Float,
+        remainingLegDurationSeconds: Double,
+        remainingStepDistance: Float,
+        remainingStepDurationSeconds: Double,
+        inTunnel: Boolean,
+        routeState: RouteProgressState?,
+        bannerInstructions: (LegStep, RouteProgressState) -> BannerInstructions?,
+        voiceInstructions: VoiceInstructions?
+    ): RouteProgress {
+        val upcomingStepIndex = stepIndex + ONE_INDEX
+
+        val routeProgressBuilder = RouteProgress.Builder()
+        val legProgressBuilder = RouteLegProgress.Builder()
+        val stepProgressBuilder = RouteStepProgress.Builder()
+
+        ifNonNull(route?.legs()) { legs ->
+            var currentLeg: RouteLeg? = null
+            if (legIndex < legs.size) {
+                currentLeg = legs[legIndex]
+                legProgressBuilder.legIndex(legIndex)
+                legProgressBuilder.routeLeg(currentLeg)
+
+                // todo mapbox java issue - leg distance is nullable
+                val distanceTraveled =
+                    (currentLeg.distance()?.toFloat() ?: 0f) - remainingLegDistance
+                legProgressBuilder.distanceTraveled(distanceTraveled)
+                legProgressBuilder.fractionTraveled(
+                    distanceTraveled / (currentLeg.distance()?.toFloat() ?: 0f)
+                )
+
+                var routeDistanceRemaining = remainingLegDistance
+                var routeDurationRemaining = remainingLegDurationSeconds
+                if (compactRoute != null) {
+                    routeDistanceRemaining += compactRoute.distanceAfterLeg(legIndex).toFloat()
+                    routeDurationRemaining += compactRoute.durationAfterLeg(legIndex)
+                }
+                routeProgressBuilder.distanceRemaining(routeDistanceRemaining)
+                routeProgressBuilder.durationRemaining(routeDurationRemaining)
+
+                val routeDistance = compactRoute?.distance?.toFloat() ?: 0f
+                val routeDistanceTraveled = routeDistance - routeDistanceRemaining
+                routeProgressBuilder.distanceTraveled(routeDistanceTraveled)
+                routeProgressBuilder.fractionTraveled(routeDistanceTraveled / routeDistance)
+
+                routeProgressBuilder.remainingWaypoints(legs.size - (legIndex + 1))
+            }
+
+            ifNonNull(currentLeg?.steps()) { steps ->
+                val currentStep: LegStep?
+                if (stepIndex < steps.size) {
+                    currentStep = steps[stepIndex]
+                    stepProgressBuilder.stepIndex(stepIndex)
+                    stepProgressBuilder.step(currentStep)
+
+                    currentStep.geometry()?.let {
+                        stepProgressBuilder.stepPoints(stepPoints.get(compactRoute, legIndex, stepIndex))
+                    }
+
+                    val distanceTraveled =
+                        currentStep.distance().toFloat() - remainingStepDistance
+                    stepProgressBuilder.distanceTraveled(distanceTraveled)
+                    stepProgressBuilder.fractionTraveled(distanceTraveled / currentStep.distance().toFloat())
+
+                    routeState?.also {
+                        routeProgressBuilder.currentState(it)
+                        routeProgressBuilder.bannerInstructions(bannerInstructions(currentStep, it))
+                    }
+                    ifNonNull(currentStep.bannerInstructions()) {
+                        stepProgressBuilder.guidanceViewURL(getGuidanceViewUrl(it))
+                    }
+                }
+
+                if (upcomingStepIndex < steps.size) {
+                    val upcomingStep = steps[upcomingStepIndex]
+                    legProgressBuilder.upcomingStep(upcomingStep)
+
+                    upcomingStep.geometry()?.let {
+                        routeProgressBuilder.upcomingStepPoints(
+                            upcomingStepPoints.get(compactRoute, legIndex, upcomingStepIndex)
+                        )
+                    }
+                }
+            }
+        }
+
+        stepProgressBuilder.distanceRemaining(remainingStepDistance)
+        stepProgressBuilder.durationRemaining(remainingStepDurationSeconds)
+
+        legProgressBuilder.currentStepProgress(stepProgressBuilder.build())
+        legProgressBuilder.distanceRemaining(remainingLegDistance)
+        legProgressBuilder.durationRemaining(remainingLegDurationSeconds)
+
+        routeProgressBuilder.currentLegProgress(legProgressBuilder.build())
+
+        routeProgressBuilder.inTunnel(inTunnel)
+        routeProgressBuilder.routeGeometryWithBuffer(routeBufferGeoJson)
+
+        routeProgressBuilder.voiceInstructions(voiceInstructions)
+
+        ifNonNull(route) {
+            routeProgressBuilder.route(it)
+        }
+
+        return routeProgressBuilder.build()
+    }
+
+    private fun getGuidanceViewUrl(bannerInstructions: List<BannerInstructions>): String? {
+        bannerInstructions.forEach {
+            ifNonNull(it.view()) { bannerView ->
+                return bannerView.components()?.firstOrNull()?.imageUrl()
+            }
+        }
+        return null
+    }
+
+    private companion object {
+        private const val ONE_INDEX = 1
+    }
+}
+
+/**
+ * Keeps the last step geometry handed out, statuses are requested every second and the
+ * step changes far less often.
+ */
+private class StepPoints {
+    private var compactRoute: CompactRoute? = null
+    private var legIndex = -1
+    private var stepIndex = -1
+    private var points: List<Point> = emptyList()
+
+    fun get(compactRoute: CompactRoute?, legIndex: Int, stepIndex: Int): List<Point> {
+        if (compactRoute == null) {
+            return emptyList()
+        }
+        if (compactRoute !== this.compactRoute || legIndex != this.legIndex || stepIndex != this.stepIndex) {
+            this.compactRoute = compactRoute
+            this.legIndex = legIndex
+            this.stepIndex = stepIndex
+            points = compactRoute.stepPoints(legIndex, stepIndex)
+        }
+        return points
+    }
+}
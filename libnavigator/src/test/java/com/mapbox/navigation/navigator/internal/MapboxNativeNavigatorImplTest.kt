@@ -0,0 +1,93 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import com.mapbox.navigator.HttpInterface
+import com.mapbox.navigator.NavigationStatus
+import com.mapbox.navigator.Navigator
+import com.mapbox.navigator.RouteState
+import com.mapbox.navigator.RouterParams
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import java.util.Date
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+
+class MapboxNativeNavigatorImplTest {
+
+    private val points = listOf(
+        Point.fromLngLat(-122.4194, 37.7749),
+        Point.fromLngLat(-122.4184, 37.7759),
+        Point.fromLngLat(-122.4164, 37.7769)
+    )
+    private val navigator: Navigator = mockk(relaxed = true)
+    private val status: NavigationStatus = mockk(relaxed = true)
+
+    @Before
+    fun setUp() {
+        every { navigator.getRouteBufferGeoJson(any(), any()) } returns null
+        every { navigator.getStatus(any()) } returns status
+        every { status.key_points } returns emptyList()
+        every { status.routeState } returns RouteState.TRACKING
+        every { status.legIndex } returns 0
+        every { status.stepIndex } returns 0
+        every { status.bannerInstruction } returns null
+        every { status.voiceInstruction } returns null
+        MapboxNativeNavigatorImpl.useNavigator(navigator)
+    }
+
+    @After
+    fun tearDown() {
+        MapboxNativeNavigatorImpl.reset()
+    }
+
+    @Test
+    fun routeProgressUsesTheRefreshedRoute() = runBlocking {
+        MapboxNativeNavigatorImpl.setRoute(route(secondLegDuration = 10.0), 0)
+        MapboxNativeNavigatorImpl.updateRouteAnnotations(route(secondLegDuration = 40.0), listOf(1))
+
+        val routeProgress = MapboxNativeNavigatorImpl.getStatus(Date()).routeProgress
+
+        assertEquals(40.0, routeProgress.durationRemaining(), 0.0)
+    }
+
+    @Test
+    fun routerIsReconfiguredWithTheConfiguredHttpClient() {
+        val routerParams: RouterParams = mockk()
+        val httpClient: HttpInterface = mockk()
+        MapboxNativeNavigatorImpl.configureRouter(routerParams, httpClient)
+
+        MapboxNativeNavigatorImpl.reconfigureRouter(routerParams)
+
+        verify(exactly = 2) { navigator.configureRouter(routerParams, httpClient) }
+    }
+
+    private fun route(secondLegDuration: Double): DirectionsRoute = mockk(relaxed = true) {
+        every { geometry() } returns PolylineUtils.encode(points, 6)
+        every { routeOptions() } returns null
+        every { legs() } returns listOf(
+            leg(20.0, listOf(points[0], points[1])),
+            leg(secondLegDuration, listOf(points[1], points[2]))
+        )
+    }
+
+    private fun leg(legDuration: Double, stepPoints: List<Point>): RouteLeg = mockk(relaxed = true) {
+        every { distance() } returns 100.0
+        every { duration() } returns legDuration
+        every { annotation() } returns null
+        every { steps() } returns listOf(step(stepPoints))
+    }
+
+    private fun step(stepPoints: List<Point>): LegStep = mockk(relaxed = true) {
+        every { geometry() } returns PolylineUtils.encode(stepPoints, 6)
+        every { distance() } returns 100.0
+        every { bannerInstructions() } returns null
+    }
+}
@@ -0,0 +1,157 @@
+package com.mapbox.navigation.navigator.internal
+
+import com.mapbox.api.directions.v5.models.BannerInstructions
+import com.mapbox.api.directions.v5.models.DirectionsRoute
+import com.mapbox.api.directions.v5.models.LegStep
+import com.mapbox.api.directions.v5.models.RouteLeg
+import com.mapbox.geojson.Point
+import com.mapbox.geojson.utils.PolylineUtils
+import com.mapbox.navigation.base.route.internal.CompactRoute
+import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.base.trip.model.RouteProgressState
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class RouteProgressFactoryTest {
+
+    private val firstStep = listOf(Point.fromLngLat(-122.4194, 37.7749), Point.fromLngLat(-122.4184, 37.7759))
+    private val secondStep = listOf(Point.fromLngLat(-122.4184, 37.7759), Point.fromLngLat(-122.4164, 37.7769))
+    private val thirdStep = listOf(Point.fromLngLat(-122.4164, 37.7769), Point.fromLngLat(-122.4144, 37.7789))
+    private val route = route()
+    private val routeProgressFactory = RouteProgressFactory()
+
+    @Test
+    fun `remaining distance and duration include the legs after the current one`() {
+        val routeProgress = create(CompactRoute.create(route), remainingLegDistance = 50f)
+
+        assertEquals(150f, routeProgress.distanceRemaining(), 0f)
+        assertEquals(150f, routeProgress.distanceTraveled(), 0f)
+        assertEquals(25.0, routeProgress.durationRemaining(), 0.0)
+        assertEquals(1, routeProgress.remainingWaypoints())
+    }
+
+    @Test
+    fun `step points are read from the compact route`() {
+        val compactRoute = CompactRoute.create(route)
+
+        val routeProgress = create(compactRoute)
+
+        assertEquals(
+            compactRoute.stepPoints(0, 0),
+            routeProgress.currentLegProgress()!!.currentStepProgress()!!.stepPoints()
+        )
+        assertEquals(compactRoute.stepPoints(0, 1), routeProgress.upcomingStepPoints())
+    }
+
+    @Test
+    fun `step points are kept while the step doesn't change`() {
+        val compactRoute = CompactRoute.create(route)
+
+        val first = create(compactRoute)
+        val second = create(compactRoute)
+
+        assertSame(
+            first.currentLegProgress()!!.currentStepProgress()!!.stepPoints(),
+            second.currentLegProgress()!!.currentStepProgress()!!.stepPoints()
+        )
+    }
+
+    @Test
+    fun `step points are read again from another compact route`() {
+        val first = create(CompactRoute.create(route))
+
+        val second = create(CompactRoute.create(route))
+
+        assertNotSame(
+            first.currentLegProgress()!!.currentStepProgress()!!.stepPoints(),
+            second.currentLegProgress()!!.currentStepProgress()!!.stepPoints()
+        )
+    }
+
+    @Test
+    fun `banner instructions are provided for the route state`() {
+        val bannerInstructions = mockk<BannerInstructions>()
+        var providedState: RouteProgressState? = null
+
+        val routeProgress = create(CompactRoute.create(route)) { _, state ->
+            providedState = state
+            bannerInstructions
+        }
+
+        assertEquals(RouteProgressState.LOCATION_TRACKING, providedState)
+        assertSame(bannerInstructions, routeProgress.bannerInstructions())
+    }
+
+    @Test
+    fun `off route status has no state nor banner instructions`() {
+        val routeProgress = routeProgressFactory.create(
+            route = route,
+            compactRoute = CompactRoute.create(route),
+            routeBufferGeoJson = null,
+            legIndex = 0,
+            stepIndex = 0,
+            remainingLegDistance = 50f,
+            remainingLegDurationSeconds = 5.0,
+            remainingStepDistance = 10f,
+            remainingStepDurationSeconds = 1.0,
+            inTunnel = false,
+            routeState = null,
+            bannerInstructions = { _, _ -> mockk() },
+            voiceInstructions = null
+        )
+
+        assertNull(routeProgress.currentState())
+        assertNull(routeProgress.bannerInstructions())
+    }
+
+    private fun create(
+        compactRoute: CompactRoute,
+        remainingLegDistance: Float = 50f,
+        bannerInstructions: (LegStep, RouteProgressState) -> BannerInstructions? = { _, _ -> null }
+    ): RouteProgress = routeProgressFactory.create(
+        route = route,
+        compactRoute = compactRoute,
+        routeBufferGeoJson = null,
+        legIndex = 0,
+        stepIndex = 0,
+        remainingLegDistance = remainingLegDistance,
+        remainingLegDurationSeconds = 15.0,
+        remainingStepDistance = 10f,
+        remainingStepDurationSeconds = 1.0,
+        inTunnel = false,
+        routeState = RouteProgressState.LOCATION_TRACKING,
+        bannerInstructions = bannerInstructions,
+        voiceInstructions = null
+    )
+
+    private fun route(): DirectionsRoute {
+        val routePoints = listOf(firstStep[0], firstStep[1], secondStep[1], thirdStep[1])
+        return mockk(relaxed = true) {
+            every { geometry() } returns PolylineUtils.encode(routePoints, 6)
+            every { routeOptions() } returns null
+            every { legs() } returns listOf(
+                leg(200.0, 20.0, listOf(step(firstStep, 100.0), step(secondStep, 100.0))),
+                leg(100.0, 10.0, listOf(step(thirdStep, 100.0)))
+            )
+        }
+    }
+
+    private fun leg(legDistance: Double, legDuration: Double, legSteps: List<LegStep>): RouteLeg =
+        mockk(relaxed = true) {
+            every { distance() } returns legDistance
+            every { duration() } returns legDuration
+            every { annotation() } returns null
+            every { steps() } returns legSteps
+        }
+
+    private fun step(points: List<Point>, stepDistance: Double): LegStep = mockk(relaxed = true) {
+        every { geometry() } returns PolylineUtils.encode(points, 6)
+        every { distance() } returns stepDistance
+        every { bannerInstructions() } returns null
+    }
+}
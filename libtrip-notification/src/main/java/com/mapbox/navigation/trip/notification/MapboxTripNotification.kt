@@ -8,25 +8,18 @@ import android.content.BroadcastReceiver
 import android.content.Context
 import android.content.Intent
 import android.content.IntentFilter
-import android.graphics.Bitmap
-import android.graphics.Canvas
-import android.graphics.Matrix
-import android.graphics.PointF
 import android.os.Build
-import android.text.SpannableString
-import android.text.TextUtils
+import android.os.SystemClock
 import android.text.format.DateFormat
 import android.view.View.GONE
 import android.view.View.VISIBLE
 import android.widget.RemoteViews
 import androidx.core.app.NotificationCompat
 import androidx.core.content.ContextCompat
-import androidx.core.util.Pair
 import com.mapbox.annotation.module.MapboxModule
 import com.mapbox.annotation.module.MapboxModuleType
 import com.mapbox.api.directions.v5.models.BannerInstructions
 import com.mapbox.api.directions.v5.models.BannerText
-import com.mapbox.api.directions.v5.models.StepManeuver
 import com.mapbox.api.directions.v5.models.StepManeuver.StepManeuverType
 import com.mapbox.navigation.base.formatter.DistanceFormatter
 import com.mapbox.navigation.base.options.NavigationOptions
@@ -34,24 +27,28 @@ import com.mapbox.navigation.base.trip.model.RouteProgress
 import com.mapbox.navigation.base.trip.notification.NotificationAction
 import com.mapbox.navigation.base.trip.notification.TripNotification
 import com.mapbox.navigation.trip.notification.internal.TimeFormatter.formatTime
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconCache
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.DEFAULT_ROUNDABOUT_ANGLE
-import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.MANEUVER_ICON_DRAWER_MAP
-import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.MANEUVER_TYPES_WITH_NULL_MODIFIERS
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.ROUNDABOUT_MANEUVER_TYPES
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.adjustRoundaboutAngle
-import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.isManeuverIconNeedFlip
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.buildManeuverIconKey
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconKey
 import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverModifier
 import com.mapbox.navigation.utils.internal.END_NAVIGATION_ACTION
 import com.mapbox.navigation.utils.internal.NAVIGATION_NOTIFICATION_CHANNEL
 import com.mapbox.navigation.utils.internal.NOTIFICATION_CHANNEL
 import com.mapbox.navigation.utils.internal.NOTIFICATION_ID
 import com.mapbox.navigation.utils.internal.SET_BACKGROUND_COLOR
+import com.mapbox.navigation.utils.internal.ThreadController
 import com.mapbox.navigation.utils.internal.ifChannelException
 import com.mapbox.navigation.utils.internal.ifNonNull
 import java.util.Calendar
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.ClosedReceiveChannelException
 import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
 
 /**
  * Default implementation of [TripNotification] interface
@@ -73,6 +70,9 @@ class MapboxTripNotification constructor(
          * Broadcast of [MapboxTripNotification] actions
          */
         var notificationActionButtonChannel = Channel<NotificationAction>(1)
+
+        private const val MINOR_UPDATE_INTERVAL_MILLIS = 2000L
+        private const val NO_UPDATE_TIME = -1L
     }
 
     @StepManeuverType
@@ -82,8 +82,12 @@ class MapboxTripNotification constructor(
         private set
     private var currentRoundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE
 
-    private var currentInstructionText: String? = null
-    private var currentDistanceText: SpannableString? = null
+    private var lastPostedState: NotificationState? = null
+    private var lastPostTimeMillis = NO_UPDATE_TIME
+    private var pendingState: NotificationState? = null
+    private var pendingPostJob: Job? = null
+    private val mainJobController = ThreadController.getMainScopeAndRootJob()
+    private val maneuverIconCache = ManeuverIconCache.getInstance()
     private var collapsedNotificationRemoteViews: RemoteViews? = null
     private var expandedNotificationRemoteViews: RemoteViews? = null
     private var pendingOpenIntent: PendingIntent? = null
@@ -94,6 +98,18 @@ class MapboxTripNotification constructor(
     private val distanceFormatter: DistanceFormatter =
         navigationOptions.distanceFormatter
             ?: throw IllegalArgumentException("Distance formatter is required.")
+    private val maneuverIconWidth by lazy {
+        applicationContext.resources.getDimensionPixelSize(R.dimen.notification_maneuver_image_view_width)
+    }
+    private val maneuverIconHeight by lazy {
+        applicationContext.resources.getDimensionPixelSize(R.dimen.notification_maneuver_image_view_height)
+    }
+    private val maneuverPrimaryColor by lazy {
+        ContextCompat.getColor(applicationContext, R.color.mapbox_navigation_view_color_banner_maneuver_primary)
+    }
+    private val maneuverSecondaryColor by lazy {
+        ContextCompat.getColor(applicationContext, R.color.mapbox_navigation_view_color_banner_maneuver_secondary)
+    }
     private lateinit var notification: Notification
     private lateinit var notificationManager: NotificationManager
 
@@ -142,13 +158,61 @@ class MapboxTripNotification constructor(
      * @param routeProgress with the latest progress data
      */
     override fun updateNotification(routeProgress: RouteProgress) {
+        val state = buildNotificationState(routeProgress)
+        when {
+            state == lastPostedState -> cancelPendingPost()
+            shouldPost(state) -> post(state)
+            else -> postWhenIntervalEnds(state)
+        }
+    }
+
+    private fun post(state: NotificationState) {
+        cancelPendingPost()
         // RemoteView has an internal mActions, which stores every change and cannot be cleared.
         // As we set new bitmaps, the mActions parcelable size will grow and eventually cause a crash.
         // buildRemoteViews() will rebuild the RemoteViews and clear the stored mActions.
         buildRemoteViews()
-        updateNotificationViews(routeProgress)
+        updateNotificationViews(state)
         notification = navigationNotificationProvider.buildNotification(getNotificationBuilder())
         notificationManager.notify(NOTIFICATION_ID, notification)
+        lastPostedState = state
+        lastPostTimeMillis = SystemClock.elapsedRealtime()
+    }
+
+    /**
+     * Every post is an IPC to the system, so unchanged states are dropped and
+     * distance or arrival time changes alone are posted at most every
+     * [MINOR_UPDATE_INTERVAL_MILLIS].
+     */
+    private fun shouldPost(state: NotificationState): Boolean {
+        val postedState = lastPostedState ?: return true
+        return when {
+            state == postedState -> false
+            state.isMajorChangeFrom(postedState) -> true
+            else -> SystemClock.elapsedRealtime() - lastPostTimeMillis >= MINOR_UPDATE_INTERVAL_MILLIS
+        }
+    }
+
+    /**
+     * Keeps the latest throttled state and posts it once the interval ends, so the notification
+     * doesn't stay behind when the updates stop, like when the device stops moving.
+     */
+    private fun postWhenIntervalEnds(state: NotificationState) {
+        pendingState = state
+        if (pendingPostJob?.isActive == true) {
+            return
+        }
+        val delayMillis = lastPostTimeMillis + MINOR_UPDATE_INTERVAL_MILLIS - SystemClock.elapsedRealtime()
+        pendingPostJob = mainJobController.scope.launch {
+            delay(delayMillis)
+            pendingState?.let { post(it) }
+        }
+    }
+
+    private fun cancelPendingPost() {
+        pendingState = null
+        pendingPostJob?.cancel()
+        pendingPostJob = null
     }
 
     /**
@@ -169,8 +233,10 @@ class MapboxTripNotification constructor(
     override fun onTripSessionStopped() {
         currentManeuverType = null
         currentManeuverModifier = null
-        currentInstructionText = null
-        currentDistanceText = null
+        currentRoundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE
+        cancelPendingPost()
+        lastPostedState = null
+        lastPostTimeMillis = NO_UPDATE_TIME
 
         collapsedNotificationRemoteViews?.apply {
             setTextViewText(R.id.notificationDistanceText, "")
@@ -292,23 +358,43 @@ class MapboxTripNotification constructor(
         }
     }
 
-    private fun updateNotificationViews(routeProgress: RouteProgress) {
-        routeProgress.route()?.let {
-            updateInstructionText(routeProgress.bannerInstructions())
-            updateDistanceText(routeProgress)
-            generateArrivalTime(routeProgress)?.let { formattedTime ->
-                updateViewsWithArrival(formattedTime)
-            }
-            routeProgress.bannerInstructions()?.let { bannerInstructions ->
-                if (isManeuverStateChanged(bannerInstructions)) {
-                    updateManeuverImage(
-                        routeProgress.currentLegProgress()?.currentStepProgress()?.step()?.drivingSide()
-                            ?: ManeuverModifier.RIGHT
-                    )
-                }
+    private fun buildNotificationState(routeProgress: RouteProgress): NotificationState {
+        if (routeProgress.route() == null) {
+            updateCurrentManeuverToDefault()
+            return NotificationState(isFreeDriveMode = true)
+        }
+        val bannerInstructions = routeProgress.bannerInstructions()
+        bannerInstructions?.let { updateManeuverState(it) }
+        val drivingSide = routeProgress.currentLegProgress()?.currentStepProgress()?.step()?.drivingSide()
+            ?: ManeuverModifier.RIGHT
+        return NotificationState(
+            isFreeDriveMode = false,
+            instructionText = bannerInstructions?.primary()?.text(),
+            distanceText = formatDistance(routeProgress),
+            arrivalText = generateArrivalTime(routeProgress),
+            maneuverIcon = currentManeuverType?.let { maneuverType ->
+                buildManeuverIconKey(
+                    maneuverType,
+                    currentManeuverModifier,
+                    drivingSide,
+                    currentRoundaboutAngle,
+                    maneuverPrimaryColor,
+                    maneuverSecondaryColor,
+                    maneuverIconWidth,
+                    maneuverIconHeight
+                )
             }
-            setFreeDriveMode(false)
-        } ?: setFreeDriveMode(true)
+        )
+    }
+
+    private fun updateNotificationViews(state: NotificationState) {
+        if (!state.isFreeDriveMode) {
+            state.instructionText?.let { updateInstructionText(it) }
+            state.distanceText?.let { updateDistanceText(it) }
+            state.arrivalText?.let { updateViewsWithArrival(it) }
+            state.maneuverIcon?.let { updateManeuverImage(it) }
+        }
+        setFreeDriveMode(state.isFreeDriveMode)
     }
 
     private fun setFreeDriveMode(isFreeDriveMode: Boolean) {
@@ -317,7 +403,6 @@ class MapboxTripNotification constructor(
         updateFreeDriveTextVisibility(isFreeDriveMode)
         updateManeuverImageResource(isFreeDriveMode)
         updateEndNavigationBtnText(isFreeDriveMode)
-        updateCurrentManeuverToDefault(isFreeDriveMode)
     }
 
     private fun updateEtaContentVisibility(isFreeDriveMode: Boolean) {
@@ -373,44 +458,34 @@ class MapboxTripNotification constructor(
         }
     }
 
-    private fun updateInstructionText(bannerInstruction: BannerInstructions?) {
-        bannerInstruction?.let { bannerIns ->
-            val primaryText = bannerIns.primary().text()
-            if (currentInstructionText.isNullOrEmpty() || currentInstructionText != primaryText) {
-                collapsedNotificationRemoteViews?.setTextViewText(
-                    R.id.notificationInstructionText,
-                    primaryText
-                )
-                expandedNotificationRemoteViews?.setTextViewText(
-                    R.id.notificationInstructionText,
-                    primaryText
-                )
-                currentInstructionText = primaryText
-            }
-        }
+    private fun updateInstructionText(primaryText: String) {
+        collapsedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationInstructionText,
+            primaryText
+        )
+        expandedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationInstructionText,
+            primaryText
+        )
     }
 
-    private fun updateDistanceText(routeProgress: RouteProgress) {
-        if (currentDistanceText == null || newDistanceText(routeProgress)) {
-            currentDistanceText = ifNonNull(
-                distanceFormatter,
-                routeProgress.currentLegProgress()
-            ) { distanceFormatter, routeLegProgress ->
-                routeLegProgress.currentStepProgress()?.distanceRemaining()?.let {
-                    distanceFormatter.formatDistance(it.toDouble())
-                }
-            }
-            collapsedNotificationRemoteViews?.setTextViewText(
-                R.id.notificationDistanceText,
-                currentDistanceText.toString()
-            )
-            expandedNotificationRemoteViews?.setTextViewText(
-                R.id.notificationDistanceText,
-                currentDistanceText.toString()
-            )
-        }
+    private fun updateDistanceText(distanceText: String) {
+        collapsedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationDistanceText,
+            distanceText
+        )
+        expandedNotificationRemoteViews?.setTextViewText(
+            R.id.notificationDistanceText,
+            distanceText
+        )
     }
 
+    // The formatter rounds the distance, so the text only changes when the displayed value does.
+    private fun formatDistance(routeProgress: RouteProgress): String? =
+        routeProgress.currentLegProgress()?.currentStepProgress()?.distanceRemaining()?.let {
+            distanceFormatter.formatDistance(it.toDouble()).toString()
+        }
+
     private fun generateArrivalTime(
         routeProgress: RouteProgress,
         time: Calendar = Calendar.getInstance()
@@ -432,54 +507,19 @@ class MapboxTripNotification constructor(
         expandedNotificationRemoteViews?.setTextViewText(R.id.notificationArrivalText, time)
     }
 
-    private fun updateCurrentManeuverToDefault(isFreeDriveMode: Boolean) {
-        if (isFreeDriveMode) {
-            currentManeuverType = null
-            currentManeuverModifier = null
-            currentRoundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE
-        }
+    private fun updateCurrentManeuverToDefault() {
+        currentManeuverType = null
+        currentManeuverModifier = null
+        currentRoundaboutAngle = DEFAULT_ROUNDABOUT_ANGLE
     }
 
-    private fun newDistanceText(routeProgress: RouteProgress) =
-        ifNonNull(
-            distanceFormatter,
-            routeProgress.currentLegProgress(),
-            currentDistanceText
-        ) { distanceFormatter, currentLegProgress, currentDistanceText ->
-            val item = currentLegProgress.currentStepProgress()?.distanceRemaining()
-            // The call below can return an empty spannable string. toString() will cause a NPE and ?. will not catch it.
-            val str = item?.let {
-                distanceFormatter.formatDistance(it.toDouble())
-            }
-            if (str != null) {
-                val formattedDistance = str.toString()
-                currentDistanceText.toString() != formattedDistance
-            } else
-                false
-        } ?: false
-
-    private fun updateManeuverImage(drivingSide: String) {
-        getManeuverBitmap(
-            currentManeuverType ?: "",
-            currentManeuverModifier, drivingSide, currentRoundaboutAngle
-        )?.let { bitmap ->
+    private fun updateManeuverImage(maneuverIcon: ManeuverIconKey) {
+        maneuverIconCache.getOrDraw(maneuverIcon)?.let { bitmap ->
             collapsedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, bitmap)
             expandedNotificationRemoteViews?.setImageViewBitmap(R.id.maneuverImage, bitmap)
         }
     }
 
-    private fun isManeuverStateChanged(bannerInstruction: BannerInstructions): Boolean {
-        val previousManeuverType = currentManeuverType
-        val previousManeuverModifier = currentManeuverModifier
-        val previousRoundaboutAngle = currentRoundaboutAngle
-
-        updateManeuverState(bannerInstruction)
-
-        return !TextUtils.equals(currentManeuverType, previousManeuverType) ||
-            !TextUtils.equals(currentManeuverModifier, previousManeuverModifier) ||
-            currentRoundaboutAngle != previousRoundaboutAngle
-    }
-
     private fun updateManeuverState(bannerInstruction: BannerInstructions) {
         currentManeuverType = bannerInstruction.primary().type()
         currentManeuverModifier = bannerInstruction.primary().modifier()
@@ -491,65 +531,6 @@ class MapboxTripNotification constructor(
         }
     }
 
-    private fun getManeuverBitmap(
-        maneuverType: String,
-        maneuverModifier: String?,
-        drivingSide: String,
-        roundaboutAngle: Float
-    ): Bitmap? {
-        val maneuver = when {
-            MANEUVER_TYPES_WITH_NULL_MODIFIERS.contains(maneuverType) -> Pair(maneuverType, null)
-            !StepManeuver.ARRIVE.contentEquals(maneuverType) && maneuverModifier != null -> Pair(
-                null,
-                maneuverModifier
-            )
-            else -> Pair(maneuverType, maneuverModifier)
-        }
-
-        val width =
-            applicationContext.resources.getDimensionPixelSize(R.dimen.notification_maneuver_image_view_width)
-        val height =
-            applicationContext.resources.getDimensionPixelSize(R.dimen.notification_maneuver_image_view_height)
-
-        val maneuverImage = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
-        val maneuverCanvas = Canvas(maneuverImage)
-
-        MANEUVER_ICON_DRAWER_MAP[maneuver]?.drawManeuverIcon(
-            maneuverCanvas,
-            ContextCompat.getColor(
-                applicationContext,
-                R.color.mapbox_navigation_view_color_banner_maneuver_primary
-            ),
-            ContextCompat.getColor(
-                applicationContext,
-                R.color.mapbox_navigation_view_color_banner_maneuver_secondary
-            ),
-            PointF(width.toFloat(), height.toFloat()),
-            roundaboutAngle
-        )
-
-        maneuverCanvas.restoreToCount(maneuverCanvas.saveCount)
-
-        return if (isManeuverIconNeedFlip(
-                currentManeuverType,
-                currentManeuverModifier,
-                drivingSide
-            )
-        ) {
-            Bitmap.createBitmap(
-                maneuverImage,
-                0,
-                0,
-                width,
-                height,
-                Matrix().apply { preScale(-1f, 1f) },
-                false
-            )
-        } else {
-            maneuverImage
-        }
-    }
-
     private fun onEndNavigationBtnClick() {
         try {
             notificationActionButtonChannel.offer(NotificationAction.END_NAVIGATION)
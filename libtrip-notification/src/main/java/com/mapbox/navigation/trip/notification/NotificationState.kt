@@ -0,0 +1,28 @@
+package com.mapbox.navigation.trip.notification
+
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconKey
+
+/**
+ * The fields visible in the trip notification. Two progress updates that produce
+ * equal states look the same to the user, so only the first one is posted.
+ *
+ * The distance is kept as formatted, so it changes only when the displayed rounded
+ * value changes, and the arrival time changes at most once per minute.
+ */
+internal data class NotificationState(
+    val isFreeDriveMode: Boolean,
+    val instructionText: String? = null,
+    val distanceText: String? = null,
+    val arrivalText: String? = null,
+    val maneuverIcon: ManeuverIconKey? = null
+) {
+
+    /**
+     * A change the user should see right away, as opposed to the distance and arrival time
+     * which tick along with every progress update.
+     */
+    fun isMajorChangeFrom(other: NotificationState): Boolean =
+        isFreeDriveMode != other.isFreeDriveMode ||
+            instructionText != other.instructionText ||
+            maneuverIcon != other.maneuverIcon
+}
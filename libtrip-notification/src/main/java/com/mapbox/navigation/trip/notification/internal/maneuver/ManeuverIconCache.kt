@@ -0,0 +1,156 @@
+package com.mapbox.navigation.trip.notification.internal.maneuver
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Matrix
+import android.graphics.PointF
+import androidx.annotation.ColorInt
+import androidx.core.util.Pair
+import com.mapbox.navigation.trip.notification.internal.maneuver.ManeuverIconHelper.MANEUVER_ICON_DRAWER_MAP
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * Bitmaps of maneuver icons drawn by [ManeuversStyleKit], shared by every view that shows them.
+ *
+ * Building the style kit paths is expensive, so each icon is drawn once for a given
+ * size and color and then reused. The least recently used icons are dropped once the
+ * bitmaps take more than [maxBytes].
+ *
+ * @param maxBytes bitmap memory the cache may hold on to
+ * @param prewarmExecutor executor on which [prewarm] draws the icons
+ * @param drawIcon draws the icon of a key
+ */
+class ManeuverIconCache internal constructor(
+    private val maxBytes: Int,
+    private val prewarmExecutor: Executor,
+    private val drawIcon: (ManeuverIconKey) -> Bitmap?
+) {
+
+    companion object {
+        private const val DEFAULT_MAX_BYTES = 4 * 1024 * 1024
+
+        private val instance: ManeuverIconCache by lazy {
+            ManeuverIconCache(
+                DEFAULT_MAX_BYTES,
+                Executors.newSingleThreadExecutor(),
+                ::draw
+            )
+        }
+
+        /**
+         * The cache shared by the navigation UI and the trip notification.
+         */
+        @JvmStatic
+        fun getInstance(): ManeuverIconCache = instance
+
+        private fun draw(key: ManeuverIconKey): Bitmap? {
+            if (key.width <= 0 || key.height <= 0) {
+                return null
+            }
+            val drawer = MANEUVER_ICON_DRAWER_MAP[Pair(key.maneuverType, key.maneuverModifier)] ?: return null
+            val icon = Bitmap.createBitmap(key.width, key.height, Bitmap.Config.ARGB_8888)
+            drawer.drawManeuverIcon(
+                Canvas(icon),
+                key.primaryColor,
+                key.secondaryColor,
+                PointF(key.width.toFloat(), key.height.toFloat()),
+                key.roundaboutAngle
+            )
+            return if (key.flip) {
+                Bitmap.createBitmap(
+                    icon,
+                    0,
+                    0,
+                    key.width,
+                    key.height,
+                    Matrix().apply { preScale(-1f, 1f) },
+                    false
+                )
+            } else {
+                icon
+            }
+        }
+    }
+
+    private val icons = LinkedHashMap<ManeuverIconKey, Bitmap>(16, 0.75f, true)
+    private var usedBytes = 0
+
+    /**
+     * Returns the icon of the key, drawing it on a cache miss.
+     *
+     * The icon is drawn without holding the lock, so a prewarm doesn't block the views. If the
+     * same icon is drawn twice concurrently, the first one stored is returned to both callers.
+     *
+     * @param key identifying the icon
+     * @return the icon or null if the maneuver has no icon or the size is empty
+     */
+    fun getOrDraw(key: ManeuverIconKey): Bitmap? {
+        synchronized(this) {
+            icons[key]?.let { return it }
+        }
+        val icon = drawIcon(key) ?: return null
+        synchronized(this) {
+            icons[key]?.let { return it }
+            icons[key] = icon
+            usedBytes += icon.byteCount
+            trimToSize()
+        }
+        return icon
+    }
+
+    /**
+     * Draws the icons ahead of time on a background thread, for instance for all the
+     * maneuvers of a new route, so the first time they are shown is a cache hit.
+     *
+     * @param keys icons to draw
+     */
+    fun prewarm(keys: Collection<ManeuverIconKey>) {
+        if (keys.isEmpty()) {
+            return
+        }
+        val keysToDraw = ArrayList(keys)
+        prewarmExecutor.execute {
+            for (key in keysToDraw) {
+                getOrDraw(key)
+            }
+        }
+    }
+
+    @Synchronized
+    fun clear() {
+        icons.clear()
+        usedBytes = 0
+    }
+
+    private fun trimToSize() {
+        val leastRecentlyUsed = icons.entries.iterator()
+        while (usedBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            usedBytes -= leastRecentlyUsed.next().value.byteCount
+            leastRecentlyUsed.remove()
+        }
+    }
+}
+
+/**
+ * Everything a maneuver icon bitmap depends on.
+ *
+ * @param maneuverType type the icon is drawn for, as resolved by [ManeuverIconHelper.resolveManeuver]
+ * @param maneuverModifier modifier the icon is drawn for, as resolved by [ManeuverIconHelper.resolveManeuver]
+ * @param primaryColor of the arrow
+ * @param secondaryColor of the rest of the icon
+ * @param roundaboutAngle exit angle, only considered for roundabouts
+ * @param width of the bitmap in pixels
+ * @param height of the bitmap in pixels
+ * @param flip whether the icon is mirrored horizontally
+ */
+data class ManeuverIconKey(
+    val maneuverType: String?,
+    val maneuverModifier: String?,
+    @ColorInt val primaryColor: Int,
+    @ColorInt val secondaryColor: Int,
+    val roundaboutAngle: Float,
+    val width: Int,
+    val height: Int,
+    val flip: Boolean
+)
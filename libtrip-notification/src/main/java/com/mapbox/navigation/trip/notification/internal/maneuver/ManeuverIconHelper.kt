@@ -386,6 +386,48 @@ object ManeuverIconHelper {
         }
     }
 
+    /**
+     * Resolves the type and modifier to the key of [MANEUVER_ICON_DRAWER_MAP]
+     *
+     * @param maneuverType of the banner
+     * @param maneuverModifier of the banner
+     * @return the type and modifier the icon is drawn for
+     */
+    @JvmStatic
+    fun resolveManeuver(maneuverType: String?, maneuverModifier: String?): Pair<String?, String?> =
+        when {
+            MANEUVER_TYPES_WITH_NULL_MODIFIERS.contains(maneuverType) -> Pair(maneuverType, null)
+            StepManeuver.ARRIVE != maneuverType && maneuverModifier != null -> Pair(null, maneuverModifier)
+            else -> Pair(maneuverType, maneuverModifier)
+        }
+
+    /**
+     * Builds the key of a maneuver icon in the [ManeuverIconCache]
+     */
+    @JvmStatic
+    fun buildManeuverIconKey(
+        maneuverType: String?,
+        maneuverModifier: String?,
+        drivingSide: String?,
+        roundaboutAngle: Float,
+        primaryColor: Int,
+        secondaryColor: Int,
+        width: Int,
+        height: Int
+    ): ManeuverIconKey {
+        val maneuver = resolveManeuver(maneuverType, maneuverModifier)
+        return ManeuverIconKey(
+            maneuver.first,
+            maneuver.second,
+            primaryColor,
+            secondaryColor,
+            if (ROUNDABOUT_MANEUVER_TYPES.contains(maneuverType)) roundaboutAngle else DEFAULT_ROUNDABOUT_ANGLE,
+            width,
+            height,
+            isManeuverIconNeedFlip(maneuverType, maneuverModifier, drivingSide)
+        )
+    }
+
     /**
      * Provides the roundabout's angle according to angle limits
      */
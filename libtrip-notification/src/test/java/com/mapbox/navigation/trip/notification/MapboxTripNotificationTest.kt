@@ -8,6 +8,7 @@ import android.content.Intent
 import android.content.pm.PackageManager
 import android.content.res.Configuration
 import android.content.res.Resources
+import android.os.SystemClock
 import android.text.SpannableString
 import android.text.TextUtils
 import android.text.format.DateFormat
@@ -18,8 +19,10 @@ import com.mapbox.navigation.base.formatter.DistanceFormatter
 import com.mapbox.navigation.base.options.NavigationOptions
 import com.mapbox.navigation.base.trip.model.RouteLegProgress
 import com.mapbox.navigation.base.trip.model.RouteProgress
+import com.mapbox.navigation.testing.MainCoroutineRule
 import com.mapbox.navigation.trip.notification.internal.TimeFormatter
 import com.mapbox.navigation.utils.internal.NOTIFICATION_ID
+import com.mapbox.navigation.utils.internal.ThreadController
 import io.mockk.Runs
 import io.mockk.every
 import io.mockk.just
@@ -29,10 +32,13 @@ import io.mockk.mockkStatic
 import io.mockk.slot
 import io.mockk.verify
 import java.util.Locale
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.junit.After
 import org.junit.Assert.assertEquals
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertNull
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
 
 private const val STOP_SESSION = "Stop session"
@@ -41,8 +47,12 @@ private const val FORMAT_STRING = "%s 454545 ETA"
 private const val MANEUVER_TYPE = "MANEUVER TYPE"
 private const val MANEUVER_MODIFIER = "MANEUVER MODIFIER"
 
+@ExperimentalCoroutinesApi
 class MapboxTripNotificationTest {
 
+    @get:Rule
+    var coroutineRule = MainCoroutineRule()
+
     private lateinit var notification: MapboxTripNotification
     private lateinit var mockedContext: Context
     private lateinit var collapsedViews: RemoteViews
@@ -70,6 +80,11 @@ class MapboxTripNotificationTest {
         )
     }
 
+    @After
+    fun tearDown() {
+        ThreadController.cancelAllUICoroutines()
+    }
+
     private fun mockRemoteViews() {
         mockkObject(RemoteViewsProvider)
         collapsedViews = mockk(relaxUnitFun = true)
@@ -340,6 +355,143 @@ class MapboxTripNotificationTest {
         verify(exactly = 1) { expandedViews.setTextViewText(any(), STOP_SESSION) }
     }
 
+    @Test
+    fun whenOnlyDistanceChangesWithinIntervalThenNotificationIsNotPosted() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        var distanceText = "100 m"
+        every { distanceSpannable.toString() } answers { distanceText }
+        mockLegProgress(routeProgress, 100f, 112.4)
+        mockUpdateNotificationAndroidInteractions()
+        mockkStatic(SystemClock::class)
+        every { SystemClock.elapsedRealtime() } returns 1000L
+
+        notification.updateNotification(routeProgress)
+        distanceText = "50 m"
+        every { SystemClock.elapsedRealtime() } returns 2000L
+        notification.updateNotification(routeProgress)
+
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+        verify(exactly = 0) { collapsedViews.setTextViewText(any(), "50 m") }
+    }
+
+    @Test
+    fun whenOnlyDistanceChangesAfterIntervalThenNotificationIsPosted() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        var distanceText = "100 m"
+        every { distanceSpannable.toString() } answers { distanceText }
+        mockLegProgress(routeProgress, 100f, 112.4)
+        mockUpdateNotificationAndroidInteractions()
+        mockkStatic(SystemClock::class)
+        every { SystemClock.elapsedRealtime() } returns 1000L
+
+        notification.updateNotification(routeProgress)
+        distanceText = "50 m"
+        every { SystemClock.elapsedRealtime() } returns 3000L
+        notification.updateNotification(routeProgress)
+
+        verify(exactly = 2) { notificationManager.notify(NOTIFICATION_ID, any()) }
+        verify(exactly = 1) { collapsedViews.setTextViewText(any(), "50 m") }
+    }
+
+    @Test
+    fun whenOnlyDistanceChangesWithinIntervalThenNotificationIsPostedWhenIntervalEnds() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        var distanceText = "100 m"
+        every { distanceSpannable.toString() } answers { distanceText }
+        mockLegProgress(routeProgress, 100f, 112.4)
+        mockUpdateNotificationAndroidInteractions()
+        mockkStatic(SystemClock::class)
+        every { SystemClock.elapsedRealtime() } returns 1000L
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        notification.updateNotification(routeProgress)
+        distanceText = "50 m"
+        every { SystemClock.elapsedRealtime() } returns 2000L
+        notification.updateNotification(routeProgress)
+        distanceText = "40 m"
+        notification.updateNotification(routeProgress)
+        coroutineRule.testDispatcher.advanceTimeBy(999L)
+
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+
+        coroutineRule.testDispatcher.advanceTimeBy(1L)
+
+        verify(exactly = 2) { notificationManager.notify(NOTIFICATION_ID, any()) }
+        verify(exactly = 0) { collapsedViews.setTextViewText(any(), "50 m") }
+        verify(exactly = 1) { collapsedViews.setTextViewText(any(), "40 m") }
+    }
+
+    @Test
+    fun whenThrottledStateIsPostedBackWithinIntervalThenNoUpdateIsPostedWhenIntervalEnds() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        var distanceText = "100 m"
+        every { distanceSpannable.toString() } answers { distanceText }
+        mockLegProgress(routeProgress, 100f, 112.4)
+        mockUpdateNotificationAndroidInteractions()
+        mockkStatic(SystemClock::class)
+        every { SystemClock.elapsedRealtime() } returns 1000L
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        notification.updateNotification(routeProgress)
+        distanceText = "50 m"
+        notification.updateNotification(routeProgress)
+        distanceText = "100 m"
+        notification.updateNotification(routeProgress)
+        coroutineRule.testDispatcher.advanceTimeBy(2000L)
+
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+    }
+
+    @Test
+    fun whenTripSessionStopsThenThrottledUpdateIsNotPosted() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        var distanceText = "100 m"
+        every { distanceSpannable.toString() } answers { distanceText }
+        mockLegProgress(routeProgress, 100f, 112.4)
+        mockUpdateNotificationAndroidInteractions()
+        mockkStatic(SystemClock::class)
+        every { SystemClock.elapsedRealtime() } returns 1000L
+        coroutineRule.testDispatcher.pauseDispatcher()
+
+        notification.onTripSessionStarted()
+        notification.updateNotification(routeProgress)
+        distanceText = "50 m"
+        notification.updateNotification(routeProgress)
+        notification.onTripSessionStopped()
+        coroutineRule.testDispatcher.advanceTimeBy(2000L)
+
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+    }
+
+    @Test
+    fun whenUpdateNotificationCalledTwiceWithSameDataThenNotificationIsPostedOnce() {
+        val notificationManager =
+            mockedContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        val routeProgress = mockk<RouteProgress>(relaxed = true)
+        mockBannerText(routeProgress, { "Primary Text" })
+        mockUpdateNotificationAndroidInteractions()
+
+        notification.updateNotification(routeProgress)
+        notification.updateNotification(routeProgress)
+
+        verify(exactly = 1) { notificationManager.notify(NOTIFICATION_ID, any()) }
+    }
+
     private fun mockUpdateNotificationAndroidInteractions() {
         mockkStatic(TextUtils::class)
         val slot = slot<CharSequence>()
@@ -0,0 +1,146 @@
+package com.mapbox.navigation.trip.notification.internal.maneuver
+
+import android.graphics.Bitmap
+import io.mockk.every
+import io.mockk.mockk
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class ManeuverIconCacheTest {
+
+    private val directExecutor = Executor { it.run() }
+    private val turnLeft = ManeuverIconKey(null, "left", 1, 2, 180f, 64, 64, false)
+    private val turnRight = ManeuverIconKey(null, "right", 1, 2, 180f, 64, 64, false)
+    private var drawCount = 0
+
+    @Test
+    fun sameIconIsDrawnOnce() {
+        val cache = ManeuverIconCache(100, directExecutor, ::drawIcon)
+
+        val first = cache.getOrDraw(turnLeft)
+        val second = cache.getOrDraw(turnLeft)
+
+        assertSame(first, second)
+        assertEquals(1, drawCount)
+    }
+
+    @Test
+    fun differentColorIsDrawnAgain() {
+        val cache = ManeuverIconCache(100, directExecutor, ::drawIcon)
+
+        cache.getOrDraw(turnLeft)
+        cache.getOrDraw(turnLeft.copy(primaryColor = 3))
+
+        assertEquals(2, drawCount)
+    }
+
+    @Test
+    fun leastRecentlyUsedIconIsEvictedOverMaxBytes() {
+        val cache = ManeuverIconCache(50, directExecutor, ::drawIcon)
+
+        cache.getOrDraw(turnLeft)
+        cache.getOrDraw(turnRight)
+        cache.getOrDraw(turnLeft)
+
+        assertEquals(3, drawCount)
+    }
+
+    @Test
+    fun failedDrawIsNotCached() {
+        val cache = ManeuverIconCache(100, directExecutor) {
+            drawCount++
+            null
+        }
+
+        assertNull(cache.getOrDraw(turnLeft))
+        cache.getOrDraw(turnLeft)
+
+        assertEquals(2, drawCount)
+    }
+
+    @Test
+    fun prewarmedIconIsCached() {
+        val cache = ManeuverIconCache(100, directExecutor, ::drawIcon)
+
+        cache.prewarm(listOf(turnLeft, turnRight))
+        cache.getOrDraw(turnLeft)
+
+        assertEquals(2, drawCount)
+    }
+
+    @Test
+    fun cachedIconIsReturnedWhileAnotherIconIsDrawn() {
+        val drawStarted = CountDownLatch(1)
+        val finishDraw = CountDownLatch(1)
+        var isDrawFinished = false
+        val cache = ManeuverIconCache(100, directExecutor) { key ->
+            if (key == turnRight) {
+                drawStarted.countDown()
+                // times out if the lookup below waits for this draw
+                isDrawFinished = finishDraw.await(5, TimeUnit.SECONDS)
+            }
+            drawIcon(key)
+        }
+        val cachedIcon = cache.getOrDraw(turnLeft)
+        val drawingThread = thread { cache.getOrDraw(turnRight) }
+        assertTrue(drawStarted.await(5, TimeUnit.SECONDS))
+
+        val icon = cache.getOrDraw(turnLeft)
+
+        finishDraw.countDown()
+        drawingThread.join()
+        assertSame(cachedIcon, icon)
+        assertTrue(isDrawFinished)
+    }
+
+    @Test
+    fun iconDrawnConcurrentlyKeepsTheFirstStoredOne() {
+        lateinit var cache: ManeuverIconCache
+        var concurrentIcon: Bitmap? = null
+        cache = ManeuverIconCache(100, directExecutor) { key ->
+            if (drawCount == 0) {
+                drawCount++
+                // another caller draws and stores the same icon meanwhile
+                concurrentIcon = cache.getOrDraw(key)
+            }
+            drawIcon(key)
+        }
+
+        val icon = cache.getOrDraw(turnLeft)
+
+        assertSame(concurrentIcon, icon)
+        assertSame(concurrentIcon, cache.getOrDraw(turnLeft))
+    }
+
+    @Test
+    fun buildManeuverIconKeyIgnoresAngleOfNonRoundabouts() {
+        val key = ManeuverIconHelper.buildManeuverIconKey(
+            "turn", "right", "right", 90f, 1, 2, 64, 64
+        )
+
+        assertEquals(turnRight, key)
+    }
+
+    @Test
+    fun buildManeuverIconKeyFlipsLeftTurns() {
+        val key = ManeuverIconHelper.buildManeuverIconKey(
+            "turn", "left", "right", 180f, 1, 2, 64, 64
+        )
+
+        assertEquals(turnLeft.copy(flip = true), key)
+    }
+
+    private fun drawIcon(key: ManeuverIconKey): Bitmap? {
+        drawCount++
+        return mockk {
+            every { byteCount } returns 40
+        }
+    }
+}